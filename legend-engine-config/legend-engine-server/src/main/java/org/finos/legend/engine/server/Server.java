@@ -101,7 +101,11 @@ import org.finos.legend.engine.plan.execution.api.ExecutePlanLegacy;
 import org.finos.legend.engine.plan.execution.api.ExecutePlanStrategic;
 import org.finos.legend.engine.plan.execution.api.concurrent.ConcurrentExecutionNodeExecutorPoolInfo;
 import org.finos.legend.engine.plan.execution.api.concurrent.ParallelGraphFetchExecutionExecutorPoolInfo;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.javaCompilation.JavaCompilationCacheBuilder;
+import org.finos.legend.engine.plan.execution.concurrent.ConcurrentExecutionNodeExecutorPool;
 import org.finos.legend.engine.plan.execution.concurrent.ParallelGraphFetchExecutionExecutorPool;
+import org.finos.legend.engine.plan.execution.configuration.PlanExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.graphFetch.GraphFetchExecutionConfiguration;
 import org.finos.legend.engine.plan.execution.service.api.ServiceModelingApi;
 import org.finos.legend.engine.plan.execution.stores.elasticsearch.v7.plugin.ElasticsearchV7StoreExecutor;
@@ -130,6 +134,7 @@ import org.finos.legend.engine.query.graphQL.api.execute.GraphQLExecute;
 import org.finos.legend.engine.query.graphQL.api.grammar.GraphQLGrammar;
 import org.finos.legend.engine.query.pure.api.Execute;
 import org.finos.legend.engine.query.sql.api.SQLExecutor;
+import org.finos.legend.engine.query.sql.api.cache.SQLPlanCache;
 import org.finos.legend.engine.query.sql.api.execute.SqlExecute;
 import org.finos.legend.engine.query.sql.api.grammar.SqlGrammar;
 import org.finos.legend.engine.query.sql.providers.LegendServiceSQLSourceProvider;
@@ -306,11 +311,14 @@ public class Server<T extends ServerConfiguration> extends Application<T>
         ElasticsearchV7StoreExecutor elasticsearchV7StoreExecutor = (ElasticsearchV7StoreExecutor) new ElasticsearchV7StoreExecutorBuilder().build();
 
         PlanExecutor planExecutor;
+        PlanExecutor.Builder planExecutorBuilder = PlanExecutor.newPlanExecutorBuilder()
+                .withStoreExecutors(relationalStoreExecutor, elasticsearchV7StoreExecutor, serviceStoreExecutor, mongoDBStoreExecutor, InMemory.build())
+                .withJavaCompilationCache(JavaCompilationCacheBuilder.getSharedCache());
         ParallelGraphFetchExecutionExecutorPool parallelGraphFetchExecutionExecutorPool = null;
         if (serverConfiguration.graphFetchExecutionConfiguration != null)
         {
             GraphFetchExecutionConfiguration graphFetchExecutionConfiguration = serverConfiguration.graphFetchExecutionConfiguration;
-            planExecutor = PlanExecutor.newPlanExecutor(graphFetchExecutionConfiguration, relationalStoreExecutor, elasticsearchV7StoreExecutor, serviceStoreExecutor, mongoDBStoreExecutor, InMemory.build());
+            planExecutor = planExecutorBuilder.withGraphFetchExecutionConfiguration(graphFetchExecutionConfiguration).build();
             if (graphFetchExecutionConfiguration.canExecuteInParallel())
             {
                 parallelGraphFetchExecutionExecutorPool = new ParallelGraphFetchExecutionExecutorPool(graphFetchExecutionConfiguration.getParallelGraphFetchExecutionConfig(), "thread-pool for parallel graphFetch execution");
@@ -319,7 +327,16 @@ public class Server<T extends ServerConfiguration> extends Application<T>
         }
         else
         {
-            planExecutor = PlanExecutor.newPlanExecutor(relationalStoreExecutor, elasticsearchV7StoreExecutor, serviceStoreExecutor, mongoDBStoreExecutor, InMemory.build());
+            planExecutor = planExecutorBuilder.build();
+        }
+
+        ConcurrentExecutionNodeExecutorPool concurrentExecutionNodeExecutorPool = null;
+        PlanExecutorConfiguration planExecutorConfiguration = serverConfiguration.planExecutorConfiguration;
+        if (planExecutorConfiguration != null && Boolean.TRUE.equals(planExecutorConfiguration.supportConcurrentExecutionNodeExecution))
+        {
+            int poolSize = planExecutorConfiguration.concurrentExecutionNodeExecutorPoolSize == null ? Runtime.getRuntime().availableProcessors() : planExecutorConfiguration.concurrentExecutionNodeExecutorPoolSize;
+            concurrentExecutionNodeExecutorPool = new ConcurrentExecutionNodeExecutorPool(poolSize, "thread-pool for concurrent execution node execution", Boolean.TRUE.equals(planExecutorConfiguration.concurrentSequenceExecution));
+            planExecutor.injectConcurrentExecutionNodeExecutorPool(concurrentExecutionNodeExecutorPool);
         }
 
         // Session Management
@@ -344,7 +361,7 @@ public class Server<T extends ServerConfiguration> extends Application<T>
         environment.jersey().register(new CurrentUser());
         environment.jersey().register(new Memory());
         environment.jersey().register(new RelationalExecutorInformation());
-        environment.jersey().register(new ConcurrentExecutionNodeExecutorPoolInfo(Collections.emptyList()));
+        environment.jersey().register(new ConcurrentExecutionNodeExecutorPoolInfo(concurrentExecutionNodeExecutorPool == null ? Collections.emptyList() : Collections.singletonList(concurrentExecutionNodeExecutorPool)));
         environment.jersey().register(new ParallelGraphFetchExecutionExecutorPoolInfo(parallelGraphFetchExecutionExecutorPool));
 
         // Protocol
@@ -380,7 +397,7 @@ public class Server<T extends ServerConfiguration> extends Application<T>
         MutableList<PlanGeneratorExtension> generatorExtensions = Lists.mutable.withAll(ServiceLoader.load(PlanGeneratorExtension.class));
         Function<PureModel, RichIterable<? extends Root_meta_pure_extension_Extension>> routerExtensions = (PureModel pureModel) -> PureCoreExtensionLoader.extensions().flatCollect(e -> e.extraPureCoreExtensions(pureModel.getExecutionSupport()));
         environment.jersey().register(new Execute(modelManager, planExecutor, routerExtensions, generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers)));
-        environment.jersey().register(new ExecutePlanStrategic(planExecutor));
+        environment.jersey().register(new ExecutePlanStrategic(planExecutor, ExecutionPlanCacheBuilder.buildRegistryWithDefaultCache()));
         environment.jersey().register(new ExecutePlanLegacy(planExecutor));
 
         // Function Activator
@@ -397,7 +414,8 @@ public class Server<T extends ServerConfiguration> extends Application<T>
                 new RelationalStoreSQLSourceProvider(projectCoordinateLoader),
                 new FunctionSQLSourceProvider(projectCoordinateLoader),
                 new LegendServiceSQLSourceProvider(projectCoordinateLoader)),
-                generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers))));
+                generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers),
+                SQLPlanCache.buildWithDefaultCache())));
         environment.jersey().register(new SqlGrammar());
 
         // Service
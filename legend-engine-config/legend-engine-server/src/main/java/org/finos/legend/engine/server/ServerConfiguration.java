@@ -17,6 +17,7 @@ package org.finos.legend.engine.server;
 import io.dropwizard.Configuration;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
 import org.finos.legend.engine.language.pure.modelManager.sdlc.configuration.MetaDataServerConfiguration;
+import org.finos.legend.engine.plan.execution.configuration.PlanExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.graphFetch.GraphFetchExecutionConfiguration;
 import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
 import org.finos.legend.engine.plan.execution.stores.relational.config.TemporaryTestDbConfiguration;
@@ -44,6 +45,7 @@ public class ServerConfiguration extends Configuration
     public List<VaultConfiguration> vaults;
     public RelationalExecutionConfiguration relationalexecution;
     public GraphFetchExecutionConfiguration graphFetchExecutionConfiguration;
+    public PlanExecutorConfiguration planExecutorConfiguration;
     public ErrorHandlingConfiguration errorhandlingconfiguration = new ErrorHandlingConfiguration();
     public List<org.finos.legend.engine.protocol.functionActivator.metamodel.DeploymentConfiguration> activatorConfiguration;
     public CORSConfiguration cors;
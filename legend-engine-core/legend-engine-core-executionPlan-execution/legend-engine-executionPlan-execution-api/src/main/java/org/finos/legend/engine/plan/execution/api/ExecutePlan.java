@@ -17,6 +17,7 @@ package org.finos.legend.engine.plan.execution.api;
 import io.opentracing.Scope;
 import io.opentracing.util.GlobalTracer;
 import io.swagger.annotations.ApiParam;
+import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.factory.Maps;
 import org.finos.legend.engine.plan.execution.PlanExecutor;
@@ -25,6 +26,8 @@ import org.finos.legend.engine.plan.execution.api.result.ResultManager;
 import org.finos.legend.engine.plan.execution.authorization.PlanExecutionAuthorizer;
 import org.finos.legend.engine.plan.execution.authorization.PlanExecutionAuthorizerInput;
 import org.finos.legend.engine.plan.execution.authorization.PlanExecutionAuthorizerOutput;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanRegistry;
+import org.finos.legend.engine.plan.execution.result.ConstantResult;
 import org.finos.legend.engine.plan.execution.result.Result;
 import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutionState;
@@ -50,16 +53,22 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
 
 import static org.finos.legend.engine.plan.execution.api.result.ResultManager.manageResult;
 import static org.finos.legend.engine.plan.execution.authorization.PlanExecutionAuthorizerInput.ExecutionMode.INTERACTIVE_EXECUTION;
 
 public class ExecutePlan
 {
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ExecutePlan.class);
     private final PlanExecutor planExecutor;
     private IdentityFactory identityFactory;
     private final PlanExecutionAuthorizer planExecutionAuthorizer;
+    private final ExecutionPlanRegistry planRegistry;
 
     public ExecutePlan(PlanExecutor planExecutor)
     {
@@ -67,13 +76,94 @@ public class ExecutePlan
     }
 
     public ExecutePlan(PlanExecutor planExecutor, PlanExecutionAuthorizer planExecutionAuthorizer, IdentityFactory identityFactory)
+    {
+        this(planExecutor, planExecutionAuthorizer, identityFactory, null);
+    }
+
+    /**
+     * @param planRegistry plans registered to be executed by handle, shared by the resources of the server; when null
+     *                     plans cannot be registered
+     */
+    public ExecutePlan(PlanExecutor planExecutor, PlanExecutionAuthorizer planExecutionAuthorizer, IdentityFactory identityFactory, ExecutionPlanRegistry planRegistry)
     {
         this.planExecutor = planExecutor;
         this.identityFactory = identityFactory;
         this.planExecutionAuthorizer = planExecutionAuthorizer;
+        this.planRegistry = planRegistry;
+    }
+
+    public ExecutionPlanRegistry getPlanRegistry()
+    {
+        return this.planRegistry;
+    }
+
+    public Response doRegisterPlan(ExecutionPlan execPlan, ProfileManager<CommonProfile> pm)
+    {
+        return this.doRegisterPlan(() -> execPlan, pm);
+    }
+
+    public Response doRegisterBinaryPlan(InputStream execPlanStream, ProfileManager<CommonProfile> pm)
+    {
+        return this.doRegisterPlan(() -> PlanExecutor.readBinaryExecutionPlan(execPlanStream), pm);
+    }
+
+    private Response doRegisterPlan(Function0<ExecutionPlan> planReader, ProfileManager<CommonProfile> pm)
+    {
+        if (this.planRegistry == null)
+        {
+            return planRegistrationNotSupported();
+        }
+
+        MutableList<CommonProfile> profiles = ProfileManagerHelper.extractProfiles(pm);
+        try
+        {
+            ExecutionPlan execPlan = planReader.value();
+            if (!(execPlan instanceof SingleExecutionPlan))
+            {
+                return Response.status(500).type(MediaType.TEXT_PLAIN).entity(new ResultManager.ErrorMessage(20, "Only SingleExecutionPlan is supported")).build();
+            }
+            String handle = this.planRegistry.register((SingleExecutionPlan) execPlan);
+            return Response.ok(Collections.singletonMap("handle", handle), MediaType.APPLICATION_JSON_TYPE).build();
+        }
+        catch (Exception ex)
+        {
+            return ExceptionTool.exceptionManager(ex, LoggingEventType.EXECUTION_PLAN_EXEC_ERROR, profiles);
+        }
+    }
+
+    public Response doExecutePlanByHandle(HttpServletRequest request, String handle, Map<String, ?> params, SerializationFormat format, ProfileManager<CommonProfile> pm)
+    {
+        if (this.planRegistry == null)
+        {
+            return planRegistrationNotSupported();
+        }
+
+        SingleExecutionPlan execPlan = this.planRegistry.get(handle);
+        if (execPlan == null)
+        {
+            return Response.status(404).type(MediaType.TEXT_PLAIN).entity(new ResultManager.ErrorMessage(20, "No plan registered with handle " + handle + ", the plan has to be registered again")).build();
+        }
+
+        Map<String, Result> vars = Maps.mutable.empty();
+        if (params != null)
+        {
+            params.forEach((key, value) -> vars.put(key, new ConstantResult(value)));
+        }
+        return this.doExecutePlan(request, execPlan, vars, format, pm);
+    }
+
+    private static Response planRegistrationNotSupported()
+    {
+        return Response.status(501).type(MediaType.TEXT_PLAIN).entity(new ResultManager.ErrorMessage(20, "Plans cannot be registered on this server")).build();
     }
 
     public Response doExecutePlan(@Context HttpServletRequest request, ExecutionPlan execPlan, @DefaultValue(SerializationFormat.defaultFormatString) @QueryParam("serializationFormat") SerializationFormat format, @ApiParam(hidden = true) @Pac4JProfileManager ProfileManager<CommonProfile> pm)
+    {
+        // Assume that the input exec plan has no variables
+        return this.doExecutePlan(request, execPlan, Maps.mutable.empty(), format, pm);
+    }
+
+    private Response doExecutePlan(HttpServletRequest request, ExecutionPlan execPlan, Map<String, Result> vars, SerializationFormat format, ProfileManager<CommonProfile> pm)
     {
         /*
             planExecutionAuthorizer is used as a feature flag to gradually introduce middle tier authorization into the execution flow.
@@ -82,15 +172,21 @@ public class ExecutePlan
          */
         if (this.planExecutionAuthorizer == null)
         {
-            return this.doExecutePlanLegacy(request, execPlan, format, pm);
+            return this.doExecutePlanLegacy(request, execPlan, vars, format, pm);
         }
         else
         {
-            return this.doExecutePlanImpl(execPlan, format, ProfileManagerHelper.extractProfiles(pm));
+            return this.doExecutePlanImpl(execPlan, vars, format, ProfileManagerHelper.extractProfiles(pm));
         }
     }
 
     public Response doExecutePlanLegacy(HttpServletRequest request, ExecutionPlan execPlan, SerializationFormat format, ProfileManager<CommonProfile> pm)
+    {
+        // Assume that the input exec plan has no variables
+        return this.doExecutePlanLegacy(request, execPlan, Maps.mutable.empty(), format, pm);
+    }
+
+    private Response doExecutePlanLegacy(HttpServletRequest request, ExecutionPlan execPlan, Map<String, Result> vars, SerializationFormat format, ProfileManager<CommonProfile> pm)
     {
         MutableList<CommonProfile> profiles = ProfileManagerHelper.extractProfiles(pm);
 
@@ -99,8 +195,7 @@ public class ExecutePlan
             if (execPlan instanceof SingleExecutionPlan)
             {
                 LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_PLAN_EXEC_START, "").toString());
-                // Assume that the input exec plan has no variables
-                Result result = planExecutor.execute((SingleExecutionPlan) execPlan, Maps.mutable.empty(), null, profiles, null, RequestContextHelper.RequestContext(request));
+                Result result = planExecutor.execute((SingleExecutionPlan) execPlan, vars, null, profiles, null, RequestContextHelper.RequestContext(request));
                 try (Scope scope = GlobalTracer.get().buildSpan("Manage Results").startActive(true))
                 {
                     LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_PLAN_EXEC_STOP, "").toString());
@@ -119,6 +214,11 @@ public class ExecutePlan
     }
 
     public Response doExecutePlanImpl(ExecutionPlan execPlan, SerializationFormat format, MutableList<CommonProfile> profiles)
+    {
+        return this.doExecutePlanImpl(execPlan, Maps.mutable.empty(), format, profiles);
+    }
+
+    private Response doExecutePlanImpl(ExecutionPlan execPlan, Map<String, Result> vars, SerializationFormat format, MutableList<CommonProfile> profiles)
     {
         if (!(execPlan instanceof SingleExecutionPlan))
         {
@@ -129,7 +229,7 @@ public class ExecutePlan
         try
         {
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_PLAN_EXEC_START, "").toString());
-            Response response = execImpl(execPlan, profiles, format, start);
+            Response response = execImpl(execPlan, vars, profiles, format, start);
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_PLAN_EXEC_STOP, "").toString());
             return response;
         }
@@ -140,18 +240,18 @@ public class ExecutePlan
         }
     }
 
-    private Response execImpl(ExecutionPlan execPlan, MutableList<CommonProfile> profiles, SerializationFormat format, long start) throws Exception
+    private Response execImpl(ExecutionPlan execPlan, Map<String, Result> vars, MutableList<CommonProfile> profiles, SerializationFormat format, long start) throws Exception
     {
         // Authorizer has not been configured. So we execute the plan with the default push down authorization behavior.
         if (planExecutionAuthorizer == null)
         {
-            return this.executeAsPushDownPlan(planExecutor, execPlan, profiles, format, start);
+            return this.executeAsPushDownPlan(planExecutor, execPlan, vars, profiles, format, start);
         }
 
         // Plan does not make use of middle tier connections. So we execute the plan with the default push down authorization behavior.
         if (!this.planExecutionAuthorizer.isMiddleTierPlan(execPlan))
         {
-            return this.executeAsPushDownPlan(planExecutor, execPlan, profiles, format, start);
+            return this.executeAsPushDownPlan(planExecutor, execPlan, vars, profiles, format, start);
         }
 
         // Plan makes use of middle tier connections. So we check for authorization.
@@ -166,12 +266,12 @@ public class ExecutePlan
         }
 
         // Plan passed authorization. Now we can execute it
-        return this.executeAsMiddleTierPlan(planExecutor, (SingleExecutionPlan) execPlan, profiles, format, start);
+        return this.executeAsMiddleTierPlan(planExecutor, (SingleExecutionPlan) execPlan, vars, profiles, format, start);
     }
 
-    private Response executeAsPushDownPlan(PlanExecutor planExecutor, ExecutionPlan execPlan, MutableList<CommonProfile> profiles, SerializationFormat format, long start)
+    private Response executeAsPushDownPlan(PlanExecutor planExecutor, ExecutionPlan execPlan, Map<String, Result> vars, MutableList<CommonProfile> profiles, SerializationFormat format, long start)
     {
-        Result result = planExecutor.execute((SingleExecutionPlan) execPlan, Maps.mutable.empty(), null, profiles);
+        Result result = planExecutor.execute((SingleExecutionPlan) execPlan, vars, null, profiles);
         return this.wrapInResponse(profiles, format, start, result);
     }
 
@@ -196,7 +296,7 @@ public class ExecutePlan
         return executionAuthorization;
     }
 
-    private Response executeAsMiddleTierPlan(PlanExecutor planExecutor, SingleExecutionPlan execPlan, MutableList<CommonProfile> profiles, SerializationFormat format, long start)
+    private Response executeAsMiddleTierPlan(PlanExecutor planExecutor, SingleExecutionPlan execPlan, Map<String, Result> vars, MutableList<CommonProfile> profiles, SerializationFormat format, long start)
     {
         StoreExecutionState.RuntimeContext runtimeContext = StoreExecutionState.newRuntimeContext(
                 Maps.immutable.with(
@@ -207,6 +307,7 @@ public class ExecutePlan
 
         PlanExecutor.ExecuteArgs executeArgs = PlanExecutor.withArgs()
                 .withPlan(execPlan)
+                .withParamsAsResults(vars)
                 .withProfiles(profiles)
                 .withStoreRuntimeContext(StoreType.Relational, runtimeContext)
                 .build();
@@ -18,8 +18,10 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.engine.plan.execution.PlanExecutor;
 import org.finos.legend.engine.plan.execution.authorization.PlanExecutionAuthorizer;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanRegistry;
 import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.ExecutionPlan;
+import org.finos.legend.engine.shared.core.identity.factory.DefaultIdentityFactory;
 import org.finos.legend.engine.shared.core.identity.factory.IdentityFactory;
 import org.pac4j.core.profile.CommonProfile;
 import org.pac4j.core.profile.ProfileManager;
@@ -30,11 +32,14 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
+import java.util.Map;
 
 import static org.finos.legend.engine.shared.core.operational.http.InflateInterceptor.APPLICATION_ZLIB;
 
@@ -48,11 +53,21 @@ public class ExecutePlanStrategic extends ExecutePlan
         super(planExecutor);
     }
 
+    public ExecutePlanStrategic(PlanExecutor planExecutor, ExecutionPlanRegistry planRegistry)
+    {
+        super(planExecutor, null, new DefaultIdentityFactory(), planRegistry);
+    }
+
     public ExecutePlanStrategic(PlanExecutor planExecutor, PlanExecutionAuthorizer planExecutionAuthorizer, IdentityFactory identityFactory)
     {
         super(planExecutor, planExecutionAuthorizer, identityFactory);
     }
 
+    public ExecutePlanStrategic(PlanExecutor planExecutor, PlanExecutionAuthorizer planExecutionAuthorizer, IdentityFactory identityFactory, ExecutionPlanRegistry planRegistry)
+    {
+        super(planExecutor, planExecutionAuthorizer, identityFactory, planRegistry);
+    }
+
     @POST
     @Path("executePlan")
     @Consumes({MediaType.APPLICATION_JSON, APPLICATION_ZLIB})
@@ -60,4 +75,28 @@ public class ExecutePlanStrategic extends ExecutePlan
     {
         return super.doExecutePlan(request, execPlan, format, pm);
     }
+
+    @POST
+    @Path("registerPlan")
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_ZLIB})
+    public Response registerPlan(ExecutionPlan execPlan, @ApiParam(hidden = true) @Pac4JProfileManager ProfileManager<CommonProfile> pm)
+    {
+        return super.doRegisterPlan(execPlan, pm);
+    }
+
+    @POST
+    @Path("registerPlan")
+    @Consumes(APPLICATION_SMILE)
+    public Response registerBinaryPlan(InputStream execPlan, @ApiParam(hidden = true) @Pac4JProfileManager ProfileManager<CommonProfile> pm)
+    {
+        return super.doRegisterBinaryPlan(execPlan, pm);
+    }
+
+    @POST
+    @Path("executePlan/{handle}")
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_ZLIB})
+    public Response executePlanByHandle(@Context HttpServletRequest request, @PathParam("handle") String handle, Map<String, Object> parameters, @DefaultValue(SerializationFormat.defaultFormatString) @QueryParam("serializationFormat") SerializationFormat format, @ApiParam(hidden = true) @Pac4JProfileManager ProfileManager<CommonProfile> pm)
+    {
+        return super.doExecutePlanByHandle(request, handle, parameters, format, pm);
+    }
 }
@@ -17,6 +17,12 @@ package org.finos.legend.engine.plan.execution.api.request;
 import org.finos.legend.engine.shared.core.api.request.RequestContext;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriInfo;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class RequestContextHelper
 {
@@ -25,10 +31,41 @@ public class RequestContextHelper
     public static String LEGEND_USE_PLAN_CACHE = "x-legend-use-plan-cache";
 
     public static RequestContext RequestContext(HttpServletRequest httpRequest)
+    {
+        return RequestContext(httpRequest, null);
+    }
+
+    public static RequestContext RequestContext(HttpServletRequest httpRequest, UriInfo uriInfo)
     {
         String clientRef = httpRequest.getHeader(LEGEND_REQUEST_ID);
         String sessionID = httpRequest.getSession().getId();
-        return new RequestContext(sessionID, httpRequest.getHeader(REFERER),  clientRef == null ? sessionID : clientRef); //default to the sessionID if no ClientReference was provided
+        return new RequestContext(sessionID, httpRequest.getHeader(REFERER),  clientRef == null ? sessionID : clientRef, endpoint(uriInfo)); //default to the sessionID if no ClientReference was provided
+    }
+
+    /**
+     * The template of the resource matched by the request (e.g. executionPlan/v1/execution/executePlan/{handle}), so
+     * that requests to the same endpoint share their metric labels whatever the values of their path parameters.
+     */
+    public static String endpoint(UriInfo uriInfo)
+    {
+        if (uriInfo == null)
+        {
+            return null;
+        }
+        MultivaluedMap<String, String> pathParameters = uriInfo.getPathParameters();
+        return uriInfo.getPathSegments().stream().map(segment -> templateOf(segment, pathParameters)).collect(Collectors.joining("/"));
+    }
+
+    private static String templateOf(PathSegment segment, MultivaluedMap<String, String> pathParameters)
+    {
+        for (Map.Entry<String, List<String>> pathParameter : pathParameters.entrySet())
+        {
+            if (pathParameter.getValue().contains(segment.getPath()))
+            {
+                return "{" + pathParameter.getKey() + "}";
+            }
+        }
+        return segment.getPath();
     }
 
 }
@@ -0,0 +1,115 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.api;
+
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.api.result.ResultManager;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanRegistry;
+import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.ExecutionPlan;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+
+public class TestExecutePlanStrategic
+{
+    private static final String PLAN = "{\"_type\":\"simple\",\"authDependent\":false,\"templateFunctions\":[],\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"}," +
+            "\"rootExecutionNode\":{\"_type\":\"varResolution\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"String\"},\"executionNodes\":[],\"varName\":\"name\"}}";
+
+    private ExecutionPlanRegistry registry;
+    private ExecutePlanStrategic executePlan;
+    private HttpServletRequest request;
+
+    @Before
+    public void setUp()
+    {
+        this.registry = ExecutionPlanCacheBuilder.buildRegistryWithDefaultCache();
+        this.executePlan = new ExecutePlanStrategic(PlanExecutor.newPlanExecutor(), this.registry);
+
+        this.request = Mockito.mock(HttpServletRequest.class);
+        HttpSession session = Mockito.mock(HttpSession.class);
+        when(this.request.getSession()).thenReturn(session);
+        when(session.getId()).thenReturn("SESSION_ID");
+    }
+
+    @Test
+    public void testRegisteredPlanIsExecutedWithTheParameters()
+    {
+        String handle = this.register(this.executePlan.registerPlan(PlanExecutor.readExecutionPlan(PLAN), null));
+
+        Assert.assertEquals("\"Hello\"", this.executeByHandle(handle, Collections.singletonMap("name", "Hello")).getEntity());
+        Assert.assertEquals("\"World\"", this.executeByHandle(handle, Collections.singletonMap("name", "World")).getEntity());
+    }
+
+    @Test
+    public void testBinaryPlanIsRegisteredUnderTheHandleOfTheSamePlanInJson()
+    {
+        ExecutionPlan plan = PlanExecutor.readExecutionPlan(PLAN);
+        String handle = this.register(this.executePlan.registerPlan(plan, null));
+
+        Response response = this.executePlan.registerBinaryPlan(new ByteArrayInputStream(PlanExecutor.writeBinaryExecutionPlan(plan)), null);
+        Assert.assertEquals(handle, this.register(response));
+        Assert.assertEquals(1, this.registry.getCache().estimatedSize());
+    }
+
+    @Test
+    public void testUnknownHandleIsNotFound()
+    {
+        Response response = this.executeByHandle("unknown", Collections.singletonMap("name", "Hello"));
+        Assert.assertEquals(404, response.getStatus());
+        Assert.assertEquals("No plan registered with handle unknown, the plan has to be registered again", ((ResultManager.ErrorMessage) response.getEntity()).message);
+    }
+
+    @Test
+    public void testEvictedPlanIsNotFound()
+    {
+        String handle = this.register(this.executePlan.registerPlan(PlanExecutor.readExecutionPlan(PLAN), null));
+        this.registry.unregister(handle);
+
+        Assert.assertEquals(404, this.executeByHandle(handle, Collections.singletonMap("name", "Hello")).getStatus());
+    }
+
+    @Test
+    public void testPlansCannotBeRegisteredWithoutRegistry()
+    {
+        ExecutePlanStrategic executePlanWithoutRegistry = new ExecutePlanStrategic(PlanExecutor.newPlanExecutor());
+
+        Assert.assertEquals(501, executePlanWithoutRegistry.registerPlan(PlanExecutor.readExecutionPlan(PLAN), null).getStatus());
+        Assert.assertEquals(501, executePlanWithoutRegistry.executePlanByHandle(this.request, "unknown", Collections.emptyMap(), SerializationFormat.defaultFormat, null).getStatus());
+    }
+
+    private Response executeByHandle(String handle, Map<String, Object> parameters)
+    {
+        return this.executePlan.executePlanByHandle(this.request, handle, parameters, SerializationFormat.defaultFormat, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String register(Response response)
+    {
+        Assert.assertEquals(200, response.getStatus());
+        return ((Map<String, String>) response.getEntity()).get("handle");
+    }
+}
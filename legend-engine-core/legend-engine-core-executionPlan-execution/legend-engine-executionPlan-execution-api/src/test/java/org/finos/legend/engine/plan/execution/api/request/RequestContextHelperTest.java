@@ -16,6 +16,13 @@ package org.finos.legend.engine.plan.execution.api.request;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriInfo;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.finos.legend.engine.shared.core.api.request.RequestContext;
 import org.junit.Assert;
 import org.junit.Test;
@@ -47,5 +54,32 @@ public class RequestContextHelperTest
 
     }
 
-}
+    @Test
+    public void testEndpointIsTheTemplateOfTheMatchedResource()
+    {
+        HttpServletRequest httpRequest = Mockito.mock(HttpServletRequest.class);
+        HttpSession httpSession = Mockito.mock(HttpSession.class);
+        when(httpRequest.getSession()).thenReturn(httpSession);
+        when(httpSession.getId()).thenReturn("SESSION_ID");
 
+        MultivaluedMap<String, String> pathParameters = new MultivaluedHashMap<>();
+        pathParameters.putSingle("handle", "1b0b7c41");
+        List<PathSegment> pathSegments = pathSegments("executionPlan", "v1", "execution", "executePlan", "1b0b7c41");
+        UriInfo uriInfo = Mockito.mock(UriInfo.class);
+        when(uriInfo.getPathSegments()).thenReturn(pathSegments);
+        when(uriInfo.getPathParameters()).thenReturn(pathParameters);
+
+        Assert.assertEquals("executionPlan/v1/execution/executePlan/{handle}", RequestContext.getEndpoint(RequestContextHelper.RequestContext(httpRequest, uriInfo)));
+        Assert.assertNull(RequestContext.getEndpoint(RequestContextHelper.RequestContext(httpRequest)));
+    }
+
+    private static List<PathSegment> pathSegments(String... paths)
+    {
+        return Arrays.stream(paths).map(path ->
+        {
+            PathSegment segment = Mockito.mock(PathSegment.class);
+            when(segment.getPath()).thenReturn(path);
+            return segment;
+        }).collect(Collectors.toList());
+    }
+}
@@ -15,6 +15,7 @@
 package org.finos.legend.engine.plan.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
@@ -23,6 +24,7 @@ import org.eclipse.collections.impl.factory.Maps;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.internal.IterableIterate;
 import org.finos.legend.authentication.credentialprovider.CredentialProviderProvider;
+import org.finos.legend.engine.plan.execution.cache.javaCompilation.JavaCompilationCache;
 import org.finos.legend.engine.plan.execution.concurrent.ConcurrentExecutionNodeExecutorPool;
 import org.finos.legend.engine.plan.execution.concurrent.ParallelGraphFetchExecutionExecutorPool;
 import org.finos.legend.engine.plan.execution.graphFetch.GraphFetchExecutionConfiguration;
@@ -38,6 +40,7 @@ import org.finos.legend.engine.plan.execution.stores.StoreExecutorBuilderLoader;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.ExecutionPlan;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
 import org.finos.legend.engine.shared.core.ObjectMapperFactory;
 import org.finos.legend.engine.shared.core.api.request.RequestContext;
@@ -69,6 +72,7 @@ public class PlanExecutor
     public static final String REFERER = "referer";
 
     private static final ObjectMapper objectMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private static final ObjectMapper binaryObjectMapper = ObjectMapperFactory.withStandardConfigurations(PureProtocolObjectMapperFactory.withPureProtocolExtensions(new ObjectMapper(new SmileFactory())));
     private static final boolean DEFAULT_IS_JAVA_COMPILATION_ALLOWED = true;
 
     private final boolean isJavaCompilationAllowed;
@@ -80,9 +84,10 @@ public class PlanExecutor
     private BiFunction<MutableList<CommonProfile>, ExecutionState, ExecutionNodeExecutor> executionNodeExecutorBuilder;
     private final CredentialProviderProvider credentialProviderProvider;
     private final boolean logSQLWithParamValues;
+    private final JavaCompilationCache javaCompilationCache;
 
 
-    private PlanExecutor(boolean isJavaCompilationAllowed, ImmutableList<StoreExecutor> extraExecutors, CredentialProviderProvider credentialProviderProvider, GraphFetchExecutionConfiguration graphFetchExecutionConfiguration, boolean logSQLWithParamValues)
+    private PlanExecutor(boolean isJavaCompilationAllowed, ImmutableList<StoreExecutor> extraExecutors, CredentialProviderProvider credentialProviderProvider, GraphFetchExecutionConfiguration graphFetchExecutionConfiguration, boolean logSQLWithParamValues, JavaCompilationCache javaCompilationCache)
     {
         EngineUrlStreamHandlerFactory.initialize();
         this.isJavaCompilationAllowed = isJavaCompilationAllowed;
@@ -91,6 +96,7 @@ public class PlanExecutor
         this.credentialProviderProvider = credentialProviderProvider;
         this.graphFetchExecutionConfiguration = graphFetchExecutionConfiguration;
         this.logSQLWithParamValues = logSQLWithParamValues;
+        this.javaCompilationCache = javaCompilationCache;
     }
 
     public PlanExecutorInfo getPlanExecutorInfo()
@@ -353,7 +359,7 @@ public class PlanExecutor
         }
         try
         {
-            EngineJavaCompiler engineJavaCompiler = JavaHelper.compilePlan(plan, profiles);
+            EngineJavaCompiler engineJavaCompiler = JavaHelper.compilePlan(plan, profiles, this.javaCompilationCache);
             if (engineJavaCompiler != null)
             {
                 state.setJavaCompiler(engineJavaCompiler);
@@ -425,6 +431,45 @@ public class PlanExecutor
         }
     }
 
+    /**
+     * Read a plan from its binary (Smile) encoding, which is more compact and faster to parse than JSON.
+     */
+    public static ExecutionPlan readBinaryExecutionPlan(byte[] bytes)
+    {
+        try
+        {
+            return binaryObjectMapper.readValue(bytes, ExecutionPlan.class);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static ExecutionPlan readBinaryExecutionPlan(InputStream inputStream)
+    {
+        try
+        {
+            return binaryObjectMapper.readValue(inputStream, ExecutionPlan.class);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static byte[] writeBinaryExecutionPlan(ExecutionPlan executionPlan)
+    {
+        try
+        {
+            return binaryObjectMapper.writeValueAsBytes(executionPlan);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static PlanExecutor.Builder newPlanExecutorBuilder()
     {
         return new PlanExecutor.Builder();
@@ -437,6 +482,7 @@ public class PlanExecutor
         private GraphFetchExecutionConfiguration graphFetchExecutionConfiguration = new GraphFetchExecutionConfiguration();
         private CredentialProviderProvider credentialProviderProvider = CredentialProviderProvider.defaultProviderProvider();
         private boolean logSQLWithParamValues = true;
+        private JavaCompilationCache javaCompilationCache;
 
         private Builder()
         {
@@ -486,9 +532,15 @@ public class PlanExecutor
             return this;
         }
 
+        public Builder withJavaCompilationCache(JavaCompilationCache javaCompilationCache)
+        {
+            this.javaCompilationCache = javaCompilationCache;
+            return this;
+        }
+
         public PlanExecutor build()
         {
-            return new PlanExecutor(this.isJavaCompilationAllowed, this.storeExecutors.toImmutable(), this.credentialProviderProvider, this.graphFetchExecutionConfiguration, this.logSQLWithParamValues);
+            return new PlanExecutor(this.isJavaCompilationAllowed, this.storeExecutors.toImmutable(), this.credentialProviderProvider, this.graphFetchExecutionConfiguration, this.logSQLWithParamValues, this.javaCompilationCache);
         }
     }
 
@@ -722,6 +774,12 @@ public class PlanExecutor
             return this;
         }
 
+        public ExecuteArgsBuilder withPlanAsBinary(byte[] executionPlanBytes)
+        {
+            this.executionPlan = PlanExecutor.readBinaryExecutionPlan(executionPlanBytes);
+            return this;
+        }
+
         public ExecuteArgsBuilder withState(ExecutionState state)
         {
             this.executionState = state;
@@ -20,6 +20,7 @@ import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCacheBy
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCacheByTargetCrossKeys;
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCacheKey;
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCrossAssociationKeys;
+import org.finos.legend.engine.plan.execution.cache.offHeap.OffHeapExecutionCache;
 
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,18 @@ public class ExecutionCacheBuilder
         return new GraphFetchCacheByTargetCrossKeys(graphFetchCrossAssociationKeys, executionCache);
     }
 
+    // Off heap cache builders
+    // Keys and values are kept serialized out of the heap, and deserialized on every hit
+    public static <K, V> ExecutionCache<K, V> buildOffHeapExecutionCache(long maxSizeInBytes)
+    {
+        return new OffHeapExecutionCache<>(maxSizeInBytes);
+    }
+
+    public static GraphFetchCacheByTargetCrossKeys buildOffHeapGraphFetchCacheByTargetCrossKeys(long maxSizeInBytes, GraphFetchCrossAssociationKeys graphFetchCrossAssociationKeys)
+    {
+        return new GraphFetchCacheByTargetCrossKeys(graphFetchCrossAssociationKeys, buildOffHeapExecutionCache(maxSizeInBytes));
+    }
+
     public static <K, V> ExecutionCache<K, V> buildExecutionCacheFromGuavaCache(Cache<K, V> guavaCache)
     {
         return new ExecutionCache<K, V>()
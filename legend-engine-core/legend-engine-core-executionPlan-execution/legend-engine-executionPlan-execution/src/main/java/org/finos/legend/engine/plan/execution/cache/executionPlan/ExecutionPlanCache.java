@@ -17,6 +17,9 @@ package org.finos.legend.engine.plan.execution.cache.executionPlan;
 
 import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+
+import java.util.concurrent.Callable;
 
 
 
@@ -34,6 +37,36 @@ public class ExecutionPlanCache
         return cache;
     }
 
-}
+    /**
+     * Get the plan cached for the key, generating (and caching) it when there is none. Hits and misses are counted
+     * per endpoint.
+     */
+    public SingleExecutionPlan getPlan(PlanCacheKey key, String endpoint, Callable<SingleExecutionPlan> planGenerator)
+    {
+        return getPlan(this.cache, key, endpoint, planGenerator);
+    }
 
+    /**
+     * Get the plan cached for the key in any cache of plans, counting hits and misses like the cache of execution plans.
+     */
+    public static <K, V> V getPlan(ExecutionCache<K, V> cache, K key, String endpoint, Callable<? extends V> planGenerator)
+    {
+        boolean[] generated = {false};
+        V plan = cache.get(key, () ->
+        {
+            generated[0] = true;
+            return planGenerator.call();
+        });
+        if (generated[0])
+        {
+            MetricsHandler.incrementPlanCacheMissCount(endpoint);
+        }
+        else
+        {
+            MetricsHandler.incrementPlanCacheHitCount(endpoint);
+        }
+        return plan;
+    }
+
+}
 
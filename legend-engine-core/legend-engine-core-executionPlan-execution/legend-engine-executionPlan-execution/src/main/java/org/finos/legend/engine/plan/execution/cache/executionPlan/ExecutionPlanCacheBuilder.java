@@ -20,8 +20,12 @@ import com.google.common.cache.CacheBuilder;
 import org.finos.legend.engine.plan.execution.cache.ExecutionCacheBuilder;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
 
+import java.util.concurrent.TimeUnit;
+
 public class ExecutionPlanCacheBuilder
 {
+    private static final int DEFAULT_MAX_REGISTERED_PLANS = 1000;
+    private static final int DEFAULT_REGISTERED_PLAN_EXPIRY_IN_HOURS = 24;
 
     public static ExecutionPlanCache buildWithGuavaCache(Cache<PlanCacheKey, SingleExecutionPlan> cache)
     {
@@ -32,4 +36,14 @@ public class ExecutionPlanCacheBuilder
     {
         return new ExecutionPlanCache(ExecutionCacheBuilder.buildExecutionCacheFromGuavaCache(CacheBuilder.newBuilder().recordStats().build()));
     }
+
+    public static ExecutionPlanRegistry buildRegistryWithGuavaCache(Cache<String, SingleExecutionPlan> cache)
+    {
+        return new ExecutionPlanRegistry(ExecutionCacheBuilder.buildExecutionCacheFromGuavaCache(cache));
+    }
+
+    public static ExecutionPlanRegistry buildRegistryWithDefaultCache()
+    {
+        return buildRegistryWithGuavaCache(CacheBuilder.newBuilder().maximumSize(DEFAULT_MAX_REGISTERED_PLANS).expireAfterAccess(DEFAULT_REGISTERED_PLAN_EXPIRY_IN_HOURS, TimeUnit.HOURS).recordStats().build());
+    }
 }
@@ -0,0 +1,61 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.executionPlan;
+
+import com.google.common.hash.Hashing;
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+
+/**
+ * Plans registered once by clients and then executed by handle, sparing the transfer and deserialization of the plan
+ * on every execution. The handle of a plan is the SHA-256 of its binary encoding, so registering the same plan again
+ * returns the same handle.
+ */
+public class ExecutionPlanRegistry
+{
+    private final ExecutionCache<String, SingleExecutionPlan> plans;
+
+    public ExecutionPlanRegistry(ExecutionCache<String, SingleExecutionPlan> plans)
+    {
+        this.plans = plans;
+    }
+
+    public ExecutionCache<String, SingleExecutionPlan> getCache()
+    {
+        return this.plans;
+    }
+
+    public String register(SingleExecutionPlan plan)
+    {
+        String handle = Hashing.sha256().hashBytes(PlanExecutor.writeBinaryExecutionPlan(plan)).toString();
+        this.plans.put(handle, plan);
+        return handle;
+    }
+
+    /**
+     * Get the plan registered with the handle, or null if it is unknown or was evicted in which case the client has to
+     * register it again.
+     */
+    public SingleExecutionPlan get(String handle)
+    {
+        return this.plans.getIfPresent(handle);
+    }
+
+    public void unregister(String handle)
+    {
+        this.plans.invalidate(handle);
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.javaCompilation;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.plan.execution.nodes.helpers.platform.JavaHelper;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.JavaClass;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+import org.finos.legend.engine.shared.javaCompiler.EngineJavaCompiler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Process wide cache of the java classes compiled for execution plans, keyed by a hash of the plan's java
+ * sources (and any pre-compiled bytecode) together with the class path and class path filter used to compile them.
+ * A hit reuses both the bytecode and the compiler (and hence its class loader) so javac is not run again.
+ */
+public class JavaCompilationCache
+{
+    private final ExecutionCache<String, CompiledPlanClasses> cache;
+
+    public JavaCompilationCache(ExecutionCache<String, CompiledPlanClasses> cache)
+    {
+        this.cache = cache;
+    }
+
+    public ExecutionCache<String, CompiledPlanClasses> getCache()
+    {
+        return this.cache;
+    }
+
+    public CompiledPlanClasses getIfPresent(String key)
+    {
+        CompiledPlanClasses compiled = this.cache.getIfPresent(key);
+        if (compiled == null)
+        {
+            MetricsHandler.incrementJavaCompilationCacheMissCount();
+        }
+        else
+        {
+            MetricsHandler.incrementJavaCompilationCacheHitCount();
+        }
+        return compiled;
+    }
+
+    public void put(String key, CompiledPlanClasses compiled)
+    {
+        this.cache.put(key, compiled);
+    }
+
+    public static String buildKey(Iterable<? extends JavaClass> javaClasses, String classPathFilterIdentifier, String classPath)
+    {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putNullableString(hasher, classPathFilterIdentifier);
+        putNullableString(hasher, classPath);
+        Iterate.toSortedListBy(javaClasses, JavaHelper::getJavaClassFullName).forEach(javaClass ->
+        {
+            putNullableString(hasher, JavaHelper.getJavaClassFullName(javaClass));
+            putNullableString(hasher, javaClass.source);
+            putNullableString(hasher, javaClass.byteCode);
+        });
+        return hasher.hash().toString();
+    }
+
+    private static void putNullableString(Hasher hasher, String value)
+    {
+        if (value == null)
+        {
+            hasher.putInt(-1);
+        }
+        else
+        {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class CompiledPlanClasses
+    {
+        private final EngineJavaCompiler javaCompiler;
+        private final MutableMap<String, String> byteCodeByClassName;
+
+        public CompiledPlanClasses(EngineJavaCompiler javaCompiler, MutableMap<String, String> byteCodeByClassName)
+        {
+            this.javaCompiler = javaCompiler;
+            this.byteCodeByClassName = byteCodeByClassName;
+        }
+
+        public EngineJavaCompiler getJavaCompiler()
+        {
+            return this.javaCompiler;
+        }
+
+        public MutableMap<String, String> copyByteCodeByClassName()
+        {
+            return this.byteCodeByClassName.clone();
+        }
+
+        long estimatedByteCodeSize()
+        {
+            return this.byteCodeByClassName.sumOfInt(String::length);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.javaCompilation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheBuilder;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+
+public class JavaCompilationCacheBuilder
+{
+    public static final long DEFAULT_MAX_BYTECODE_SIZE = 256L * 1024 * 1024;
+
+    private static volatile JavaCompilationCache sharedCache;
+
+    public static JavaCompilationCache buildWithGuavaCache(Cache<String, JavaCompilationCache.CompiledPlanClasses> cache)
+    {
+        return new JavaCompilationCache(ExecutionCacheBuilder.buildExecutionCacheFromGuavaCache(cache));
+    }
+
+    public static JavaCompilationCache buildWithDefaultCache()
+    {
+        return buildWithMaxByteCodeSize(DEFAULT_MAX_BYTECODE_SIZE);
+    }
+
+    public static JavaCompilationCache buildWithMaxByteCodeSize(long maxByteCodeSize)
+    {
+        RemovalListener<String, JavaCompilationCache.CompiledPlanClasses> evictionListener = notification ->
+        {
+            if (notification.wasEvicted())
+            {
+                MetricsHandler.incrementJavaCompilationCacheEvictionCount();
+            }
+        };
+        return buildWithGuavaCache(CacheBuilder.newBuilder()
+                .maximumWeight(maxByteCodeSize)
+                .<String, JavaCompilationCache.CompiledPlanClasses>weigher((key, value) -> (int) Math.min(Integer.MAX_VALUE, value.estimatedByteCodeSize()))
+                .removalListener(evictionListener)
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * Cache shared by all plan executors of this process which opt in via {@code PlanExecutor.Builder.withJavaCompilationCache}.
+     */
+    public static JavaCompilationCache getSharedCache()
+    {
+        if (sharedCache == null)
+        {
+            synchronized (JavaCompilationCacheBuilder.class)
+            {
+                if (sharedCache == null)
+                {
+                    sharedCache = buildWithDefaultCache();
+                }
+            }
+        }
+        return sharedCache;
+    }
+}
@@ -0,0 +1,525 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.offHeap;
+
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheStats;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cache keeping its keys and values serialized in memory mapped segments, out of the heap: only an index of key hashes
+ * to record addresses stays on the heap. Values are deserialized on every hit, so callers get their own copy.
+ * <p>
+ * Records are appended to the current segment, and whole segments are evicted, oldest first, to stay within the
+ * maximum size: the size is split into {@value #MIN_SEGMENTS} segments at least, so that an eviction only drops part of
+ * the cache. Entries whose key or value cannot be serialized are not cached.
+ */
+public class OffHeapExecutionCache<K, V> implements ExecutionCache<K, V>
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(OffHeapExecutionCache.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE_IN_BYTES = 64 * 1024 * 1024;
+    public static final int MIN_SEGMENTS = 4;
+
+    private final int segmentSizeInBytes;
+    private final int maxSegments;
+    private final File directory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ArrayDeque<OffHeapSegment> segments = new ArrayDeque<>();
+    private final MutableIntObjectMap<OffHeapSegment> segmentsById = new IntObjectHashMap<>();
+    // key hash -> addresses (segment id and offset) of the records with that hash, newest first
+    private final MutableIntObjectMap<long[]> index = new IntObjectHashMap<>();
+    private int nextSegmentId = 0;
+    private long size = 0;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public OffHeapExecutionCache(long maxSizeInBytes)
+    {
+        this(maxSizeInBytes, DEFAULT_SEGMENT_SIZE_IN_BYTES, null);
+    }
+
+    /**
+     * @param segmentSizeInBytes the size of the segments, reduced if the maximum size cannot hold {@value #MIN_SEGMENTS} of them
+     * @param directory          where the files backing the segments are created (the default temporary directory if null)
+     */
+    public OffHeapExecutionCache(long maxSizeInBytes, int segmentSizeInBytes, File directory)
+    {
+        this.segmentSizeInBytes = (int) Math.min(segmentSizeInBytes, maxSizeInBytes / MIN_SEGMENTS);
+        if (this.segmentSizeInBytes <= OffHeapSegment.RECORD_HEADER_SIZE)
+        {
+            throw new IllegalArgumentException("Segment size should be greater than " + OffHeapSegment.RECORD_HEADER_SIZE + " bytes, got " + this.segmentSizeInBytes + " for a maximum size of " + maxSizeInBytes + " bytes");
+        }
+        this.maxSegments = (int) Math.min(Integer.MAX_VALUE, maxSizeInBytes / this.segmentSizeInBytes);
+        this.directory = directory;
+    }
+
+    @Override
+    public V get(K key, Callable<? extends V> valueLoader)
+    {
+        V value = this.getIfPresent(key);
+        if (value != null)
+        {
+            return value;
+        }
+
+        long start = System.nanoTime();
+        try
+        {
+            value = valueLoader.call();
+        }
+        catch (Exception e)
+        {
+            this.loadFailureCount.increment();
+            this.totalLoadTime.add(System.nanoTime() - start);
+            throw new RuntimeException(e);
+        }
+        this.totalLoadTime.add(System.nanoTime() - start);
+        if (value == null)
+        {
+            this.loadFailureCount.increment();
+            throw new RuntimeException("Cache loader returned null for key " + key);
+        }
+        this.loadSuccessCount.increment();
+        this.put(key, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(K key)
+    {
+        int hash = key.hashCode();
+        byte[] value = null;
+        this.lock.readLock().lock();
+        try
+        {
+            long address = this.find(key, hash);
+            if (address != -1)
+            {
+                value = this.segmentsById.get(segmentId(address)).valueAt(offset(address));
+            }
+        }
+        finally
+        {
+            this.lock.readLock().unlock();
+        }
+
+        Object deserialized = value == null ? null : deserialize(value);
+        if (deserialized == null)
+        {
+            this.missCount.increment();
+            return null;
+        }
+        this.hitCount.increment();
+        return (V) deserialized;
+    }
+
+    @Override
+    public Map<? extends K, ? extends V> getAllPresent(Iterable<? extends K> keys)
+    {
+        Map<K, V> result = new HashMap<>();
+        for (K key : keys)
+        {
+            V value = this.getIfPresent(key);
+            if (value != null)
+            {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(K key, V value)
+    {
+        byte[] serializedKey = serialize(key);
+        byte[] serializedValue = serialize(value);
+        int recordSize = OffHeapSegment.RECORD_HEADER_SIZE + (serializedKey == null ? 0 : serializedKey.length) + (serializedValue == null ? 0 : serializedValue.length);
+        if (serializedKey == null || serializedValue == null || recordSize > this.segmentSizeInBytes)
+        {
+            this.invalidate(key);
+            return;
+        }
+
+        int hash = key.hashCode();
+        this.lock.writeLock().lock();
+        try
+        {
+            this.remove(key, hash);
+            OffHeapSegment segment = this.segments.peekLast();
+            if (segment == null || !segment.hasRoomFor(recordSize))
+            {
+                segment = this.newSegment();
+            }
+            long address = address(segment.getId(), segment.append(hash, serializedKey, serializedValue));
+            long[] addresses = this.index.get(hash);
+            if (addresses == null)
+            {
+                this.index.put(hash, new long[]{address});
+            }
+            else
+            {
+                long[] newAddresses = new long[addresses.length + 1];
+                newAddresses[0] = address;
+                System.arraycopy(addresses, 0, newAddresses, 1, addresses.length);
+                this.index.put(hash, newAddresses);
+            }
+            this.size++;
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> keyValues)
+    {
+        keyValues.forEach(this::put);
+    }
+
+    @Override
+    public void invalidate(K key)
+    {
+        this.lock.writeLock().lock();
+        try
+        {
+            this.remove(key, key.hashCode());
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll(Iterable<? extends K> keys)
+    {
+        keys.forEach(this::invalidate);
+    }
+
+    @Override
+    public void invalidateAll()
+    {
+        this.lock.writeLock().lock();
+        try
+        {
+            this.segments.forEach(OffHeapSegment::release);
+            this.segments.clear();
+            this.segmentsById.clear();
+            this.index.clear();
+            this.size = 0;
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimatedSize()
+    {
+        this.lock.readLock().lock();
+        try
+        {
+            return this.size;
+        }
+        finally
+        {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ExecutionCacheStats stats()
+    {
+        long hits = this.hitCount.sum();
+        long misses = this.missCount.sum();
+        long loadSuccesses = this.loadSuccessCount.sum();
+        long loadFailures = this.loadFailureCount.sum();
+        long loadTime = this.totalLoadTime.sum();
+        long evictions = this.evictionCount.sum();
+        return new ExecutionCacheStats()
+        {
+            @Override
+            public long requestCount()
+            {
+                return hits + misses;
+            }
+
+            @Override
+            public long hitCount()
+            {
+                return hits;
+            }
+
+            @Override
+            public long missCount()
+            {
+                return misses;
+            }
+
+            @Override
+            public long loadCount()
+            {
+                return loadSuccesses + loadFailures;
+            }
+
+            @Override
+            public long loadSuccessCount()
+            {
+                return loadSuccesses;
+            }
+
+            @Override
+            public long loadFailureCount()
+            {
+                return loadFailures;
+            }
+
+            @Override
+            public long evictionCount()
+            {
+                return evictions;
+            }
+
+            @Override
+            public double hitRate()
+            {
+                return this.requestCount() == 0 ? 1.0 : (double) hits / this.requestCount();
+            }
+
+            @Override
+            public double missRate()
+            {
+                return this.requestCount() == 0 ? 0.0 : (double) misses / this.requestCount();
+            }
+
+            @Override
+            public double loadFailureRate()
+            {
+                return this.loadCount() == 0 ? 0.0 : (double) loadFailures / this.loadCount();
+            }
+
+            @Override
+            public double averageLoadPenalty()
+            {
+                return this.loadCount() == 0 ? 0.0 : (double) loadTime / this.loadCount();
+            }
+
+            @Override
+            public long totalLoadTime()
+            {
+                return loadTime;
+            }
+
+            @Override
+            public String toString()
+            {
+                return this.buildStatsString();
+            }
+        };
+    }
+
+    // the address of the record for the key, or -1 if there is none; to be called holding the lock
+    private long find(K key, int hash)
+    {
+        long[] addresses = this.index.get(hash);
+        if (addresses != null)
+        {
+            for (long address : addresses)
+            {
+                // a key which cannot be read back is not the one looked up
+                if (key.equals(deserialize(this.segmentsById.get(segmentId(address)).keyAt(offset(address)))))
+                {
+                    return address;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // to be called holding the write lock
+    private void remove(K key, int hash)
+    {
+        long address = this.find(key, hash);
+        if (address != -1)
+        {
+            this.removeAddress(hash, address);
+        }
+    }
+
+    // to be called holding the write lock
+    private boolean removeAddress(int hash, long address)
+    {
+        long[] addresses = this.index.get(hash);
+        if (addresses == null)
+        {
+            return false;
+        }
+        for (int i = 0; i < addresses.length; i++)
+        {
+            if (addresses[i] == address)
+            {
+                if (addresses.length == 1)
+                {
+                    this.index.remove(hash);
+                }
+                else
+                {
+                    long[] newAddresses = Arrays.copyOf(addresses, addresses.length - 1);
+                    System.arraycopy(addresses, i + 1, newAddresses, i, addresses.length - i - 1);
+                    this.index.put(hash, newAddresses);
+                }
+                this.size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // to be called holding the write lock
+    private OffHeapSegment newSegment()
+    {
+        while (this.segments.size() >= this.maxSegments)
+        {
+            this.evict(this.segments.pollFirst());
+        }
+        OffHeapSegment segment = OffHeapSegment.newSegment(this.nextSegmentId++, this.segmentSizeInBytes, this.directory);
+        this.segments.addLast(segment);
+        this.segmentsById.put(segment.getId(), segment);
+        return segment;
+    }
+
+    // to be called holding the write lock
+    private void evict(OffHeapSegment segment)
+    {
+        this.segmentsById.remove(segment.getId());
+        int offset = 0;
+        while (offset < segment.getPosition())
+        {
+            if (this.removeAddress(segment.hashAt(offset), address(segment.getId(), offset)))
+            {
+                this.evictionCount.increment();
+            }
+            offset += segment.recordSizeAt(offset);
+        }
+        segment.release();
+    }
+
+    private static long address(int segmentId, int offset)
+    {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentId(long address)
+    {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address)
+    {
+        return (int) address;
+    }
+
+    private static byte[] serialize(Object object)
+    {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(); ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(object);
+            out.flush();
+            return bytes.toByteArray();
+        }
+        catch (IOException e)
+        {
+            LOGGER.debug("Not caching an entry which cannot be serialized", e);
+            return null;
+        }
+    }
+
+    // the object, or null when its class cannot be resolved from this thread (e.g. a class generated for another plan)
+    private static Object deserialize(byte[] bytes)
+    {
+        try (ObjectInputStream in = new ContextClassLoaderObjectInputStream(new ByteArrayInputStream(bytes)))
+        {
+            return in.readObject();
+        }
+        catch (ClassNotFoundException e)
+        {
+            LOGGER.debug("Ignoring a cache entry which cannot be deserialized", e);
+            return null;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Resolves classes with the thread context class loader first, so that objects of the classes generated for a plan
+     * are read back as instances of the classes of the plan executing.
+     */
+    private static class ContextClassLoaderObjectInputStream extends ObjectInputStream
+    {
+        ContextClassLoaderObjectInputStream(InputStream in) throws IOException
+        {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException
+        {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null)
+            {
+                try
+                {
+                    return Class.forName(desc.getName(), false, classLoader);
+                }
+                catch (ClassNotFoundException ignored)
+                {
+                    // fall back on the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.offHeap;
+
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.Consumer;
+
+/**
+ * Memory mapped region records are appended to. A record is a header (key hash, key length, value length) followed by
+ * the serialized key and value.
+ * <p>
+ * The channel the region is mapped from is closed straight away, the region itself being unmapped on release.
+ */
+class OffHeapSegment
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(OffHeapSegment.class);
+
+    static final int RECORD_HEADER_SIZE = 3 * Integer.BYTES;
+
+    private static final Consumer<MappedByteBuffer> UNMAPPER = unmapper();
+
+    private final int id;
+    private final MappedByteBuffer buffer;
+    private int position = 0;
+
+    private OffHeapSegment(int id, MappedByteBuffer buffer)
+    {
+        this.id = id;
+        this.buffer = buffer;
+    }
+
+    static OffHeapSegment newSegment(int id, int sizeInBytes, File directory)
+    {
+        try
+        {
+            File file = File.createTempFile("legend-execution-cache-", ".segment", directory);
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"); FileChannel channel = randomAccessFile.getChannel())
+            {
+                return new OffHeapSegment(id, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeInBytes));
+            }
+            finally
+            {
+                // the mapping outlives the file, which is only deleted on exit where open files cannot be deleted
+                if (!file.delete())
+                {
+                    file.deleteOnExit();
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Unable to create off heap cache segment", e);
+        }
+    }
+
+    int getId()
+    {
+        return this.id;
+    }
+
+    int getPosition()
+    {
+        return this.position;
+    }
+
+    boolean hasRoomFor(int recordSize)
+    {
+        return this.buffer.capacity() - this.position >= recordSize;
+    }
+
+    /**
+     * Append the record, returning its offset in the segment.
+     */
+    int append(int hash, byte[] key, byte[] value)
+    {
+        int offset = this.position;
+        ByteBuffer target = this.buffer.duplicate();
+        target.position(offset);
+        target.putInt(hash).putInt(key.length).putInt(value.length).put(key).put(value);
+        this.position = target.position();
+        return offset;
+    }
+
+    int hashAt(int offset)
+    {
+        return this.buffer.getInt(offset);
+    }
+
+    int recordSizeAt(int offset)
+    {
+        return RECORD_HEADER_SIZE + this.buffer.getInt(offset + Integer.BYTES) + this.buffer.getInt(offset + 2 * Integer.BYTES);
+    }
+
+    byte[] keyAt(int offset)
+    {
+        return this.read(offset + RECORD_HEADER_SIZE, this.buffer.getInt(offset + Integer.BYTES));
+    }
+
+    byte[] valueAt(int offset)
+    {
+        return this.read(offset + RECORD_HEADER_SIZE + this.buffer.getInt(offset + Integer.BYTES), this.buffer.getInt(offset + 2 * Integer.BYTES));
+    }
+
+    /**
+     * Unmap the region: the segment must not be read from anymore.
+     */
+    void release()
+    {
+        if (UNMAPPER != null)
+        {
+            UNMAPPER.accept(this.buffer);
+        }
+    }
+
+    // no public API unmaps a buffer before it is garbage collected: the cleaner of the buffer is run through the JDK internals when accessible
+    private static Consumer<MappedByteBuffer> unmapper()
+    {
+        try
+        {
+            // Java 9 and later
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            LOGGER.debug("Unsafe.invokeCleaner not available", e);
+        }
+        try
+        {
+            // Java 8
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invoke(clean, invoke(cleaner, buffer));
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            LOGGER.warn("Off heap cache segments are unmapped once garbage collected only", e);
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args)
+    {
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new RuntimeException("Unable to unmap off heap cache segment", e);
+        }
+    }
+
+    private byte[] read(int offset, int length)
+    {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = this.buffer.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,36 @@
+//  Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.plan.execution.concurrent;
+
+import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
+
+/**
+ * Timing of a node executed by the {@link ConcurrentExecutionNodeExecutorPool}.
+ */
+public class ConcurrentExecutionActivity extends ExecutionActivity
+{
+    public String node;
+    public String thread;
+    public long startTimeInMillis;
+    public long executionTimeInMillis;
+
+    public ConcurrentExecutionActivity(String node, String thread, long startTimeInMillis, long executionTimeInMillis)
+    {
+        this.node = node;
+        this.thread = thread;
+        this.startTimeInMillis = startTimeInMillis;
+        this.executionTimeInMillis = executionTimeInMillis;
+    }
+}
@@ -29,6 +29,7 @@ import org.finos.legend.engine.plan.execution.nodes.ExecutionNodeExecutor;
 import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
 import org.finos.legend.engine.plan.execution.result.ConstantResult;
 import org.finos.legend.engine.plan.execution.result.Result;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.AllocationExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNode;
 import org.finos.legend.engine.shared.core.url.StreamProvider;
 import org.finos.legend.engine.shared.core.url.StreamProviderHolder;
@@ -52,11 +53,21 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
     private final ExecutorService executor;
     private final ExecutorService delegatedExecutor;
     private final Semaphore availableThreads;
+    private final boolean sequenceExecutionParallelizable;
 
     public ConcurrentExecutionNodeExecutorPool(int poolSize, String poolDescription)
+    {
+        this(poolSize, poolDescription, false);
+    }
+
+    /**
+     * @param sequenceExecutionParallelizable whether independent allocations of sequence nodes are executed with this pool too (see {@link ExecutionNodeDependencyGraph})
+     */
+    public ConcurrentExecutionNodeExecutorPool(int poolSize, String poolDescription, boolean sequenceExecutionParallelizable)
     {
         this.poolSize = poolSize;
         this.poolDescription = poolDescription;
+        this.sequenceExecutionParallelizable = sequenceExecutionParallelizable;
         this.delegatedExecutor = Executors.newFixedThreadPool(poolSize);
         this.executor = new TracedExecutorService(this.delegatedExecutor, GlobalTracer.get());
         this.availableThreads = new Semaphore(poolSize);
@@ -68,13 +79,26 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
         this.executor.shutdown();
     }
 
+    public boolean isSequenceExecutionParallelizable()
+    {
+        return this.sequenceExecutionParallelizable;
+    }
+
     public List<? extends Result> execute(final List<ExecutionNode> nodes, final MutableList<CommonProfile> profiles, final ExecutionState executionState)
+    {
+        return execute(nodes, profiles, executionState, false);
+    }
+
+    /**
+     * @param recordActivities whether a {@link ConcurrentExecutionActivity} with the timing of each node is added to the execution state
+     */
+    public List<? extends Result> execute(final List<ExecutionNode> nodes, final MutableList<CommonProfile> profiles, final ExecutionState executionState, final boolean recordActivities)
     {
         if (!executor.isShutdown() && availableThreads.tryAcquire(nodes.size()))
         {
             try (Scope scope = GlobalTracer.get().buildSpan("Parallel Execution Triggered").startActive(true))
             {
-                return executeConcurrently(nodes, profiles, executionState);
+                return executeConcurrently(nodes, profiles, executionState, recordActivities);
             }
             catch (Exception e)
             {
@@ -89,12 +113,12 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
         {
             try (Scope scope = GlobalTracer.get().buildSpan("Sequential Execution Triggered").startActive(true))
             {
-                return ListIterate.collect(nodes, node -> node.accept(new ExecutionNodeExecutor(profiles, executionState)));
+                return ListIterate.collect(nodes, node -> executeNode(node, profiles, executionState, recordActivities));
             }
         }
     }
 
-    private List<Result> executeConcurrently(final List<ExecutionNode> nodes, final MutableList<CommonProfile> profiles, final ExecutionState executionState)
+    private List<Result> executeConcurrently(final List<ExecutionNode> nodes, final MutableList<CommonProfile> profiles, final ExecutionState executionState, final boolean recordActivities)
     {
         List<CompletableFuture<Pair<Result, ExecutionState>>> elements = FastList.newList();
         StreamProvider streamProvider = StreamProviderHolder.streamProviderThreadLocal.get();
@@ -104,7 +128,7 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
                     {
                         StreamProviderHolder.streamProviderThreadLocal.set(streamProvider);
                         ExecutionState executionStateForThread = executionState.copy();
-                        Result result = node.accept(new ExecutionNodeExecutor(Lists.mutable.withAll(profiles), executionStateForThread));
+                        Result result = executeNode(node, Lists.mutable.withAll(profiles), executionStateForThread, recordActivities);
                         return Tuples.pair(result, executionStateForThread);
                     }
                 }, executor
@@ -130,6 +154,18 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
         return results;
     }
 
+    private static Result executeNode(ExecutionNode node, MutableList<CommonProfile> profiles, ExecutionState executionState, boolean recordActivity)
+    {
+        long start = System.currentTimeMillis();
+        Result result = node.accept(new ExecutionNodeExecutor(profiles, executionState));
+        if (recordActivity)
+        {
+            String nodeName = node instanceof AllocationExecutionNode ? ((AllocationExecutionNode) node).varName : node.getClass().getSimpleName();
+            executionState.activities.add(new ConcurrentExecutionActivity(nodeName, Thread.currentThread().getName(), start, System.currentTimeMillis() - start));
+        }
+        return result;
+    }
+
     @Override
     public String toString()
     {
@@ -148,6 +184,8 @@ public final class ConcurrentExecutionNodeExecutorPool implements AutoCloseable
         jsonGenerator.writeString(this.poolDescription);
         jsonGenerator.writeFieldName("poolSize");
         jsonGenerator.writeNumber(this.poolSize);
+        jsonGenerator.writeFieldName("sequenceExecutionParallelizable");
+        jsonGenerator.writeBoolean(this.sequenceExecutionParallelizable);
         jsonGenerator.writeFieldName("executor");
         jsonGenerator.writeString(this.delegatedExecutor.toString());
         jsonGenerator.writeFieldName("availableThreads");
@@ -0,0 +1,164 @@
+//  Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.plan.execution.concurrent;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.AllocationExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.SequenceExecutionNode;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dependencies between the children of a {@link SequenceExecutionNode}, used to execute independent allocations
+ * concurrently.
+ * <p>
+ * Two allocations of a sequence depend on each other when either of them refers to the variable allocated by the
+ * other (or both allocate the same variable). References are found by looking for the variable name in the protocol
+ * JSON of the allocation, so that they are found wherever the plan uses them (SQL and freemarker templates, generated
+ * Java code, required variable inputs...). This may find dependencies which are not there, never the opposite.
+ * <p>
+ * The children are split in stages which are executed one after the other: consecutive allocations are grouped by
+ * their depth in the dependency graph, while any other node (and the last child, whose result is the result of the
+ * sequence) is a stage of its own, so that it still runs after all the nodes before it and before all the nodes after.
+ */
+public final class ExecutionNodeDependencyGraph
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionNodeDependencyGraph.class);
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    // plans are usually cached, analyse each sequence once
+    private static final Map<SequenceExecutionNode, ExecutionNodeDependencyGraph> GRAPHS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<List<ExecutionNode>> stages;
+
+    ExecutionNodeDependencyGraph(List<ExecutionNode> nodes)
+    {
+        MutableList<List<ExecutionNode>> stages = Lists.mutable.empty();
+        MutableList<Allocation> run = Lists.mutable.empty();
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            ExecutionNode node = nodes.get(i);
+            if (node instanceof AllocationExecutionNode && i < nodes.size() - 1)
+            {
+                run.add(new Allocation((AllocationExecutionNode) node, run));
+            }
+            else
+            {
+                addStages(stages, run);
+                run = Lists.mutable.empty();
+                stages.add(Collections.singletonList(node));
+            }
+        }
+        addStages(stages, run);
+        this.stages = stages.asUnmodifiable();
+    }
+
+    public static ExecutionNodeDependencyGraph of(SequenceExecutionNode sequenceExecutionNode)
+    {
+        return GRAPHS.computeIfAbsent(sequenceExecutionNode, sequence -> new ExecutionNodeDependencyGraph(sequence.executionNodes().toList()));
+    }
+
+    /**
+     * The stages to execute in order: nodes of the same stage do not depend on each other.
+     */
+    public List<List<ExecutionNode>> getStages()
+    {
+        return this.stages;
+    }
+
+    private static void addStages(MutableList<List<ExecutionNode>> stages, MutableList<Allocation> run)
+    {
+        if (run.isEmpty())
+        {
+            return;
+        }
+        int depth = run.collectInt(allocation -> allocation.depth).max();
+        for (int d = 0; d <= depth; d++)
+        {
+            int stageDepth = d;
+            stages.add(run.select(allocation -> allocation.depth == stageDepth).<ExecutionNode>collect(allocation -> allocation.node).asUnmodifiable());
+        }
+    }
+
+    private static final class Allocation
+    {
+        private final AllocationExecutionNode node;
+        private final String json;
+        private final MutableSet<String> identifiers;
+        private final int depth;
+
+        private Allocation(AllocationExecutionNode node, List<Allocation> previous)
+        {
+            this.node = node;
+            this.json = toJson(node);
+            this.identifiers = this.json == null ? null : identifiers(this.json);
+            this.depth = previous.stream().filter(this::dependsOn).mapToInt(allocation -> allocation.depth + 1).max().orElse(0);
+        }
+
+        private boolean dependsOn(Allocation other)
+        {
+            return this.node.varName.equals(other.node.varName) || this.refersTo(other.node.varName) || other.refersTo(this.node.varName);
+        }
+
+        private boolean refersTo(String varName)
+        {
+            if (this.json == null)
+            {
+                return true;
+            }
+            return IDENTIFIER.matcher(varName).matches() ? this.identifiers.contains(varName) : this.json.contains(varName);
+        }
+
+        private static String toJson(AllocationExecutionNode node)
+        {
+            try
+            {
+                return OBJECT_MAPPER.writeValueAsString(node);
+            }
+            catch (JsonProcessingException e)
+            {
+                // unknown references: the node depends on every other one
+                LOGGER.warn("Unable to analyse dependencies of allocation of {}", node.varName, e);
+                return null;
+            }
+        }
+
+        private static MutableSet<String> identifiers(String json)
+        {
+            MutableSet<String> identifiers = Sets.mutable.empty();
+            Matcher matcher = IDENTIFIER.matcher(json);
+            while (matcher.find())
+            {
+                identifiers.add(matcher.group());
+            }
+            return identifiers;
+        }
+    }
+}
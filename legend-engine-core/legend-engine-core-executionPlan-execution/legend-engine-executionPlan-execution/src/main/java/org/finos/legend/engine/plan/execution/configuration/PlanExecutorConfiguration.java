@@ -18,4 +18,6 @@ public class PlanExecutorConfiguration
 {
     public Boolean supportConcurrentExecutionNodeExecution;
     public Integer concurrentExecutionNodeExecutorPoolSize;
+    // also execute independent allocations of sequence nodes concurrently
+    public Boolean concurrentSequenceExecution;
 }
@@ -16,14 +16,19 @@
 package org.finos.legend.engine.plan.execution.graphFetch;
 
 import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
 
 public class AdaptiveBatching
 {
+    // a larger batch slower than this fraction of the best measured throughput stops the batch size from growing past the best one
+    private static final double THROUGHPUT_TOLERANCE = 0.9;
+
     public static long getAdaptiveBatchSize(ExecutionState executionState)
     {
         if (executionState.adaptiveGraphBatchStats == null)
         {
             executionState.adaptiveGraphBatchStats = new AdaptiveGraphBatchStats(0, 64);
+            MetricsHandler.observeGraphFetchBatchSize(AdaptiveGraphBatchStats.BatchSizeDecision.INITIAL.name(), executionState.adaptiveGraphBatchStats.previousBatchSize);
             return executionState.adaptiveGraphBatchStats.previousBatchSize;
         }
         long softLimit = executionState.getGraphFetchExecutionConfiguration().getGraphFetchSoftMemoryLimitPercentage() * executionState.getGraphFetchExecutionConfiguration().getGraphFetchBatchMemoryHardLimit() / 100;
@@ -33,7 +38,53 @@ public class AdaptiveBatching
         long avgMemoryUtilizationInBytesPerObject = (long) executionState.adaptiveGraphBatchStats.getWeightedAverage();
         long changeInBatchSize = softLimit / (avgMemoryUtilizationInBytesPerObject + 1) - executionState.adaptiveGraphBatchStats.previousBatchSize;
 
-        return getNewBatchSize(executionState, changeInBatchSize, softLimit, previousBatchMemoryUtilization);
+        long newBatchSize = getNewBatchSize(executionState, changeInBatchSize, softLimit, previousBatchMemoryUtilization);
+        return getThroughputBoundBatchSize(executionState, newBatchSize);
+    }
+
+    /**
+     * Holds the batch size computed from memory utilization back to the size with the best measured throughput when
+     * batches between the two were measured to be slower. Never returns more than the memory based size.
+     */
+    public static long getThroughputBoundBatchSize(ExecutionState executionState, long memoryBatchSize)
+    {
+        AdaptiveGraphBatchStats stats = executionState.adaptiveGraphBatchStats;
+        AdaptiveGraphBatchStats.BatchLatency best = stats.getBestThroughputBatch();
+
+        long newBatchSize = memoryBatchSize;
+        AdaptiveGraphBatchStats.BatchSizeDecision decision = AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY;
+        if (best != null && memoryBatchSize > best.batchSize && stats.hasSlowerLargerBatch(best, memoryBatchSize, THROUGHPUT_TOLERANCE))
+        {
+            newBatchSize = best.batchSize;
+            decision = AdaptiveGraphBatchStats.BatchSizeDecision.THROUGHPUT;
+            stats.incrementRate = 1;
+        }
+
+        stats.previousBatchSize = newBatchSize;
+        stats.setLastDecision(decision);
+        MetricsHandler.observeGraphFetchBatchSize(decision.name(), newBatchSize);
+        return newBatchSize;
+    }
+
+    /**
+     * Records the time a batch took, measured on the wall clock, which its throughput is computed from. The time spent
+     * in each phase is only reported: temp table loads are summed across the threads loading them, so they overlap
+     * with each other and with the time spent executing the children.
+     */
+    public static void recordBatchLatency(ExecutionState executionState, long batchSize, long objectCount, long batchNanos, long rootQueryNanos, long tempTableLoadNanos, long childrenNanos, long serializationNanos)
+    {
+        if (executionState.adaptiveGraphBatchStats == null || objectCount == 0)
+        {
+            return;
+        }
+        AdaptiveGraphBatchStats.BatchLatency batchLatency = new AdaptiveGraphBatchStats.BatchLatency(batchSize, objectCount, batchNanos);
+        executionState.adaptiveGraphBatchStats.addBatchLatency(batchLatency);
+
+        MetricsHandler.observeGraphFetchBatchPhaseLatency("rootQuery", rootQueryNanos);
+        MetricsHandler.observeGraphFetchBatchPhaseLatency("tempTableLoad", tempTableLoadNanos);
+        MetricsHandler.observeGraphFetchBatchPhaseLatency("children", childrenNanos);
+        MetricsHandler.observeGraphFetchBatchPhaseLatency("serialization", serializationNanos);
+        MetricsHandler.observeGraphFetchBatchThroughput(batchLatency.getThroughput());
     }
 
     public static long getNewBatchSize(ExecutionState executionState, long changeInBatchSize, long softLimit, long previousBatchMemoryUtilization)
@@ -25,6 +25,8 @@ public class AdaptiveGraphBatchStats
     protected long incrementRate;   // counter for incrementing batch size
     protected long decrementRate;   // counter for decrementing batch size
     private final List<BatchStats> lastTenBatchesStats;
+    private final List<BatchLatency> lastTenBatchesLatencies;
+    private BatchSizeDecision lastDecision;
 
     public AdaptiveGraphBatchStats(long previousBatchMemoryUtilization, long previousBatchSize)
     {
@@ -40,6 +42,8 @@ public class AdaptiveGraphBatchStats
         {
             this.lastTenBatchesStats = new ArrayList<>();
         }
+        this.lastTenBatchesLatencies = new ArrayList<>();
+        this.lastDecision = BatchSizeDecision.INITIAL;
     }
 
     public void addPreviousAverageToStats(long previousBatchMemoryUtilization, long previousBatchSize)
@@ -66,6 +70,86 @@ public class AdaptiveGraphBatchStats
         return weightedMemoryUtilization / weightedBatchSize;
     }
 
+    public void addBatchLatency(BatchLatency batchLatency)
+    {
+        this.lastTenBatchesLatencies.add(batchLatency);
+        if (this.lastTenBatchesLatencies.size() > 10)
+        {
+            this.lastTenBatchesLatencies.remove(0);
+        }
+    }
+
+    public BatchLatency getBestThroughputBatch()
+    {
+        BatchLatency best = null;
+        for (BatchLatency batchLatency : this.lastTenBatchesLatencies)
+        {
+            if (best == null || batchLatency.getThroughput() > best.getThroughput())
+            {
+                best = batchLatency;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether a batch larger than the best one, but not larger than maxBatchSize, was measured with a throughput below
+     * the given fraction of the best throughput.
+     */
+    public boolean hasSlowerLargerBatch(BatchLatency best, long maxBatchSize, double throughputTolerance)
+    {
+        for (BatchLatency batchLatency : this.lastTenBatchesLatencies)
+        {
+            if (batchLatency.batchSize > best.batchSize && batchLatency.batchSize <= maxBatchSize && batchLatency.getThroughput() < best.getThroughput() * throughputTolerance)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BatchSizeDecision getLastDecision()
+    {
+        return this.lastDecision;
+    }
+
+    public void setLastDecision(BatchSizeDecision lastDecision)
+    {
+        this.lastDecision = lastDecision;
+    }
+
+    public long getPreviousBatchSize()
+    {
+        return this.previousBatchSize;
+    }
+
+    public enum BatchSizeDecision
+    {
+        INITIAL,    // no stats available yet
+        MEMORY,     // sized from the memory utilization of previous batches
+        THROUGHPUT  // held back from growing as larger batches were measured to process fewer objects per second
+    }
+
+    public static class BatchLatency
+    {
+        public final long batchSize;
+        public final long objectCount;
+        public final long nanos;    // wall clock time of the batch, from its root query to its serialization
+
+        public BatchLatency(long batchSize, long objectCount, long nanos)
+        {
+            this.batchSize = batchSize;
+            this.objectCount = objectCount;
+            this.nanos = nanos;
+        }
+
+        // objects per second
+        public double getThroughput()
+        {
+            return this.objectCount * 1_000_000_000.0 / Math.max(1, this.nanos);
+        }
+    }
+
     static class BatchStats
     {
         public final long batchSize;
@@ -35,6 +35,8 @@ import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCache;
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCacheByTargetCrossKeys;
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCacheKey;
 import org.finos.legend.engine.plan.execution.cache.graphFetch.GraphFetchCrossAssociationKeys;
+import org.finos.legend.engine.plan.execution.concurrent.ConcurrentExecutionNodeExecutorPool;
+import org.finos.legend.engine.plan.execution.concurrent.ExecutionNodeDependencyGraph;
 import org.finos.legend.engine.plan.execution.nodes.helpers.ExecutionNodeResultHelper;
 import org.finos.legend.engine.plan.execution.nodes.helpers.ExecutionNodeSerializerHelper;
 import org.finos.legend.engine.plan.execution.nodes.helpers.freemarker.FreeMarkerExecutor;
@@ -608,6 +610,12 @@ public class ExecutionNodeExecutor implements ExecutionNodeVisitor<Result>
     @Override
     public Result visit(SequenceExecutionNode sequenceExecutionNode)
     {
+        ConcurrentExecutionNodeExecutorPool pool = this.executionState.getConcurrentExecutionNodeExecutorPool();
+        if (pool != null && pool.isSequenceExecutionParallelizable() && this.executionState.extraSequenceNodeExecutors.isEmpty())
+        {
+            return executeStages(ExecutionNodeDependencyGraph.of(sequenceExecutionNode), pool);
+        }
+
         Result last = null;
         for (ExecutionNode node : sequenceExecutionNode.executionNodes())
         {
@@ -620,6 +628,32 @@ public class ExecutionNodeExecutor implements ExecutionNodeVisitor<Result>
         return last;
     }
 
+    private Result executeStages(ExecutionNodeDependencyGraph dependencyGraph, ConcurrentExecutionNodeExecutorPool pool)
+    {
+        Result last = null;
+        for (List<ExecutionNode> stage : dependencyGraph.getStages())
+        {
+            if (stage.size() == 1 || !this.executionState.isConcurrentExecutionSupported())
+            {
+                for (ExecutionNode node : stage)
+                {
+                    last = node.accept(new ExecutionNodeExecutor(this.profiles, this.executionState));
+                }
+            }
+            else
+            {
+                // stages with more than one node are independent allocations, each executed on its own copy of the state
+                List<? extends Result> results = pool.execute(stage, this.profiles, this.executionState, true);
+                for (int i = 0; i < stage.size(); i++)
+                {
+                    this.executionState.addResult(((AllocationExecutionNode) stage.get(i)).varName, results.get(i));
+                }
+                last = results.get(results.size() - 1);
+            }
+        }
+        return last;
+    }
+
     private ExecutionCache<GraphFetchCacheKey, List<Object>> findGraphFetchCacheByTargetCrossKeys(StoreMappingGlobalGraphFetchExecutionNode globalGraphFetchExecutionNode)
     {
         List<GraphFetchCache> graphFetchCaches = this.executionState.graphFetchCaches;
@@ -14,27 +14,40 @@
 
 package org.finos.legend.engine.plan.execution.nodes.helpers.freemarker;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import freemarker.core.TemplateDateFormatFactory;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
 import org.finos.legend.engine.plan.execution.result.ConstantResult;
 import org.finos.legend.engine.plan.execution.result.ResultNormalizer;
 import org.finos.legend.engine.plan.execution.result.StreamingResult;
 import org.finos.legend.engine.plan.execution.result.freemarker.PlanDateParameterDateFormatFactory;
 
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 public class FreeMarkerExecutor
 {
     private static Configuration freemarkerConfig = new Configuration();
     private static Map<String, TemplateDateFormatFactory> customDateFormats = Maps.mutable.with("alloyDate", PlanDateParameterDateFormatFactory.INSTANCE);
 
+    // Parsed templates keyed by (template functions, plan text); only the text coming from the plan is cached as
+    // the output of a pass embeds parameter values and would rarely be seen again
+    private static final int TEMPLATE_CACHE_MAX_SIZE = 2000;
+    private static final Cache<Pair<String, String>, Template> templateCache = CacheBuilder.newBuilder().maximumSize(TEMPLATE_CACHE_MAX_SIZE).build();
+    private static final String[] TEMPLATE_MARKERS = {"${", "#{", "<#", "</#", "<@", "</@", "[#", "[@", "\\\""};
+
     static
     {
         freemarkerConfig.setNumberFormat("computer");
@@ -51,6 +64,15 @@ public class FreeMarkerExecutor
     }
 
     public static String process(String input, ExecutionState executionState, String dbType, String databaseTimeZone)
+    {
+        return process(input, executionState, dbType, databaseTimeZone, null);
+    }
+
+    /**
+     * Processes the input with the values of constant results replaced by what the replacer returns for them, for
+     * instance placeholders standing for the values. Values for which the replacer returns null are kept.
+     */
+    public static String process(String input, ExecutionState executionState, String dbType, String databaseTimeZone, Function<Object, Object> valueReplacer)
     {
         Map<String, Object> variableMap = new HashMap<>();
         executionState.getResults().forEach((k, v) ->
@@ -58,7 +80,12 @@ public class FreeMarkerExecutor
             if (v instanceof ConstantResult)
             {
                 Object value = ((ConstantResult) v).getValue();
-                if (value != null)
+                Object replacement = (value == null || valueReplacer == null) ? null : valueReplacer.apply(value);
+                if (replacement != null)
+                {
+                    variableMap.put(k, replacement);
+                }
+                else if (value != null)
                 {
                     value = dbType != null ?
                             (databaseTimeZone != null ?
@@ -81,28 +108,63 @@ public class FreeMarkerExecutor
 
     public static String processRecursively(String input, Map<String, ?> variableMap, String templateFunctions)
     {
-        String result = process(input, variableMap, templateFunctions);
-        if (!result.equals(input.replace("\\\"", "\"")))
+        return processRecursively(input, variableMap, templateFunctions, true);
+    }
+
+    private static String processRecursively(String input, Map<String, ?> variableMap, String templateFunctions, boolean useTemplateCache)
+    {
+        String result = process(input, variableMap, templateFunctions, useTemplateCache);
+        // a further pass can only change the output if it still contains template markup
+        if (!result.equals(input.replace("\\\"", "\"")) && mayContainTemplateMarkup(result))
         {
-            return processRecursively(result, variableMap, templateFunctions);
+            return processRecursively(result, variableMap, templateFunctions, false);
         }
         return result;
     }
 
     private static String process(String input, Map<String, ?> variableMap, String templateFunctions)
+    {
+        return process(input, variableMap, templateFunctions, true);
+    }
+
+    private static String process(String input, Map<String, ?> variableMap, String templateFunctions, boolean useTemplateCache)
     {
         StringWriter stringWriter = new StringWriter();
         try
         {
-            Template template = new Template("template", new StringReader(templateFunctions + input.replace("\\\"", "\"")), freemarkerConfig);
-            template.setCustomDateFormats(customDateFormats);
-            template.setDateFormat("@alloyDate");
+            Template template = useTemplateCache ?
+                    templateCache.get(Tuples.pair(templateFunctions, input), () -> newTemplate(templateFunctions, input)) :
+                    newTemplate(templateFunctions, input);
             template.process(variableMap, stringWriter);
             return stringWriter.toString();
         }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException("Issue processing freemarker function.  Template with error: " + stringWriter.toString(), e.getCause());
+        }
         catch (Exception e)
         {
             throw new RuntimeException("Issue processing freemarker function.  Template with error: " + stringWriter.toString(), e);
         }
     }
+
+    private static Template newTemplate(String templateFunctions, String input) throws IOException
+    {
+        Template template = new Template("template", new StringReader(templateFunctions + input.replace("\\\"", "\"")), freemarkerConfig);
+        template.setCustomDateFormats(customDateFormats);
+        template.setDateFormat("@alloyDate");
+        return template;
+    }
+
+    static boolean mayContainTemplateMarkup(String text)
+    {
+        for (String marker : TEMPLATE_MARKERS)
+        {
+            if (text.contains(marker))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -21,6 +21,7 @@ import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.plan.compilation.ExecutionPlanDependenciesFilter;
+import org.finos.legend.engine.plan.execution.cache.javaCompilation.JavaCompilationCache;
 import org.finos.legend.engine.plan.execution.result.ErrorResult;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.CompiledClass;
@@ -53,6 +54,11 @@ public class JavaHelper
     }
 
     public static EngineJavaCompiler compilePlan(SingleExecutionPlan singleExecutionPlan, MutableList<CommonProfile> pm) throws JavaCompileException
+    {
+        return compilePlan(singleExecutionPlan, pm, null);
+    }
+
+    public static EngineJavaCompiler compilePlan(SingleExecutionPlan singleExecutionPlan, MutableList<CommonProfile> pm, JavaCompilationCache compilationCache) throws JavaCompileException
     {
         try
         {
@@ -62,7 +68,7 @@ public class JavaHelper
             EngineJavaCompiler compiler;
             try
             {
-                compiler = compilePlanFast(singleExecutionPlan);
+                compiler = compilePlanFast(singleExecutionPlan, compilationCache);
             }
             catch (Exception ignored)
             {
@@ -91,7 +97,15 @@ public class JavaHelper
         return new EngineJavaCompiler(JavaVersion.JAVA_8, ClassPathFilters.any(ListIterate.collect(ExecutionPlanJavaCompilerExtensionLoader.extensions(), ExecutionPlanJavaCompilerExtension::getExtraClassPathFilter, Lists.mutable.of(new ExecutionPlanDependenciesFilter()))));
     }
 
-    private static EngineJavaCompiler compilePlanFast(SingleExecutionPlan singleExecutionPlan) throws JavaCompileException, IOException, CompileException
+    private static String getClassPathFilterIdentifier()
+    {
+        return ListIterate.collect(ExecutionPlanJavaCompilerExtensionLoader.extensions(), e -> e.getExtraClassPathFilter().getClass().getName())
+                .with(ExecutionPlanDependenciesFilter.class.getName())
+                .sortThis()
+                .makeString(JavaVersion.JAVA_8.name() + ":", ",", "");
+    }
+
+    private static EngineJavaCompiler compilePlanFast(SingleExecutionPlan singleExecutionPlan, JavaCompilationCache compilationCache) throws JavaCompileException, IOException, CompileException
     {
         MutableMap<JavaPlatformImplementation, MutableList<JavaClass>> javaClassesMap = Maps.mutable.empty();
         if (singleExecutionPlan.globalImplementationSupport != null)
@@ -109,7 +123,8 @@ public class JavaHelper
             return null;
         }
 
-        EngineJavaCompiler javaCompiler = createNewJavaCompiler();
+        String cacheKey = (compilationCache == null) ? null : JavaCompilationCache.buildKey(javaClassesMap.valuesView().flatCollect(c -> c), getClassPathFilterIdentifier(), EngineJavaCompiler.getClassPath());
+
         MutableMap<JavaClass, JavaPlatformImplementation> reverseClassMap = Maps.mutable.empty();
         MutableList<JavaClass> executeClasses = Lists.mutable.empty();
         MutableList<JavaClass> nonExecuteClasses = Lists.mutable.empty();
@@ -118,9 +133,47 @@ public class JavaHelper
             reverseClassMap.put(jclass, jimpl);
             (javaClassHasFullName(jclass, jimpl.executionClassFullName) ? executeClasses : nonExecuteClasses).add(jclass);
         }));
-
         MutableMap<String, JavaClass> classMap = nonExecuteClasses.groupByUniqueKey(JavaHelper::getJavaClassFullName);
+
+        if (cacheKey != null)
+        {
+            JavaCompilationCache.CompiledPlanClasses cached = compilationCache.getIfPresent(cacheKey);
+            if (cached != null)
+            {
+                MutableMap<String, String> cachedByteCode = cached.copyByteCodeByClassName();
+                executeClasses.forEach(executeClass -> executeClass.byteCode = cachedByteCode.remove(getJavaClassFullName(executeClass)));
+                attachByteCode(cachedByteCode, classMap, reverseClassMap);
+                return cached.getJavaCompiler();
+            }
+        }
+
+        EngineJavaCompiler javaCompiler = createNewJavaCompiler();
         MutableMap<String, String> classToBytecodeMap = compileJavaClasses(nonExecuteClasses, javaCompiler);
+        attachByteCode(classToBytecodeMap, classMap, reverseClassMap);
+
+        ClassLoader globalClassLoader = javaCompiler.getClassLoader();
+
+        for (JavaClass executeClass : executeClasses)
+        {
+            if (executeClass.byteCode == null)
+            {
+                Map<String, byte[]> classes = SingleFileCompiler.compileFile(buildStringJavaSource(executeClass), globalClassLoader);
+                executeClass.byteCode = Base64.getEncoder().encodeToString(classes.get(getJavaClassFullName(executeClass)));
+            }
+        }
+
+        if (cacheKey != null)
+        {
+            MutableMap<String, String> byteCodeToCache = classToBytecodeMap.clone();
+            executeClasses.forEach(executeClass -> byteCodeToCache.put(getJavaClassFullName(executeClass), executeClass.byteCode));
+            compilationCache.put(cacheKey, new JavaCompilationCache.CompiledPlanClasses(javaCompiler, byteCodeToCache));
+        }
+
+        return javaCompiler;
+    }
+
+    private static void attachByteCode(MutableMap<String, String> classToBytecodeMap, MutableMap<String, JavaClass> classMap, MutableMap<JavaClass, JavaPlatformImplementation> reverseClassMap)
+    {
         classToBytecodeMap.forEachKeyValue((name, bytecode) ->
         {
             JavaClass _class = classMap.get(name);
@@ -147,19 +200,6 @@ public class JavaHelper
             }
             _class.byteCode = bytecode;
         });
-
-        ClassLoader globalClassLoader = javaCompiler.getClassLoader();
-
-        for (JavaClass executeClass : executeClasses)
-        {
-            if (executeClass.byteCode == null)
-            {
-                Map<String, byte[]> classes = SingleFileCompiler.compileFile(buildStringJavaSource(executeClass), globalClassLoader);
-                executeClass.byteCode = Base64.getEncoder().encodeToString(classes.get(getJavaClassFullName(executeClass)));
-            }
-        }
-
-        return javaCompiler;
     }
 
     private static void collectJavaClasses(ExecutionNode executionNode, Map<JavaPlatformImplementation, ? super MutableList<JavaClass>> javaClassesMap)
@@ -343,6 +343,11 @@ public class ExecutionState
         return this.states.get(type);
     }
 
+    public boolean isConcurrentExecutionSupported()
+    {
+        return this.states.values().stream().allMatch(StoreExecutionState::isConcurrentExecutionSupported);
+    }
+
     public List<? extends String> getTemplateFunctions()
     {
         return Collections.unmodifiableList(this.templateFunctions);
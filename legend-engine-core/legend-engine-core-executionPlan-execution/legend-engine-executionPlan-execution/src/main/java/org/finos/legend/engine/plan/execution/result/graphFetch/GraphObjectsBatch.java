@@ -96,6 +96,7 @@ public class GraphObjectsBatch
     protected ConcurrentMap<Integer, ExecutionCache<GraphFetchCacheKey, List<Object>>> xStorePropertyCaches;
     protected AtomicLong totalObjectMemoryUtilization;
     protected AtomicLong rowCount;
+    protected AtomicLong tempTableLoadNanos;
 
     public GraphObjectsBatch(long batchIndex, long graphFetchBatchMemoryLimit)
     {
@@ -105,6 +106,7 @@ public class GraphObjectsBatch
         this.xStorePropertyCaches = new ConcurrentHashMap<>();
         this.totalObjectMemoryUtilization = new AtomicLong(0);
         this.rowCount = new AtomicLong(0);
+        this.tempTableLoadNanos = new AtomicLong(0);
     }
 
     public GraphObjectsBatch(GraphObjectsBatch other)
@@ -115,6 +117,7 @@ public class GraphObjectsBatch
         this.xStorePropertyCaches = other.xStorePropertyCaches;
         this.totalObjectMemoryUtilization = other.totalObjectMemoryUtilization;
         this.rowCount = other.rowCount;
+        this.tempTableLoadNanos = other.tempTableLoadNanos;
     }
 
     public long getBatchIndex()
@@ -176,4 +179,15 @@ public class GraphObjectsBatch
     {
         return this.totalObjectMemoryUtilization.get();
     }
+
+    // summed across the threads loading temp tables for the batch
+    public void addTempTableLoadNanos(long nanos)
+    {
+        this.tempTableLoadNanos.addAndGet(nanos);
+    }
+
+    public long getTempTableLoadNanos()
+    {
+        return this.tempTableLoadNanos.get();
+    }
 }
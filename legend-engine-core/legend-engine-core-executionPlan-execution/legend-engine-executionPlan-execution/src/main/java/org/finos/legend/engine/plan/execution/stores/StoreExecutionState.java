@@ -30,6 +30,15 @@ public interface StoreExecutionState
 
     StoreExecutionState copy();
 
+    /**
+     * Whether nodes may be executed concurrently, each with its own {@link #copy()} of this state. Stores sharing a
+     * resource between the nodes of a plan (e.g. a connection retained for a block) must return false while they do.
+     */
+    default boolean isConcurrentExecutionSupported()
+    {
+        return true;
+    }
+
     RuntimeContext getRuntimeContext();
 
     void setRuntimeContext(RuntimeContext runtimeContext);
@@ -0,0 +1,62 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.test;
+
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanRegistry;
+import org.finos.legend.engine.plan.execution.result.ConstantResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestExecutionPlanRegistry
+{
+    private static final String PLAN = "{\"_type\":\"simple\",\"authDependent\":false,\"templateFunctions\":[],\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"}," +
+            "\"rootExecutionNode\":{\"_type\":\"constant\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"String\"},\"executionNodes\":[],\"values\":\"Hello\"}}";
+
+    @Test
+    public void testBinaryPlanRoundTrip() throws Exception
+    {
+        SingleExecutionPlan plan = (SingleExecutionPlan) PlanExecutor.readExecutionPlan(PLAN);
+        byte[] binaryPlan = PlanExecutor.writeBinaryExecutionPlan(plan);
+
+        SingleExecutionPlan readPlan = (SingleExecutionPlan) PlanExecutor.readBinaryExecutionPlan(binaryPlan);
+        Assert.assertEquals(toJson(plan), toJson(readPlan));
+        Assert.assertTrue(binaryPlan.length < toJson(plan).length());
+    }
+
+    @Test
+    public void testRegisteredPlanIsExecutedByHandle()
+    {
+        ExecutionPlanRegistry registry = ExecutionPlanCacheBuilder.buildRegistryWithDefaultCache();
+
+        String handle = registry.register((SingleExecutionPlan) PlanExecutor.readExecutionPlan(PLAN));
+        Assert.assertEquals(handle, registry.register((SingleExecutionPlan) PlanExecutor.readExecutionPlan(PLAN)));
+        Assert.assertEquals(1, registry.getCache().estimatedSize());
+
+        ConstantResult result = (ConstantResult) PlanExecutor.newPlanExecutor().execute(registry.get(handle));
+        Assert.assertEquals("Hello", result.getValue());
+
+        registry.unregister(handle);
+        Assert.assertNull(registry.get(handle));
+    }
+
+    private static String toJson(SingleExecutionPlan plan) throws Exception
+    {
+        return ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().writeValueAsString(plan);
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.test;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.engine.plan.execution.cache.javaCompilation.JavaCompilationCache;
+import org.finos.legend.engine.plan.execution.cache.javaCompilation.JavaCompilationCacheBuilder;
+import org.finos.legend.engine.plan.execution.nodes.helpers.platform.JavaHelper;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.JavaClass;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+import org.finos.legend.engine.shared.javaCompiler.EngineJavaCompiler;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestJavaCompilationCache
+{
+    @Test
+    public void testKeyIsIndependentOfClassOrder()
+    {
+        JavaClass a = newJavaClass("org.finos.A", "package org.finos; public class A {}");
+        JavaClass b = newJavaClass("org.finos.B", "package org.finos; public class B {}");
+
+        Assert.assertEquals(JavaCompilationCache.buildKey(Lists.mutable.with(a, b), "filter", "classPath"), JavaCompilationCache.buildKey(Lists.mutable.with(b, a), "filter", "classPath"));
+    }
+
+    @Test
+    public void testKeyChangesWithSourceAndFilter()
+    {
+        JavaClass a = newJavaClass("org.finos.A", "package org.finos; public class A {}");
+        JavaClass changedA = newJavaClass("org.finos.A", "package org.finos; public class A { int x; }");
+
+        String key = JavaCompilationCache.buildKey(Lists.mutable.with(a), "filter", "classPath");
+        Assert.assertNotEquals(key, JavaCompilationCache.buildKey(Lists.mutable.with(changedA), "filter", "classPath"));
+        Assert.assertNotEquals(key, JavaCompilationCache.buildKey(Lists.mutable.with(a), "otherFilter", "classPath"));
+    }
+
+    @Test
+    public void testKeyChangesWithClassPath()
+    {
+        JavaClass a = newJavaClass("org.finos.A", "package org.finos; public class A {}");
+
+        Assert.assertEquals(JavaCompilationCache.buildKey(Lists.mutable.with(a), "filter", "a.jar:b.jar"), JavaCompilationCache.buildKey(Lists.mutable.with(a), "filter", "a.jar:b.jar"));
+        Assert.assertNotEquals(JavaCompilationCache.buildKey(Lists.mutable.with(a), "filter", "a.jar:b.jar"), JavaCompilationCache.buildKey(Lists.mutable.with(a), "filter", "a.jar:c.jar"));
+    }
+
+    @Test
+    public void testCacheHitAndMiss()
+    {
+        JavaCompilationCache cache = JavaCompilationCacheBuilder.buildWithDefaultCache();
+        String key = JavaCompilationCache.buildKey(Lists.mutable.with(newJavaClass("org.finos.A", "package org.finos; public class A {}")), "filter", "classPath");
+
+        Assert.assertNull(cache.getIfPresent(key));
+        JavaCompilationCache.CompiledPlanClasses compiled = new JavaCompilationCache.CompiledPlanClasses(new EngineJavaCompiler(), Maps.mutable.with("org.finos.A", "AAAA"));
+        cache.put(key, compiled);
+        Assert.assertSame(compiled, cache.getIfPresent(key));
+
+        Assert.assertEquals(2, cache.getCache().stats().requestCount());
+        Assert.assertEquals(1, cache.getCache().stats().hitCount());
+        Assert.assertEquals(1, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    public void testCacheEviction()
+    {
+        double evictionsBefore = MetricsHandler.getMetricsRegistry().getSampleValue("legend_engine_java_compilation_cache_eviction_count");
+        JavaCompilationCache cache = JavaCompilationCacheBuilder.buildWithMaxByteCodeSize(10);
+        cache.put("first", new JavaCompilationCache.CompiledPlanClasses(new EngineJavaCompiler(), Maps.mutable.with("org.finos.A", "AAAAAAAA")));
+        cache.put("second", new JavaCompilationCache.CompiledPlanClasses(new EngineJavaCompiler(), Maps.mutable.with("org.finos.B", "BBBBBBBB")));
+
+        Assert.assertNull(cache.getIfPresent("first"));
+        long evictionCount = cache.getCache().stats().evictionCount();
+        Assert.assertTrue(evictionCount > 0);
+        Assert.assertEquals(evictionsBefore + evictionCount, MetricsHandler.getMetricsRegistry().getSampleValue("legend_engine_java_compilation_cache_eviction_count"), 0d);
+    }
+
+    private static JavaClass newJavaClass(String fullName, String source)
+    {
+        JavaClass javaClass = JavaHelper.newJavaClass(fullName);
+        javaClass.source = source;
+        return javaClass;
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.cache.test;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.offHeap.OffHeapExecutionCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestOffHeapExecutionCache
+{
+    @Test
+    public void testOffHeapExecutionCacheGet()
+    {
+        ExecutionCache<Integer, String> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        Assert.assertEquals("Value 1", executionCache.get(1, () -> "Value 1"));
+        Assert.assertEquals("Value 1", executionCache.getIfPresent(1));
+        Assert.assertEquals("Value 1", executionCache.get(1, () -> "Other value"));
+        Assert.assertEquals(1, executionCache.getAllPresent(Arrays.asList(1, 2)).size());
+
+        Assert.assertEquals(1, executionCache.estimatedSize());
+        Assert.assertEquals(5, executionCache.stats().requestCount());
+        Assert.assertEquals(3, executionCache.stats().hitCount());
+        Assert.assertEquals(2, executionCache.stats().missCount());
+        Assert.assertEquals(1, executionCache.stats().loadCount());
+        Assert.assertEquals(1, executionCache.stats().loadSuccessCount());
+        Assert.assertEquals(0, executionCache.stats().loadFailureCount());
+    }
+
+    @Test
+    public void testOffHeapExecutionCachePutAndInvalidate()
+    {
+        ExecutionCache<Integer, String> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        executionCache.put(1, "Value 1");
+        executionCache.putAll(Maps.mutable.with(2, "Value 2", 3, "Value 3", 4, "Value 4", 5, "Value 5"));
+        executionCache.put(1, "New value 1");
+        Assert.assertEquals(5, executionCache.estimatedSize());
+        Assert.assertEquals("New value 1", executionCache.getIfPresent(1));
+
+        executionCache.invalidate(1);
+        Assert.assertNull(executionCache.getIfPresent(1));
+        Assert.assertEquals(4, executionCache.getAllPresent(Arrays.asList(2, 3, 4, 5)).size());
+
+        executionCache.invalidateAll(Arrays.asList(2, 3));
+        Assert.assertEquals(2, executionCache.estimatedSize());
+
+        executionCache.invalidateAll();
+        Assert.assertEquals(0, executionCache.estimatedSize());
+        Assert.assertEquals(0, executionCache.getAllPresent(Arrays.asList(1, 2, 3, 4, 5)).size());
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheReturnsCopies()
+    {
+        ExecutionCache<String, List<String>> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        List<String> values = new ArrayList<>(Arrays.asList("a", "b"));
+        executionCache.put("key", values);
+        values.add("c");
+
+        List<String> cached = executionCache.getIfPresent("key");
+        Assert.assertEquals(Arrays.asList("a", "b"), cached);
+        Assert.assertNotSame(cached, executionCache.getIfPresent("key"));
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheEvictsOldestSegments()
+    {
+        ExecutionCache<Integer, String> executionCache = new OffHeapExecutionCache<>(4096, 1024, null);
+
+        for (int i = 0; i < 100; i++)
+        {
+            executionCache.put(i, "Value " + i);
+        }
+
+        Assert.assertNull(executionCache.getIfPresent(0));
+        Assert.assertEquals("Value 99", executionCache.getIfPresent(99));
+        Assert.assertTrue(executionCache.stats().evictionCount() > 0);
+        Assert.assertEquals(100 - executionCache.stats().evictionCount(), executionCache.estimatedSize());
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheEvictsPartOfTheCacheOnly()
+    {
+        // the default segment size is larger than the whole cache
+        ExecutionCache<Integer, String> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(4096);
+
+        int count = 0;
+        while (executionCache.stats().evictionCount() == 0)
+        {
+            executionCache.put(count, "Value " + count);
+            count++;
+        }
+
+        Assert.assertTrue(executionCache.estimatedSize() >= count / 2);
+        Assert.assertEquals("Value " + (count - 1), executionCache.getIfPresent(count - 1));
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheWithoutRoomForSegments()
+    {
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> new OffHeapExecutionCache<>(32, 1024, null));
+        Assert.assertEquals("Segment size should be greater than 12 bytes, got 8 for a maximum size of 32 bytes", e.getMessage());
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheSkipsEntriesWhichCannotBeSerialized()
+    {
+        ExecutionCache<Integer, Object> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        executionCache.put(1, new Object());
+        executionCache.put(2, Collections.singletonList("Value 2"));
+
+        Assert.assertNull(executionCache.getIfPresent(1));
+        Assert.assertEquals(Collections.singletonList("Value 2"), executionCache.getIfPresent(2));
+        Assert.assertEquals(1, executionCache.estimatedSize());
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheWithCollidingKeys()
+    {
+        ExecutionCache<CollidingKey, String> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        executionCache.put(new CollidingKey("a"), "Value a");
+        executionCache.put(new CollidingKey("b"), "Value b");
+
+        Assert.assertEquals("Value a", executionCache.getIfPresent(new CollidingKey("a")));
+        Assert.assertEquals("Value b", executionCache.getIfPresent(new CollidingKey("b")));
+        Assert.assertNull(executionCache.getIfPresent(new CollidingKey("c")));
+    }
+
+    @Test
+    public void testOffHeapExecutionCacheMissesKeysWhichCannotBeDeserialized()
+    {
+        ExecutionCache<Object, String> executionCache = ExecutionCacheBuilder.buildOffHeapExecutionCache(1024 * 1024);
+
+        executionCache.put(new UnresolvableKey(), "Value unresolvable");
+        executionCache.put(new CollidingKey("a"), "Value a");
+
+        Assert.assertEquals("Value a", executionCache.getIfPresent(new CollidingKey("a")));
+        Assert.assertNull(executionCache.getIfPresent(new UnresolvableKey()));
+        Assert.assertEquals(1, executionCache.stats().hitCount());
+        Assert.assertEquals(1, executionCache.stats().missCount());
+    }
+
+    private static class CollidingKey implements java.io.Serializable
+    {
+        private final String name;
+
+        private CollidingKey(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingKey && this.name.equals(((CollidingKey) other).name);
+        }
+    }
+
+    // a key whose class is not found when read back, like the classes generated for another plan
+    private static class UnresolvableKey implements java.io.Serializable
+    {
+        private void readObject(ObjectInputStream in) throws ClassNotFoundException
+        {
+            throw new ClassNotFoundException("UnresolvableKey");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof UnresolvableKey;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+//  Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.plan.execution.concurrent;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.AllocationExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ConstantExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class TestExecutionNodeDependencyGraph
+{
+    @Test
+    public void testIndependentAllocationsShareAStage()
+    {
+        ExecutionNode a = allocation("a", "1");
+        ExecutionNode b = allocation("b", "2");
+        ExecutionNode c = allocation("c", "${a} + 1");
+        ExecutionNode d = allocation("d", "${c} + ${b}");
+        ExecutionNode last = constant("${d}");
+
+        List<List<ExecutionNode>> stages = new ExecutionNodeDependencyGraph(Arrays.asList(a, b, c, d, last)).getStages();
+        Assert.assertEquals(Arrays.asList(Arrays.asList(a, b), Arrays.asList(c), Arrays.asList(d), Arrays.asList(last)), stages);
+    }
+
+    @Test
+    public void testReferenceToALaterAllocationIsADependency()
+    {
+        // b reads the value of x before it is allocated again by c, so c must not run before (or with) b
+        ExecutionNode a = allocation("a", "1");
+        ExecutionNode b = allocation("b", "${x}");
+        ExecutionNode c = allocation("x", "2");
+        ExecutionNode last = constant("${b}");
+
+        List<List<ExecutionNode>> stages = new ExecutionNodeDependencyGraph(Arrays.asList(a, b, c, last)).getStages();
+        Assert.assertEquals(Arrays.asList(Arrays.asList(a, b), Arrays.asList(c), Arrays.asList(last)), stages);
+    }
+
+    @Test
+    public void testOtherNodesAreBarriers()
+    {
+        ExecutionNode a = allocation("a", "1");
+        ExecutionNode barrier = constant("0");
+        ExecutionNode b = allocation("b", "2");
+        ExecutionNode c = allocation("c", "3");
+
+        List<List<ExecutionNode>> stages = new ExecutionNodeDependencyGraph(Arrays.asList(a, barrier, b, c)).getStages();
+        // the last node gives the result of the sequence, it is executed on its own
+        Assert.assertEquals(Arrays.asList(Arrays.asList(a), Arrays.asList(barrier), Arrays.asList(b), Arrays.asList(c)), stages);
+    }
+
+    @Test
+    public void testIdentifiersAreMatchedAsAWhole()
+    {
+        ExecutionNode a = allocation("a", "1");
+        ExecutionNode b = allocation("b", "${aa} + ${ba}");
+        ExecutionNode last = constant("0");
+
+        List<List<ExecutionNode>> stages = new ExecutionNodeDependencyGraph(Arrays.asList(a, b, last)).getStages();
+        Assert.assertEquals(Arrays.asList(Arrays.asList(a, b), Arrays.asList(last)), stages);
+    }
+
+    private static AllocationExecutionNode allocation(String varName, String value)
+    {
+        AllocationExecutionNode allocation = new AllocationExecutionNode();
+        allocation.varName = varName;
+        allocation.executionNodes = Lists.mutable.with(constant(value));
+        return allocation;
+    }
+
+    private static ConstantExecutionNode constant(String value)
+    {
+        ConstantExecutionNode constant = new ConstantExecutionNode();
+        constant.values = value;
+        return constant;
+    }
+}
@@ -0,0 +1,295 @@
+//  Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.plan.execution.concurrent;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.plan.execution.result.ConstantResult;
+import org.finos.legend.engine.plan.execution.result.Result;
+import org.finos.legend.engine.plan.execution.stores.StoreExecutionState;
+import org.finos.legend.engine.plan.execution.stores.StoreState;
+import org.finos.legend.engine.plan.execution.stores.StoreType;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.AllocationExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ConstantExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNodeVisitor;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.SequenceExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.externalFormat.VariableResolutionExecutionNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.core.profile.CommonProfile;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestSequenceExecutionNodeConcurrentExecution
+{
+    private ConcurrentExecutionNodeExecutorPool pool;
+    private PlanExecutor planExecutor;
+
+    @Before
+    public void setUp()
+    {
+        this.pool = new ConcurrentExecutionNodeExecutorPool(4, "Pool for sequence testing", true);
+        this.planExecutor = PlanExecutor.newPlanExecutor(false);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.pool.close();
+    }
+
+    @Test
+    public void testIndependentAllocationsAreExecutedConcurrently()
+    {
+        // each allocation waits for the other one to start, so that they complete only when executed at the same time
+        CountDownLatch started = new CountDownLatch(2);
+        ExecutionState state = this.newExecutionState(true);
+        Result result = this.execute(plan(
+                allocation("a", new AwaitingExecutionNode(started, "valueA")),
+                allocation("b", new AwaitingExecutionNode(started, "valueB")),
+                variable("a")), state);
+
+        Assert.assertEquals("valueA", ((ConstantResult) result).getValue());
+        Assert.assertEquals("valueA", ((ConstantResult) state.getResult("a")).getValue());
+        Assert.assertEquals("valueB", ((ConstantResult) state.getResult("b")).getValue());
+
+        MutableList<ConcurrentExecutionActivity> activities = state.activities.selectInstancesOf(ConcurrentExecutionActivity.class);
+        Assert.assertEquals(Lists.mutable.with("a", "b"), activities.collect(activity -> activity.node).sortThis());
+        Assert.assertTrue(activities.noneSatisfy(activity -> Thread.currentThread().getName().equals(activity.thread)));
+    }
+
+    @Test
+    public void testDependentAllocationIsExecutedOnceItsDependenciesAreAllocated()
+    {
+        ExecutionState state = this.newExecutionState(true);
+        this.execute(plan(
+                allocation("a", constant("valueA")),
+                allocation("b", constant("valueB")),
+                allocation("c", variable("b")),
+                variable("c")), state);
+
+        Assert.assertEquals("valueA", ((ConstantResult) state.getResult("a")).getValue());
+        Assert.assertEquals("valueB", ((ConstantResult) state.getResult("c")).getValue());
+        // c is a stage of its own, executed on the thread of the sequence
+        Assert.assertEquals(Lists.mutable.with("a", "b"), state.activities.selectInstancesOf(ConcurrentExecutionActivity.class).collect(activity -> activity.node).sortThis());
+    }
+
+    @Test
+    public void testErrorOfConcurrentAllocationIsPropagated()
+    {
+        ExecutionState state = this.newExecutionState(true);
+        SingleExecutionPlan plan = plan(
+                allocation("a", constant("valueA")),
+                allocation("b", variable("missing")),
+                variable("a"));
+
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> this.execute(plan, state));
+        Assert.assertTrue(messages(e), messages(e).contains("Expected result for variable : missing. No result found !"));
+        Assert.assertNull(state.getResult("a"));
+
+        // the threads of the failed stage are available again
+        CountDownLatch started = new CountDownLatch(2);
+        ExecutionState nextState = this.newExecutionState(true);
+        this.execute(plan(
+                allocation("a", new AwaitingExecutionNode(started, "valueA")),
+                allocation("b", new AwaitingExecutionNode(started, "valueB")),
+                variable("b")), nextState);
+        Assert.assertEquals(2, nextState.activities.selectInstancesOf(ConcurrentExecutionActivity.class).size());
+    }
+
+    @Test
+    public void testAllocationsAreExecutedSequentiallyWhenStoreStateDoesNotSupportConcurrentExecution()
+    {
+        // e.g. a relational block retaining its connection
+        ExecutionState state = this.newExecutionState(false);
+        Result result = this.execute(plan(
+                allocation("a", constant("valueA")),
+                allocation("b", constant("valueB")),
+                variable("b")), state);
+
+        Assert.assertEquals("valueB", ((ConstantResult) result).getValue());
+        Assert.assertEquals("valueA", ((ConstantResult) state.getResult("a")).getValue());
+        Assert.assertEquals("valueB", ((ConstantResult) state.getResult("b")).getValue());
+        Assert.assertTrue(state.activities.selectInstancesOf(ConcurrentExecutionActivity.class).isEmpty());
+    }
+
+    @Test
+    public void testAllocationsAreExecutedSequentiallyByDefault()
+    {
+        try (ConcurrentExecutionNodeExecutorPool defaultPool = new ConcurrentExecutionNodeExecutorPool(4, "Pool without sequence execution"))
+        {
+            ExecutionState state = this.newExecutionState(true);
+            state.setConcurrentExecutionNodeExecutorPool(defaultPool);
+            this.execute(plan(
+                    allocation("a", constant("valueA")),
+                    allocation("b", constant("valueB")),
+                    variable("b")), state);
+
+            Assert.assertEquals("valueA", ((ConstantResult) state.getResult("a")).getValue());
+            Assert.assertTrue(state.activities.selectInstancesOf(ConcurrentExecutionActivity.class).isEmpty());
+        }
+    }
+
+    private Result execute(SingleExecutionPlan plan, ExecutionState state)
+    {
+        return this.planExecutor.executeWithArgs(PlanExecutor.withArgs().withPlan(plan).withState(state).build());
+    }
+
+    private ExecutionState newExecutionState(boolean concurrentExecutionSupported)
+    {
+        ExecutionState state = new ExecutionState(Maps.mutable.empty(), Lists.mutable.empty(), Lists.mutable.with(new TestStoreExecutionState(concurrentExecutionSupported)), false);
+        state.setConcurrentExecutionNodeExecutorPool(this.pool);
+        return state;
+    }
+
+    private static String messages(Throwable throwable)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (Throwable t = throwable; t != null; t = t.getCause())
+        {
+            builder.append(t.getMessage()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static SingleExecutionPlan plan(ExecutionNode... nodes)
+    {
+        SequenceExecutionNode sequence = new SequenceExecutionNode();
+        sequence.executionNodes = Lists.mutable.with(nodes);
+        SingleExecutionPlan plan = new SingleExecutionPlan();
+        plan.rootExecutionNode = sequence;
+        return plan;
+    }
+
+    private static AllocationExecutionNode allocation(String varName, ExecutionNode node)
+    {
+        AllocationExecutionNode allocation = new AllocationExecutionNode();
+        allocation.varName = varName;
+        allocation.executionNodes = Lists.mutable.with(node);
+        return allocation;
+    }
+
+    private static ConstantExecutionNode constant(String value)
+    {
+        ConstantExecutionNode constant = new ConstantExecutionNode();
+        constant.values = value;
+        return constant;
+    }
+
+    private static VariableResolutionExecutionNode variable(String varName)
+    {
+        VariableResolutionExecutionNode variable = new VariableResolutionExecutionNode();
+        variable.varName = varName;
+        return variable;
+    }
+
+    private static class AwaitingExecutionNode extends ExecutionNode
+    {
+        private final CountDownLatch started;
+        private final String value;
+
+        private AwaitingExecutionNode(CountDownLatch started, String value)
+        {
+            this.started = started;
+            this.value = value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T accept(ExecutionNodeVisitor<T> executionNodeVisitor)
+        {
+            this.started.countDown();
+            try
+            {
+                if (!this.started.await(10, TimeUnit.SECONDS))
+                {
+                    throw new IllegalStateException("Allocation of " + this.value + " was not executed concurrently");
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return (T) new ConstantResult(this.value);
+        }
+    }
+
+    private static class TestStoreExecutionState implements StoreExecutionState
+    {
+        private final boolean concurrentExecutionSupported;
+
+        private TestStoreExecutionState(boolean concurrentExecutionSupported)
+        {
+            this.concurrentExecutionSupported = concurrentExecutionSupported;
+        }
+
+        @Override
+        public StoreState getStoreState()
+        {
+            return new StoreState()
+            {
+                @Override
+                public StoreType getStoreType()
+                {
+                    return StoreType.Relational;
+                }
+
+                @Override
+                public Object getStoreExecutionInfo()
+                {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public ExecutionNodeVisitor<Result> getVisitor(MutableList<CommonProfile> profiles, ExecutionState executionState)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StoreExecutionState copy()
+        {
+            return new TestStoreExecutionState(this.concurrentExecutionSupported);
+        }
+
+        @Override
+        public boolean isConcurrentExecutionSupported()
+        {
+            return this.concurrentExecutionSupported;
+        }
+
+        @Override
+        public RuntimeContext getRuntimeContext()
+        {
+            return StoreExecutionState.emptyRuntimeContext();
+        }
+
+        @Override
+        public void setRuntimeContext(RuntimeContext runtimeContext)
+        {
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 public class TestAdaptiveBatching
 {
@@ -78,4 +79,90 @@ public class TestAdaptiveBatching
 
         Assert.assertEquals(3, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
     }
+
+    // Tests the batch size is held at the best throughput once a larger batch turned out slower
+    @Test
+    public void testBatchSizeHeldBackWhenLargerBatchIsSlower()
+    {
+        ExecutionState fakeExecutionState = newExecutionStateWithDefaultLimits();
+
+        Assert.assertEquals(74, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        recordBatch(fakeExecutionState, 74, 74);
+        Assert.assertEquals(174, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+        recordBatch(fakeExecutionState, 174, 1740);
+
+        Assert.assertEquals(74, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.THROUGHPUT, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+        recordBatch(fakeExecutionState, 74, 74);
+
+        // sizes between the best and the slower batch are still explored
+        Assert.assertEquals(84, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+    }
+
+    // Tests the batch size keeps growing while larger batches are faster
+    @Test
+    public void testBatchSizeGrowsWhenLargerBatchIsFaster()
+    {
+        ExecutionState fakeExecutionState = newExecutionStateWithDefaultLimits();
+
+        Assert.assertEquals(74, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        recordBatch(fakeExecutionState, 74, 74);
+        Assert.assertEquals(174, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        recordBatch(fakeExecutionState, 174, 87);
+        Assert.assertEquals(1174, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+    }
+
+    // Tests the throughput never pushes the batch size above the memory bound
+    @Test
+    public void testDecreaseInBatchSizeIgnoresThroughput()
+    {
+        GraphFetchExecutionConfiguration graphFetchExecutionConfiguration = new GraphFetchExecutionConfiguration(200, GraphFetchExecutionConfiguration.DEFAULT_SOFT_MEMORY_LIMIT_PERCENTAGE, true, GraphFetchExecutionConfiguration.DEFAULT_BATCH_SIZE);
+        ExecutionState fakeExecutionState = new ExecutionState(Maps.mutable.empty(), Collections.emptyList(), Collections.emptyList(), true, graphFetchExecutionConfiguration);
+        fakeExecutionState.adaptiveGraphBatchStats = new AdaptiveGraphBatchStats(400, 4);
+        recordBatch(fakeExecutionState, 4, 1);
+
+        Assert.assertEquals(2, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+    }
+
+    // Tests the throughput of a batch
+    @Test
+    public void testBatchLatencyThroughput()
+    {
+        AdaptiveGraphBatchStats.BatchLatency batchLatency = new AdaptiveGraphBatchStats.BatchLatency(100, 50, TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(50.0, batchLatency.getThroughput(), 0.001);
+    }
+
+    // Tests the throughput is measured on the wall clock, whatever the time summed across the threads loading temp tables
+    @Test
+    public void testBatchThroughputIgnoresPhaseTimes()
+    {
+        ExecutionState fakeExecutionState = newExecutionStateWithDefaultLimits();
+
+        Assert.assertEquals(74, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        recordBatch(fakeExecutionState, 74, 74);
+        Assert.assertEquals(174, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        long wallClockNanos = TimeUnit.MILLISECONDS.toNanos(87);
+        AdaptiveBatching.recordBatchLatency(fakeExecutionState, 174, 174, wallClockNanos, 0, 10 * wallClockNanos, wallClockNanos, 0);
+
+        Assert.assertEquals(1174, AdaptiveBatching.getAdaptiveBatchSize(fakeExecutionState));
+        Assert.assertEquals(AdaptiveGraphBatchStats.BatchSizeDecision.MEMORY, fakeExecutionState.adaptiveGraphBatchStats.getLastDecision());
+    }
+
+    private static ExecutionState newExecutionStateWithDefaultLimits()
+    {
+        GraphFetchExecutionConfiguration graphFetchExecutionConfiguration = new GraphFetchExecutionConfiguration(GraphFetchExecutionConfiguration.DEFAULT_BATCH_MEMORY_LIMIT, GraphFetchExecutionConfiguration.DEFAULT_SOFT_MEMORY_LIMIT_PERCENTAGE, true, GraphFetchExecutionConfiguration.DEFAULT_BATCH_SIZE);
+        ExecutionState fakeExecutionState = new ExecutionState(Maps.mutable.empty(), Collections.emptyList(), Collections.emptyList(), true, graphFetchExecutionConfiguration);
+        fakeExecutionState.adaptiveGraphBatchStats = new AdaptiveGraphBatchStats(0, 64);
+        return fakeExecutionState;
+    }
+
+    private static void recordBatch(ExecutionState executionState, long batchSize, long totalMillis)
+    {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(totalMillis);
+        AdaptiveBatching.recordBatchLatency(executionState, batchSize, batchSize, nanos, nanos / 4, nanos / 4, nanos / 2, nanos / 2);
+    }
 }
@@ -98,4 +98,26 @@ public class TestFreeMarkerExecutor
                 "<#return collection?size> " +
                 "</#function>";
     }
+
+    @Test
+    public void testCachedTemplateReusedAcrossParameterValues()
+    {
+        String query = "select * from person where age in (${collectionSize(testCollection)})";
+
+        Map rootMap = new HashMap();
+        rootMap.put("testCollection", Lists.mutable.with(1, 2));
+        Assert.assertEquals("select * from person where age in (2)", FreeMarkerExecutor.processRecursively(query, rootMap, collectionSizeTemplate()).trim());
+
+        rootMap.put("testCollection", Lists.mutable.with(1, 2, 3));
+        Assert.assertEquals("select * from person where age in (3)", FreeMarkerExecutor.processRecursively(query, rootMap, collectionSizeTemplate()).trim());
+    }
+
+    @Test
+    public void testTemplateMarkupDetection()
+    {
+        Assert.assertFalse(FreeMarkerExecutor.mayContainTemplateMarkup("select \"root\".name from person as \"root\" where \"root\".age in (1, 2, 3)"));
+        Assert.assertTrue(FreeMarkerExecutor.mayContainTemplateMarkup("select * from person where age = ${age}"));
+        Assert.assertTrue(FreeMarkerExecutor.mayContainTemplateMarkup("<#if age??>1<#else>0</#if>"));
+        Assert.assertTrue(FreeMarkerExecutor.mayContainTemplateMarkup("select 'a\\\"b'"));
+    }
 }
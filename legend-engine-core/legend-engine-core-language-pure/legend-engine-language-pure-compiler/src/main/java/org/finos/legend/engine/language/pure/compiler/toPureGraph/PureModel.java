@@ -18,6 +18,7 @@ import io.opentracing.Scope;
 import io.opentracing.util.GlobalTracer;
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
@@ -30,6 +31,8 @@ import org.eclipse.collections.api.map.primitive.ObjectIntMap;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
 import org.eclipse.collections.impl.utility.LazyIterate;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.language.pure.compiler.MetadataWrapper;
@@ -112,6 +115,8 @@ import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class PureModel implements IPureModel
 {
@@ -127,18 +132,25 @@ public class PureModel implements IPureModel
     // this as part of `CompileContext`
     final CompilerExtensions extensions;
 
-    private final MutableList<Warning> warnings = Lists.mutable.empty();
+    private final MutableList<Warning> warnings = Lists.mutable.<Warning>empty().asSynchronized();
 
     final Handlers handlers;
 
-    private final MutableSet<String> immutables = Sets.mutable.empty();
-    private final MutableMap<String, Multiplicity> multiplicitiesIndex = Maps.mutable.empty();
-    final MutableMap<String, Section> sectionsIndex = Maps.mutable.empty();
-    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type> typesIndex = Maps.mutable.empty();
-    final MutableMap<String, GenericType> typesGenericTypeIndex = Maps.mutable.empty();
-    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.ConcreteFunctionDefinition<?>> functionsIndex = Maps.mutable.empty();
-    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.extension.Profile> profilesIndex = Maps.mutable.empty();
-    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.relationship.Association> associationsIndex = Maps.mutable.empty();
+    // Thread-safety: function bodies may be built in parallel (see forEachIndependentElement). While they are, the only
+    // PureModel state written is immutables and the type, generic type, profile and association indexes, which the lazy
+    // lookups (getType_safe, getGenericType, getProfile_safe and getAssociation_safe) fill with what they find in the Pure
+    // graph. Package children, multiplicities, sections, functions and the function handlers (see Handlers) are written by
+    // the init and first passes which precede it and only read afterwards; the indexes and handlers are concurrent as well
+    // so that lookups from function bodies never depend on that ordering. The store, mapping, connection and runtime indexes are only written by the first pass (and by the
+    // sequential passes which follow the function bodies), so function bodies can only ever read them.
+    private final MutableSet<String> immutables = SetAdapter.adapt(java.util.concurrent.ConcurrentHashMap.newKeySet());
+    private final MutableMap<String, Multiplicity> multiplicitiesIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, Section> sectionsIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type> typesIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, GenericType> typesGenericTypeIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.ConcreteFunctionDefinition<?>> functionsIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.extension.Profile> profilesIndex = ConcurrentHashMap.newMap();
+    final MutableMap<String, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.relationship.Association> associationsIndex = ConcurrentHashMap.newMap();
     final MutableMap<String, Store> storesIndex = Maps.mutable.empty();
     final MutableMap<String, Mapping> mappingsIndex = Maps.mutable.empty();
     final MutableMap<String, Root_meta_pure_runtime_PackageableConnection> packageableConnectionsIndex = Maps.mutable.empty();
@@ -465,7 +477,9 @@ public class PureModel implements IPureModel
         pure.classes.forEach(this::processFourthPass);
         pure.enumerations.forEach(this::processFourthPass);
         pure.associations.forEach(this::processThirdPass);
-        pure.functions.forEach(this::processSecondPass);
+        // Function bodies only read the graph built by the previous passes and write to their own definition,
+        // so this is the one pass which can be spread across the fork-join pool when one is configured
+        this.forEachIndependentElement(pure.functions, this::processSecondPass);
     }
 
     private void loadDataElements(PureModelContextDataIndex pure)
@@ -524,6 +538,41 @@ public class PureModel implements IPureModel
         });
     }
 
+    /**
+     * Apply the procedure to every element, using the fork-join pool from {@link PureModelProcessParameter} when there is one.
+     * All elements are processed before any error is reported, and the error reported is the one for the earliest element
+     * in the list so that the outcome does not depend on thread scheduling (and matches the sequential behaviour).
+     */
+    private <T extends org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement> void forEachIndependentElement(MutableList<T> elements, Procedure<? super T> procedure)
+    {
+        ForkJoinPool forkJoinPool = this.pureModelProcessParameter.forkJoinPool;
+        if ((forkJoinPool == null) || (forkJoinPool.getParallelism() < 2) || (elements.size() < 2))
+        {
+            elements.forEach(procedure);
+            return;
+        }
+
+        RuntimeException[] errors = new RuntimeException[elements.size()];
+        forkJoinPool.submit(() -> IntStream.range(0, elements.size()).parallel().forEach(i ->
+        {
+            try
+            {
+                procedure.value(elements.get(i));
+            }
+            catch (RuntimeException e)
+            {
+                errors[i] = e;
+            }
+        })).join();
+        for (RuntimeException error : errors)
+        {
+            if (error != null)
+            {
+                throw error;
+            }
+        }
+    }
+
     private org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement processFirstPass(org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement element)
     {
         return visitWithErrorHandling(element, new PackageableElementFirstPassBuilder(getContext(element)));
@@ -1259,7 +1308,7 @@ public class PureModel implements IPureModel
 
     public boolean isImmutable(String s)
     {
-        return this.immutables.contains(s);
+        return (s != null) && this.immutables.contains(s);
     }
 
     protected String buildNameForAppliedFunction(String functionName)
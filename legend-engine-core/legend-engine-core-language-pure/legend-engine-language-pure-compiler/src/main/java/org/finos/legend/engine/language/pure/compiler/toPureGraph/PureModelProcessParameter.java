@@ -14,17 +14,31 @@
 
 package org.finos.legend.engine.language.pure.compiler.toPureGraph;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class PureModelProcessParameter
 {
     String packagePrefix;
+    /**
+     * When set, passes whose elements can be built independently of each other are spread across this pool.
+     * The pool is owned by the caller and is not shut down by the compiler.
+     */
+    ForkJoinPool forkJoinPool;
 
     PureModelProcessParameter()
     {
         this.packagePrefix = null;
+        this.forkJoinPool = null;
     }
 
     public PureModelProcessParameter(String packagePrefix)
+    {
+        this(packagePrefix, null);
+    }
+
+    public PureModelProcessParameter(String packagePrefix, ForkJoinPool forkJoinPool)
     {
         this.packagePrefix = packagePrefix;
+        this.forkJoinPool = forkJoinPool;
     }
-}
\ No newline at end of file
+}
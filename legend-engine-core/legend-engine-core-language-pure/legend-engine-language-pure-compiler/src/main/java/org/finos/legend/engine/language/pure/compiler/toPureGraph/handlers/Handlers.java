@@ -22,7 +22,7 @@ import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.factory.Maps;
 import org.eclipse.collections.impl.factory.Sets;
 import org.eclipse.collections.impl.list.mutable.FastList;
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.eclipse.collections.impl.utility.LazyIterate;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.language.pure.compiler.toPureGraph.CompileContext;
@@ -78,7 +78,9 @@ public class Handlers
     private static final String PACKAGE_SEPARATOR = org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement.DEFAULT_PATH_SEPARATOR;
     private static final String META_PACKAGE_NAME = "meta";
 
-    private Set<String> registeredMetaPackages = Sets.mutable.empty();
+    // registeredMetaPackages and map are filled when registering functions (natives first, then user defined functions in
+    // the first pass) and are read while function bodies are built, possibly in parallel (see PureModel)
+    private final Set<String> registeredMetaPackages = java.util.concurrent.ConcurrentHashMap.newKeySet();
 
     private static Collection toCollection(org.finos.legend.engine.protocol.pure.v1.model.valueSpecification.ValueSpecification vs)
     {
@@ -332,7 +334,7 @@ public class Handlers
         return Stream.concat(Stream.of(firstProcessedParameter), parameters.stream().skip(1).map(p -> p.accept(new ValueSpecificationBuilder(cc, ov, pc)))).collect(Collectors.toList());
     };
 
-    private final Map<String, FunctionExpressionBuilder> map = UnifiedMap.newMap();
+    private final Map<String, FunctionExpressionBuilder> map = ConcurrentHashMap.newMap();
     private final Map<String, Dispatch> dispatchMap;
     private final PureModel pureModel;
     private static final ImmutableSet<String> NUMBER = Sets.immutable.with("Integer", "Number", "Float");
@@ -0,0 +1,215 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.language.pure.compiler.test;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.engine.language.pure.compiler.toPureGraph.PureModel;
+import org.finos.legend.engine.language.pure.compiler.toPureGraph.PureModelProcessParameter;
+import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.shared.core.deployment.DeploymentMode;
+import org.finos.legend.engine.shared.core.operational.errorManagement.EngineException;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunction;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.valuespecification.FunctionExpression;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.valuespecification.InstanceValue;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.valuespecification.ValueSpecification;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class TestParallelCompilation
+{
+    private static final int FUNCTION_COUNT = 200;
+    private static final String[] SYSTEM_TYPES = {"meta::pure::functions::date::DayOfWeek", "meta::pure::functions::date::DurationUnit", "meta::pure::functions::date::Month", "meta::pure::functions::date::Quarter"};
+    private static final String[] SYSTEM_PROFILES = {"meta::pure::profiles::doc", "meta::pure::profiles::temporal", "meta::pure::profiles::equality", "meta::pure::profiles::typemodifiers"};
+
+    private static ForkJoinPool forkJoinPool;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        forkJoinPool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDown()
+    {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Test
+    public void testParallelCompilationBuildsAllFunctionBodies()
+    {
+        PureModelContextData modelData = PureGrammarParser.newInstance().parseModel(buildModel(-1, -1));
+        PureModel sequential = compile(modelData, null);
+        PureModel parallel = compile(modelData, forkJoinPool);
+        for (int i = 0; i < FUNCTION_COUNT; i++)
+        {
+            String path = "test::f" + i + "_Person_1__String_1_";
+            Assert.assertEquals(path, 1, sequential.getConcreteFunctionDefinition_safe(path)._expressionSequence().size());
+            Assert.assertEquals(path, 1, parallel.getConcreteFunctionDefinition_safe(path)._expressionSequence().size());
+        }
+    }
+
+    @Test
+    public void testParallelCompilationReportsFirstErrorInElementOrder()
+    {
+        String expected = compileError(PureGrammarParser.newInstance().parseModel(buildModel(17, -1)), null);
+        PureModelContextData modelData = PureGrammarParser.newInstance().parseModel(buildModel(17, 150));
+        Assert.assertEquals(expected, compileError(modelData, null));
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(expected, compileError(modelData, forkJoinPool));
+        }
+    }
+
+    @Test
+    public void testParallelCompilationResolvesTypesAndProfilesOfThePureGraph()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < FUNCTION_COUNT; i++)
+        {
+            builder.append("function test::g").append(i).append("(): String[1]\n{\n  ")
+                    .append(SYSTEM_TYPES[i % SYSTEM_TYPES.length]).append("->id() + ")
+                    .append(SYSTEM_PROFILES[(i / SYSTEM_TYPES.length) % SYSTEM_PROFILES.length]).append("->id()\n}\n");
+        }
+        PureModelContextData modelData = PureGrammarParser.newInstance().parseModel(builder.toString());
+
+        // types and profiles of the Pure graph are indexed as the function bodies find them, so on several threads at once
+        for (int attempt = 0; attempt < 10; attempt++)
+        {
+            PureModel parallel = compile(modelData, forkJoinPool);
+            for (int i = 0; i < FUNCTION_COUNT; i++)
+            {
+                String path = "test::g" + i + "__String_1_";
+                Assert.assertEquals(path, 1, parallel.getConcreteFunctionDefinition_safe(path)._expressionSequence().size());
+            }
+            for (String type : SYSTEM_TYPES)
+            {
+                Assert.assertNotNull(type, parallel.getType_safe(type));
+                Assert.assertTrue(type, parallel.isImmutable(type));
+            }
+            for (String profile : SYSTEM_PROFILES)
+            {
+                Assert.assertNotNull(profile, parallel.getProfile_safe(profile));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedParallelCompilationOfInterdependentFunctionsMatchesSequential()
+    {
+        PureModelContextData modelData = PureGrammarParser.newInstance().parseModel(buildInterdependentModel());
+        MutableList<String> expected = describeFunctions(compile(modelData, null));
+        for (int attempt = 0; attempt < 5; attempt++)
+        {
+            Assert.assertEquals(expected, describeFunctions(compile(modelData, forkJoinPool)));
+        }
+    }
+
+    private static String buildModel(int firstBrokenFunction, int secondBrokenFunction)
+    {
+        StringBuilder builder = new StringBuilder("Class test::Person\n{\n  firstName: String[1];\n  lastName: String[1];\n}\n");
+        for (int i = 0; i < FUNCTION_COUNT; i++)
+        {
+            String property = ((i == firstBrokenFunction) || (i == secondBrokenFunction)) ? "unknownProperty" : "lastName";
+            builder.append("function test::f").append(i).append("(p: test::Person[1]): String[1]\n{\n")
+                    .append("  $p.firstName + ' ' + $p.").append(property).append(" + '").append(i).append("'\n}\n");
+        }
+        return builder.toString();
+    }
+
+    private static String buildInterdependentModel()
+    {
+        StringBuilder builder = new StringBuilder()
+                .append("Profile test::Tags\n{\n  stereotypes: [important];\n}\n")
+                .append("Enum test::Level\n{\n  LOW, HIGH\n}\n")
+                .append("Class <<test::Tags.important>> test::Firm\n{\n  name: String[1];\n  level: test::Level[1];\n}\n")
+                .append("Class test::Person\n{\n  name: String[1];\n}\n")
+                .append("Association test::Employment\n{\n  firm: test::Firm[1];\n  employees: test::Person[*];\n}\n")
+                .append("function test::h0(p: test::Person[1]): String[1]\n{\n  $p.firm.name\n}\n");
+        // every function calls two earlier ones and reaches the model's classes, enumeration, association and profile as
+        // well as types of the Pure graph, so the function bodies compete for the same indexes
+        for (int i = 1; i < FUNCTION_COUNT; i++)
+        {
+            builder.append("function test::h").append(i).append("(p: test::Person[1]): String[1]\n{\n")
+                    .append("  if($p.firm.level == test::Level.HIGH, |test::h").append(i - 1).append("($p), |test::h").append(i / 2)
+                    .append("($p) + $p.firm.employees->size()->toString()) + test::Tags->id() + ")
+                    .append(SYSTEM_TYPES[i % SYSTEM_TYPES.length]).append("->id()\n}\n");
+        }
+        return builder.toString();
+    }
+
+    private static MutableList<String> describeFunctions(PureModel pureModel)
+    {
+        MutableList<String> descriptions = Lists.mutable.empty();
+        for (int i = 0; i < FUNCTION_COUNT; i++)
+        {
+            String path = "test::h" + i + "_Person_1__String_1_";
+            pureModel.getConcreteFunctionDefinition_safe(path)._expressionSequence().forEach(e -> descriptions.add(path + ": " + describe(e)));
+        }
+        return descriptions;
+    }
+
+    private static String describe(ValueSpecification valueSpecification)
+    {
+        String type = ((valueSpecification._genericType() == null) || (valueSpecification._genericType()._rawType() == null)) ? "?" : valueSpecification._genericType()._rawType().getName();
+        String signature = type + org.finos.legend.pure.m3.navigation.multiplicity.Multiplicity.print(valueSpecification._multiplicity());
+        if (valueSpecification instanceof FunctionExpression)
+        {
+            FunctionExpression expression = (FunctionExpression) valueSpecification;
+            String function = (expression._func() == null) ? "?" : expression._func().getName();
+            return function + "(" + expression._parametersValues().collect(TestParallelCompilation::describe).makeString(", ") + "): " + signature;
+        }
+        if (valueSpecification instanceof InstanceValue)
+        {
+            return ((InstanceValue) valueSpecification)._values().collect(TestParallelCompilation::describeValue).makeString("[", ", ", "]: ") + signature;
+        }
+        return valueSpecification.getClass().getSimpleName() + ": " + signature;
+    }
+
+    private static String describeValue(Object value)
+    {
+        if (value instanceof LambdaFunction)
+        {
+            return ((LambdaFunction<?>) value)._expressionSequence().collect(TestParallelCompilation::describe).makeString("{", "; ", "}");
+        }
+        return (value instanceof CoreInstance) ? ((CoreInstance) value).getName() : String.valueOf(value);
+    }
+
+    private static PureModel compile(PureModelContextData modelData, ForkJoinPool pool)
+    {
+        return new PureModel(modelData, null, DeploymentMode.TEST, new PureModelProcessParameter(null, pool), null);
+    }
+
+    private static String compileError(PureModelContextData modelData, ForkJoinPool pool)
+    {
+        try
+        {
+            compile(modelData, pool);
+        }
+        catch (EngineException e)
+        {
+            return EngineException.buildPrettyErrorMessage(e.getMessage(), e.getSourceInformation(), e.getErrorType());
+        }
+        Assert.fail("Expected compilation error");
+        return null;
+    }
+}
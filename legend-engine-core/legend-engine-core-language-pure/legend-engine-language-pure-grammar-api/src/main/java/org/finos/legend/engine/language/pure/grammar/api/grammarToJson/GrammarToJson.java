@@ -19,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
+import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParserCache;
 import org.finos.legend.engine.language.pure.grammar.from.extension.PureGrammarParserExtensions;
 import org.finos.legend.engine.protocol.pure.v1.model.valueSpecification.ValueSpecification;
 import org.finos.legend.engine.protocol.pure.v1.model.valueSpecification.raw.Lambda;
@@ -37,6 +38,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import static org.finos.legend.engine.shared.core.operational.http.InflateInterceptor.APPLICATION_ZLIB;
 
@@ -44,6 +47,17 @@ import static org.finos.legend.engine.shared.core.operational.http.InflateInterc
 @Path("pure/v1/grammar/grammarToJson")
 public class GrammarToJson extends GrammarAPI
 {
+    // clients typically send the same (large) model text again with only a few sections changed
+    private static final PureGrammarParserCache MODEL_SECTION_CACHE = new PureGrammarParserCache();
+    // sections are parsed on threads of their own, so that large models neither take nor wait for the common pool
+    private static final int MODEL_PARSING_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final ForkJoinPool MODEL_PARSING_POOL = new ForkJoinPool(MODEL_PARSING_PARALLELISM, pool ->
+    {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("grammar-to-json-model-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
     @POST
     @Path("model")
     @ApiOperation(value = "Generates Pure protocol JSON from Pure language text")
@@ -56,7 +70,7 @@ public class GrammarToJson extends GrammarAPI
                           @ApiParam(hidden = true) @Pac4JProfileManager ProfileManager<CommonProfile> pm)
     {
         PureGrammarParserExtensions.logExtensionList();
-        return grammarToJson(text, (a) -> PureGrammarParser.newInstance().parseModel(a, sourceId, lineOffset, 0, returnSourceInformation), pm, "Grammar to Json : Model");
+        return grammarToJson(text, (a) -> PureGrammarParser.newInstance().withCache(MODEL_SECTION_CACHE).withForkJoinPool(MODEL_PARSING_POOL).parseModel(a, sourceId, lineOffset, 0, returnSourceInformation), pm, "Grammar to Json : Model");
     }
 
     @POST
@@ -17,6 +17,7 @@ package org.finos.legend.engine.language.pure.grammar.from;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.language.pure.grammar.from.antlr4.CodeLexerGrammar;
 import org.finos.legend.engine.language.pure.grammar.from.antlr4.CodeParserGrammar;
@@ -42,7 +43,10 @@ import org.finos.legend.engine.shared.core.operational.logs.LogInfo;
 import org.finos.legend.engine.shared.core.operational.logs.LoggingEventType;
 import org.slf4j.Logger;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public class PureGrammarParser
 {
@@ -51,6 +55,8 @@ public class PureGrammarParser
 
     private final DEPRECATED_PureGrammarParserLibrary parsers;
     private final PureGrammarParserExtensions extensions;
+    private PureGrammarParserCache cache;
+    private ForkJoinPool forkJoinPool;
 
     private PureGrammarParser(PureGrammarParserExtensions extensions)
     {
@@ -74,6 +80,25 @@ public class PureGrammarParser
         return new PureGrammarParser(PureGrammarParserExtensions.fromAvailableExtensions());
     }
 
+    /**
+     * Reuse the elements produced for sections whose text was already parsed through the given cache.
+     */
+    public PureGrammarParser withCache(PureGrammarParserCache cache)
+    {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Parse the sections of a model concurrently using the given pool. The pool is owned by the caller, and should be
+     * dedicated to parsing rather than shared with unrelated work such as the common pool.
+     */
+    public PureGrammarParser withForkJoinPool(ForkJoinPool forkJoinPool)
+    {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
     public PureModelContextData parseModel(String code, String sourceId, int lineOffset, int columnOffset, boolean returnSourceInfo)
     {
         return this.parse(code, this.parsers, sourceId, lineOffset, columnOffset, returnSourceInfo);
@@ -125,7 +150,43 @@ public class PureGrammarParser
         // in the consumer, we should ensure this does not leak and gets persisted to SDLC or Services per se
         sectionIndex.name = "SectionIndex";
         sectionIndex._package = "__internal__";
-        sectionIndex.sections = ListIterate.collect(parser.definition().section(), sectionCtx -> this.visitSection(sectionCtx, parserLibrary, walkerSourceInformation, parserContext, builder::addElement, returnSourceInfo));
+        List<CodeParserGrammar.SectionContext> sectionContexts = PureGrammarParserUtility.parseWithTwoStagePrediction(parser, CodeParserGrammar::definition).section();
+        // elements are collected per section and only then added to the builder so that their order does not depend on
+        // the order in which sections finish parsing
+        MutableList<MutableList<PackageableElement>> sectionElements = Lists.mutable.empty();
+        sectionContexts.forEach(sectionCtx -> sectionElements.add(Lists.mutable.empty()));
+        Section[] sections = new Section[sectionContexts.size()];
+        RuntimeException[] errors = new RuntimeException[sectionContexts.size()];
+        IntStream indices = IntStream.range(0, sectionContexts.size());
+        if ((this.forkJoinPool == null) || (sectionContexts.size() < 2))
+        {
+            // without a pool, stop at the first failing section as there is nothing to gain from parsing the others
+            indices.forEach(i -> sections[i] = this.visitSection(sectionContexts.get(i), parserLibrary, walkerSourceInformation, parserContext, sectionElements.get(i)::add, returnSourceInfo));
+        }
+        else
+        {
+            this.forkJoinPool.submit(() -> indices.parallel().forEach(i ->
+            {
+                try
+                {
+                    sections[i] = this.visitSection(sectionContexts.get(i), parserLibrary, walkerSourceInformation, parserContext, sectionElements.get(i)::add, returnSourceInfo);
+                }
+                catch (RuntimeException e)
+                {
+                    errors[i] = e;
+                }
+            })).join();
+            // report the error of the first failing section, as sequential parsing would
+            for (RuntimeException error : errors)
+            {
+                if (error != null)
+                {
+                    throw error;
+                }
+            }
+        }
+        sectionElements.forEach(elements -> elements.forEach(builder::addElement));
+        sectionIndex.sections = Lists.mutable.with(sections);
         return builder.withElement(sectionIndex).build();
     }
 
@@ -148,29 +209,27 @@ public class PureGrammarParser
                     codeBuilder.append(tn.getText());
                 }
                 SectionSourceCode codeSection = new SectionSourceCode(codeBuilder.toString(), parserName, sectionSourceInformation, sectionWalkerSourceInformation);
-                SectionParser sectionParser = this.extensions.getExtraSectionParser(parserName);
-                Section section;
-                if (sectionParser == null)
+                if (this.cache != null)
                 {
-                    DEPRECATED_SectionGrammarParser legacyParser = parserLibrary.getParser(parserName, parserNameSourceInformation);
-                    if (legacyParser == null)
+                    String cacheKey = PureGrammarParserCache.buildKey(codeSection);
+                    PureGrammarParserCache.ParsedSection cached = this.cache.get(cacheKey);
+                    if (cached != null)
                     {
-                        throw new EngineException("'" + parserName + "' is not a known section parser", parserNameSourceInformation, EngineErrorType.PARSER);
+                        cached.getElements(sectionWalkerSourceInformation).forEach(elementConsumer);
+                        return cached.getSection(sectionSourceInformation);
                     }
-                    section = legacyParser.parse(legacyParser.getParserInfo(codeSection.code, codeSection.sourceInformation, codeSection.walkerSourceInformation), elementConsumer, parserContext);
-                }
-                else
-                {
-                    section = sectionParser.parse(codeSection, elementConsumer, parserContext);
-                }
-
-                // remove duplicates in imports and content of the section
-                section.elements = ListIterate.distinct(section.elements);
-                if (section instanceof ImportAwareCodeSection)
-                {
-                    ((ImportAwareCodeSection) section).imports = ListIterate.distinct(((ImportAwareCodeSection) section).imports);
+                    MutableList<PackageableElement> parsedElements = Lists.mutable.empty();
+                    Consumer<PackageableElement> sectionElementConsumer = elementConsumer;
+                    elementConsumer = element ->
+                    {
+                        parsedElements.add(element);
+                        sectionElementConsumer.accept(element);
+                    };
+                    Section section = this.parseSection(codeSection, parserLibrary, parserNameSourceInformation, parserContext, elementConsumer);
+                    this.cache.put(cacheKey, section, parsedElements, sectionWalkerSourceInformation);
+                    return section;
                 }
-                return section;
+                return this.parseSection(codeSection, parserLibrary, parserNameSourceInformation, parserContext, elementConsumer);
             }
             catch (RuntimeException e)
             {
@@ -193,6 +252,34 @@ public class PureGrammarParser
         return section;
     }
 
+    private Section parseSection(SectionSourceCode codeSection, DEPRECATED_PureGrammarParserLibrary parserLibrary, SourceInformation parserNameSourceInformation, PureGrammarParserContext parserContext, Consumer<PackageableElement> elementConsumer)
+    {
+        String parserName = codeSection.sectionType;
+        SectionParser sectionParser = this.extensions.getExtraSectionParser(parserName);
+        Section section;
+        if (sectionParser == null)
+        {
+            DEPRECATED_SectionGrammarParser legacyParser = parserLibrary.getParser(parserName, parserNameSourceInformation);
+            if (legacyParser == null)
+            {
+                throw new EngineException("'" + parserName + "' is not a known section parser", parserNameSourceInformation, EngineErrorType.PARSER);
+            }
+            section = legacyParser.parse(legacyParser.getParserInfo(codeSection.code, codeSection.sourceInformation, codeSection.walkerSourceInformation), elementConsumer, parserContext);
+        }
+        else
+        {
+            section = sectionParser.parse(codeSection, elementConsumer, parserContext);
+        }
+
+        // remove duplicates in imports and content of the section
+        section.elements = ListIterate.distinct(section.elements);
+        if (section instanceof ImportAwareCodeSection)
+        {
+            ((ImportAwareCodeSection) section).imports = ListIterate.distinct(((ImportAwareCodeSection) section).imports);
+        }
+        return section;
+    }
+
     public RootGraphFetchTree parseGraphFetch(String input, String sourceId, int lineOffset, int columnOffset, boolean returnSourceInfo)
     {
         return new DomainParser().parseGraphFetch(input, sourceId, lineOffset, columnOffset, returnSourceInfo);
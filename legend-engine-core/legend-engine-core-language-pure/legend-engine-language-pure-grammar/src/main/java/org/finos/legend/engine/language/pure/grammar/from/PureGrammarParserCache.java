@@ -0,0 +1,238 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.language.pure.grammar.from;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.finos.legend.engine.protocol.pure.v1.model.SourceInformation;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.section.Section;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the result of parsing a section so that parsing the same text again (e.g. when only another section of a
+ * large model file was edited) can skip the section parser entirely. Entries are keyed by a hash of the section text
+ * and the least recently used entries are dropped once the cache holds more than its maximum number of sections.
+ * <p>
+ * Sections are kept serialized, so every parse which hits the cache gets its own copy of the elements, whose source
+ * information is moved to the lines and source of the section being parsed. A cache should only be shared by parsers
+ * built with the same extensions.
+ */
+public class PureGrammarParserCache
+{
+    public static final int DEFAULT_MAX_SECTIONS = 1000;
+
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureGrammarParserCache.class);
+    private static final TypeReference<List<PackageableElement>> ELEMENTS_TYPE = new TypeReference<List<PackageableElement>>()
+    {
+    };
+
+    private final Map<String, ParsedSection> sections;
+    private final ObjectReader sectionReader;
+    private final ObjectWriter sectionWriter;
+    private final ObjectReader elementsReader;
+    private final ObjectWriter elementsWriter;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public PureGrammarParserCache()
+    {
+        this(DEFAULT_MAX_SECTIONS);
+    }
+
+    public PureGrammarParserCache(int maxSections)
+    {
+        this.sections = new LinkedHashMap<String, ParsedSection>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedSection> eldest)
+            {
+                return size() > maxSections;
+            }
+        };
+        ObjectMapper objectMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+        this.sectionReader = objectMapper.readerFor(Section.class);
+        this.sectionWriter = objectMapper.writerFor(Section.class);
+        this.elementsReader = objectMapper.readerFor(ELEMENTS_TYPE);
+        this.elementsWriter = objectMapper.writerFor(ELEMENTS_TYPE);
+    }
+
+    ParsedSection get(String key)
+    {
+        ParsedSection parsedSection;
+        synchronized (this.sections)
+        {
+            parsedSection = this.sections.get(key);
+        }
+        (parsedSection == null ? this.missCount : this.hitCount).incrementAndGet();
+        return parsedSection;
+    }
+
+    void put(String key, Section section, List<PackageableElement> elements, ParseTreeWalkerSourceInformation walkerSourceInformation)
+    {
+        ParsedSection parsedSection;
+        try
+        {
+            parsedSection = new ParsedSection(this.sectionWriter.writeValueAsBytes(section), this.elementsWriter.writeValueAsBytes(elements), walkerSourceInformation.getSourceId(), walkerSourceInformation.getLineOffset());
+        }
+        catch (JsonProcessingException e)
+        {
+            // the section is parsed again next time
+            LOGGER.warn("Unable to cache section of type " + section.parserName, e);
+            return;
+        }
+        synchronized (this.sections)
+        {
+            this.sections.put(key, parsedSection);
+        }
+    }
+
+    public int size()
+    {
+        synchronized (this.sections)
+        {
+            return this.sections.size();
+        }
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.get();
+    }
+
+    public void clear()
+    {
+        synchronized (this.sections)
+        {
+            this.sections.clear();
+        }
+    }
+
+    static String buildKey(SectionSourceCode sectionSourceCode)
+    {
+        return sectionSourceCode.sectionType + '\u0000' +
+                sectionSourceCode.walkerSourceInformation.getReturnSourceInfo() + '\u0000' +
+                hash(sectionSourceCode.code);
+    }
+
+    private static String hash(String code)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+            {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    class ParsedSection
+    {
+        private final byte[] section;
+        private final byte[] elements;
+        private final String sourceId;
+        private final int lineOffset;
+
+        private ParsedSection(byte[] section, byte[] elements, String sourceId, int lineOffset)
+        {
+            this.section = section;
+            this.elements = elements;
+            this.sourceId = sourceId;
+            this.lineOffset = lineOffset;
+        }
+
+        /**
+         * @param sourceInformation the source information of the section in the parsed code
+         */
+        Section getSection(SourceInformation sourceInformation)
+        {
+            try
+            {
+                Section section = PureGrammarParserCache.this.sectionReader.readValue(this.section);
+                section.sourceInformation = sourceInformation;
+                return section;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @param walkerSourceInformation the source information walker of the section in the parsed code
+         */
+        List<PackageableElement> getElements(ParseTreeWalkerSourceInformation walkerSourceInformation)
+        {
+            try
+            {
+                String sourceId = walkerSourceInformation.getSourceId();
+                int lineDelta = walkerSourceInformation.getLineOffset() - this.lineOffset;
+                if ((lineDelta == 0) && (sourceId == null ? this.sourceId == null : sourceId.equals(this.sourceId)))
+                {
+                    return PureGrammarParserCache.this.elementsReader.readValue(this.elements);
+                }
+                JsonNode elements = PureGrammarParserCache.this.elementsReader.readTree(this.elements);
+                moveSourceInformation(elements, sourceId, lineDelta);
+                return PureGrammarParserCache.this.elementsReader.readValue(elements);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // the source information within a section only depends on the line of the section, its columns are not offset
+    private static void moveSourceInformation(JsonNode node, String sourceId, int lineDelta)
+    {
+        if (node.isObject() && node.has("startLine") && node.has("startColumn") && node.has("endLine") && node.has("endColumn"))
+        {
+            ObjectNode sourceInformation = (ObjectNode) node;
+            sourceInformation.put("sourceId", sourceId);
+            sourceInformation.put("startLine", sourceInformation.get("startLine").asInt() + lineDelta);
+            sourceInformation.put("endLine", sourceInformation.get("endLine").asInt() + lineDelta);
+            return;
+        }
+        node.forEach(child -> moveSourceInformation(child, sourceId, lineDelta));
+    }
+}
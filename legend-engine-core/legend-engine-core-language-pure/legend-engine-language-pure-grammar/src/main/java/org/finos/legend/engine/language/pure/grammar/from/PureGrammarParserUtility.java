@@ -14,8 +14,14 @@
 
 package org.finos.legend.engine.language.pure.grammar.from;
 
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.apache.commons.text.StringEscapeUtils;
 import org.finos.legend.engine.protocol.pure.v1.model.SourceInformation;
 import org.finos.legend.engine.protocol.pure.v1.model.context.EngineErrorType;
@@ -23,6 +29,7 @@ import org.finos.legend.engine.shared.core.operational.errorManagement.EngineExc
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -54,6 +61,40 @@ public class PureGrammarParserUtility
         return PureGrammarParserUtility.removeQuotes(val);
     }
 
+    /**
+     * Run the given rule with SLL prediction first and only fall back to full LL prediction when SLL fails.
+     * SLL is much cheaper and succeeds for virtually all valid input, in which case the tree is the same as the one
+     * LL would produce. Syntax errors are only reported by the LL pass, so the error listeners see exactly the same
+     * errors as they would with LL alone.
+     */
+    public static <P extends Parser, T extends ParserRuleContext> T parseWithTwoStagePrediction(P parser, Function<P, T> rule)
+    {
+        List<ANTLRErrorListener> errorListeners = new ArrayList<>(parser.getErrorListeners());
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        T result;
+        try
+        {
+            result = rule.apply(parser);
+        }
+        catch (ParseCancellationException e)
+        {
+            parser.reset();
+            restoreDefaultPrediction(parser, errorListeners);
+            return rule.apply(parser);
+        }
+        restoreDefaultPrediction(parser, errorListeners);
+        return result;
+    }
+
+    private static void restoreDefaultPrediction(Parser parser, List<ANTLRErrorListener> errorListeners)
+    {
+        errorListeners.forEach(parser::addErrorListener);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+    }
+
     public static String removeQuotes(String val)
     {
         return val.substring(1, val.length() - 1);
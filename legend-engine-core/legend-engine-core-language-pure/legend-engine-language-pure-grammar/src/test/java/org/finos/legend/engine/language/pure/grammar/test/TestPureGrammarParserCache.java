@@ -0,0 +1,163 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.language.pure.grammar.test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
+import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParserCache;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.finos.legend.engine.shared.core.operational.errorManagement.EngineException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+public class TestPureGrammarParserCache
+{
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+
+    private static ForkJoinPool forkJoinPool;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        forkJoinPool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDown()
+    {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Test
+    public void testUnchangedSectionsAreReused() throws JsonProcessingException
+    {
+        PureGrammarParserCache cache = new PureGrammarParserCache();
+        String code = buildModel(20);
+        PureModelContextData first = PureGrammarParser.newInstance().withCache(cache).parseModel(code);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(20, cache.getMissCount());
+
+        PureModelContextData second = PureGrammarParser.newInstance().withCache(cache).parseModel(code);
+        Assert.assertEquals(20, cache.getHitCount());
+        Assert.assertEquals(OBJECT_MAPPER.writeValueAsString(first), OBJECT_MAPPER.writeValueAsString(second));
+        Assert.assertEquals(OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(code)), OBJECT_MAPPER.writeValueAsString(second));
+    }
+
+    @Test
+    public void testChangedSectionsAreParsedAgain() throws JsonProcessingException
+    {
+        PureGrammarParserCache cache = new PureGrammarParserCache();
+        PureGrammarParser.newInstance().withCache(cache).parseModel(buildModel(5));
+        Assert.assertEquals(5, cache.getMissCount());
+
+        // only the last section differs
+        String changedLastSection = buildModel(4) + "\n###Pure\nClass test::C4\n{\n  otherName: String[1];\n}\n";
+        PureModelContextData changed = PureGrammarParser.newInstance().withCache(cache).parseModel(changedLastSection);
+        Assert.assertEquals(4, cache.getHitCount());
+        Assert.assertEquals(6, cache.getMissCount());
+        Assert.assertEquals(OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(changedLastSection)), OBJECT_MAPPER.writeValueAsString(changed));
+    }
+
+    @Test
+    public void testMovedSectionsAreReusedWithTheirSourceInformationMoved() throws JsonProcessingException
+    {
+        PureGrammarParserCache cache = new PureGrammarParserCache();
+        PureGrammarParser.newInstance().withCache(cache).parseModel(buildModel(5));
+
+        // lines added above the sections, only the text of the first section changes
+        String shifted = "\n\n" + buildModel(5);
+        PureModelContextData moved = PureGrammarParser.newInstance().withCache(cache).parseModel(shifted);
+        Assert.assertEquals(4, cache.getHitCount());
+        Assert.assertEquals(OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(shifted)), OBJECT_MAPPER.writeValueAsString(moved));
+
+        // same text in another source, at another line offset
+        PureModelContextData otherSource = PureGrammarParser.newInstance().withCache(cache).parseModel(buildModel(5), "other.pure", 10, 0, true);
+        Assert.assertEquals(9, cache.getHitCount());
+        Assert.assertEquals(OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(buildModel(5), "other.pure", 10, 0, true)), OBJECT_MAPPER.writeValueAsString(otherSource));
+    }
+
+    @Test
+    public void testChangesToParsedElementsDoNotReachTheCache() throws JsonProcessingException
+    {
+        PureGrammarParserCache cache = new PureGrammarParserCache();
+        String code = buildModel(5);
+        String expected = OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(code));
+        for (int i = 0; i < 3; i++)
+        {
+            PureModelContextData parsed = PureGrammarParser.newInstance().withCache(cache).parseModel(code);
+            Assert.assertEquals(expected, OBJECT_MAPPER.writeValueAsString(parsed));
+            parsed.getElementsOfType(Class.class).forEach(c ->
+            {
+                c.name = "Changed";
+                c.properties = Collections.emptyList();
+                c.sourceInformation.startLine += 100;
+            });
+        }
+        Assert.assertEquals(10, cache.getHitCount());
+    }
+
+    @Test
+    public void testParallelParsingMatchesSequentialParsing() throws JsonProcessingException
+    {
+        String code = buildModel(50);
+        Assert.assertEquals(
+                OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().parseModel(code)),
+                OBJECT_MAPPER.writeValueAsString(PureGrammarParser.newInstance().withForkJoinPool(forkJoinPool).parseModel(code)));
+    }
+
+    @Test
+    public void testParallelParsingReportsFirstError()
+    {
+        String code = buildModel(10) + "\n###Pure\nClass test::Broken1\n{\n  name String[1];\n}\n" + buildModel(10) + "\n###Pure\nClass test::Broken2\n{\n  name: String[1]\n";
+        String expected = parseError(PureGrammarParser.newInstance(), code);
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(expected, parseError(PureGrammarParser.newInstance().withForkJoinPool(forkJoinPool), code));
+        }
+    }
+
+    private static String buildModel(int sectionCount)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sectionCount; i++)
+        {
+            // the first class goes in the default section which the parser adds in front of the code
+            builder.append(i == 0 ? "" : "\n###Pure\n").append("Class test::C").append(i).append("\n{\n  name: String[1];\n}\n");
+        }
+        return builder.toString();
+    }
+
+    private static String parseError(PureGrammarParser parser, String code)
+    {
+        try
+        {
+            parser.parseModel(code);
+        }
+        catch (EngineException e)
+        {
+            return EngineException.buildPrettyErrorMessage(e.getMessage(), e.getSourceInformation(), e.getErrorType());
+        }
+        Assert.fail("Expected parser error");
+        return null;
+    }
+}
@@ -48,8 +48,8 @@ import org.finos.legend.engine.plan.generation.transformers.PlanTransformer;
 import org.finos.legend.engine.plan.platform.PlanPlatform;
 import org.finos.legend.engine.protocol.pure.PureClientVersions;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContext;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextPointer;
-import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.ExecutionPlan;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.ParameterValue;
@@ -144,7 +144,7 @@ public class Execute
 
     private boolean usePlanCache(HttpServletRequest request, PureModelContext model)
     {
-        return request.getHeader(RequestContextHelper.LEGEND_USE_PLAN_CACHE) != null && model instanceof PureModelContextPointer && executionPlanCache != null;
+        return request.getHeader(RequestContextHelper.LEGEND_USE_PLAN_CACHE) != null && (model instanceof PureModelContextPointer || model instanceof PureModelContextData) && executionPlanCache != null;
     }
 
     private static class LambdaWithParameters
@@ -163,19 +163,21 @@ public class Execute
 
         }
 
-        public LambdaWithParameters(List<ValueSpecification> lambdaExpressions, List<Variable> lambdaParameters, List<ParameterValue> lambdaParameterValues, Runtime runtime, String mapping, SDLC sdlcInfo) throws JsonProcessingException
+        public LambdaWithParameters(List<ValueSpecification> lambdaExpressions, List<Variable> lambdaParameters, List<ParameterValue> lambdaParameterValues, Runtime runtime, String mapping, PureModelContext model) throws JsonProcessingException
         {
             this(lambdaExpressions, lambdaParameters, lambdaParameterValues);
-            this.executionCacheKey = new PureExecutionCacheKey(lambdaExpressions, runtime, mapping, sdlcInfo);
+            this.executionCacheKey = model instanceof PureModelContextData
+                    ? new PureExecutionCacheKey(lambdaExpressions, runtime, mapping, (PureModelContextData) model)
+                    : new PureExecutionCacheKey(lambdaExpressions, runtime, mapping, ((PureModelContextPointer) model).sdlcInfo);
         }
     }
 
-    private LambdaWithParameters planCacheLambdaWithParams(Lambda lambda, List<Variable> lambdaParameters, List<ParameterValue> lambdaParameterValues, Runtime runtime, String mapping, SDLC sdlcInfo) throws JsonProcessingException
+    private LambdaWithParameters planCacheLambdaWithParams(Lambda lambda, List<Variable> lambdaParameters, List<ParameterValue> lambdaParameterValues, Runtime runtime, String mapping, PureModelContext model) throws JsonProcessingException
     {
         ParameterizedValueSpecification cachableValueSpec = new ParameterizedValueSpecification(lambda, "GENERATED");
         List<Variable> allLambdaParameters = lambdaParameters != null ? Stream.concat(lambdaParameters.stream(), cachableValueSpec.getVariables().stream()).collect(Collectors.toList()) : cachableValueSpec.getVariables();
         List<ParameterValue> allLambdaParameterValues = lambdaParameterValues != null ? Stream.concat(lambdaParameterValues.stream(), cachableValueSpec.getParameterValues().stream()).collect(Collectors.toList()) : cachableValueSpec.getParameterValues();
-        return new LambdaWithParameters(((Lambda) cachableValueSpec.getValueSpecification()).body, allLambdaParameters, allLambdaParameterValues, runtime, mapping, sdlcInfo);
+        return new LambdaWithParameters(((Lambda) cachableValueSpec.getValueSpecification()).body, allLambdaParameters, allLambdaParameterValues, runtime, mapping, model);
     }
 
     @POST
@@ -190,7 +192,7 @@ public class Execute
         {
             String clientVersion = executeInput.clientVersion == null ? PureClientVersions.production : executeInput.clientVersion;
 
-            LambdaWithParameters lwp = usePlanCache(request, executeInput.model) ? planCacheLambdaWithParams(executeInput.function, executeInput.function.parameters, executeInput.parameterValues, executeInput.runtime, executeInput.mapping, ((PureModelContextPointer) executeInput.model).sdlcInfo) : new LambdaWithParameters(executeInput.function.body, executeInput.function.parameters, executeInput.parameterValues);
+            LambdaWithParameters lwp = usePlanCache(request, executeInput.model) ? planCacheLambdaWithParams(executeInput.function, executeInput.function.parameters, executeInput.parameterValues, executeInput.runtime, executeInput.mapping, executeInput.model) : new LambdaWithParameters(executeInput.function.body, executeInput.function.parameters, executeInput.parameterValues);
             Response response = exec(pureModel -> HelperValueSpecificationBuilder.buildLambda(lwp.lambdaBody, lwp.lambdaParameters, pureModel.getContext()),
                     () -> modelManager.loadModel(executeInput.model, clientVersion, profiles, null),
                     this.planExecutor,
@@ -202,7 +204,7 @@ public class Execute
                     request.getRemoteUser(),
                     format,
                     lwp.lambdaParameterMap,
-                    RequestContextHelper.RequestContext(request), lwp.executionCacheKey);
+                    RequestContextHelper.RequestContext(request, uriInfo), lwp.executionCacheKey);
             if (response.getStatusInfo().getFamily().equals(Response.Status.Family.SUCCESSFUL))
             {
                 MetricsHandler.observeRequest(uriInfo != null ? uriInfo.getPath() : null, start, System.currentTimeMillis());
@@ -317,7 +319,7 @@ public class Execute
             SingleExecutionPlan plan;
             if (planCacheKey != null && executionPlanCache != null)
             {
-                plan = executionPlanCache.getCache().get(planCacheKey, () -> this.buildPlan(functionFunc, pureModelFunc, mapping, runtime, context, clientVersion, pm));
+                plan = executionPlanCache.getPlan(planCacheKey, RequestContext.getEndpoint(requestContext), () -> this.buildPlan(functionFunc, pureModelFunc, mapping, runtime, context, clientVersion, pm));
             }
             else
             {
@@ -357,7 +359,7 @@ public class Execute
             SingleExecutionPlan singleExecutionPlan;
             if (planCacheKey != null && executionPlanCache != null)
             {
-                singleExecutionPlan = executionPlanCache.getCache().get(planCacheKey, () -> this.buildPlan(functionFunc, pureModelFunc, mapping, runtime, context, clientVersion, pm));
+                singleExecutionPlan = executionPlanCache.getPlan(planCacheKey, RequestContext.getEndpoint(requestContext), () -> this.buildPlan(functionFunc, pureModelFunc, mapping, runtime, context, clientVersion, pm));
 
             }
             else
@@ -17,12 +17,14 @@ package org.finos.legend.engine.query.pure.cache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.finos.legend.engine.plan.execution.cache.executionPlan.PlanCacheKey;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.runtime.Runtime;
 import org.finos.legend.engine.protocol.pure.v1.model.valueSpecification.ValueSpecification;
 import org.finos.legend.engine.shared.core.ObjectMapperFactory;
 
 import java.util.List;
+import java.util.Objects;
 
 public class PureExecutionCacheKey implements PlanCacheKey
 {
@@ -42,6 +44,18 @@ public class PureExecutionCacheKey implements PlanCacheKey
 
     }
 
+    /**
+     * Key for a query sent with its model: the model is identified by a digest of the elements the query reaches
+     * (see {@link PureModelContextDataDigest}), so that edits to other elements do not invalidate the cached plan.
+     */
+    public PureExecutionCacheKey(List<ValueSpecification> body, Runtime runtime, String mapping, PureModelContextData data) throws JsonProcessingException
+    {
+        this.pureFunction = objectMapper.writeValueAsString(body);
+        this.runtime = objectMapper.writeValueAsString(runtime);
+        this.mapping = mapping;
+        this.modelSource = PureModelContextDataDigest.digest(data, this.pureFunction, this.runtime, mapping);
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -64,7 +78,7 @@ public class PureExecutionCacheKey implements PlanCacheKey
         {
             return false;
         }
-        if (!mapping.equals(that.mapping))
+        if (!Objects.equals(mapping, that.mapping))
         {
             return false;
         }
@@ -76,7 +90,7 @@ public class PureExecutionCacheKey implements PlanCacheKey
     {
         int result = pureFunction.hashCode();
         result = 31 * result + runtime.hashCode();
-        result = 31 * result + mapping.hashCode();
+        result = 31 * result + Objects.hashCode(mapping);
         result = 31 * result + modelSource.hashCode();
         return result;
     }
@@ -0,0 +1,229 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.query.pure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.finos.legend.engine.language.pure.compiler.toPureGraph.HelperModelBuilder;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Association;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Function;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.section.SectionIndex;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a digest of the elements of a {@link PureModelContextData} which can affect the plan of a query, so that
+ * plans generated for inline models can be cached: edits to elements the query does not reach keep the same digest.
+ * <p>
+ * Elements are reached from the JSON of the roots (lambda, mapping, runtime) by looking for their path or their name
+ * (which may be imported), then from the JSON of every reached element in turn. Functions are reached by their path
+ * or name without the signature suffix, as that is how they are called, which reaches all of their overloads. Associations are reached from the
+ * classes they refer to, as they add properties to those classes without being referred to by them. Section indices
+ * are always part of the digest (imports decide what names refer to) but are not followed, as they list every element.
+ * Source information is left out, so that moving an element around in its file does not change the digest.
+ * <p>
+ * Looking for names may reach more elements than the query really needs, which costs cache hits but never
+ * correctness.
+ */
+public final class PureModelContextDataDigest
+{
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private static final Pattern REFERENCE = Pattern.compile("[A-Za-z0-9_$~]+(::[A-Za-z0-9_$~]+)*");
+    private static final String SOURCE_INFORMATION = "sourceInformation";
+
+    private final MutableMap<String, PackageableElement> elementsByPath = Maps.mutable.empty();
+    private final MutableMap<String, MutableSet<String>> pathsByReference = Maps.mutable.empty();
+    private final MutableMap<String, MutableSet<String>> pathsByName = Maps.mutable.empty();
+    private final MutableMap<String, String> jsonByPath = Maps.mutable.empty();
+
+    private PureModelContextDataDigest(PureModelContextData data)
+    {
+        for (PackageableElement element : data.getElements())
+        {
+            String path = element.getPath();
+            this.elementsByPath.put(path, element);
+            if (!(element instanceof SectionIndex))
+            {
+                this.index(path, path, element.name);
+                if (element instanceof Function)
+                {
+                    String name = HelperModelBuilder.getFunctionNameWithoutSignature((Function) element);
+                    this.index(path, path.substring(0, path.length() - element.name.length()) + name, name);
+                }
+            }
+        }
+    }
+
+    private void index(String path, String reference, String name)
+    {
+        this.pathsByReference.getIfAbsentPut(reference, Sets.mutable::empty).add(path);
+        this.pathsByName.getIfAbsentPut(name, Sets.mutable::empty).add(path);
+    }
+
+    /**
+     * @param data  the model sent with the query
+     * @param roots protocol objects (or plain strings, such as element paths) the query starts from
+     */
+    public static String digest(PureModelContextData data, Object... roots) throws JsonProcessingException
+    {
+        return new PureModelContextDataDigest(data).digest(data, roots);
+    }
+
+    private String digest(PureModelContextData data, Object[] roots) throws JsonProcessingException
+    {
+        MutableSet<String> reached = Sets.mutable.empty();
+        MutableList<String> toVisit = Lists.mutable.empty();
+        for (Object root : roots)
+        {
+            if (root != null)
+            {
+                this.follow(root instanceof String ? (String) root : OBJECT_MAPPER.writeValueAsString(root), reached, toVisit);
+            }
+        }
+
+        boolean changed = true;
+        while (changed)
+        {
+            while (toVisit.notEmpty())
+            {
+                this.follow(this.json(toVisit.remove(toVisit.size() - 1)), reached, toVisit);
+            }
+            changed = false;
+            for (PackageableElement element : this.elementsByPath.valuesView())
+            {
+                String path = element.getPath();
+                if (element instanceof Association && !reached.contains(path) && this.refersToAny(this.json(path), reached))
+                {
+                    reached.add(path);
+                    toVisit.add(path);
+                    changed = true;
+                }
+            }
+        }
+
+        this.elementsByPath.valuesView().select(SectionIndex.class::isInstance).collect(PackageableElement::getPath).forEach(reached::add);
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, OBJECT_MAPPER.writeValueAsString(data.serializer));
+            for (String path : reached.toSortedList())
+            {
+                update(digest, path);
+                update(digest, this.json(path));
+            }
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest())
+            {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void follow(String json, MutableSet<String> reached, MutableList<String> toVisit)
+    {
+        Matcher matcher = REFERENCE.matcher(json);
+        while (matcher.find())
+        {
+            String reference = matcher.group();
+            int separator = reference.lastIndexOf("::");
+            String name = separator == -1 ? reference : reference.substring(separator + 2);
+            this.pathsReferredToAs(reference).concatenate(this.pathsNamed(name)).forEach(path ->
+            {
+                if (reached.add(path))
+                {
+                    toVisit.add(path);
+                }
+            });
+        }
+    }
+
+    private boolean refersToAny(String json, MutableSet<String> paths)
+    {
+        Matcher matcher = REFERENCE.matcher(json);
+        while (matcher.find())
+        {
+            String reference = matcher.group();
+            if (this.pathsReferredToAs(reference).anySatisfy(paths::contains) || this.pathsNamed(reference).anySatisfy(paths::contains))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LazyIterable<String> pathsReferredToAs(String reference)
+    {
+        MutableSet<String> paths = this.pathsByReference.get(reference);
+        return paths == null ? Lists.immutable.<String>empty().asLazy() : paths.asLazy();
+    }
+
+    private LazyIterable<String> pathsNamed(String name)
+    {
+        MutableSet<String> paths = this.pathsByName.get(name);
+        return paths == null ? Lists.immutable.<String>empty().asLazy() : paths.asLazy();
+    }
+
+    private String json(String path)
+    {
+        return this.jsonByPath.getIfAbsentPut(path, () ->
+        {
+            JsonNode node = OBJECT_MAPPER.valueToTree(this.elementsByPath.get(path));
+            removeSourceInformation(node);
+            return node.toString();
+        });
+    }
+
+    private static void removeSourceInformation(JsonNode node)
+    {
+        if (node instanceof ObjectNode)
+        {
+            ((ObjectNode) node).remove(SOURCE_INFORMATION);
+        }
+        Iterator<JsonNode> children = node.elements();
+        while (children.hasNext())
+        {
+            removeSourceInformation(children.next());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value)
+    {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -92,6 +92,33 @@ public class TestExecutionPlanCache
 
     }
 
+    @Test
+    public void testCacheIsUsedWithPureModelContextData() throws IOException
+    {
+        ObjectMapper objectMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+        ExecutionPlanCache cache = ExecutionPlanCacheBuilder.buildWithDefaultCache();
+        PlanExecutor planExecutor = PlanExecutor.newPlanExecutor(new RelationalStoreExecutorBuilder().build());
+        ExecuteInput input = objectMapper.readValue(Objects.requireNonNull(getClass().getClassLoader().getResource("relationalQueryExecutionInputZeroMany.json")), ExecuteInput.class);
+        ExecuteInput input2 = objectMapper.readValue(Objects.requireNonNull(getClass().getClassLoader().getResource("relationalQueryExecutionInputZeroMany.json")), ExecuteInput.class);
+        ModelManager modelManager = new ModelManager(DeploymentMode.TEST);
+
+        HttpServletRequest request = TestExecutionUtility.buildMockRequest();
+        Mockito.when(request.getHeader(RequestContextHelper.LEGEND_USE_PLAN_CACHE)).thenReturn("true");
+
+        Execute execute = new Execute(modelManager, planExecutor, (PureModel pureModel) -> Root_meta_relational_executionPlan_platformBinding_legendJava_relationalExtensionsWithLegendJavaPlatformBinding__Extension_MANY_(pureModel.getExecutionSupport()), LegendPlanTransformers.transformers, null, null, cache);
+        Response response1 = execute.execute(request, input, SerializationFormat.defaultFormat, null, null);
+        Response response2 = execute.execute(request, input2, SerializationFormat.defaultFormat, null, null);
+
+        String expected = "{\"builder\":{\"_type\":\"tdsBuilder\",\"columns\":[{\"name\":\"Age\",\"type\":\"Integer\",\"relationalType\":\"INTEGER\"}]},\"activities\":[{\"_type\":\"relational\",\"sql\":\"select top 1000 \\\"root\\\".age as \\\"Age\\\" from PersonTable as \\\"root\\\" where \\\"root\\\".age in (20,30)\"}],\"result\":{\"columns\":[\"Age\"],\"rows\":[{\"values\":[20]},{\"values\":[30]}]}}";
+
+        assertEquals(expected, RelationalResultToJsonDefaultSerializer.removeComment(TestExecutionUtility.responseAsString(response1)));
+        assertEquals(expected, RelationalResultToJsonDefaultSerializer.removeComment(TestExecutionUtility.responseAsString(response2)));
+
+        assertEquals(2, cache.getCache().stats().requestCount());
+        assertEquals(1, cache.getCache().stats().missCount());
+        assertEquals(1, cache.getCache().stats().hitCount());
+    }
+
     @Test
     public void testExecuteWithNoParameters() throws IOException
     {
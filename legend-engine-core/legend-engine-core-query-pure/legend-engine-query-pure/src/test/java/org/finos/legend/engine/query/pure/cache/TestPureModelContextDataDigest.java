@@ -0,0 +1,162 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.query.pure.cache;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Association;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Property;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPureModelContextDataDigest
+{
+    @Test
+    public void testUnreachableElementsAreIgnored() throws Exception
+    {
+        String digest = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String"), newClass("model", "Other", "name", "String")), "model::Person.all()");
+        String otherEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String"), newClass("model", "Other", "age", "Integer")), "model::Person.all()");
+        String personEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "age", "Integer"), newClass("model", "Other", "name", "String")), "model::Person.all()");
+
+        Assert.assertEquals(digest, otherEdited);
+        Assert.assertNotEquals(digest, personEdited);
+    }
+
+    @Test
+    public void testElementsAreReachedTransitively() throws Exception
+    {
+        String digest = PureModelContextDataDigest.digest(model(newClass("model", "Person", "firm", "model::Firm"), newClass("model", "Firm", "name", "String")), "model::Person.all()");
+        String firmEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "firm", "model::Firm"), newClass("model", "Firm", "legalName", "String")), "model::Person.all()");
+
+        Assert.assertNotEquals(digest, firmEdited);
+    }
+
+    @Test
+    public void testElementsAreReachedByName() throws Exception
+    {
+        // e.g. imported in the section of the query
+        String digest = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String")), "Person.all()");
+        String personEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "age", "Integer")), "Person.all()");
+
+        Assert.assertNotEquals(digest, personEdited);
+    }
+
+    @Test
+    public void testAssociationsOfReachedClassesAreReached() throws Exception
+    {
+        String digest = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String"), newClass("model", "Firm", "name", "String"), newAssociation("model", "Employment", "model::Person", "model::Firm")), "model::Person.all()");
+        String associationEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String"), newClass("model", "Firm", "name", "String"), newAssociation("model", "Employment", "model::Person", "model::Firm", "employer")), "model::Person.all()");
+        String firmEdited = PureModelContextDataDigest.digest(model(newClass("model", "Person", "name", "String"), newClass("model", "Firm", "legalName", "String"), newAssociation("model", "Employment", "model::Person", "model::Firm")), "model::Person.all()");
+
+        Assert.assertNotEquals(digest, associationEdited);
+        // reached through the association
+        Assert.assertNotEquals(digest, firmEdited);
+    }
+
+    @Test
+    public void testCalledFunctionsAreReached() throws Exception
+    {
+        // functions are stored with a signature suffix in their name, but called without it
+        String digest = PureModelContextDataDigest.digest(functions("'Hello ' + $name", "'Bye ' + $name"), "model::greet('x')");
+        String calledEdited = PureModelContextDataDigest.digest(functions("'Hi ' + $name", "'Bye ' + $name"), "model::greet('x')");
+        String otherEdited = PureModelContextDataDigest.digest(functions("'Hello ' + $name", "'Goodbye ' + $name"), "model::greet('x')");
+
+        Assert.assertNotEquals(digest, calledEdited);
+        Assert.assertEquals(digest, otherEdited);
+
+        // e.g. imported in the section of the query
+        String digestByName = PureModelContextDataDigest.digest(functions("'Hello ' + $name", "'Bye ' + $name"), "greet('x')");
+        String calledByNameEdited = PureModelContextDataDigest.digest(functions("'Hi ' + $name", "'Bye ' + $name"), "greet('x')");
+        Assert.assertNotEquals(digestByName, calledByNameEdited);
+    }
+
+    @Test
+    public void testFunctionsCalledByReachedFunctionsAreReached() throws Exception
+    {
+        String digest = PureModelContextDataDigest.digest(functions("model::salute($name)", "'Bye ' + $name", "'Hello ' + $name"), "model::greet('x')");
+        String salutationEdited = PureModelContextDataDigest.digest(functions("model::salute($name)", "'Bye ' + $name", "'Hi ' + $name"), "model::greet('x')");
+
+        Assert.assertNotEquals(digest, salutationEdited);
+    }
+
+    private static PureModelContextData functions(String greetBody, String farewellBody)
+    {
+        return PureGrammarParser.newInstance().parseModel(
+                "function model::greet(name: String[1]): String[1]\n" +
+                "{\n" +
+                "  " + greetBody + "\n" +
+                "}\n" +
+                "function model::farewell(name: String[1]): String[1]\n" +
+                "{\n" +
+                "  " + farewellBody + "\n" +
+                "}\n");
+    }
+
+    private static PureModelContextData functions(String greetBody, String farewellBody, String saluteBody)
+    {
+        return PureGrammarParser.newInstance().parseModel(
+                "function model::greet(name: String[1]): String[1]\n" +
+                "{\n" +
+                "  " + greetBody + "\n" +
+                "}\n" +
+                "function model::farewell(name: String[1]): String[1]\n" +
+                "{\n" +
+                "  " + farewellBody + "\n" +
+                "}\n" +
+                "function model::salute(name: String[1]): String[1]\n" +
+                "{\n" +
+                "  " + saluteBody + "\n" +
+                "}\n");
+    }
+
+    private static PureModelContextData model(PackageableElement... elements)
+    {
+        return PureModelContextData.newPureModelContextData(null, null, Lists.mutable.with(elements));
+    }
+
+    private static Class newClass(String _package, String name, String propertyName, String propertyType)
+    {
+        Class _class = new Class();
+        _class._package = _package;
+        _class.name = name;
+        _class.properties = Lists.mutable.with(newProperty(propertyName, propertyType));
+        return _class;
+    }
+
+    private static Association newAssociation(String _package, String name, String left, String right)
+    {
+        return newAssociation(_package, name, left, right, "firm");
+    }
+
+    private static Association newAssociation(String _package, String name, String left, String right, String rightPropertyName)
+    {
+        Association association = new Association();
+        association._package = _package;
+        association.name = name;
+        association.properties = Lists.mutable.with(newProperty("employees", left), newProperty(rightPropertyName, right));
+        return association;
+    }
+
+    private static Property newProperty(String name, String type)
+    {
+        Property property = new Property();
+        property.name = name;
+        property.type = type;
+        return property;
+    }
+}
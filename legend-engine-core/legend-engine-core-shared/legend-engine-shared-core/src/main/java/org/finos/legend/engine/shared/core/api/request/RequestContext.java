@@ -25,6 +25,7 @@ public class RequestContext
     private final AtomicBoolean cancelled = new AtomicBoolean(false);
     private Consumer<Boolean> cancellationHandler = null;
     private String requestToken;
+    private String endpoint;
 
 
     public RequestContext()
@@ -39,6 +40,12 @@ public class RequestContext
         this.requestToken = requestToken;
     }
 
+    public RequestContext(String sessionID, String referral, String requestToken, String endpoint)
+    {
+        this(sessionID, referral, requestToken);
+        this.endpoint = endpoint;
+    }
+
     public RequestContext(String sessionID, String referral)
     {
         this.sessionID = sessionID;
@@ -91,6 +98,11 @@ public class RequestContext
         return requestContext != null ? requestContext.requestToken : null;
     }
 
+    public static String getEndpoint(RequestContext requestContext)
+    {
+        return requestContext != null ? requestContext.endpoint : null;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -103,13 +115,13 @@ public class RequestContext
             return false;
         }
         RequestContext that = (RequestContext) o;
-        return Objects.equals(sessionID, that.sessionID) && Objects.equals(referral, that.referral) && cancelled.equals(that.cancelled) && Objects.equals(cancellationHandler, that.cancellationHandler) && Objects.equals(requestToken, that.requestToken);
+        return Objects.equals(sessionID, that.sessionID) && Objects.equals(referral, that.referral) && cancelled.equals(that.cancelled) && Objects.equals(cancellationHandler, that.cancellationHandler) && Objects.equals(requestToken, that.requestToken) && Objects.equals(endpoint, that.endpoint);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(sessionID, referral, cancelled, cancellationHandler, requestToken);
+        return Objects.hash(sessionID, referral, cancelled, cancellationHandler, requestToken, endpoint);
     }
 }
 
@@ -23,8 +23,6 @@ import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.Summary;
-import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.impl.factory.Maps;
 import org.finos.legend.engine.shared.core.operational.Assert;
 import org.finos.legend.engine.shared.core.operational.errorManagement.EngineException;
 import org.finos.legend.engine.shared.core.operational.errorManagement.ExceptionCategory;
@@ -36,13 +34,17 @@ import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MetricsHandler
 {
     public static final String METRIC_PREFIX = "alloy_";
     private static final String[] empty = new String[]{};
-    static MutableMap<String, Summary> serviceMetrics = Maps.mutable.empty();
-    static MutableMap<String, Gauge> gauges = Maps.mutable.empty();
+    // metrics are registered on first use, then only looked up: these are called on every request, so they must not
+    // lock once the metric exists
+    static final ConcurrentMap<String, Summary> serviceMetrics = new ConcurrentHashMap<>();
+    static final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
     static final Gauge allExecutions = Gauge.build().name("alloy_executions").help("Execution gauge metric ").register();
 
     // ----------------------------------------- NEW IMPLEMENTATION -----------------------------------------
@@ -66,10 +68,39 @@ public class MetricsHandler
     private static final Counter ALL_EXECUTIONS = Counter.build("legend_engine_executions", "Execution counter metric ").register();
     private static final Counter DATASTORE_SPEC_COUNT = Counter.build("legend_engine_datastore_spec_count", "Count datastore specifications").register(getMetricsRegistry());
     private static final Counter JAVA_COMPILATION_COUNT = Counter.build("legend_engine_java_compilation_count", "Count java compilations").register(getMetricsRegistry());
+    private static final Counter JAVA_COMPILATION_CACHE_HIT_COUNT = Counter.build("legend_engine_java_compilation_cache_hit_count", "Count java compilation cache hits").register(getMetricsRegistry());
+    private static final Counter JAVA_COMPILATION_CACHE_MISS_COUNT = Counter.build("legend_engine_java_compilation_cache_miss_count", "Count java compilation cache misses").register(getMetricsRegistry());
+    private static final Counter JAVA_COMPILATION_CACHE_EVICTION_COUNT = Counter.build("legend_engine_java_compilation_cache_eviction_count", "Count java compilation cache evictions").register(getMetricsRegistry());
+    private static final Counter PLAN_CACHE_HIT_COUNT = Counter.build("legend_engine_plan_cache_hit_count", "Count execution plan cache hits").labelNames("endpoint").register(getMetricsRegistry());
+    private static final Counter PLAN_CACHE_MISS_COUNT = Counter.build("legend_engine_plan_cache_miss_count", "Count execution plan cache misses").labelNames("endpoint").register(getMetricsRegistry());
+    private static final Gauge EXECUTION_CACHE_HIT_COUNT = Gauge.build("legend_engine_execution_cache_hit_count", "Hits of an execution cache").labelNames("cache").register(getMetricsRegistry());
+    private static final Gauge EXECUTION_CACHE_MISS_COUNT = Gauge.build("legend_engine_execution_cache_miss_count", "Misses of an execution cache").labelNames("cache").register(getMetricsRegistry());
+    private static final Gauge EXECUTION_CACHE_EVICTION_COUNT = Gauge.build("legend_engine_execution_cache_eviction_count", "Evictions from an execution cache").labelNames("cache").register(getMetricsRegistry());
+    private static final Gauge EXECUTION_CACHE_SIZE = Gauge.build("legend_engine_execution_cache_size", "Entries currently in an execution cache").labelNames("cache").register(getMetricsRegistry());
+    private static final Summary GRAPH_FETCH_BATCH_SIZE = Summary.build("legend_engine_graph_fetch_batch_size", "Graph fetch batch sizes picked by adaptive batching").labelNames("decision").register(getMetricsRegistry());
+    private static final Summary GRAPH_FETCH_BATCH_PHASE_LATENCY = Summary.build("legend_engine_graph_fetch_batch_phase_latency", "Time spent by graph fetch batches in each phase, in seconds").labelNames("phase").register(getMetricsRegistry());
+    private static final Summary GRAPH_FETCH_BATCH_THROUGHPUT = Summary.build("legend_engine_graph_fetch_batch_throughput", "Objects per second processed by graph fetch batches").register(getMetricsRegistry());
     private static final Gauge TEMP_FILE_COUNT = Gauge.build("legend_engine_temp_file_count", "Measure how many temporary files are being currently created").register(getMetricsRegistry());
+    private static final Summary TEMP_TABLE_LOAD_ROWS = Summary.build("legend_engine_temp_table_load_rows", "Rows streamed into a temporary table by one load").labelNames("databaseType").register(getMetricsRegistry());
+    private static final Summary TEMP_TABLE_LOAD_THROUGHPUT = Summary.build("legend_engine_temp_table_load_throughput", "Rows per second streamed into temporary tables").labelNames("databaseType").register(getMetricsRegistry());
     private static final Gauge ACTIVE_CONNECTIONS =  Gauge.build("active_connections", "Active Connections in Pool").labelNames("poolName").register();
     private static final Gauge TOTAL_CONNECTIONS = Gauge.build("total_connections", "total Connections in Pool").labelNames("poolName").register();
     private static final Gauge IDLE_CONNECTIONS = Gauge.build("idle_connections", "Idle Connections in Pool").labelNames("poolName").register();
+    private static final Histogram CONNECTION_ACQUISITION_LATENCY = Histogram.build().name("legend_engine_connection_acquisition_latency")
+            .help("Time waited for a connection of a pool, including the creation of the pool when needed, in seconds")
+            .buckets(.001, .005, .01, .05, .1, .5, 1, 5, 10, 30)
+            .labelNames("poolName")
+            .register(getMetricsRegistry());
+    private static final Histogram CONNECTION_CREATION_LATENCY = Histogram.build().name("legend_engine_connection_creation_latency")
+            .help("Time taken to open a new database connection for a pool, in seconds")
+            .buckets(.01, .05, .1, .5, 1, 2, 5, 10, 30)
+            .labelNames("poolName")
+            .register(getMetricsRegistry());
+    private static final Summary CONNECTION_POOL_USAGE = Summary.build("legend_engine_connection_pool_usage", "Active and idle connections of a pool when a connection is acquired").labelNames("poolName", "state").register(getMetricsRegistry());
+    private static final Gauge CONNECTION_POOL_MINIMUM_IDLE = Gauge.build("legend_engine_connection_pool_minimum_idle", "Minimum idle connections currently kept by a pool").labelNames("poolName").register(getMetricsRegistry());
+    private static final Gauge ARROW_ALLOCATED_BYTES = Gauge.build("legend_engine_arrow_allocated_bytes", "Off-heap memory currently allocated for Arrow results").register(getMetricsRegistry());
+    private static final Gauge ARROW_PEAK_ALLOCATED_BYTES = Gauge.build("legend_engine_arrow_peak_allocated_bytes", "Peak off-heap memory allocated for Arrow results").register(getMetricsRegistry());
+    private static final Gauge ARROW_ACTIVE_ALLOCATORS = Gauge.build("legend_engine_arrow_active_allocators", "Arrow results currently holding an allocator").register(getMetricsRegistry());
 
     public static CollectorRegistry getMetricsRegistry()
     {
@@ -140,11 +171,42 @@ public class MetricsHandler
         }
     }
 
+    public static void observeConnectionAcquisition(String poolName, long nanos, int activeCount, int idleCount)
+    {
+        if (!poolName.contains("DefaultH2"))
+        {
+            CONNECTION_ACQUISITION_LATENCY.labels(poolName).observe(nanos / 1_000_000_000.0);
+            CONNECTION_POOL_USAGE.labels(poolName, "active").observe(activeCount);
+            CONNECTION_POOL_USAGE.labels(poolName, "idle").observe(idleCount);
+        }
+    }
+
+    public static void observeConnectionCreation(String poolName, long nanos)
+    {
+        if (!poolName.contains("DefaultH2"))
+        {
+            CONNECTION_CREATION_LATENCY.labels(poolName).observe(nanos / 1_000_000_000.0);
+        }
+    }
+
+    public static void setConnectionPoolMinimumIdle(String poolName, int minimumIdle)
+    {
+        if (!poolName.contains("DefaultH2"))
+        {
+            CONNECTION_POOL_MINIMUM_IDLE.labels(poolName).set(minimumIdle);
+        }
+    }
+
     public static void removeConnectionMetrics(String poolName)
     {
         ACTIVE_CONNECTIONS.remove(poolName);
         TOTAL_CONNECTIONS.remove(poolName);
         IDLE_CONNECTIONS.remove(poolName);
+        CONNECTION_ACQUISITION_LATENCY.remove(poolName);
+        CONNECTION_CREATION_LATENCY.remove(poolName);
+        CONNECTION_POOL_USAGE.remove(poolName, "active");
+        CONNECTION_POOL_USAGE.remove(poolName, "idle");
+        CONNECTION_POOL_MINIMUM_IDLE.remove(poolName);
     }
 
     public static void incrementJavaCompilationCount()
@@ -152,6 +214,54 @@ public class MetricsHandler
         JAVA_COMPILATION_COUNT.inc();
     }
 
+    public static void incrementJavaCompilationCacheHitCount()
+    {
+        JAVA_COMPILATION_CACHE_HIT_COUNT.inc();
+    }
+
+    public static void incrementJavaCompilationCacheMissCount()
+    {
+        JAVA_COMPILATION_CACHE_MISS_COUNT.inc();
+    }
+
+    public static void incrementJavaCompilationCacheEvictionCount()
+    {
+        JAVA_COMPILATION_CACHE_EVICTION_COUNT.inc();
+    }
+
+    public static void incrementPlanCacheHitCount(String endpoint)
+    {
+        PLAN_CACHE_HIT_COUNT.labels(returnLabelOrUnknown(endpoint)).inc();
+    }
+
+    public static void incrementPlanCacheMissCount(String endpoint)
+    {
+        PLAN_CACHE_MISS_COUNT.labels(returnLabelOrUnknown(endpoint)).inc();
+    }
+
+    public static void setExecutionCacheMetrics(String cache, long hitCount, long missCount, long evictionCount, long size)
+    {
+        EXECUTION_CACHE_HIT_COUNT.labels(cache).set(hitCount);
+        EXECUTION_CACHE_MISS_COUNT.labels(cache).set(missCount);
+        EXECUTION_CACHE_EVICTION_COUNT.labels(cache).set(evictionCount);
+        EXECUTION_CACHE_SIZE.labels(cache).set(size);
+    }
+
+    public static void observeGraphFetchBatchSize(String decision, long batchSize)
+    {
+        GRAPH_FETCH_BATCH_SIZE.labels(decision).observe(batchSize);
+    }
+
+    public static void observeGraphFetchBatchPhaseLatency(String phase, long nanos)
+    {
+        GRAPH_FETCH_BATCH_PHASE_LATENCY.labels(phase).observe(nanos / 1_000_000_000.0);
+    }
+
+    public static void observeGraphFetchBatchThroughput(double objectsPerSecond)
+    {
+        GRAPH_FETCH_BATCH_THROUGHPUT.observe(objectsPerSecond);
+    }
+
     public static void incrementTempFileCount()
     {
         TEMP_FILE_COUNT.inc();
@@ -162,6 +272,22 @@ public class MetricsHandler
         TEMP_FILE_COUNT.dec();
     }
 
+    public static void observeTempTableLoad(String databaseType, long rowCount, long nanos)
+    {
+        TEMP_TABLE_LOAD_ROWS.labels(databaseType).observe(rowCount);
+        if (nanos > 0)
+        {
+            TEMP_TABLE_LOAD_THROUGHPUT.labels(databaseType).observe(rowCount * 1_000_000_000.0 / nanos);
+        }
+    }
+
+    public static void setArrowAllocatorMetrics(long allocatedBytes, long peakAllocatedBytes, int activeAllocators)
+    {
+        ARROW_ALLOCATED_BYTES.set(allocatedBytes);
+        ARROW_PEAK_ALLOCATED_BYTES.set(peakAllocatedBytes);
+        ARROW_ACTIVE_ALLOCATORS.set(activeAllocators);
+    }
+
     private static String returnLabelOrUnknown(String label)
     {
         return label != null ? label : "unknown";
@@ -177,13 +303,9 @@ public class MetricsHandler
             if (m.isAnnotationPresent(Prometheus.class))
             {
                 Prometheus val = m.getAnnotation(Prometheus.class);
-                if (val.type() == Prometheus.Type.SUMMARY && (serviceMetrics.get(val.name()) == null))
+                if (val.type() == Prometheus.Type.SUMMARY)
                 {
-                    Summary g = Summary.build().name(generateMetricName(val.name(), false))
-                            .quantile(0.5, 0.05).quantile(0.9, 0.01).quantile(0.99, 0.001)
-                            .help(val.doc())
-                            .register();
-                    serviceMetrics.put(val.name(), g);
+                    serviceMetrics.computeIfAbsent(val.name(), name -> newSummary(name, val.doc()));
                 }
             }
         }
@@ -196,68 +318,56 @@ public class MetricsHandler
     }
 
     @Deprecated
-    public static synchronized void observe(String name, long startTime, long endTime)
+    public static void observe(String name, long startTime, long endTime)
     {
-        if (serviceMetrics.get(name) == null)
+        Summary summary = serviceMetrics.get(name);
+        if (summary == null)
         {
-            Summary g = Summary.build().name(generateMetricName(name, false))
-                    .quantile(0.5, 0.05).quantile(0.9, 0.01).quantile(0.99, 0.001)
-                    .help(name + " duration metrics")
-                    .register();
-            serviceMetrics.put(name, g);
-            g.observe((endTime - startTime) / 1000F);
-        }
-        else
-        {
-            serviceMetrics.get(name).observe((endTime - startTime) / 1000F);
+            summary = serviceMetrics.computeIfAbsent(name, n -> newSummary(n, n + " duration metrics"));
         }
+        summary.observe((endTime - startTime) / 1000F);
     }
 
     @Deprecated
-    public static synchronized void observeCount(String name)
+    public static void observeCount(String name)
     {
         observeCount(name, empty, empty, false);
     }
 
     @Deprecated
-    public static synchronized void decrementCount(String name)
+    public static void decrementCount(String name)
     {
         observeCount(name, empty, empty, true);
     }
 
     @Deprecated
-    public static synchronized void observeCount(String name, String[] labelNames, String[] labelValues, boolean decrement)
+    public static void observeCount(String name, String[] labelNames, String[] labelValues, boolean decrement)
     {
-        Gauge g;
-        if (gauges.get(name) == null)
+        Gauge gauge = gauges.get(name);
+        if (gauge == null)
         {
-            g = Gauge.build().name(generateMetricName(name, false))
-                    .help(name + " gauge metric")
-                    .labelNames(labelNames).register();
-            gauges.put(name, g);
-            if (decrement)
-            {
-                g.labels(labelValues).dec();
-            }
-            else
-            {
-                g.labels(labelValues).inc();
-            }
+            gauge = gauges.computeIfAbsent(name, n -> Gauge.build().name(generateMetricName(n, false))
+                    .help(n + " gauge metric")
+                    .labelNames(labelNames).register());
+        }
+        if (decrement)
+        {
+            gauge.labels(labelValues).dec();
         }
         else
         {
-            g = gauges.get(name);
-            if (decrement)
-            {
-                g.labels(labelValues).dec();
-            }
-            else
-            {
-                g.labels(labelValues).inc();
-            }
+            gauge.labels(labelValues).inc();
         }
     }
 
+    private static Summary newSummary(String name, String help)
+    {
+        return Summary.build().name(generateMetricName(name, false))
+                .quantile(0.5, 0.05).quantile(0.9, 0.01).quantile(0.99, 0.001)
+                .help(help)
+                .register();
+    }
+
     // -------------------------------------- ERROR HANDLING -------------------------------------
 
     /**
@@ -279,7 +389,7 @@ public class MetricsHandler
     /**
      * Flag to turn exception categorisation on and off.
      */
-    private static boolean categorisationEnabled = true;
+    private static volatile boolean categorisationEnabled = true;
 
     /**
      * Types of exception matching priorities that can be performed on an incoming exceptions.
@@ -298,7 +408,7 @@ public class MetricsHandler
      * @param exception the non-null exception to be analysed that has occurred in execution.
      * @param servicePath the name of the service whose execution invoked the error.
      */
-    public static synchronized void observeError(Enum origin, Exception exception, String servicePath)
+    public static void observeError(Enum origin, Exception exception, String servicePath)
     {
         try (Scope scope = GlobalTracer.get().buildSpan("Error Categorisation").startActive(true))
         {
@@ -324,7 +434,7 @@ public class MetricsHandler
      * @param exception the original exception to be analysed that has occurred in execution.
      * @return a pair of values corresponding to the exceptionLabel and category labels in the Counter.
      */
-    private static synchronized ExceptionLabelValues getCounterLabelValues(Throwable exception)
+    private static ExceptionLabelValues getCounterLabelValues(Throwable exception)
     {
         int categorisationDepthLimit = 5;
         ExceptionLabelValues exceptionLabelValues = new ExceptionLabelValues(getExceptionClass(exception), ExceptionCategory.UNKNOWN_ERROR);
@@ -357,7 +467,7 @@ public class MetricsHandler
      * @param exception is the exception whose class to obtain
      * @return error counter label exceptionClass' value.
      */
-    private static synchronized String getExceptionClass(Throwable exception)
+    private static String getExceptionClass(Throwable exception)
     {
         String prefix = exception instanceof EngineException ? toCamelCase(((EngineException) exception).getErrorType()) : "";
         return prefix + exception.getClass().getSimpleName();
@@ -368,7 +478,7 @@ public class MetricsHandler
      * @param exception is the exception to be checked
      * @return true if the exception has an associated valid category and false otherwise.
      */
-    private static synchronized boolean isEngineExceptionWithValidExceptionCategory(Throwable exception)
+    private static boolean isEngineExceptionWithValidExceptionCategory(Throwable exception)
     {
         if (exception instanceof EngineException)
         {
@@ -383,7 +493,7 @@ public class MetricsHandler
      * @param exception is the exception that occurred in the engine.
      * @return Category belonging to the exception.
      */
-    private static synchronized ExceptionCategory matchExceptionToExceptionDataFile(Throwable exception)
+    private static ExceptionCategory matchExceptionToExceptionDataFile(Throwable exception)
     {
         for (MatchingPriority method : MatchingPriority.values())
         {
@@ -402,7 +512,7 @@ public class MetricsHandler
      * Find and read JSON file with outline of exceptions to be used in categorizing incoming exceptions
      * @return List of objects corresponding to the exception categories with their respective data
      */
-    private static synchronized List<ExceptionCategoryData> readExceptionData()
+    private static List<ExceptionCategoryData> readExceptionData()
     {
         List<ExceptionCategoryData> categories;
         try (InputStream inputStream = MetricsHandler.class.getResourceAsStream(EXCEPTION_DATA_PATH))
@@ -424,7 +534,7 @@ public class MetricsHandler
      * Method to turn exception categorisation on and off
      * @param flag is true to set categorisation on and false otherwise.
      */
-    public static synchronized void setCategorisationEnabled(boolean flag)
+    public static void setCategorisationEnabled(boolean flag)
     {
         categorisationEnabled = flag;
         LOGGER.info("Exception categorisation in error handling has been set to {}", flag);
@@ -530,17 +640,17 @@ public class MetricsHandler
     }
 
     @Deprecated
-    public static synchronized void observeErrorCount(String name)
+    public static void observeErrorCount(String name)
     {
     }
 
     @Deprecated
-    public static synchronized void observeErrorCount(String name, String[] labelNames, String[] labelValues)
+    public static void observeErrorCount(String name, String[] labelNames, String[] labelValues)
     {
     }
 
     @Deprecated
-    public static synchronized void observeError(String name)
+    public static void observeError(String name)
     {
         EXCEPTION_ERROR_COUNTER.labels(name, toCamelCase(ExceptionCategory.UNKNOWN_ERROR), toCamelCase(LoggingEventType.CATCH_ALL), "N/A").inc();
     }
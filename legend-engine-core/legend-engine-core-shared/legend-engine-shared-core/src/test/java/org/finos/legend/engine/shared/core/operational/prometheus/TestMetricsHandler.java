@@ -0,0 +1,91 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.shared.core.operational.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMetricsHandler
+{
+    private static final int THREADS = 64;
+    private static final int CALLS = 1000;
+    private final double DELTA = 0d;
+
+    @Test
+    public void testConcurrentObservationsOfANewMetric() throws Exception
+    {
+        runConcurrently(() ->
+        {
+            MetricsHandler.observe("concurrent test", 0, 1);
+            MetricsHandler.observeCount("concurrent test gauge");
+        });
+
+        // registered once, whatever the thread observing it first
+        assertEquals(THREADS * CALLS, CollectorRegistry.defaultRegistry.getSampleValue("alloy_concurrent_test_count"), DELTA);
+        assertEquals(THREADS * CALLS, CollectorRegistry.defaultRegistry.getSampleValue("alloy_concurrent_test_gauge"), DELTA);
+    }
+
+    @Test
+    public void testConcurrentIncrementsAndDecrements() throws Exception
+    {
+        runConcurrently(() ->
+        {
+            MetricsHandler.observeCount("concurrent gauge");
+            MetricsHandler.decrementCount("concurrent gauge");
+        });
+
+        assertEquals(0, CollectorRegistry.defaultRegistry.getSampleValue("alloy_concurrent_gauge"), DELTA);
+    }
+
+    private static void runConcurrently(Runnable call) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int j = 0; j < CALLS; j++)
+                    {
+                        call.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
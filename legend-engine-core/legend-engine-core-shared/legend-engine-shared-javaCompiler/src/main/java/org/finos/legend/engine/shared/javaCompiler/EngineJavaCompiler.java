@@ -133,7 +133,10 @@ public class EngineJavaCompiler
         return new MemoryClassLoader(this.memoryFileManager, (this.parent == null) ? Thread.currentThread().getContextClassLoader() : this.parent.memoryClassLoader);
     }
 
-    private String getClassPath()
+    /**
+     * @return the class path which the compilers created by the current thread compile against
+     */
+    public static String getClassPath()
     {
         return CLASSPATH_CACHE.computeIfAbsent(Thread.currentThread().getContextClassLoader(), cl -> new ClassGraph().getClasspath());
     }
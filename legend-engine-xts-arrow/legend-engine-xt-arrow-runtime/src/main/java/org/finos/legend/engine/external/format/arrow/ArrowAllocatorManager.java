@@ -0,0 +1,77 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.external.format.arrow;
+
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+
+/**
+ * Owns the single, bounded Arrow root allocator of the server. Each result written as Arrow gets its own child
+ * allocator, so that all off-heap memory used by Arrow is capped by one limit and is accounted for in one place.
+ * <p>
+ * When the limit is reached, allocation fails for the request which needs more memory (with an Arrow
+ * {@code OutOfMemoryException}) rather than for the whole process.
+ */
+public final class ArrowAllocatorManager
+{
+    public static final String ALLOCATOR_LIMIT_PROPERTY_NAME = "org.finos.legend.engine.arrow.allocatorLimit";
+    public static final String BATCH_SIZE_PROPERTY_NAME = "org.finos.legend.engine.arrow.batchSize";
+
+    private static final long DEFAULT_ALLOCATOR_LIMIT = 1024L * 1024L * 1024L;
+
+    private ArrowAllocatorManager()
+    {
+    }
+
+    /**
+     * Create the allocator for a single request. It must be closed once the request is done with its vectors.
+     */
+    public static BufferAllocator newRequestAllocator(String name)
+    {
+        BufferAllocator root = RootAllocatorHolder.ROOT;
+        return root.newChildAllocator(name, 0, root.getLimit());
+    }
+
+    /**
+     * Number of rows written per Arrow record batch, unless a writer is given one explicitly.
+     */
+    public static int getBatchSize()
+    {
+        return Integer.getInteger(BATCH_SIZE_PROPERTY_NAME, JdbcToArrowConfig.DEFAULT_TARGET_BATCH_SIZE);
+    }
+
+    public static long getAllocatorLimit()
+    {
+        return RootAllocatorHolder.ROOT.getLimit();
+    }
+
+    public static long getAllocatedMemory()
+    {
+        return RootAllocatorHolder.ROOT.getAllocatedMemory();
+    }
+
+    public static void publishMetrics()
+    {
+        BufferAllocator root = RootAllocatorHolder.ROOT;
+        MetricsHandler.setArrowAllocatorMetrics(root.getAllocatedMemory(), root.getPeakMemoryAllocation(), root.getChildAllocators().size());
+    }
+
+    private static class RootAllocatorHolder
+    {
+        private static final BufferAllocator ROOT = new RootAllocator(Long.getLong(ALLOCATOR_LIMIT_PROPERTY_NAME, DEFAULT_ALLOCATOR_LIMIT));
+    }
+}
@@ -14,64 +14,92 @@
 
 package org.finos.legend.engine.external.format.arrow;
 
-import java.nio.charset.Charset;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.TimeZone;
 
 import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
 import org.apache.arrow.adapter.jdbc.LegendArrowVectorIterator;
 import org.apache.arrow.memory.BufferAllocator;
-import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.Field;
 import org.finos.legend.engine.external.shared.runtime.write.ExternalFormatWriter;
-
-import java.io.IOException;
-import java.io.OutputStream;
-import java.sql.SQLException;
 import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
 
+/**
+ * Streams a relational result as Arrow record batches. Batches are read from the result set into a single, reused
+ * {@link VectorSchemaRoot} and written to the output as soon as they are full, so only one batch is held in memory
+ * and reading from the database keeps pace with the consumer of the output.
+ * <p>
+ * The vectors are allocated from a per request child of the server wide allocator (see {@link ArrowAllocatorManager}),
+ * which is released once the data has been written.
+ */
 public class ArrowDataWriter extends ExternalFormatWriter implements AutoCloseable
 {
-    private final LegendArrowVectorIterator iterator;
-    private final BufferAllocator allocator;
+    private final ResultSet resultSet;
+    private final Calendar calendar;
+    private final int batchSize;
+
+    private BufferAllocator allocator;
+    private LegendArrowVectorIterator iterator;
+    private boolean opened;
 
     public ArrowDataWriter(RelationalResult resultSet) throws SQLException
     {
+        this(resultSet, ArrowAllocatorManager.getBatchSize());
+    }
 
-        this.allocator = new RootAllocator();
-        Calendar calendar = resultSet.getRelationalDatabaseTimeZone() == null ?
+    public ArrowDataWriter(RelationalResult resultSet, int batchSize) throws SQLException
+    {
+        if (batchSize <= 0)
+        {
+            throw new IllegalArgumentException("Arrow batch size must be positive, got " + batchSize);
+        }
+        this.resultSet = resultSet.getResultSet();
+        this.calendar = resultSet.getRelationalDatabaseTimeZone() == null ?
                 new GregorianCalendar(TimeZone.getTimeZone("GMT")) :
                 new GregorianCalendar(TimeZone.getTimeZone(resultSet.getRelationalDatabaseTimeZone()));
-        JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator, calendar).setReuseVectorSchemaRoot(true).build();
-        this.iterator = LegendArrowVectorIterator.create(resultSet.getResultSet(), config);
-
+        this.batchSize = batchSize;
     }
 
     @Override
     public void writeData(OutputStream outputStream) throws IOException
     {
-        try (VectorSchemaRoot vector = iterator.next();
-             ArrowStreamWriter writer = new ArrowStreamWriter(vector, null, outputStream);
-        )
+        try
         {
-            writer.start();
-            writer.writeBatch();
-            while (this.iterator.hasNext())
+            LegendArrowVectorIterator vectorIterator = this.openIterator();
+            VectorSchemaRoot vector = vectorIterator.next();
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(vector, null, outputStream))
             {
-                iterator.next();
+                writer.start();
                 writer.writeBatch();
-
+                // hand every batch to the consumer straight away rather than when the output buffer fills up
+                outputStream.flush();
+                while (vectorIterator.hasNext())
+                {
+                    vectorIterator.next();
+                    writer.writeBatch();
+                    outputStream.flush();
+                }
+                writer.end();
             }
         }
-        catch (Exception e)
+        finally
         {
-            this.iterator.close();
-            throw e;
+            this.close();
         }
-
     }
 
     @Override
@@ -79,27 +107,101 @@ public class ArrowDataWriter extends ExternalFormatWriter implements AutoCloseab
     {
         try
         {
-            while (this.iterator.hasNext())
+            LegendArrowVectorIterator vectorIterator = this.openIterator();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            boolean headerWritten = false;
+            while (vectorIterator.hasNext())
             {
-                try (VectorSchemaRoot vector = iterator.next())
+                VectorSchemaRoot vector = vectorIterator.next();
+                if (!headerWritten)
                 {
-                    outputStream.write(vector.contentToTSVString().getBytes(Charset.forName("UTF-8")));
+                    writeHeader(writer, vector.getSchema().getFields());
+                    headerWritten = true;
                 }
-
+                writeRows(writer, vector);
             }
-            this.close();
+            writer.flush();
         }
-        catch (Exception e)
+        finally
         {
             this.close();
-            throw e;
         }
     }
 
     @Override
     public void close()
     {
-        allocator.close();
+        try
+        {
+            if (this.iterator != null)
+            {
+                this.iterator.close();
+            }
+            if (this.allocator != null)
+            {
+                this.allocator.close();
+            }
+        }
+        finally
+        {
+            this.iterator = null;
+            this.allocator = null;
+            ArrowAllocatorManager.publishMetrics();
+        }
+    }
+
+    private LegendArrowVectorIterator openIterator()
+    {
+        if (this.opened)
+        {
+            throw new IllegalStateException("Arrow data has already been written");
+        }
+        this.opened = true;
+        this.allocator = ArrowAllocatorManager.newRequestAllocator("ArrowDataWriter");
+        ArrowAllocatorManager.publishMetrics();
+        JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(this.allocator, this.calendar)
+                .setReuseVectorSchemaRoot(true)
+                .setTargetBatchSize(this.batchSize)
+                .build();
+        try
+        {
+            this.iterator = LegendArrowVectorIterator.create(this.resultSet, config);
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+        return this.iterator;
+    }
+
+    // same layout as VectorSchemaRoot.contentToTSVString, without building the batch as a string first
+    private static void writeHeader(Writer writer, List<Field> fields) throws IOException
+    {
+        for (int i = 0; i < fields.size(); i++)
+        {
+            if (i > 0)
+            {
+                writer.write('\t');
+            }
+            writer.write(fields.get(i).getName());
+        }
+        writer.write('\n');
     }
-}
 
+    private static void writeRows(Writer writer, VectorSchemaRoot vector) throws IOException
+    {
+        List<FieldVector> fieldVectors = vector.getFieldVectors();
+        for (int row = 0; row < vector.getRowCount(); row++)
+        {
+            for (int i = 0; i < fieldVectors.size(); i++)
+            {
+                if (i > 0)
+                {
+                    writer.write('\t');
+                }
+                writer.write(String.valueOf(fieldVectors.get(i).getObject(row)));
+            }
+            writer.write('\n');
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.ipc.ArrowFileWriter;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.eclipse.collections.impl.list.mutable.FastList;
+import org.finos.legend.engine.external.format.arrow.ArrowAllocatorManager;
+import org.finos.legend.engine.external.format.arrow.ArrowDataWriter;
 import org.finos.legend.engine.external.format.arrow.ArrowRuntimeExtension;
 import org.finos.legend.engine.external.shared.runtime.write.ExternalFormatSerializeResult;
 import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
@@ -124,6 +126,35 @@ public class TestArrowNodeExecutor
 
     }
 
+    @Test
+    public void testExternalizeInBatches() throws Exception
+    {
+        RelationalExecutionNode mockExecutionNode = Mockito.mock(RelationalExecutionNode.class);
+        DatabaseConnection mockDatabaseConnection = Mockito.mock(DatabaseConnection.class);
+
+        mockExecutionNode.connection = mockDatabaseConnection;
+        Mockito.when(mockDatabaseConnection.accept(any())).thenReturn(false);
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:~/test;TIME ZONE=America/New_York", "sa", "");
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream())
+        {
+            conn.createStatement().execute("DROP TABLE IF EXISTS testtable");
+            conn.createStatement().execute("Create Table testtable (testInt INTEGER, testString VARCHAR(255))");
+            conn.createStatement().execute("INSERT INTO  testtable (testInt, testString) VALUES(1,'A'),(2,null),(3,'B')");
+
+            RelationalResult result = new RelationalResult(FastList.newListWith(new RelationalExecutionActivity("SELECT * FROM testtable", null)), mockExecutionNode, FastList.newListWith(new SQLResultColumn("testInt", "INTEGER"), new SQLResultColumn("testString", "VARCHAR")), null, "America/New_York", conn, null, null, null, new RequestContext());
+
+            ArrowDataWriter writer = new ArrowDataWriter(result, 2);
+            writer.writeDataAsString(outputStream);
+
+            String expected = "TESTINT\tTESTSTRING\n" +
+                    "1\tA\n" +
+                    "2\tnull\n" +
+                    "3\tB\n";
+            Assert.assertEquals(expected, outputStream.toString("UTF-8"));
+            Assert.assertEquals(0, ArrowAllocatorManager.getAllocatedMemory());
+        }
+    }
+
     private void assertArrow(ByteArrayOutputStream actualOutputStream, String expectedTSV) throws IOException //input a TSV String
     {
         actualOutputStream.flush();
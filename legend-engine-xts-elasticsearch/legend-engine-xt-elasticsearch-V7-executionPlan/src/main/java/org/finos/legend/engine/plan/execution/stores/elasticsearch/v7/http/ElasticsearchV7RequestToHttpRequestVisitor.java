@@ -237,7 +237,9 @@ public class ElasticsearchV7RequestToHttpRequestVisitor extends AbstractRequestB
     @Override
     public HttpUriRequest visit(SearchRequest val)
     {
-        HttpPost httpPost = new HttpPost(this.url + "/" + indexName(val.index) + "/_search?typed_keys=true");
+        // searches within a point in time must not name the index, it is implied by the point in time
+        String path = val.body.pit == null ? "/" + indexName(val.index) + "/_search" : "/_search";
+        HttpPost httpPost = new HttpPost(this.url + path + "?typed_keys=true");
         return setEntity(httpPost, val.body);
     }
 
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
 import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.opentracing.Scope;
 import io.opentracing.Span;
@@ -34,6 +35,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -55,6 +62,7 @@ import org.eclipse.collections.impl.lazy.iterator.CollectIterator;
 import org.eclipse.collections.impl.lazy.iterator.FlatCollectIterator;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.plan.execution.nodes.helpers.ExecutionNodeTDSResultHelper;
+import org.finos.legend.engine.plan.execution.nodes.helpers.freemarker.FreeMarkerExecutor;
 import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
 import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
 import org.finos.legend.engine.plan.execution.result.Result;
@@ -72,13 +80,20 @@ import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.tds.Agg
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.tds.DocCountAggregateResultPath;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.ElasticsearchObjectMapperProvider;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.LiteralOrExpression;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.closepointintime.ClosePointInTimeRequest;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.closepointintime.ClosePointInTimeRequestBody;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.openpointintime.OpenPointInTimeRequest;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.openpointintime.OpenPointInTimeResponse;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.SearchRequest;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.types.Hit;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.types.PointInTimeReference;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.types.TotalHits;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.types.TotalHitsRelation;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.AbstractRequestBaseVisitor;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.FieldValue;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.RequestBase;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.SortCombinations;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.Time;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.aggregations.AbstractAggregateBaseVisitor;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.aggregations.AbstractMultiBucketBaseVisitor;
 import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.types.aggregations.Aggregate;
@@ -110,6 +125,16 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ExecutionRequestVisitor.class);
 
+    private static final int MAX_PAGE_PREFETCH_THREADS = 16;
+
+    // once all prefetch threads are busy, the next page is fetched by the thread consuming the result, without prefetch
+    private static final ExecutorService PAGE_PREFETCH_EXECUTOR = new ThreadPoolExecutor(0, MAX_PAGE_PREFETCH_THREADS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable ->
+    {
+        Thread thread = new Thread(runnable, "elasticsearch-v7-page-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    }, new ThreadPoolExecutor.CallerRunsPolicy());
+
     private final HttpClient client;
     private final HttpClientContext httpClientContext;
     private final Elasticsearch7RequestExecutionNode node;
@@ -462,7 +487,7 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
         });
     }
 
-    private Iterator<Object[]> processNotAggregateResponse(JsonParser parser, Span span) throws IOException
+    private Iterator<Object[]> processNotAggregateResponse(JsonParser parser, Span span, Procedure<Hit<ObjectNode>> lastHit) throws IOException
     {
         TypeReference<Hit<ObjectNode>> hitTypeReference = new TypeReference<Hit<ObjectNode>>()
         {
@@ -488,14 +513,28 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
                 .map(x -> ElasticsearchTDSResultHelper.hitTransformer(tdsColumns.get((int) x.index), x.resultPath))
                 .collect(Collectors.toList());
 
-        return new CollectIterator<>(hits, h -> extractors.stream().map(x -> x.apply(h)).toArray());
+        return new CollectIterator<>(hits, h ->
+        {
+            lastHit.accept(h);
+            return extractors.stream().map(x -> x.apply(h)).toArray();
+        });
     }
 
-    private static JsonParser toResponseBodyJsonParser(InputStream responseBody, Span span) throws IOException
+    private static JsonParser toResponseBodyJsonParser(InputStream responseBody, Span span, Procedure<String> pitId) throws IOException
     {
         // root parser...
         JsonParser parser = ElasticsearchObjectMapperProvider.OBJECT_MAPPER.getFactory().createParser(responseBody);
 
+        if (pitId != null)
+        {
+            // searches within a point in time report the (possibly updated) point in time id, with no guarantee on where it is
+            // in the response: as these responses are paged, and read fully anyway, the id is looked up in the response tree
+            JsonNode response = ElasticsearchObjectMapperProvider.OBJECT_MAPPER.readTree(parser);
+            JsonNode responsePitId = response.get("pit_id");
+            pitId.accept(responsePitId == null || responsePitId.isNull() ? null : responsePitId.asText());
+            parser = response.traverse(ElasticsearchObjectMapperProvider.OBJECT_MAPPER);
+        }
+
         // extract how long took
         FilteringParserDelegate tookParser = new FilteringParserDelegate(parser, new JsonPointerBasedFilter("/took"), false, false);
         Long took = tookParser.readValueAs(Long.class);
@@ -616,19 +655,50 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
         }
     }
 
+    private static final class Page
+    {
+        // number of hits (or buckets) requested, a page with less being the last one
+        private final long requested;
+        // hits of the page precede the requested offset, they are only read for their sort values
+        private final boolean skipped;
+        private final List<Object[]> rows = Lists.mutable.empty();
+        private long count = 0L;
+        private MultiBucketBase lastBucket;
+        private List<FieldValue> lastSort;
+        private String pitId;
+
+        private Page(long requested, boolean skipped)
+        {
+            this.requested = requested;
+            this.skipped = skipped;
+        }
+    }
+
     private class ElasticsearchResultSpliterator extends Spliterators.AbstractSpliterator<Stream<Object[]>> implements AutoCloseable
     {
         private static final long MAX_COMPOSITE_BUCKETS_PER_REQUEST = 1000L;
         private static final long MAX_TERMS_BUCKETS_PER_REQUEST = 5_001L;
+        // hits beyond elastic's default index.max_result_window cannot be reached with from/size, and are paged with search_after instead
+        private static final long MAX_RESULT_WINDOW = 10_000L;
+        private static final long MAX_HITS_PER_REQUEST = 1_000L;
+        private static final String POINT_IN_TIME_KEEP_ALIVE = "1m";
 
         private final SearchRequest searchRequest;
         private final List<ExecutionActivity> activities;
         private final boolean isAggregation;
+        private final AggregationContainer compositeAggregation;
+        private final boolean isHitsPaging;
         private boolean closed = false;
         private InputStream currInputStream = EmptyInputStream.INSTANCE;
-        private MultiBucketBase lastBucket = null;
         private long totalBuckets = 0L;
 
+        // state of paged (composite and search_after) requests
+        private boolean started = false;
+        private CompletableFuture<Page> nextPage;
+        private long remainingHits;
+        private long remainingSkippedHits;
+        private String pitId;
+
         private ElasticsearchResultSpliterator(SearchRequest searchRequest, List<ExecutionActivity> activities)
         {
             super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.IMMUTABLE);
@@ -637,6 +707,8 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
             this.isAggregation = ((TDSMetadata) node.metadata).columnResultPaths.stream()
                     .map(x -> x.resultPath)
                     .allMatch(x -> x instanceof AggregateResultPath || x instanceof DocCountAggregateResultPath);
+            this.compositeAggregation = this.isAggregation ? findCompositeAggregation(searchRequest) : null;
+            this.isHitsPaging = !this.isAggregation && this.requiresHitsPaging();
         }
 
         @Override
@@ -647,17 +719,18 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
                 // close previous, just in case...
                 this.closeCurrentInputStream();
 
+                if (this.compositeAggregation != null || this.isHitsPaging)
+                {
+                    return this.tryAdvancePage(action);
+                }
+
                 boolean next = false;
 
                 ThrowingFunction2<JsonParser, Span, Iterator<Object[]>> processor;
 
                 if (this.isAggregation)
                 {
-                    processor = (x, y) -> ExecutionRequestVisitor.this.processAggregateResponse(this.searchRequest, x, y, b ->
-                    {
-                        this.lastBucket = b;
-                        this.totalBuckets++;
-                    });
+                    processor = (x, y) -> ExecutionRequestVisitor.this.processAggregateResponse(this.searchRequest, x, y, b -> this.totalBuckets++);
 
                     Map<String, AggregationContainer> aggregations = searchRequest.body.aggregations;
                     if (aggregations.size() == 1)
@@ -665,32 +738,7 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
                         Map.Entry<String, AggregationContainer> aggregationContainerEntry = aggregations.entrySet().iterator().next();
                         AggregationContainer aggregationContainer = aggregationContainerEntry.getValue();
 
-                        if (aggregationContainer.composite != null)
-                        {
-                            next = true; // only composite aggregation can handle multiple request
-
-                            if (!activities.isEmpty())
-                            {
-                                // we called once already, check if we need to call again
-                                if (this.totalBuckets == MAX_COMPOSITE_BUCKETS_PER_REQUEST)
-                                {
-                                    // reset
-                                    this.totalBuckets = 0L;
-                                    // search after last bucket
-                                    aggregationContainer.composite.after = ((CompositeBucket) this.lastBucket).key;
-                                }
-                                else
-                                {
-                                    return false; // if we got less than requested, we are done...
-                                }
-                            }
-                            else
-                            {
-                                Assert.assertTrue(aggregationContainer.composite.size == null, () -> "Limit/Take on group by not supported yet");
-                                aggregationContainer.composite.size = LiteralOrExpression.literal(MAX_COMPOSITE_BUCKETS_PER_REQUEST);
-                            }
-                        }
-                        else if (aggregationContainer.terms != null)
+                        if (aggregationContainer.terms != null)
                         {
                             if (!activities.isEmpty())
                             {
@@ -726,7 +774,9 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
                 }
                 else
                 {
-                    processor = ExecutionRequestVisitor.this::processNotAggregateResponse;
+                    processor = (x, y) -> ExecutionRequestVisitor.this.processNotAggregateResponse(x, y, h ->
+                    {
+                    });
                 }
 
                 if (!next && !this.activities.isEmpty())
@@ -748,7 +798,7 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
                     LOGGER.info("{}", new LogInfo(ElasticsearchExecutionLoggingEventType.EXECUTION_ELASTICSEARCH_START, ExecutionRequestVisitor.this.executionState.authId, query));
                     this.currInputStream = ExecutionRequestVisitor.this.post(request, span, start);
 
-                    JsonParser parser = toResponseBodyJsonParser(this.currInputStream, span);
+                    JsonParser parser = toResponseBodyJsonParser(this.currInputStream, span, null);
 
                     Iterator<Object[]> stream = processor.safeValue(parser, span);
 
@@ -771,10 +821,246 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
             }
         }
 
+        /**
+         * Composite aggregations and deep hit searches are fetched one page at a time.  Each page is read fully
+         * (at most one page worth of rows) so the cursor for the next page is known, and the next page is requested
+         * in the background while the current one is being consumed.
+         */
+        private boolean tryAdvancePage(Consumer<? super Stream<Object[]>> action)
+        {
+            if (!this.started)
+            {
+                this.started = true;
+                this.prepareFirstPage();
+                this.nextPage = this.fetchPage();
+            }
+
+            if (this.nextPage == null)
+            {
+                return false;
+            }
+
+            Page page = awaitPage(this.nextPage);
+            this.nextPage = this.prepareNextPage(page) ? this.fetchPage() : null;
+
+            action.accept(page.rows.stream());
+
+            return this.nextPage != null;
+        }
+
+        private void prepareFirstPage()
+        {
+            if (this.compositeAggregation != null)
+            {
+                Assert.assertTrue(this.compositeAggregation.composite.size == null, () -> "Limit/Take on group by not supported yet");
+                this.compositeAggregation.composite.size = LiteralOrExpression.literal(MAX_COMPOSITE_BUCKETS_PER_REQUEST);
+            }
+            else
+            {
+                this.remainingHits = this.resolveLong(this.searchRequest.body.size);
+                // from + size cannot exceed the result window either: the first page starts as far as the window allows,
+                // and the hits up to the requested offset are skipped through with search_after
+                long from = this.searchRequest.body.from == null ? 0L : this.resolveLong(this.searchRequest.body.from);
+                long firstPageFrom = Math.min(from, MAX_RESULT_WINDOW - MAX_HITS_PER_REQUEST);
+                this.remainingSkippedHits = from - firstPageFrom;
+                this.searchRequest.body.from = firstPageFrom == 0L ? null : LiteralOrExpression.literal(firstPageFrom);
+                this.pitId = this.openPointInTime();
+                this.searchRequest.body.pit = new PointInTimeReference();
+                this.searchRequest.body.pit.id = LiteralOrExpression.literal(this.pitId);
+                this.searchRequest.body.pit.keep_alive = pointInTimeKeepAlive();
+                if (this.searchRequest.body.sort == null || this.searchRequest.body.sort.isEmpty())
+                {
+                    // search_after needs a total order of hits, _shard_doc is the cheapest one available within a point in time
+                    SortCombinations shardDocSort = new SortCombinations();
+                    shardDocSort.field = LiteralOrExpression.literal("_shard_doc");
+                    this.searchRequest.body.sort = Collections.singletonList(shardDocSort);
+                }
+                this.searchRequest.body.size = LiteralOrExpression.literal(this.nextHitsPageSize());
+            }
+        }
+
+        private long nextHitsPageSize()
+        {
+            return Math.min(this.remainingSkippedHits > 0L ? this.remainingSkippedHits : this.remainingHits, MAX_HITS_PER_REQUEST);
+        }
+
+        private boolean prepareNextPage(Page page)
+        {
+            if (this.compositeAggregation != null)
+            {
+                if (page.count < page.requested)
+                {
+                    return false; // if we got less than requested, we are done...
+                }
+                // search after last bucket
+                this.compositeAggregation.composite.after = ((CompositeBucket) page.lastBucket).key;
+                return true;
+            }
+
+            if (page.pitId != null)
+            {
+                // the latest id is used to search and to close the point in time
+                this.pitId = page.pitId;
+                this.searchRequest.body.pit.id = LiteralOrExpression.literal(page.pitId);
+            }
+            if (page.skipped)
+            {
+                this.remainingSkippedHits -= page.count;
+            }
+            else
+            {
+                this.remainingHits -= page.count;
+            }
+            if (page.count < page.requested || this.remainingHits <= 0)
+            {
+                return false;
+            }
+            // the offset only applies to the first page, the following ones are positioned by search_after
+            this.searchRequest.body.from = null;
+            this.searchRequest.body.search_after = page.lastSort;
+            this.searchRequest.body.size = LiteralOrExpression.literal(this.nextHitsPageSize());
+            return true;
+        }
+
+        private CompletableFuture<Page> fetchPage()
+        {
+            // the request is rendered on the calling thread, as the search request is updated for every page
+            HttpUriRequest request = this.searchRequest.accept(new ElasticsearchV7RequestToHttpRequestVisitor(ExecutionRequestVisitor.this.url, ExecutionRequestVisitor.this.executionState));
+            String query = ((HttpEntityEnclosingRequest) request).getEntity().toString();
+            this.activities.add(new ElasticsearchV7ExecutionActivity(request.getURI(), query));
+            Span parentSpan = GlobalTracer.get().activeSpan();
+            Page page = this.compositeAggregation != null ? new Page(MAX_COMPOSITE_BUCKETS_PER_REQUEST, false) : new Page(this.nextHitsPageSize(), this.remainingSkippedHits > 0L);
+            return CompletableFuture.supplyAsync(() -> this.executePage(page, request, query, parentSpan), PAGE_PREFETCH_EXECUTOR);
+        }
+
+        private Page executePage(Page page, HttpUriRequest request, String query, Span parentSpan)
+        {
+            Span span = GlobalTracer.get().buildSpan("Elasticsearch Request Execution").asChildOf(parentSpan).start();
+            try (Scope ignore = GlobalTracer.get().activateSpan(span))
+            {
+                span.log(Collections.singletonMap("query", query));
+                long start = System.currentTimeMillis();
+                LOGGER.info("{}", new LogInfo(ElasticsearchExecutionLoggingEventType.EXECUTION_ELASTICSEARCH_START, ExecutionRequestVisitor.this.executionState.authId, query));
+
+                try (InputStream responseBody = ExecutionRequestVisitor.this.post(request, span, start))
+                {
+                    Iterator<Object[]> rows;
+                    if (this.isHitsPaging)
+                    {
+                        JsonParser parser = toResponseBodyJsonParser(responseBody, span, pitId -> page.pitId = pitId);
+                        rows = ExecutionRequestVisitor.this.processNotAggregateResponse(parser, span, h ->
+                        {
+                            page.lastSort = h.sort;
+                            page.count++;
+                        });
+                    }
+                    else
+                    {
+                        JsonParser parser = toResponseBodyJsonParser(responseBody, span, null);
+                        rows = ExecutionRequestVisitor.this.processAggregateResponse(this.searchRequest, parser, span, b ->
+                        {
+                            page.lastBucket = b;
+                            page.count++;
+                        });
+                    }
+                    rows.forEachRemaining(page.skipped ? row ->
+                    {
+                    } : page.rows::add);
+                }
+                return page;
+            }
+            catch (Exception e)
+            {
+                throw new EngineException("Error while executing query: " + query, e, ExceptionCategory.USER_EXECUTION_ERROR);
+            }
+            finally
+            {
+                span.finish();
+            }
+        }
+
+        private boolean requiresHitsPaging()
+        {
+            if (this.searchRequest.body.size == null || this.searchRequest.body.pit != null)
+            {
+                return false;
+            }
+            long from = this.searchRequest.body.from == null ? 0L : this.resolveLong(this.searchRequest.body.from);
+            return from + this.resolveLong(this.searchRequest.body.size) > MAX_RESULT_WINDOW;
+        }
+
+        private long resolveLong(LiteralOrExpression<? extends Number> value)
+        {
+            if (value.value != null)
+            {
+                return value.value.longValue();
+            }
+            return Long.parseLong(FreeMarkerExecutor.process(value.expression, ExecutionRequestVisitor.this.executionState).trim());
+        }
+
+        private String openPointInTime()
+        {
+            OpenPointInTimeRequest openPointInTimeRequest = new OpenPointInTimeRequest();
+            openPointInTimeRequest.index = this.searchRequest.index;
+            openPointInTimeRequest.keep_alive = pointInTimeKeepAlive();
+            HttpUriRequest request = openPointInTimeRequest.accept(new ElasticsearchV7RequestToHttpRequestVisitor(ExecutionRequestVisitor.this.url, ExecutionRequestVisitor.this.executionState));
+
+            Span span = GlobalTracer.get().buildSpan("Elasticsearch Open Point In Time").start();
+            try (Scope ignore = GlobalTracer.get().activateSpan(span);
+                 InputStream responseBody = ExecutionRequestVisitor.this.post(request, span, System.currentTimeMillis()))
+            {
+                return ElasticsearchObjectMapperProvider.OBJECT_MAPPER.readValue(responseBody, OpenPointInTimeResponse.class).id.getLiteral();
+            }
+            catch (IOException e)
+            {
+                throw new EngineException("Error while opening point in time on: " + request.getURI(), e, ExceptionCategory.USER_EXECUTION_ERROR);
+            }
+            finally
+            {
+                span.finish();
+            }
+        }
+
+        private void closePointInTime()
+        {
+            ClosePointInTimeRequest closePointInTimeRequest = new ClosePointInTimeRequest();
+            closePointInTimeRequest.body = new ClosePointInTimeRequestBody();
+            closePointInTimeRequest.body.id = LiteralOrExpression.literal(this.pitId);
+            HttpUriRequest request = closePointInTimeRequest.accept(new ElasticsearchV7RequestToHttpRequestVisitor(ExecutionRequestVisitor.this.url));
+
+            Span span = GlobalTracer.get().buildSpan("Elasticsearch Close Point In Time").start();
+            try (Scope ignore = GlobalTracer.get().activateSpan(span);
+                 InputStream ignoreResponse = ExecutionRequestVisitor.this.post(request, span, System.currentTimeMillis()))
+            {
+                this.pitId = null;
+            }
+            catch (Exception e)
+            {
+                // point in time expires on its own after its keep alive, no need to fail the execution
+                LOGGER.warn("Failed to close point in time", e);
+            }
+            finally
+            {
+                span.finish();
+            }
+        }
+
         public void close()
         {
             closeCurrentInputStream();
             this.closed = true;
+
+            if (this.nextPage != null)
+            {
+                // wait for an in-flight prefetch, so it does not race with closing the point in time it uses
+                this.nextPage.handle((page, error) -> null).join();
+                this.nextPage = null;
+            }
+
+            if (this.pitId != null)
+            {
+                this.closePointInTime();
+            }
         }
 
         private void closeCurrentInputStream()
@@ -789,4 +1075,39 @@ public class ExecutionRequestVisitor extends AbstractRequestBaseVisitor<Result>
             }
         }
     }
+
+    private static AggregationContainer findCompositeAggregation(SearchRequest searchRequest)
+    {
+        Map<String, AggregationContainer> aggregations = searchRequest.body.aggregations;
+        if (aggregations != null && aggregations.size() == 1)
+        {
+            AggregationContainer aggregationContainer = aggregations.values().iterator().next();
+            // only composite aggregation can handle multiple request
+            return aggregationContainer.composite != null ? aggregationContainer : null;
+        }
+        return null;
+    }
+
+    private static Time pointInTimeKeepAlive()
+    {
+        Time keepAlive = new Time();
+        keepAlive.time = LiteralOrExpression.literal(ElasticsearchResultSpliterator.POINT_IN_TIME_KEEP_ALIVE);
+        return keepAlive;
+    }
+
+    private static Page awaitPage(CompletableFuture<Page> page)
+    {
+        try
+        {
+            return page.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 }
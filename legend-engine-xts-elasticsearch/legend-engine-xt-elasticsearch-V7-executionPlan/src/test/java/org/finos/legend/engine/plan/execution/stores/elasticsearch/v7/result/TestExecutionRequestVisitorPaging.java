@@ -0,0 +1,223 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.elasticsearch.v7.result;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.plan.execution.result.TDSResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.result.TDSColumn;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.result.TDSResultType;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.executionPlan.Elasticsearch7RequestExecutionNode;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.executionPlan.tds.TDSColumnResultPath;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.executionPlan.tds.TDSMetadata;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.metamodel.tds.SourceFieldResultPath;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.ElasticsearchObjectMapperProvider;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.LiteralOrExpression;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.SearchRequest;
+import org.finos.legend.engine.protocol.store.elasticsearch.v7.specification.global.search.SearchRequestBody;
+import org.finos.legend.engine.shared.core.port.DynamicPortGenerator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestExecutionRequestVisitorPaging
+{
+    private WireMockServer testServer;
+    private CloseableHttpClient httpClient;
+
+    @Before
+    public void setUp()
+    {
+        this.testServer = new WireMockServer(DynamicPortGenerator.generatePort());
+        this.testServer.start();
+        this.testServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/idx/_pit")).willReturn(WireMock.okJson("{\"id\":\"pit-0\"}")));
+        this.testServer.stubFor(WireMock.delete(WireMock.urlPathEqualTo("/_pit")).willReturn(WireMock.okJson("{\"succeeded\":true,\"num_freed\":1}")));
+        this.httpClient = HttpClients.createDefault();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        this.httpClient.close();
+        this.testServer.stop();
+    }
+
+    @Test
+    public void testHitsBeyondResultWindowArePagedWithSearchAfter() throws Exception
+    {
+        // the point in time id is reported after the hits, and changes with every page
+        this.stubSearch(Scenario.STARTED, "page2", searchResponse(0, 1000, "pit-1"));
+        this.stubSearch("page2", "page3", searchResponse(1000, 1000, "pit-2"));
+        this.stubSearch("page3", "done", searchResponse(2000, 500, "pit-3"));
+
+        List<String> names = this.execute(searchRequest(null, 12_000L));
+        Assert.assertEquals(expectedNames(0, 2500), names);
+
+        List<JsonNode> requests = this.searchRequestBodies();
+        Assert.assertEquals(3, requests.size());
+        Assert.assertTrue(isAbsent(requests.get(0).path("from")));
+        Assert.assertTrue(isAbsent(requests.get(0).path("search_after")));
+        Assert.assertEquals(1000L, requests.get(0).path("size").asLong());
+        Assert.assertEquals("pit-0", requests.get(0).path("pit").path("id").asText());
+        Assert.assertEquals(999L, requests.get(1).path("search_after").get(0).asLong());
+        Assert.assertEquals("pit-1", requests.get(1).path("pit").path("id").asText());
+        Assert.assertEquals(1999L, requests.get(2).path("search_after").get(0).asLong());
+        Assert.assertEquals("pit-2", requests.get(2).path("pit").path("id").asText());
+
+        this.testServer.verify(1, WireMock.deleteRequestedFor(WireMock.urlPathEqualTo("/_pit")).withRequestBody(WireMock.matchingJsonPath("$.id", WireMock.equalTo("pit-3"))));
+    }
+
+    @Test
+    public void testOffsetBeyondResultWindowIsSkippedWithSearchAfter() throws Exception
+    {
+        this.stubSearch(Scenario.STARTED, "skip2", searchResponse(9000, 1000, "pit-0"));
+        this.stubSearch("skip2", "skip3", searchResponse(10000, 1000, "pit-0"));
+        this.stubSearch("skip3", "page1", searchResponse(11000, 1000, "pit-0"));
+        this.stubSearch("page1", "page2", searchResponse(12000, 1000, "pit-0"));
+        this.stubSearch("page2", "done", searchResponse(13000, 500, "pit-0"));
+
+        List<String> names = this.execute(searchRequest(12_000L, 1_500L));
+        Assert.assertEquals(expectedNames(12000, 1500), names);
+
+        List<JsonNode> requests = this.searchRequestBodies();
+        Assert.assertEquals(5, requests.size());
+        // the first page goes as deep as the result window allows
+        Assert.assertEquals(9000L, requests.get(0).path("from").asLong());
+        Assert.assertEquals(1000L, requests.get(0).path("size").asLong());
+        for (int i = 1; i < requests.size(); i++)
+        {
+            Assert.assertTrue(isAbsent(requests.get(i).path("from")));
+            Assert.assertEquals(8999L + i * 1000L, requests.get(i).path("search_after").get(0).asLong());
+        }
+        Assert.assertEquals(500L, requests.get(4).path("size").asLong());
+
+        this.testServer.verify(1, WireMock.deleteRequestedFor(WireMock.urlPathEqualTo("/_pit")));
+    }
+
+    @Test
+    public void testSearchWithinResultWindowIsSingleRequest() throws Exception
+    {
+        this.testServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/idx/_search")).willReturn(WireMock.okJson(searchResponse(100, 50, null))));
+
+        List<String> names = this.execute(searchRequest(100L, 50L));
+        Assert.assertEquals(expectedNames(100, 50), names);
+
+        this.testServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/idx/_search")));
+        this.testServer.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/idx/_pit")));
+        this.testServer.verify(0, WireMock.deleteRequestedFor(WireMock.urlPathEqualTo("/_pit")));
+    }
+
+    private List<String> execute(SearchRequest searchRequest)
+    {
+        ExecutionState executionState = new ExecutionState(Maps.mutable.empty(), Collections.emptyList(), Collections.emptyList());
+        ExecutionRequestVisitor visitor = new ExecutionRequestVisitor(this.httpClient, HttpClientContext.create(), URI.create("http://localhost:" + this.testServer.port()), executionNode(), executionState);
+        TDSResult result = (TDSResult) searchRequest.accept(visitor);
+        try
+        {
+            return result.rowsStream().map(row -> (String) row[0]).collect(Collectors.toList());
+        }
+        finally
+        {
+            result.close();
+        }
+    }
+
+    private void stubSearch(String state, String nextState, String response)
+    {
+        this.testServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/_search"))
+                .inScenario("paging")
+                .whenScenarioStateIs(state)
+                .willSetStateTo(nextState)
+                .willReturn(WireMock.okJson(response)));
+    }
+
+    private List<JsonNode> searchRequestBodies() throws Exception
+    {
+        List<LoggedRequest> requests = this.testServer.findAll(WireMock.postRequestedFor(WireMock.urlPathEqualTo("/_search")));
+        MutableList<JsonNode> bodies = Lists.mutable.empty();
+        for (LoggedRequest request : requests)
+        {
+            bodies.add(ElasticsearchObjectMapperProvider.OBJECT_MAPPER.readTree(request.getBodyAsString()));
+        }
+        return bodies;
+    }
+
+    private static boolean isAbsent(JsonNode node)
+    {
+        return node.isMissingNode() || node.isNull();
+    }
+
+    private static SearchRequest searchRequest(Long from, Long size)
+    {
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.index = Collections.singletonList(LiteralOrExpression.literal("idx"));
+        searchRequest.body = new SearchRequestBody();
+        searchRequest.body.from = from == null ? null : LiteralOrExpression.literal(from);
+        searchRequest.body.size = LiteralOrExpression.literal(size);
+        return searchRequest;
+    }
+
+    private static Elasticsearch7RequestExecutionNode executionNode()
+    {
+        TDSResultType resultType = new TDSResultType();
+        resultType.tdsColumns = Collections.singletonList(new TDSColumn("name", "String"));
+
+        SourceFieldResultPath resultPath = new SourceFieldResultPath();
+        resultPath.fieldPath = Collections.singletonList("name");
+        TDSColumnResultPath columnResultPath = new TDSColumnResultPath();
+        columnResultPath.index = 0L;
+        columnResultPath.resultPath = resultPath;
+        TDSMetadata metadata = new TDSMetadata();
+        metadata.columnResultPaths = Collections.singletonList(columnResultPath);
+
+        Elasticsearch7RequestExecutionNode node = new Elasticsearch7RequestExecutionNode();
+        node.resultType = resultType;
+        node.metadata = metadata;
+        return node;
+    }
+
+    private static List<String> expectedNames(int firstHit, int count)
+    {
+        return IntStream.range(firstHit, firstHit + count).mapToObj(i -> "n" + i).collect(Collectors.toList());
+    }
+
+    private static String searchResponse(int firstHit, int count, String pitId)
+    {
+        String hits = IntStream.range(firstHit, firstHit + count)
+                .mapToObj(i -> "{\"_index\":\"idx\",\"_id\":\"" + i + "\",\"_source\":{\"name\":\"n" + i + "\"},\"sort\":[" + i + "]}")
+                .collect(Collectors.joining(","));
+        return "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":20000,\"relation\":\"eq\"},\"hits\":[" + hits + "]}"
+                + (pitId == null ? "" : ",\"pit_id\":\"" + pitId + "\"")
+                + "}";
+    }
+}
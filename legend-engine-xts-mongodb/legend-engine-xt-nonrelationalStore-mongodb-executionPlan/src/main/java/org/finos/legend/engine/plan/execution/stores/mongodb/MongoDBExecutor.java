@@ -14,11 +14,11 @@
 
 package org.finos.legend.engine.plan.execution.stores.mongodb;
 
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCursor;
 import org.bson.Document;
 import org.eclipse.collections.api.tuple.Pair;
 import org.finos.legend.authentication.credentialprovider.CredentialProviderProvider;
+import org.finos.legend.engine.plan.execution.stores.mongodb.auth.MongoDBClientPool;
 import org.finos.legend.engine.plan.execution.stores.mongodb.auth.MongoDBConnectionSpecification;
 import org.finos.legend.engine.plan.execution.stores.mongodb.auth.MongoDBStoreConnectionProvider;
 import org.finos.legend.engine.plan.execution.stores.mongodb.result.MongoDBResult;
@@ -27,16 +27,24 @@ import org.finos.legend.engine.shared.core.identity.Identity;
 import org.finos.legend.engine.shared.core.operational.errorManagement.EngineException;
 import org.finos.legend.engine.shared.core.operational.errorManagement.ExceptionCategory;
 
+import java.io.Closeable;
 import java.util.function.Supplier;
 
 public class MongoDBExecutor
 {
 
     private final CredentialProviderProvider credentialProviderProvider;
+    private final MongoDBClientPool clientPool;
 
     public MongoDBExecutor(CredentialProviderProvider credentialProviderProvider)
+    {
+        this(credentialProviderProvider, null);
+    }
+
+    public MongoDBExecutor(CredentialProviderProvider credentialProviderProvider, MongoDBClientPool clientPool)
     {
         this.credentialProviderProvider = credentialProviderProvider;
+        this.clientPool = clientPool;
     }
 
     public MongoDBResult executeMongoDBQuery(String dbCommand, MongoDBConnection dbConnection, Identity serviceIdentity)
@@ -48,8 +56,9 @@ public class MongoDBExecutor
             try
             {
                 Document bsonCmd = Document.parse(dbCommand);
-                Supplier<Pair<MongoClient, MongoCursor<Document>>> mongoResultSupplier = mongoDBConnectionProvider.executeQuery(dbConnection, serviceIdentity, bsonCmd);
-                return new MongoDBResult(mongoResultSupplier.get().getOne(), mongoResultSupplier.get().getTwo());
+                Supplier<Pair<Closeable, MongoCursor<Document>>> mongoResultSupplier = mongoDBConnectionProvider.executeQuery(dbConnection, serviceIdentity, bsonCmd);
+                Pair<Closeable, MongoCursor<Document>> mongoResult = mongoResultSupplier.get();
+                return new MongoDBResult(mongoResult.getOne(), mongoResult.getTwo());
             }
             catch (Exception e)
             {
@@ -70,7 +79,7 @@ public class MongoDBExecutor
 
     private MongoDBStoreConnectionProvider getMongoDBConnectionProvider()
     {
-        MongoDBStoreConnectionProvider connectionProvider = new MongoDBStoreConnectionProvider(this.credentialProviderProvider);
+        MongoDBStoreConnectionProvider connectionProvider = new MongoDBStoreConnectionProvider(this.credentialProviderProvider, this.clientPool);
         return connectionProvider;
     }
 }
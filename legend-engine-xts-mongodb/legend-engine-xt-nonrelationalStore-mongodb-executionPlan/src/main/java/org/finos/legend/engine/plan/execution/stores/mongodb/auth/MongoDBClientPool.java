@@ -0,0 +1,320 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.mongodb.auth;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListenerAdapter;
+import com.mongodb.event.ConnectionRemovedEvent;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shares {@link MongoClient}s (and hence their connection pools) between executions using the same connection
+ * specification and identity, in the same way {@code ConnectionStateManager} shares Hikari pools for relational stores.
+ * <p>
+ * Clients are handed out as {@link Lease}s: closing a lease returns the client to this pool rather than closing it.
+ * A housekeeping thread closes clients which have no outstanding lease and have not been used for the configured
+ * idle duration. Like {@code ConnectionStateManager}, eviction is done in two steps (find candidates, then re-check
+ * and remove under the client lock) so that it never races with a thread acquiring the same client.
+ */
+public class MongoDBClientPool implements Closeable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoDBClientPool.class);
+
+    private final ConcurrentMutableMap<String, PooledClient> clients = ConcurrentHashMap.newMap();
+    private final Duration idleEvictionDuration;
+    private final int minConnectionPoolSize;
+    private final int maxConnectionPoolSize;
+    private final Clock clock;
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * @param idleEvictionDuration  how long a client may stay unused before it is closed
+     * @param minConnectionPoolSize minimum number of connections each client keeps open
+     * @param maxConnectionPoolSize maximum number of connections each client opens
+     */
+    public MongoDBClientPool(Duration idleEvictionDuration, int minConnectionPoolSize, int maxConnectionPoolSize)
+    {
+        this(idleEvictionDuration, minConnectionPoolSize, maxConnectionPoolSize, Clock.systemUTC(), true);
+    }
+
+    MongoDBClientPool(Duration idleEvictionDuration, int minConnectionPoolSize, int maxConnectionPoolSize, Clock clock, boolean startHousekeeper)
+    {
+        this.idleEvictionDuration = idleEvictionDuration;
+        this.minConnectionPoolSize = minConnectionPoolSize;
+        this.maxConnectionPoolSize = maxConnectionPoolSize;
+        this.clock = clock;
+        if (startHousekeeper)
+        {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "MongoDBClientPool.Housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodInSeconds = Math.max(1, idleEvictionDuration.getSeconds());
+            this.housekeeper.scheduleWithFixedDelay(this::evictIdleClients, periodInSeconds, periodInSeconds, TimeUnit.SECONDS);
+            LOGGER.info("MongoDBClientPool.Housekeeper thread frequency. Time period={}, Time unit={}", periodInSeconds, TimeUnit.SECONDS);
+        }
+        else
+        {
+            this.housekeeper = null;
+        }
+    }
+
+    /**
+     * Lease the client registered under the given pool name, creating it from the settings if there is none yet.
+     * An existing client is replaced when it was created with different credentials (e.g. after a password rotation).
+     */
+    public Lease acquire(String poolName, MongoClientSettings clientSettings)
+    {
+        return this.acquire(poolName, clientSettings, () -> MongoClients.create(this.configureConnectionPool(poolName, clientSettings)));
+    }
+
+    Lease acquire(String poolName, MongoClientSettings clientSettings, Supplier<MongoClient> clientFactory)
+    {
+        while (true)
+        {
+            // the client itself is only created once the entry is locked, so that concurrent first requests create a single client
+            PooledClient pooledClient = this.clients.getIfAbsentPut(poolName, () -> new PooledClient(poolName, clientSettings.getCredential(), this.clock));
+            synchronized (pooledClient)
+            {
+                if (pooledClient.closed)
+                {
+                    // evicted or replaced between the lookup and the lock: look again
+                    continue;
+                }
+                if (!sameCredential(pooledClient.credential, clientSettings.getCredential()))
+                {
+                    LOGGER.info("Credentials changed for MongoDB client pool {}, replacing client", poolName);
+                    this.clients.remove(poolName, pooledClient);
+                    pooledClient.retire();
+                    continue;
+                }
+                if (pooledClient.client == null)
+                {
+                    pooledClient.client = clientFactory.get();
+                }
+                pooledClient.leases++;
+                pooledClient.lastUsed = this.clock.millis();
+                return new Lease(pooledClient);
+            }
+        }
+    }
+
+    public void evictIdleClients()
+    {
+        long now = this.clock.millis();
+        // step 1 - find candidates without locking
+        this.clients.valuesView()
+                .select(client -> client.leases == 0 && now - client.lastUsed >= this.idleEvictionDuration.toMillis())
+                .toList()
+                // step 2 - re-check under the client lock, as the client might have been leased since
+                .forEach(client ->
+                {
+                    synchronized (client)
+                    {
+                        if (!client.closed && client.leases == 0 && now - client.lastUsed >= this.idleEvictionDuration.toMillis())
+                        {
+                            this.clients.remove(client.poolName, client);
+                            client.retire();
+                            LOGGER.info("Removed and closed idle MongoDB client pool {}", client.poolName);
+                        }
+                    }
+                });
+    }
+
+    public int size()
+    {
+        return this.clients.size();
+    }
+
+    @Override
+    public void close()
+    {
+        if (this.housekeeper != null)
+        {
+            this.housekeeper.shutdownNow();
+        }
+        this.clients.valuesView().toList().forEach(client ->
+        {
+            synchronized (client)
+            {
+                this.clients.remove(client.poolName, client);
+                client.retire();
+            }
+        });
+    }
+
+    private MongoClientSettings configureConnectionPool(String poolName, MongoClientSettings clientSettings)
+    {
+        return MongoClientSettings.builder(clientSettings)
+                .applyToConnectionPoolSettings(builder -> builder
+                        .minSize(this.minConnectionPoolSize)
+                        .maxSize(this.maxConnectionPoolSize)
+                        .addConnectionPoolListener(new ConnectionMetricsListener(poolName)))
+                .build();
+    }
+
+    private static boolean sameCredential(MongoCredential existing, MongoCredential requested)
+    {
+        if (existing == null || requested == null)
+        {
+            return existing == requested;
+        }
+        // a client authenticates its new connections with the Kerberos subject it was created with, so it must not be
+        // shared with a request carrying another subject (another user's tickets, or renewed ones)
+        return Objects.equals(existing.getMechanism(), requested.getMechanism())
+                && Objects.equals(existing.getUserName(), requested.getUserName())
+                && Objects.equals(existing.getSource(), requested.getSource())
+                && Arrays.equals(existing.getPassword(), requested.getPassword())
+                && existing.getMechanismProperty(MongoCredential.JAVA_SUBJECT_KEY, null) == requested.getMechanismProperty(MongoCredential.JAVA_SUBJECT_KEY, null);
+    }
+
+    private static class PooledClient
+    {
+        private final String poolName;
+        private final MongoCredential credential;
+        private final Clock clock;
+        private MongoClient client;
+        private int leases;
+        private long lastUsed;
+        private boolean closed;
+
+        private PooledClient(String poolName, MongoCredential credential, Clock clock)
+        {
+            this.poolName = poolName;
+            this.credential = credential;
+            this.clock = clock;
+            this.lastUsed = clock.millis();
+        }
+
+        // callers hold the lock on this object
+        private void retire()
+        {
+            this.closed = true;
+            if (this.leases == 0 && this.client != null)
+            {
+                this.client.close();
+                MetricsHandler.removeConnectionMetrics(this.poolName);
+            }
+        }
+
+        private synchronized void release()
+        {
+            this.leases--;
+            this.lastUsed = this.clock.millis();
+            if (this.closed && this.leases == 0)
+            {
+                // the client was replaced or the pool closed while leased, close it now that the last user is done
+                this.client.close();
+                MetricsHandler.removeConnectionMetrics(this.poolName);
+            }
+        }
+    }
+
+    public static class Lease implements Closeable
+    {
+        private final PooledClient pooledClient;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(PooledClient pooledClient)
+        {
+            this.pooledClient = pooledClient;
+        }
+
+        public MongoClient getClient()
+        {
+            return this.pooledClient.client;
+        }
+
+        @Override
+        public void close()
+        {
+            if (this.released.compareAndSet(false, true))
+            {
+                this.pooledClient.release();
+            }
+        }
+    }
+
+    private static class ConnectionMetricsListener extends ConnectionPoolListenerAdapter
+    {
+        private final String poolName;
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+
+        private ConnectionMetricsListener(String poolName)
+        {
+            this.poolName = poolName;
+        }
+
+        @Override
+        public void connectionAdded(ConnectionAddedEvent event)
+        {
+            this.total.incrementAndGet();
+            this.publish();
+        }
+
+        @Override
+        public void connectionRemoved(ConnectionRemovedEvent event)
+        {
+            this.total.decrementAndGet();
+            this.publish();
+        }
+
+        @Override
+        public void connectionCheckedOut(ConnectionCheckedOutEvent event)
+        {
+            this.active.incrementAndGet();
+            this.publish();
+        }
+
+        @Override
+        public void connectionCheckedIn(ConnectionCheckedInEvent event)
+        {
+            this.active.decrementAndGet();
+            this.publish();
+        }
+
+        private void publish()
+        {
+            int totalCount = this.total.get();
+            int activeCount = this.active.get();
+            MetricsHandler.setConnectionMetrics(this.poolName, activeCount, totalCount, Math.max(0, totalCount - activeCount));
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.finos.legend.engine.shared.core.identity.credential.LegendKerberosCre
 import org.finos.legend.engine.shared.core.identity.credential.PlaintextUserPasswordCredential;
 
 import javax.security.auth.kerberos.KerberosPrincipal;
+import java.io.Closeable;
 import java.security.PrivilegedAction;
 import java.util.List;
 import java.util.Optional;
@@ -48,14 +49,30 @@ public class MongoDBStoreConnectionProvider extends ConnectionProvider<Supplier<
 {
     private static final int DEFAULT_BATCH_SIZE = 10;
     private static final String ADMIN_DB = "admin";
+    private static final String MONGO_POOL = "MongoPool_";
+    private static final String SEPARATOR = "_";
+
+    private final MongoDBClientPool clientPool;
 
     public MongoDBStoreConnectionProvider(CredentialProviderProvider credentialProviderProvider)
     {
-        super(credentialProviderProvider);
+        this(credentialProviderProvider, null);
     }
 
+    /**
+     * @param clientPool pool to share clients between queries; when null a new client is created for every query
+     */
+    public MongoDBStoreConnectionProvider(CredentialProviderProvider credentialProviderProvider, MongoDBClientPool clientPool)
+    {
+        super(credentialProviderProvider);
+        this.clientPool = clientPool;
+    }
 
-    public Supplier<Pair<MongoClient, MongoCursor<Document>>> executeQuery(MongoDBConnection dbConnection, Identity identity, Document bsonCmd) throws Exception
+    /**
+     * The first element of the returned pair must be closed once the cursor is no longer needed: it either closes the
+     * client or returns it to the client pool.
+     */
+    public Supplier<Pair<Closeable, MongoCursor<Document>>> executeQuery(MongoDBConnection dbConnection, Identity identity, Document bsonCmd) throws Exception
     {
         final MongoDBConnectionSpecification connectionSpec = new MongoDBConnectionSpecification(dbConnection.dataSourceSpecification);
         final AuthenticationSpecification authenticationSpec = dbConnection.authenticationSpecification;
@@ -70,7 +87,7 @@ public class MongoDBStoreConnectionProvider extends ConnectionProvider<Supplier<
         List<ServerAddress> serverAddresses = mongoDBConnectionSpec.getServerAddresses();
         MongoClientSettings.Builder clientSettingsBuilder = MongoClientSettings.builder().applyToClusterSettings(builder -> builder.hosts(serverAddresses)).applicationName("Legend Execution Server");
 
-        Supplier<Pair<MongoClient, MongoCursor<Document>>> mongoResultSupplier;
+        Supplier<Pair<Closeable, MongoCursor<Document>>> mongoResultSupplier;
         if (authenticationSpec instanceof KerberosAuthenticationSpecification)
         {
             Optional<LegendKerberosCredential> kerberosHolder = identity.getCredential(LegendKerberosCredential.class);
@@ -89,9 +106,12 @@ public class MongoDBStoreConnectionProvider extends ConnectionProvider<Supplier<
 
             KerberosPrincipal kerberosPrincipal = kerberosCredential.getSubject().getPrincipals(KerberosPrincipal.class).stream().findFirst().get();
 
-            MongoCredential mongoCredential = MongoCredential.createGSSAPICredential(kerberosPrincipal.getName());
+            // Kerberos clients are not pooled: a client opens its connections with the subject it was created with,
+            // whose tickets belong to one request and expire
+            MongoCredential mongoCredential = MongoCredential.createGSSAPICredential(kerberosPrincipal.getName())
+                    .withMechanismProperty(MongoCredential.JAVA_SUBJECT_KEY, kerberosCredential.getSubject());
             MongoClientSettings clientSettings = clientSettingsBuilder.credential(mongoCredential).build();
-            mongoResultSupplier = () -> KerberosUtils.doAs(identity, (PrivilegedAction<Pair<MongoClient, MongoCursor<Document>>>) () -> this.executeMongoCommand(clientSettings,
+            mongoResultSupplier = () -> KerberosUtils.doAs(identity, (PrivilegedAction<Pair<Closeable, MongoCursor<Document>>>) () -> this.executeMongoCommand(null, clientSettings,
                     dbConnection.dataSourceSpecification.databaseName, bsonCmd));
         }
         else
@@ -103,7 +123,8 @@ public class MongoDBStoreConnectionProvider extends ConnectionProvider<Supplier<
                 PlaintextUserPasswordCredential plaintextCredential = (PlaintextUserPasswordCredential) credential;
                 MongoCredential mongoCredential = MongoCredential.createCredential(plaintextCredential.getUser(), ADMIN_DB, plaintextCredential.getPassword().toCharArray());
                 MongoClientSettings clientSettings = clientSettingsBuilder.credential(mongoCredential).build();
-                mongoResultSupplier = () -> this.executeMongoCommand(clientSettings, dbConnection.dataSourceSpecification.databaseName, bsonCmd);
+                String poolName = poolNameFor(serverAddresses, identity, mongoCredential);
+                mongoResultSupplier = () -> this.executeMongoCommand(poolName, clientSettings, dbConnection.dataSourceSpecification.databaseName, bsonCmd);
             }
             else
             {
@@ -114,15 +135,49 @@ public class MongoDBStoreConnectionProvider extends ConnectionProvider<Supplier<
         return mongoResultSupplier;
     }
 
-    private Pair<MongoClient, MongoCursor<Document>> executeMongoCommand(MongoClientSettings clientSettings, String databaseName, Document bsonCmd)
+    /**
+     * @param poolName name of the pool sharing the client, or null for a client of this command only
+     */
+    private Pair<Closeable, MongoCursor<Document>> executeMongoCommand(String poolName, MongoClientSettings clientSettings, String databaseName, Document bsonCmd)
     {
-        MongoClient mongoClient = MongoClients.create(clientSettings);
-        MongoDatabase mongoDatabase = mongoClient.getDatabase(databaseName);
-        MongoCursor<Document> cursor = mongoDatabase.getCollection(bsonCmd.getString("aggregate"))
-                .aggregate(bsonCmd.getList("pipeline", Document.class))
-                .batchSize(DEFAULT_BATCH_SIZE).iterator();
-        return Tuples.pair(mongoClient, cursor);
+        MongoClient mongoClient;
+        Closeable clientHandle;
+        if (this.clientPool == null || poolName == null)
+        {
+            mongoClient = MongoClients.create(clientSettings);
+            clientHandle = mongoClient;
+        }
+        else
+        {
+            MongoDBClientPool.Lease lease = this.clientPool.acquire(poolName, clientSettings);
+            mongoClient = lease.getClient();
+            clientHandle = lease;
+        }
+        try
+        {
+            MongoDatabase mongoDatabase = mongoClient.getDatabase(databaseName);
+            MongoCursor<Document> cursor = mongoDatabase.getCollection(bsonCmd.getString("aggregate"))
+                    .aggregate(bsonCmd.getList("pipeline", Document.class))
+                    .batchSize(DEFAULT_BATCH_SIZE).iterator();
+            return Tuples.pair(clientHandle, cursor);
+        }
+        catch (RuntimeException e)
+        {
+            try
+            {
+                clientHandle.close();
+            }
+            catch (Exception closeException)
+            {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
 
+    public static String poolNameFor(List<ServerAddress> serverAddresses, Identity identity, MongoCredential mongoCredential)
+    {
+        return MONGO_POOL + serverAddresses.stream().map(ServerAddress::toString).collect(Collectors.joining(",")) + SEPARATOR + identity.getName() + SEPARATOR + mongoCredential.getMechanism() + SEPARATOR + mongoCredential.getUserName();
     }
 
     @Override
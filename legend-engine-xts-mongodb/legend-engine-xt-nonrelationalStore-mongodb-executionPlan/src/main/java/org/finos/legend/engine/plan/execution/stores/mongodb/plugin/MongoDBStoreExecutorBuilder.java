@@ -18,6 +18,7 @@ import org.finos.legend.engine.plan.execution.stores.StoreExecutor;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorBuilder;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
+import org.finos.legend.engine.plan.execution.stores.mongodb.auth.MongoDBClientPool;
 
 public class MongoDBStoreExecutorBuilder implements StoreExecutorBuilder
 {
@@ -41,7 +42,10 @@ public class MongoDBStoreExecutorBuilder implements StoreExecutorBuilder
             throw new IllegalStateException("Incorrect store execution configuration, expected MongoDBStoreExecutorConfiguration. Please reach out to dev team");
         }
         MongoDBStoreExecutorConfiguration mongoDBStoreExecutorConfiguration = (MongoDBStoreExecutorConfiguration) storeExecutorConfiguration;
-        MongoDBStoreState state = new MongoDBStoreState();
+        MongoDBClientPool clientPool = mongoDBStoreExecutorConfiguration.isClientPoolingEnabled()
+                ? new MongoDBClientPool(mongoDBStoreExecutorConfiguration.getClientIdleEvictionDuration(), mongoDBStoreExecutorConfiguration.getMinConnectionPoolSize(), mongoDBStoreExecutorConfiguration.getMaxConnectionPoolSize())
+                : null;
+        MongoDBStoreState state = new MongoDBStoreState(clientPool);
         return new MongoDBStoreExecutor(state, mongoDBStoreExecutorConfiguration);
     }
 }
@@ -18,9 +18,19 @@ import org.finos.legend.authentication.credentialprovider.CredentialProviderProv
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
 
+import java.time.Duration;
+
 public class MongoDBStoreExecutorConfiguration implements StoreExecutorConfiguration
 {
+    public static final Duration DEFAULT_CLIENT_IDLE_EVICTION_DURATION = Duration.ofMinutes(10);
+    public static final int DEFAULT_MIN_CONNECTION_POOL_SIZE = 0;
+    public static final int DEFAULT_MAX_CONNECTION_POOL_SIZE = 100;
+
     private CredentialProviderProvider credentialProviderProvider;
+    private boolean clientPoolingEnabled;
+    private Duration clientIdleEvictionDuration;
+    private int minConnectionPoolSize;
+    private int maxConnectionPoolSize;
 
     @Override
     public StoreType getStoreType()
@@ -33,6 +43,26 @@ public class MongoDBStoreExecutorConfiguration implements StoreExecutorConfigura
         return credentialProviderProvider;
     }
 
+    public boolean isClientPoolingEnabled()
+    {
+        return clientPoolingEnabled;
+    }
+
+    public Duration getClientIdleEvictionDuration()
+    {
+        return clientIdleEvictionDuration;
+    }
+
+    public int getMinConnectionPoolSize()
+    {
+        return minConnectionPoolSize;
+    }
+
+    public int getMaxConnectionPoolSize()
+    {
+        return maxConnectionPoolSize;
+    }
+
     public static Builder newInstance()
     {
         return new Builder();
@@ -41,6 +71,10 @@ public class MongoDBStoreExecutorConfiguration implements StoreExecutorConfigura
     public static class Builder
     {
         private CredentialProviderProvider credentialProviderProvider = CredentialProviderProvider.builder().build();
+        private boolean clientPoolingEnabled = true;
+        private Duration clientIdleEvictionDuration = DEFAULT_CLIENT_IDLE_EVICTION_DURATION;
+        private int minConnectionPoolSize = DEFAULT_MIN_CONNECTION_POOL_SIZE;
+        private int maxConnectionPoolSize = DEFAULT_MAX_CONNECTION_POOL_SIZE;
 
         public Builder withCredentialProviderProvider(CredentialProviderProvider credentialProviderProvider)
         {
@@ -48,10 +82,42 @@ public class MongoDBStoreExecutorConfiguration implements StoreExecutorConfigura
             return this;
         }
 
+        /**
+         * When enabled (the default), clients are shared between executions with the same connection and identity
+         * instead of being created for every query.
+         */
+        public Builder withClientPoolingEnabled(boolean clientPoolingEnabled)
+        {
+            this.clientPoolingEnabled = clientPoolingEnabled;
+            return this;
+        }
+
+        public Builder withClientIdleEvictionDuration(Duration clientIdleEvictionDuration)
+        {
+            this.clientIdleEvictionDuration = clientIdleEvictionDuration;
+            return this;
+        }
+
+        public Builder withMinConnectionPoolSize(int minConnectionPoolSize)
+        {
+            this.minConnectionPoolSize = minConnectionPoolSize;
+            return this;
+        }
+
+        public Builder withMaxConnectionPoolSize(int maxConnectionPoolSize)
+        {
+            this.maxConnectionPoolSize = maxConnectionPoolSize;
+            return this;
+        }
+
         public MongoDBStoreExecutorConfiguration build()
         {
             MongoDBStoreExecutorConfiguration mongoDBStoreExecutionConfiguration = new MongoDBStoreExecutorConfiguration();
             mongoDBStoreExecutionConfiguration.credentialProviderProvider = credentialProviderProvider;
+            mongoDBStoreExecutionConfiguration.clientPoolingEnabled = clientPoolingEnabled;
+            mongoDBStoreExecutionConfiguration.clientIdleEvictionDuration = clientIdleEvictionDuration;
+            mongoDBStoreExecutionConfiguration.minConnectionPoolSize = minConnectionPoolSize;
+            mongoDBStoreExecutionConfiguration.maxConnectionPoolSize = maxConnectionPoolSize;
             return mongoDBStoreExecutionConfiguration;
         }
     }
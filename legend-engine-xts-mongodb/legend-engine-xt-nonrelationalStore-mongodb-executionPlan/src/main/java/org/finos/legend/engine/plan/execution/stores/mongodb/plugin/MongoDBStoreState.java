@@ -15,10 +15,31 @@
 package org.finos.legend.engine.plan.execution.stores.mongodb.plugin;
 
 import org.finos.legend.engine.plan.execution.stores.StoreState;
+import org.finos.legend.engine.plan.execution.stores.mongodb.auth.MongoDBClientPool;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
 
 public class MongoDBStoreState implements StoreState
 {
+    private final MongoDBClientPool clientPool;
+
+    public MongoDBStoreState()
+    {
+        this(null);
+    }
+
+    public MongoDBStoreState(MongoDBClientPool clientPool)
+    {
+        this.clientPool = clientPool;
+    }
+
+    /**
+     * @return the pool of clients shared by executions, or null when client pooling is disabled
+     */
+    public MongoDBClientPool getClientPool()
+    {
+        return this.clientPool;
+    }
+
     @Override
     public StoreType getStoreType()
     {
@@ -14,7 +14,6 @@
 
 package org.finos.legend.engine.plan.execution.stores.mongodb.result;
 
-import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCursor;
 import org.bson.Document;
 import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
@@ -23,6 +22,9 @@ import org.finos.legend.engine.plan.execution.result.ResultVisitor;
 import org.finos.legend.engine.plan.execution.result.builder.Builder;
 import org.finos.legend.engine.plan.execution.result.builder.stream.StreamBuilder;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 
@@ -30,14 +32,15 @@ public class MongoDBResult extends Result
 {
     private final MongoCursor<Document> mongoCursor;
 
-    private final MongoClient mongoClient;
+    // either the client itself or a lease on a pooled client
+    private final Closeable mongoClient;
 
-    public MongoDBResult(MongoClient mongoClient, MongoCursor<Document> mongoCursor)
+    public MongoDBResult(Closeable mongoClient, MongoCursor<Document> mongoCursor)
     {
         this(mongoClient, mongoCursor, Collections.emptyList());
     }
 
-    public MongoDBResult(MongoClient mongoClient, MongoCursor<Document> mongoCursor, List<ExecutionActivity> activities)
+    public MongoDBResult(Closeable mongoClient, MongoCursor<Document> mongoCursor, List<ExecutionActivity> activities)
     {
         super("success", activities);
         this.mongoCursor = mongoCursor;
@@ -58,7 +61,14 @@ public class MongoDBResult extends Result
     public void close()
     {
         this.mongoCursor.close();
-        this.mongoClient.close();
+        try
+        {
+            this.mongoClient.close();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
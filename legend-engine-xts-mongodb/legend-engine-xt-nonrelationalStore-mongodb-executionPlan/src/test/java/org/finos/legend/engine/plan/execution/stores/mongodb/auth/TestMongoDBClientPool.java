@@ -0,0 +1,237 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.mongodb.auth;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.client.MongoClient;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.security.auth.Subject;
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class TestMongoDBClientPool
+{
+    private static final Duration IDLE_EVICTION_DURATION = Duration.ofMinutes(10);
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final Supplier<MongoClient> clientFactory = this::newClient;
+    private TestClock clock;
+    private MongoDBClientPool pool;
+
+    @Before
+    public void setUp()
+    {
+        this.clock = new TestClock();
+        this.pool = new MongoDBClientPool(IDLE_EVICTION_DURATION, 0, 10, this.clock, false);
+    }
+
+    @Test
+    public void testAcquireReusesClientOfPool()
+    {
+        MongoClientSettings settings = settings(passwordCredential("user", "secret"));
+        try (MongoDBClientPool.Lease first = this.pool.acquire("pool1", settings, this.clientFactory);
+             MongoDBClientPool.Lease second = this.pool.acquire("pool1", settings, this.clientFactory);
+             MongoDBClientPool.Lease other = this.pool.acquire("pool2", settings, this.clientFactory))
+        {
+            Assert.assertSame(first.getClient(), second.getClient());
+            Assert.assertNotSame(first.getClient(), other.getClient());
+        }
+        Assert.assertEquals(2, this.created.get());
+        Assert.assertEquals(0, this.closed.get());
+        Assert.assertEquals(2, this.pool.size());
+    }
+
+    @Test
+    public void testIdleClientsAreEvicted()
+    {
+        MongoClientSettings settings = settings(passwordCredential("user", "secret"));
+        this.pool.acquire("idle", settings, this.clientFactory).close();
+        MongoDBClientPool.Lease leased = this.pool.acquire("leased", settings, this.clientFactory);
+
+        this.clock.advance(IDLE_EVICTION_DURATION.minusSeconds(1));
+        this.pool.evictIdleClients();
+        Assert.assertEquals(2, this.pool.size());
+
+        this.clock.advance(Duration.ofSeconds(1));
+        this.pool.evictIdleClients();
+        Assert.assertEquals(1, this.pool.size());
+        Assert.assertEquals(1, this.closed.get());
+
+        // a leased client is kept, however long it is used for, and is idle from its release
+        leased.close();
+        this.pool.evictIdleClients();
+        Assert.assertEquals(1, this.pool.size());
+        this.clock.advance(IDLE_EVICTION_DURATION);
+        this.pool.evictIdleClients();
+        Assert.assertEquals(0, this.pool.size());
+        Assert.assertEquals(2, this.closed.get());
+
+        // an evicted pool gets a new client
+        try (MongoDBClientPool.Lease lease = this.pool.acquire("idle", settings, this.clientFactory))
+        {
+            Assert.assertNotNull(lease.getClient());
+        }
+        Assert.assertEquals(3, this.created.get());
+    }
+
+    @Test
+    public void testClientIsReplacedWhenCredentialChanges()
+    {
+        MongoDBClientPool.Lease oldLease = this.pool.acquire("pool", settings(passwordCredential("user", "secret")), this.clientFactory);
+        MongoDBClientPool.Lease newLease = this.pool.acquire("pool", settings(passwordCredential("user", "rotated")), this.clientFactory);
+        Assert.assertNotSame(oldLease.getClient(), newLease.getClient());
+        Assert.assertEquals(1, this.pool.size());
+
+        // the replaced client is closed once its last lease is released only
+        Assert.assertEquals(0, this.closed.get());
+        oldLease.close();
+        Assert.assertEquals(1, this.closed.get());
+        newLease.close();
+        Assert.assertEquals(1, this.closed.get());
+
+        // without outstanding lease, the replaced client is closed straight away
+        this.pool.acquire("pool", settings(passwordCredential("user", "secret")), this.clientFactory).close();
+        Assert.assertEquals(2, this.closed.get());
+        Assert.assertEquals(3, this.created.get());
+    }
+
+    @Test
+    public void testKerberosClientIsNotSharedBetweenSubjects()
+    {
+        Subject subject = new Subject();
+        MongoClientSettings settings = settings(kerberosCredential("user@EXAMPLE.COM", subject));
+        try (MongoDBClientPool.Lease first = this.pool.acquire("pool", settings, this.clientFactory);
+             MongoDBClientPool.Lease second = this.pool.acquire("pool", settings(kerberosCredential("user@EXAMPLE.COM", subject)), this.clientFactory))
+        {
+            Assert.assertSame(first.getClient(), second.getClient());
+        }
+        try (MongoDBClientPool.Lease other = this.pool.acquire("pool", settings(kerberosCredential("user@EXAMPLE.COM", new Subject())), this.clientFactory))
+        {
+            Assert.assertEquals(2, this.created.get());
+            Assert.assertEquals(1, this.closed.get());
+        }
+    }
+
+    @Test
+    public void testReleasingLeaseTwiceReleasesItOnce()
+    {
+        MongoClientSettings settings = settings(passwordCredential("user", "secret"));
+        MongoDBClientPool.Lease first = this.pool.acquire("pool", settings, this.clientFactory);
+        MongoDBClientPool.Lease second = this.pool.acquire("pool", settings, this.clientFactory);
+        first.close();
+        first.close();
+
+        this.clock.advance(IDLE_EVICTION_DURATION);
+        this.pool.evictIdleClients();
+        Assert.assertEquals(1, this.pool.size());
+        Assert.assertEquals(0, this.closed.get());
+
+        second.close();
+        this.clock.advance(IDLE_EVICTION_DURATION);
+        this.pool.evictIdleClients();
+        Assert.assertEquals(0, this.pool.size());
+        Assert.assertEquals(1, this.closed.get());
+    }
+
+    @Test
+    public void testCloseClosesClientsOnceReleased()
+    {
+        MongoClientSettings settings = settings(passwordCredential("user", "secret"));
+        this.pool.acquire("idle", settings, this.clientFactory).close();
+        MongoDBClientPool.Lease leased = this.pool.acquire("leased", settings, this.clientFactory);
+
+        this.pool.close();
+        Assert.assertEquals(0, this.pool.size());
+        Assert.assertEquals(1, this.closed.get());
+        leased.close();
+        Assert.assertEquals(2, this.closed.get());
+    }
+
+    private MongoClient newClient()
+    {
+        this.created.incrementAndGet();
+        return (MongoClient) Proxy.newProxyInstance(MongoClient.class.getClassLoader(), new Class<?>[]{MongoClient.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "close":
+                    this.closed.incrementAndGet();
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "TestMongoClient";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static MongoClientSettings settings(MongoCredential credential)
+    {
+        return MongoClientSettings.builder().credential(credential).build();
+    }
+
+    private static MongoCredential passwordCredential(String userName, String password)
+    {
+        return MongoCredential.createCredential(userName, "admin", password.toCharArray());
+    }
+
+    private static MongoCredential kerberosCredential(String principal, Subject subject)
+    {
+        return MongoCredential.createGSSAPICredential(principal).withMechanismProperty(MongoCredential.JAVA_SUBJECT_KEY, subject);
+    }
+
+    private static class TestClock extends Clock
+    {
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        private void advance(Duration duration)
+        {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return this.instant;
+        }
+    }
+}
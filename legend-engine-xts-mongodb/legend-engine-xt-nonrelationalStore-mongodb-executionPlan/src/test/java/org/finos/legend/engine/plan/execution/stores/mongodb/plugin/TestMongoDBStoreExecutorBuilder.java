@@ -33,6 +33,22 @@ public class TestMongoDBStoreExecutorBuilder
         Assert.assertNull(state.getStoreExecutionInfo());
     }
 
+    @Test
+    public void testClientPoolingEnabledByDefault()
+    {
+        MongoDBStoreExecutor executor = new MongoDBStoreExecutorBuilder().build();
+        Assert.assertNotNull(executor.getStoreState().getClientPool());
+        Assert.assertEquals(0, executor.getStoreState().getClientPool().size());
+    }
+
+    @Test
+    public void testClientPoolingDisabled()
+    {
+        MongoDBStoreExecutorConfiguration configuration = MongoDBStoreExecutorConfiguration.newInstance().withClientPoolingEnabled(false).build();
+        MongoDBStoreExecutor executor = (MongoDBStoreExecutor) new MongoDBStoreExecutorBuilder().build(configuration);
+        Assert.assertNull(executor.getStoreState().getClientPool());
+    }
+
     @Test
     public void testServiceLoader()
     {
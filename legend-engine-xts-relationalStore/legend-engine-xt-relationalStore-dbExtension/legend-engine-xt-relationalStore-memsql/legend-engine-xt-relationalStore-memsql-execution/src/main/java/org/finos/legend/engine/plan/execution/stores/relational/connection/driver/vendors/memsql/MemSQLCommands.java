@@ -55,6 +55,19 @@ public class MemSQLCommands extends RelationalDatabaseCommands
         return IngestionMethod.CLIENT_FILE;
     }
 
+    @Override
+    public int getDefaultFetchSize()
+    {
+        return 100;
+    }
+
+    @Override
+    public int getMaxFetchSize()
+    {
+        // the MySQL protocol streams rows regardless of the fetch size
+        return 0;
+    }
+
     @Override
     public <T> T accept(RelationalDatabaseCommandsVisitor<T> visitor)
     {
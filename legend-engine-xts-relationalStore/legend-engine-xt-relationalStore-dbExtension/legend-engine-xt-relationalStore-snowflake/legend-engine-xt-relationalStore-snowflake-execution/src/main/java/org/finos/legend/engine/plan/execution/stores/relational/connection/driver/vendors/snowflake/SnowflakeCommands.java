@@ -69,6 +69,13 @@ public class SnowflakeCommands extends RelationalDatabaseCommands
         return IngestionMethod.CLIENT_FILE;
     }
 
+    @Override
+    public int getMaxFetchSize()
+    {
+        // the driver downloads result chunks in parallel and ignores the fetch size
+        return 0;
+    }
+
     @Override
     public <T> T accept(RelationalDatabaseCommandsVisitor<T> visitor)
     {
@@ -17,6 +17,7 @@ package org.finos.legend.engine.plan.execution.stores.relational.connection.driv
 import org.eclipse.collections.api.tuple.Pair;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.DataSourceWithStatistics;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.state.ConnectionStateManager;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
 
 import java.sql.Connection;
 import java.sql.Driver;
@@ -72,7 +73,9 @@ public abstract class DriverWrapper implements Driver
             }
             Pair<String, Properties> res = ds.getAuthenticationStrategy().handleConnection(url, info, ds.getDatabaseManager());
             LOGGER.info("Handled connection by [{}] Authentication strategy for [{}]", ds.getAuthenticationStrategy().getKey().shortId(), poolName);
+            long start = System.nanoTime();
             Connection dbConnection = driver.connect(res.getOne(), handlePropertiesPriorToJDBCDriverConnection(res.getTwo()));
+            MetricsHandler.observeConnectionCreation(poolName, System.nanoTime() - start);
             LOGGER.info("[{}] Driver connected ", driver.getClass().getCanonicalName());
             int builtConnections = ds.buildConnection();
             LOGGER.info("Total [{}] connections built for data source [{}]", builtConnections, poolName);
@@ -31,6 +31,30 @@ public abstract class RelationalDatabaseCommands
 
     public abstract IngestionMethod getDefaultIngestionMethod();
 
+    /**
+     * Fetch size set on the statements of streamed results, 0 leaving the driver default.
+     */
+    public int getDefaultFetchSize()
+    {
+        return 0;
+    }
+
+    /**
+     * Largest fetch size picked from the width of the rows when results are prefetched, 0 keeping the default fetch size.
+     */
+    public int getMaxFetchSize()
+    {
+        return 10_000;
+    }
+
+    /**
+     * Rows sent per executed batch when rows are inserted into temp tables with a prepared statement.
+     */
+    public int getTempTableBatchSize()
+    {
+        return 1_000;
+    }
+
 //    public void buildTempTableFromResult(RelationalExecutionConfiguration config, Connection connection, StreamingResult result, String tableName)
 //    {
 //        buildTempTableFromResult(config, connection, result, tableName, this.getDefaultIngestionMethod());
@@ -39,10 +39,22 @@ public class H2Commands extends RelationalDatabaseCommands
         return Lists.mutable.with("CREATE LOCAL TEMPORARY TABLE " + tableName + "(" + columns.stream().map(c -> c.name + " " + c.type).collect(Collectors.joining(", ")) + ") AS SELECT * FROM CSVREAD('" + optionalCSVFileLocation + "');");
     }
 
+    public List<String> createTempTable(String tableName, List<Column> columns)
+    {
+        return Lists.mutable.with("CREATE LOCAL TEMPORARY TABLE " + tableName + "(" + columns.stream().map(c -> c.name + " " + c.type).collect(Collectors.joining(", ")) + ");");
+    }
+
     @Override
     public IngestionMethod getDefaultIngestionMethod()
     {
-        return IngestionMethod.CLIENT_FILE;
+        return IngestionMethod.STREAMING;
+    }
+
+    @Override
+    public int getTempTableBatchSize()
+    {
+        // inserting a row is cheap on H2, larger batches mostly save round trips
+        return 10_000;
     }
 
     @Override
@@ -125,6 +125,11 @@ public abstract class DataSourceSpecification
         return databaseManager;
     }
 
+    public int getMinPoolSize()
+    {
+        return this.minPoolSize;
+    }
+
     public Properties getExtraDatasourceProperties()
     {
         return this.extraDatasourceProperties;
@@ -175,13 +180,16 @@ public abstract class DataSourceSpecification
             // ---------------------
             try
             {
+                long start = System.nanoTime();
                 DataSourceWithStatistics dataSourceWithStatistics = this.connectionStateManager.getDataSourceForIdentityIfAbsentBuild(identityState, this, dataSourcePoolBuilder);
                 // Logs and traces and stats -----
                 String poolName = dataSourceWithStatistics.getPoolName();
                 scope.span().setTag("Pool", poolName);
                 int requests = dataSourceWithStatistics.requestConnection();
                 LOGGER.info("Principal [{}] has requested [{}] connections for pool [{}]", principal, requests, poolName);
-                return authenticationStrategy.getConnection(dataSourceWithStatistics, identityState.getIdentity());
+                Connection connection = authenticationStrategy.getConnection(dataSourceWithStatistics, identityState.getIdentity());
+                dataSourceWithStatistics.observeConnectionAcquisition(System.nanoTime() - start);
+                return connection;
             }
             catch (ConnectionException ce)
             {
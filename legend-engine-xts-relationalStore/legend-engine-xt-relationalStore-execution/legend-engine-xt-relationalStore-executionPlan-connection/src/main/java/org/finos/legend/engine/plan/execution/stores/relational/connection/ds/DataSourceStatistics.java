@@ -25,6 +25,8 @@ public class DataSourceStatistics
     private final AtomicInteger builtConnections;
     private final AtomicInteger requestedConnections;
     private final AtomicInteger connectionErrors = new AtomicInteger();
+    // most connections seen in use since the last time the demand of the pool was read, not part of the state compared by equals
+    private final AtomicInteger peakActiveConnections = new AtomicInteger();
     private final AtomicLong firstConnectionRequest;
     private AtomicLong lastConnectionRequest;
 
@@ -95,6 +97,19 @@ public class DataSourceStatistics
         return builtConnections.get();
     }
 
+    public void recordActiveConnections(int activeConnections)
+    {
+        this.peakActiveConnections.accumulateAndGet(activeConnections, Math::max);
+    }
+
+    /**
+     * @return the most connections seen in use since the previous call
+     */
+    public int resetPeakActiveConnections()
+    {
+        return this.peakActiveConnections.getAndSet(0);
+    }
+
     public void logConnectionError()
     {
         this.connectionErrors.incrementAndGet();
@@ -15,13 +15,16 @@
 package org.finos.legend.engine.plan.execution.stores.relational.connection.ds;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.finos.legend.engine.authentication.credential.CredentialSupplier;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ConnectionKey;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.authentication.AuthenticationStrategy;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.DatabaseManager;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.state.IdentityState;
 import org.finos.legend.engine.shared.core.identity.Identity;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
 
 import javax.sql.DataSource;
 import java.util.Optional;
@@ -126,6 +129,50 @@ public class DataSourceWithStatistics
         return statistics.buildConnection();
     }
 
+    /**
+     * Records the wait for a connection of the pool, and how many connections of the pool are then in use.
+     */
+    public void observeConnectionAcquisition(long nanos)
+    {
+        HikariPoolMXBean pool = this.getPoolMXBean();
+        int activeConnections = pool == null ? 0 : pool.getActiveConnections();
+        int idleConnections = pool == null ? 0 : pool.getIdleConnections();
+        this.statistics.recordActiveConnections(activeConnections);
+        MetricsHandler.observeConnectionAcquisition(this.poolName, nanos, activeConnections, idleConnections);
+    }
+
+    /**
+     * Keeps as many idle connections as were recently in use, so that bursts of requests do not wait for connections
+     * to be opened. The minimum grows to the recent peak at once, and shrinks by half the difference at a time.
+     *
+     * @param ceiling most idle connections a pool may be asked to keep
+     * @return the minimum number of idle connections of the pool
+     */
+    public int adaptMinimumIdle(int ceiling)
+    {
+        int peakActiveConnections = this.statistics.resetPeakActiveConnections();
+        if (!(this.dataSource instanceof HikariDataSource))
+        {
+            return 0;
+        }
+        HikariConfigMXBean config = ((HikariDataSource) this.dataSource).getHikariConfigMXBean();
+        int current = config.getMinimumIdle();
+        int target = peakActiveConnections >= current ? peakActiveConnections : current - (current - peakActiveConnections + 1) / 2;
+        int floor = this.dataSourceSpecification == null ? 0 : this.dataSourceSpecification.getMinPoolSize();
+        target = Math.max(floor, Math.min(target, Math.min(ceiling, config.getMaximumPoolSize())));
+        if (target != current)
+        {
+            config.setMinimumIdle(target);
+        }
+        MetricsHandler.setConnectionPoolMinimumIdle(this.poolName, target);
+        return target;
+    }
+
+    private HikariPoolMXBean getPoolMXBean()
+    {
+        return this.dataSource instanceof HikariDataSource ? ((HikariDataSource) this.dataSource).getHikariPoolMXBean() : null;
+    }
+
     public void logConnectionError()
     {
         this.statistics.logConnectionError();
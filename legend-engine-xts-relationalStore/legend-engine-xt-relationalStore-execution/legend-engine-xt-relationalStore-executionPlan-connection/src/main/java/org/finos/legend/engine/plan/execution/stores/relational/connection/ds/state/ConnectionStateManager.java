@@ -35,9 +35,11 @@ import javax.sql.DataSource;
 import java.io.Closeable;
 import java.io.IOException;
 import java.time.Clock;
+import java.sql.Connection;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -74,6 +76,8 @@ import static org.finos.legend.engine.plan.execution.stores.relational.connectio
 
     3/ Connection State manager HouseKeeper thread - A scheduled task evicts pool state objects.
     The thread evicts pool state objects that have not been used in the last N minutes. It iterates over the map and removes objects based on lastConnectionRequest timestamp.
+    Pools registered to be prewarmed are never evicted. The thread opens those that are not open yet, as a connection serving thread would.
+    When enabled, the same thread adapts the minimum idle connections of each pool to its recent demand.
 
     4/ "DevOps" thread - These are other threads that read the state map for debugging/logging purposes.
     The state manager exposes "get/getAll/dump" methods that iterate over the map.
@@ -115,6 +119,9 @@ public class ConnectionStateManager implements Closeable
 
     public static final long DEFAULT_EVICTION_DURATION_IN_SECONDS = Duration.ofMinutes(10).getSeconds();
     public static String EVICTION_DURATION_SYSTEM_PROPERTY = "org.finos.legend.engine.execution.connectionStateEvictionDurationInSeconds";
+    // most idle connections the minimum idle of a pool can be adapted to from its recent demand, 0 keeps the minimum idle of the pools as configured
+    public static String ADAPTIVE_MINIMUM_IDLE_CEILING_SYSTEM_PROPERTY = "org.finos.legend.engine.execution.connectionPoolAdaptiveMinimumIdleCeiling";
+    public static final long ADAPTIVE_MINIMUM_IDLE_PERIOD_IN_SECONDS = Duration.ofMinutes(1).getSeconds();
 
     public static String POOL_NAME_KEY = "POOL_NAME_KEY";
     private static final String SEPARATOR = "_";
@@ -132,6 +139,12 @@ public class ConnectionStateManager implements Closeable
         EXECUTOR_SERVICE = Executors.newScheduledThreadPool(1, threadFactory);
         EXECUTOR_SERVICE.scheduleWithFixedDelay(connectionStateHousekeepingTask, 0, evictionDurationInSeconds, TimeUnit.SECONDS);
         LOGGER.info("ConnectionStateManager.HouseKeeper thread frequency. Time period={}, Time unit={}", evictionDurationInSeconds, TimeUnit.SECONDS);
+        int adaptiveMinimumIdleCeiling = Integer.getInteger(ADAPTIVE_MINIMUM_IDLE_CEILING_SYSTEM_PROPERTY, 0);
+        if (adaptiveMinimumIdleCeiling > 0)
+        {
+            EXECUTOR_SERVICE.scheduleWithFixedDelay(new AdaptiveMinimumIdleTask(adaptiveMinimumIdleCeiling), ADAPTIVE_MINIMUM_IDLE_PERIOD_IN_SECONDS, ADAPTIVE_MINIMUM_IDLE_PERIOD_IN_SECONDS, TimeUnit.SECONDS);
+            LOGGER.info("ConnectionStateManager adapts the minimum idle connections of pools up to {}", adaptiveMinimumIdleCeiling);
+        }
     }
 
     static long resolveEvictionDuration()
@@ -175,6 +188,7 @@ public class ConnectionStateManager implements Closeable
 
     private final KeyLockManager<String> poolLockManager = KeyLockManager.newManager();
     private final ConcurrentMutableMap<String, DataSourceWithStatistics> connectionPools = ConcurrentHashMap.newMap();
+    private final ConcurrentMutableMap<String, Function0<Connection>> poolsToPrewarm = ConcurrentHashMap.newMap();
 
     private Clock clock;
 
@@ -226,7 +240,7 @@ public class ConnectionStateManager implements Closeable
     protected Set<Pair<String, DataSourceStatistics>> findUnusedPoolsOlderThan(Duration duration)
     {
         return this.connectionPools.values().stream()
-                .filter(ds -> ds.getStatistics().getLastConnectionRequestAge() > duration.toMillis() && !ds.hasActiveConnections())
+                .filter(ds -> ds.getStatistics().getLastConnectionRequestAge() > duration.toMillis() && !ds.hasActiveConnections() && !this.poolsToPrewarm.containsKey(ds.getPoolName()))
                 .map(ds -> Tuples.pair(ds.getPoolName(), DataSourceStatistics.clone(ds.getStatistics())))
                 .collect(Collectors.toSet());
     }
@@ -292,6 +306,63 @@ public class ConnectionStateManager implements Closeable
         return connectionPools;
     }
 
+    /**
+     * Registers a pool to open before it is first requested, and to open again after it has been evicted. The pool is
+     * opened by getting a connection from the given function, which is closed straight away.
+     */
+    public void addPoolToPrewarm(String poolName, Function0<Connection> connectionSupplier)
+    {
+        this.poolsToPrewarm.put(poolName, connectionSupplier);
+    }
+
+    public Set<String> getPoolsToPrewarm()
+    {
+        return this.poolsToPrewarm.keySet();
+    }
+
+    /**
+     * Opens the pools registered to be prewarmed that are not open.
+     *
+     * @return the number of pools opened
+     */
+    public int prewarmPools()
+    {
+        int prewarmedPools = 0;
+        for (Map.Entry<String, Function0<Connection>> pool : this.poolsToPrewarm.entrySet())
+        {
+            if (this.connectionPools.get(pool.getKey()) == null)
+            {
+                try (Connection ignored = pool.getValue().value())
+                {
+                    prewarmedPools++;
+                    LOGGER.info("Prewarmed pool {}", pool.getKey());
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn("Failed to prewarm pool {}", pool.getKey(), e);
+                }
+            }
+        }
+        return prewarmedPools;
+    }
+
+    /**
+     * Opens the pools registered to be prewarmed in the background, without waiting for the next housekeeping.
+     */
+    public void prewarmPoolsAsync()
+    {
+        ScheduledExecutorService executorService = EXECUTOR_SERVICE;
+        if (executorService != null)
+        {
+            executorService.execute(this::prewarmPools);
+        }
+    }
+
+    public void adaptMinimumIdle(int ceiling)
+    {
+        this.connectionPools.forEach(p -> p.adaptMinimumIdle(ceiling));
+    }
+
     static class ConnectionStateHousekeepingTask implements Runnable
     {
         private final long durationInSeconds;
@@ -308,6 +379,7 @@ public class ConnectionStateManager implements Closeable
             try
             {
                 instance.purge(durationInSeconds);
+                instance.prewarmPools();
                 instance.updateMetricsForConnectionPools();
             }
             catch (Exception e)
@@ -317,6 +389,29 @@ public class ConnectionStateManager implements Closeable
         }
     }
 
+    static class AdaptiveMinimumIdleTask implements Runnable
+    {
+        private final int ceiling;
+
+        public AdaptiveMinimumIdleTask(int ceiling)
+        {
+            this.ceiling = ceiling;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                ConnectionStateManager.getInstance().adaptMinimumIdle(this.ceiling);
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("ConnectionStateManager adaptation of the minimum idle connections failed", e);
+            }
+        }
+    }
+
     private void updateMetricsForConnectionPools()
     {
         this.connectionPools.forEach(p ->
@@ -20,6 +20,7 @@ import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.Da
 import org.finos.legend.engine.shared.core.identity.Credential;
 import org.finos.legend.engine.shared.core.identity.Identity;
 import org.finos.legend.engine.shared.core.identity.factory.IdentityFactoryProvider;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -450,4 +451,82 @@ public class TestConnectionStateManager extends TestConnectionManagement
         when(mockCredential.isValid()).thenReturn(false);
         requestConnection(identityOne, ds1);
     }
+
+    @Test
+    public void testPrewarmedPoolIsOpenedBeforeItsFirstRequestAndIsNotEvicted()
+    {
+        DataSourceSpecification ds1 = buildLocalDataSourceSpecification(Arrays.asList("DROP TABLE IF EXISTS T1"));
+        Identity user1 = IdentityFactoryProvider.getInstance().makeIdentityForTesting("user1");
+        String pool1 = connectionStateManager.poolNameFor(user1, ds1.getConnectionKey());
+        ConnectionStateManager.ConnectionStateHousekeepingTask houseKeeper = new ConnectionStateManager.ConnectionStateHousekeepingTask(Duration.ofMinutes(5).getSeconds());
+
+        connectionStateManager.addPoolToPrewarm(pool1, () -> requestConnection(user1, ds1));
+        Assert.assertEquals(1, connectionStateManager.prewarmPools());
+        assertPoolExists(true, user1.getName(), ds1.getConnectionKey());
+        Assert.assertEquals(0.00, connectionStateManager.getDataSourceByPoolName(pool1).getActiveConnections(), 0d);
+        Assert.assertEquals(1.00, connectionStateManager.getDataSourceByPoolName(pool1).getIdleConnections(), 0d);
+        Assert.assertEquals(0, connectionStateManager.prewarmPools());
+
+        clock.advance(Duration.ofMinutes(11));
+        houseKeeper.run();
+        Assert.assertNotNull(connectionStateManager.getDataSourceByPoolName(pool1));
+    }
+
+    @Test
+    public void testConnectionAcquisitionAndCreationAreObserved() throws SQLException
+    {
+        CollectorRegistry collectorRegistry = MetricsHandler.getMetricsRegistry();
+        DataSourceSpecification ds1 = buildLocalDataSourceSpecification(Arrays.asList("DROP TABLE IF EXISTS T1"));
+        // metrics are kept across tests until their pool is removed, so this pool is not used by other tests
+        Identity user1 = IdentityFactoryProvider.getInstance().makeIdentityForTesting("metricsUser");
+        String pool1 = connectionStateManager.poolNameFor(user1, ds1.getConnectionKey());
+
+        requestConnection(user1, ds1).close();
+        requestConnection(user1, ds1).close();
+
+        Assert.assertEquals(2.00, collectorRegistry.getSampleValue("legend_engine_connection_acquisition_latency_count", new String[]{"poolName"}, new String[]{pool1}), 0d);
+        Assert.assertEquals(1.00, collectorRegistry.getSampleValue("legend_engine_connection_creation_latency_count", new String[]{"poolName"}, new String[]{pool1}), 0d);
+        Assert.assertEquals(2.00, collectorRegistry.getSampleValue("legend_engine_connection_pool_usage_sum", new String[]{"poolName", "state"}, new String[]{pool1, "active"}), 0d);
+
+        connectionStateManager.closeAndRemoveConnectionPool(pool1);
+        Assert.assertNull(collectorRegistry.getSampleValue("legend_engine_connection_acquisition_latency_count", new String[]{"poolName"}, new String[]{pool1}));
+    }
+
+    @Test
+    public void testMinimumIdleAdaptsToRecentDemand() throws SQLException
+    {
+        DataSourceSpecification ds1 = buildLocalDataSourceSpecification(Arrays.asList("DROP TABLE IF EXISTS T1"));
+        Identity user1 = IdentityFactoryProvider.getInstance().makeIdentityForTesting("user1");
+        String pool1 = connectionStateManager.poolNameFor(user1, ds1.getConnectionKey());
+
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            connections.add(requestConnection(user1, ds1));
+        }
+        for (Connection connection : connections)
+        {
+            connection.close();
+        }
+        DataSourceWithStatistics dataSource = connectionStateManager.getDataSourceByPoolName(pool1);
+
+        // grows to the peak at once, within the ceiling
+        Assert.assertEquals(3, dataSource.adaptMinimumIdle(10));
+        requestConnection(user1, ds1).close();
+        // then shrinks by half the difference with the demand at a time
+        Assert.assertEquals(2, dataSource.adaptMinimumIdle(10));
+        Assert.assertEquals(1, dataSource.adaptMinimumIdle(10));
+        Assert.assertEquals(0, dataSource.adaptMinimumIdle(10));
+
+        connections.clear();
+        for (int i = 0; i < 3; i++)
+        {
+            connections.add(requestConnection(user1, ds1));
+        }
+        Assert.assertEquals(2, dataSource.adaptMinimumIdle(2));
+        for (Connection connection : connections)
+        {
+            connection.close();
+        }
+    }
 }
\ No newline at end of file
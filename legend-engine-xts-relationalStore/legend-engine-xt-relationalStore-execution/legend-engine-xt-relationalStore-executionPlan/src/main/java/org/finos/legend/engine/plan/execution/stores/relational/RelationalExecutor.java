@@ -14,12 +14,14 @@
 
 package org.finos.legend.engine.plan.execution.stores.relational;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.util.GlobalTracer;
 import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
@@ -39,10 +41,12 @@ import org.finos.legend.engine.plan.execution.result.StreamingResult;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
 import org.finos.legend.engine.plan.execution.stores.relational.activity.RelationalExecutionActivity;
 import org.finos.legend.engine.plan.execution.stores.relational.blockConnection.BlockConnection;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalConnectionPrewarmConfig;
 import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
 import org.finos.legend.engine.plan.execution.stores.relational.config.TemporaryTestDbConfiguration;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.DatabaseManager;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.commands.RelationalDatabaseCommands;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.state.ConnectionStateManager;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.manager.ConnectionManagerSelector;
 import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreExecutionState;
 import org.finos.legend.engine.plan.execution.stores.relational.result.PreparedTempTableResult;
@@ -53,10 +57,18 @@ import org.finos.legend.engine.plan.execution.stores.relational.result.ResultInt
 import org.finos.legend.engine.plan.execution.stores.relational.result.SQLExecutionResult;
 import org.finos.legend.engine.plan.execution.stores.relational.result.SQLUpdateResult;
 import org.finos.legend.engine.plan.execution.stores.relational.result.VoidRelationalResult;
+import org.finos.legend.engine.plan.execution.stores.relational.result.cache.RelationalResultCache;
+import org.finos.legend.engine.plan.execution.stores.relational.result.cache.RelationalResultCacheKey;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.ExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.RelationalExecutionNode;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.RelationalTdsInstantiationExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.SQLExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.RelationalSaveNode;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseConnection;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.model.result.SQLResultColumn;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.finos.legend.engine.shared.core.identity.Identity;
+import org.finos.legend.engine.shared.core.identity.factory.IdentityFactoryProvider;
 import org.finos.legend.engine.shared.core.operational.logs.LogInfo;
 import org.finos.legend.engine.shared.core.operational.logs.LoggingEventType;
 import org.pac4j.core.profile.CommonProfile;
@@ -81,6 +93,7 @@ public class RelationalExecutor
 
     private final ConnectionManagerSelector connectionManager;
     private final RelationalExecutionConfiguration relationalExecutionConfiguration;
+    private final RelationalResultCache resultCache;
     private MutableList<Function2<ExecutionState, List<Map<String, Object>>, Result>> resultInterpreterExtensions;
 
     private static final MutableMap<String, String> DATA_TYPE_RELATIONAL_TYPE_MAP = Maps.mutable.empty();
@@ -109,7 +122,14 @@ public class RelationalExecutor
         this.flowProviderHolder = flowProviderHolder;
         this.connectionManager = new ConnectionManagerSelector(temporarytestdb, relationalExecutionConfiguration.oauthProfiles, flowProviderHolder, relationalExecutionConfiguration.getConnectionFactory(), relationalExecutionConfiguration.getRelationalDatabaseConnectionAdapters(), false);
         this.relationalExecutionConfiguration = relationalExecutionConfiguration;
+        this.resultCache = relationalExecutionConfiguration.getResultCacheConfig() == null ? null : RelationalResultCache.build(relationalExecutionConfiguration.getResultCacheConfig());
         this.resultInterpreterExtensions = Iterate.addAllTo(ResultInterpreterExtensionLoader.extensions(), Lists.mutable.empty()).collect(ResultInterpreterExtension::additionalResultBuilder);
+        RelationalConnectionPrewarmConfig connectionPrewarmConfig = relationalExecutionConfiguration.getConnectionPrewarmConfig();
+        if (connectionPrewarmConfig != null && !connectionPrewarmConfig.getPools().isEmpty())
+        {
+            connectionPrewarmConfig.getPools().forEach(pool -> this.connectionManager.addPoolToPrewarm(new Identity(pool.getUser()), pool.getConnection()));
+            ConnectionStateManager.getInstance().prewarmPoolsAsync();
+        }
     }
 
     public RelationalExecutionConfiguration getRelationalExecutionConfiguration()
@@ -122,8 +142,18 @@ public class RelationalExecutor
         return this.connectionManager;
     }
 
+    public RelationalResultCache getResultCache()
+    {
+        return this.resultCache;
+    }
+
     public Result execute(RelationalExecutionNode node, MutableList<CommonProfile> profiles, ExecutionState executionState)
     {
+        if (this.isResultCacheable(node, node.sqlQuery, executionState))
+        {
+            return this.executeWithResultCache(node, profiles, executionState);
+        }
+
         Connection connectionManagerConnection;
         String databaseTimeZone = node.getDatabaseTimeZone() == null ? DEFAULT_DB_TIME_ZONE : node.getDatabaseTimeZone();
         String databaseTypeName = node.getDatabaseTypeName();
@@ -136,7 +166,7 @@ public class RelationalExecutor
             span.log("Connection acquired");
         }
 
-        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseTypeName, tempTableList, profiles, executionState, true);
+        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseTypeName, tempTableList, profiles, executionState, true, this.useBindVariables());
 
         if (executionState.inAllocation)
         {
@@ -206,8 +236,63 @@ public class RelationalExecutor
         }
         else
         {
-            return new RelationalResult(executionState.activities, node, node.resultColumns, databaseTypeName, databaseTimeZone, connectionManagerConnection, profiles, tempTableList, executionState.topSpan, executionState.getRequestContext(), executionState.logSQLWithParamValues());
+            RelationalResult result = new RelationalResult(executionState.activities, node, node.resultColumns, databaseTypeName, databaseTimeZone, connectionManagerConnection, profiles, tempTableList, executionState.topSpan, executionState.getRequestContext(), executionState.logSQLWithParamValues());
+            result.setPrefetchConfig(this.relationalExecutionConfiguration.getResultPrefetchConfig());
+            return result;
+        }
+    }
+
+    /**
+     * Whether the TDS result of the node (running the given SQL) can be served from the result cache: only results
+     * streamed to the caller, reading nothing but constants from the other nodes of the plan, are cached.
+     */
+    public boolean isResultCacheable(ExecutionNode node, String sqlQuery, ExecutionState executionState)
+    {
+        return this.resultCache != null
+                && !executionState.inAllocation
+                && sqlQuery != null
+                && ExecutionNodeTDSResultHelper.isResultTDS(node)
+                && !((RelationalStoreExecutionState) executionState.getStoreExecutionState(StoreType.Relational)).retainConnection()
+                && executionState.getResults().entrySet().stream().allMatch(var -> var.getValue() instanceof ConstantResult || !sqlQuery.contains(var.getKey()));
+    }
+
+    public RelationalResult executeWithResultCache(RelationalTdsInstantiationExecutionNode node, MutableList<CommonProfile> profiles, ExecutionState executionState)
+    {
+        SQLExecutionNode sqlNode = (SQLExecutionNode) node.executionNodes.get(0);
+        String databaseTimeZone = sqlNode.getDatabaseTimeZone() == null ? DEFAULT_DB_TIME_ZONE : sqlNode.getDatabaseTimeZone();
+        String databaseType = sqlNode.getDatabaseTypeName();
+        return this.executeWithResultCache(node, sqlNode.sqlQuery, sqlNode.sqlComment, sqlNode.connection, sqlNode.getSQLResultColumns(), databaseType, databaseTimeZone,
+                () -> new RelationalResult(new SQLExecutionResult(executionState.activities, sqlNode, databaseType, databaseTimeZone, getConnection(sqlNode, profiles, (RelationalStoreExecutionState) executionState.getStoreExecutionState(StoreType.Relational)), profiles, Lists.mutable.empty(), executionState.topSpan, executionState.getRequestContext(), executionState.logSQLWithParamValues()), node),
+                profiles, executionState);
+    }
+
+    private RelationalResult executeWithResultCache(RelationalExecutionNode node, MutableList<CommonProfile> profiles, ExecutionState executionState)
+    {
+        String databaseTimeZone = node.getDatabaseTimeZone() == null ? DEFAULT_DB_TIME_ZONE : node.getDatabaseTimeZone();
+        String databaseTypeName = node.getDatabaseTypeName();
+        return this.executeWithResultCache(node, node.sqlQuery, node.sqlComment, node.connection, node.resultColumns, databaseTypeName, databaseTimeZone,
+                () -> new RelationalResult(executionState.activities, node, node.resultColumns, databaseTypeName, databaseTimeZone, getConnection(node, profiles, (RelationalStoreExecutionState) executionState.getStoreExecutionState(StoreType.Relational)), profiles, Lists.mutable.empty(), executionState.topSpan, executionState.getRequestContext(), executionState.logSQLWithParamValues()),
+                profiles, executionState);
+    }
+
+    private RelationalResult executeWithResultCache(ExecutionNode node, String sqlQuery, String sqlComment, DatabaseConnection databaseConnection, List<SQLResultColumn> resultColumns, String databaseType, String databaseTimeZone, Function0<RelationalResult> execution, MutableList<CommonProfile> profiles, ExecutionState executionState)
+    {
+        // no temp table to create, so the SQL can be processed before getting a connection
+        // the SQL is the key of the cache, so it keeps its values inlined
+        this.prepareForSQLExecution(sqlQuery, sqlComment, null, databaseTimeZone, databaseType, Lists.mutable.empty(), profiles, executionState, true, false);
+        RelationalResultCacheKey key;
+        try
+        {
+            key = new RelationalResultCacheKey(((RelationalExecutionActivity) executionState.activities.getLast()).sql, databaseType, databaseTimeZone,
+                    ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().writeValueAsString(databaseConnection),
+                    IdentityFactoryProvider.getInstance().makeIdentity(profiles).getName());
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new RuntimeException(e);
         }
+        return this.resultCache.execute(key, execution,
+                rows -> new RelationalResult(executionState.activities, node, databaseConnection, resultColumns, databaseType, databaseTimeZone, rows, executionState.topSpan, executionState.getRequestContext()));
     }
 
     public static Result evaluateAdditionalExtractors(MutableList<Function2<ExecutionState, List<Map<String, Object>>, Result>> resultInterpreterExtensions, ExecutionState executionState, List<Map<String, Object>> rowValueMaps)
@@ -237,7 +322,7 @@ public class RelationalExecutor
             span.log("Connection acquired");
         }
 
-        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseType, tempTableList, profiles, executionState, true);
+        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseType, tempTableList, profiles, executionState, true, this.useBindVariables());
         
         if (node.isResultVoid())
         {
@@ -261,12 +346,17 @@ public class RelationalExecutor
             span.log("Connection acquired");
         }
 
-        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseType, tempTableList, profiles, executionState, false);
+        this.prepareForSQLExecution(node.sqlQuery, node.sqlComment, connectionManagerConnection, databaseTimeZone, databaseType, tempTableList, profiles, executionState, false, false);
 
         return new SQLUpdateResult(executionState.activities, databaseType, connectionManagerConnection, profiles, tempTableList, executionState.getRequestContext());
     }
 
-    private void prepareForSQLExecution(String sqlQuery, String sqlComment, Connection connection, String databaseTimeZone, String databaseTypeName, List<String> tempTableList, MutableList<CommonProfile> profiles, ExecutionState executionState, boolean shouldLogSQL)
+    private boolean useBindVariables()
+    {
+        return this.relationalExecutionConfiguration != null && this.relationalExecutionConfiguration.useBindVariables();
+    }
+
+    private void prepareForSQLExecution(String sqlQuery, String sqlComment, Connection connection, String databaseTimeZone, String databaseTypeName, List<String> tempTableList, MutableList<CommonProfile> profiles, ExecutionState executionState, boolean shouldLogSQL, boolean useBindVariables)
     {
         DatabaseManager databaseManager = DatabaseManager.fromString(databaseTypeName);
         RelationalDatabaseCommands relationalDatabaseCommands = databaseManager.relationalDatabaseSupport();
@@ -308,10 +398,13 @@ public class RelationalExecutor
             throw new RuntimeException("Relational execution not supported on external server");
         }
 
+        SQLBindVariables bindVariables;
         try
         {
+            String sqlTemplate = sqlQuery;
             sqlComment = sqlComment != null ? FreeMarkerExecutor.process(sqlComment, executionState, databaseTypeName, databaseTimeZone) : null;
             sqlQuery = FreeMarkerExecutor.process(sqlQuery, executionState, databaseTypeName, databaseTimeZone);
+            bindVariables = useBindVariables ? SQLBindVariables.process(sqlTemplate, executionState, databaseTypeName, databaseTimeZone, sqlQuery) : null;
             Span span = GlobalTracer.get().activeSpan();
             if (span != null && shouldLogSQL && executionState.logSQLWithParamValues())
             {
@@ -328,7 +421,7 @@ public class RelationalExecutor
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_RELATIONAL_REPROCESS_SQL, "Reprocessing sql with vars " + executionState.getResults().keySet() + ": " + sqlQuery).toString());
         }
 
-        executionState.activities.add(new RelationalExecutionActivity(sqlQuery, sqlComment));
+        executionState.activities.add(bindVariables == null ? new RelationalExecutionActivity(sqlQuery, sqlComment) : new RelationalExecutionActivity(bindVariables.getSql(), sqlComment, bindVariables.getParameters()));
     }
 
     private void prepareTempTable(Connection connectionManagerConnection, StreamingResult res, String tempTableName, String databaseTypeName, String databaseTimeZone, List<String> tempTableList)
@@ -0,0 +1,177 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.engine.plan.execution.nodes.helpers.freemarker.FreeMarkerExecutor;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL of a plan where the String and Number parameter values are JDBC bind variables instead of inlined literals.
+ * <p>
+ * The SQL template is processed with a placeholder standing for each of these values, and each placeholder making a
+ * whole literal of the SQL is replaced by a bind variable. The SQL keeps its inlined literals when a value is used
+ * otherwise (within a larger literal, formatted by the template, or deciding what SQL the template produces).
+ */
+public class SQLBindVariables
+{
+    // characters of the private use area, which SQL does not contain
+    private static final char PLACEHOLDER_START = '\uE000';
+    private static final char PLACEHOLDER_END = '\uE001';
+    private static final Pattern PLACEHOLDER = Pattern.compile(PLACEHOLDER_START + "(\\d+)" + PLACEHOLDER_END);
+    private static final String NUMBER_LITERAL = "[-+0-9.eE]+";
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    private SQLBindVariables(String sql, List<Object> parameters)
+    {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    public String getSql()
+    {
+        return this.sql;
+    }
+
+    public List<Object> getParameters()
+    {
+        return this.parameters;
+    }
+
+    /**
+     * @param inlinedSql the SQL template processed with the values inlined, which the SQL with bind variables must match
+     * @return the SQL with bind variables, or null when it cannot have any
+     */
+    public static SQLBindVariables process(String sqlTemplate, ExecutionState executionState, String databaseType, String databaseTimeZone, String inlinedSql)
+    {
+        MutableList<Object> values = Lists.mutable.empty();
+        String processed;
+        try
+        {
+            processed = FreeMarkerExecutor.process(sqlTemplate, executionState, databaseType, databaseTimeZone, value ->
+            {
+                if ((value instanceof String && !((String) value).isEmpty()) || value instanceof Number)
+                {
+                    values.add(value);
+                    return PLACEHOLDER_START + String.valueOf(values.size() - 1) + PLACEHOLDER_END;
+                }
+                return null;
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // the template needs the actual values, to format numbers for instance
+            return null;
+        }
+
+        StringBuilder sql = new StringBuilder();
+        StringBuilder inlinedSqlPattern = new StringBuilder();
+        MutableList<Object> parameters = Lists.mutable.empty();
+        Matcher matcher = PLACEHOLDER.matcher(processed);
+        int end = 0;
+        while (matcher.find())
+        {
+            Object value = values.get(Integer.parseInt(matcher.group(1)));
+            boolean quoted = isQuote(processed, matcher.start() - 1) && !isQuote(processed, matcher.start() - 2) && isQuote(processed, matcher.end()) && !isQuote(processed, matcher.end() + 1);
+            int literalStart = quoted ? matcher.start() - 1 : matcher.start();
+            int literalEnd = quoted ? matcher.end() + 1 : matcher.end();
+            String text = processed.substring(end, literalStart);
+            // a placeholder within a larger string literal or quoted identifier, e.g. interval '${n} days', stays inlined
+            if (isWithinQuotes(text) || (!quoted && (!(value instanceof Number) || isLiteralPart(processed, literalStart - 1) || isLiteralPart(processed, literalEnd))))
+            {
+                return null;
+            }
+            sql.append(text).append('?');
+            // the inlined literal must be the bound value, and not a value transformed by the template ('${v?upper_case}')
+            inlinedSqlPattern.append(Pattern.quote(text)).append(quoted ? Pattern.quote("'" + value.toString().replace("'", "''") + "'") : NUMBER_LITERAL);
+            parameters.add(quoted ? value.toString() : value);
+            end = literalEnd;
+        }
+        if (parameters.isEmpty())
+        {
+            return null;
+        }
+        String text = processed.substring(end);
+        sql.append(text);
+        inlinedSqlPattern.append(Pattern.quote(text));
+
+        // the placeholders must not have led the template to other SQL than the values do
+        if (!Pattern.compile(inlinedSqlPattern.toString(), Pattern.DOTALL).matcher(inlinedSql).matches())
+        {
+            return null;
+        }
+        return new SQLBindVariables(sql.toString(), parameters);
+    }
+
+    public static void bind(PreparedStatement statement, List<Object> parameters) throws SQLException
+    {
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            Object parameter = parameters.get(i);
+            if (parameter instanceof String)
+            {
+                statement.setString(i + 1, (String) parameter);
+            }
+            else
+            {
+                statement.setObject(i + 1, parameter);
+            }
+        }
+    }
+
+    private static boolean isQuote(String text, int index)
+    {
+        return index >= 0 && index < text.length() && text.charAt(index) == '\'';
+    }
+
+    private static boolean isLiteralPart(String text, int index)
+    {
+        if (index < 0 || index >= text.length())
+        {
+            return false;
+        }
+        char c = text.charAt(index);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '\'' || c == '"';
+    }
+
+    // whether the SQL following the text is within a string literal or a quoted identifier, the text starting outside
+    private static boolean isWithinQuotes(String text)
+    {
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (quote == 0 && (c == '\'' || c == '"'))
+            {
+                quote = c;
+            }
+            else if (c == quote)
+            {
+                // a doubled quote escapes the quote, and leaves the literal open
+                quote = 0;
+            }
+        }
+        return quote != 0;
+    }
+}
@@ -14,10 +14,8 @@
 
 package org.finos.legend.engine.plan.execution.stores.relational;
 
-import com.google.common.collect.Iterators;
 import io.opentracing.Scope;
 import io.opentracing.util.GlobalTracer;
-import org.finos.legend.engine.plan.execution.result.ResultNormalizer;
 import org.finos.legend.engine.plan.execution.result.StreamingResult;
 import org.finos.legend.engine.plan.execution.result.builder.tds.TDSBuilder;
 import org.finos.legend.engine.plan.execution.result.object.StreamingObjectResult;
@@ -36,19 +34,16 @@ import org.finos.legend.engine.plan.execution.stores.relational.result.TempTable
 import org.finos.legend.engine.plan.execution.stores.relational.serialization.RealizedRelationalResultCSVSerializer;
 import org.finos.legend.engine.plan.execution.stores.relational.serialization.RelationalResultToCSVSerializer;
 import org.finos.legend.engine.plan.execution.stores.relational.serialization.StreamingTempTableResultCSVSerializer;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseType;
 import org.finos.legend.engine.shared.core.operational.logs.LogInfo;
 import org.finos.legend.engine.shared.core.operational.logs.LoggingEventType;
 import org.slf4j.Logger;
 
-import java.io.ByteArrayOutputStream;
 import java.sql.Connection;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class StreamResultToTempTableVisitor implements RelationalDatabaseCommandsVisitor<Boolean>
@@ -96,8 +91,13 @@ public class StreamResultToTempTableVisitor implements RelationalDatabaseCommand
         {
             ingestionMethod = h2Commands.getDefaultIngestionMethod();
         }
-        if (ingestionMethod == IngestionMethod.CLIENT_FILE)
+        if (ingestionMethod == IngestionMethod.STREAMING && (result instanceof RelationalResult || result instanceof RealizedRelationalResult))
         {
+            streamResultToH2TempTable(h2Commands);
+        }
+        else if (ingestionMethod == IngestionMethod.CLIENT_FILE || ingestionMethod == IngestionMethod.STREAMING)
+        {
+            // results of objects are still loaded through a file, their CSV serializers owning the conversion of their values
             try (TemporaryFile tempFile = new TemporaryFile(config.tempPath))
             {
                 CsvSerializer csvSerializer;
@@ -166,11 +166,46 @@ public class StreamResultToTempTableVisitor implements RelationalDatabaseCommand
         }
         else if (ingestionMethod == IngestionMethod.BATCH_INSERT)
         {
-            streamResultToNewTarget(((RelationalResult) result).resultSet, connection, tableName, 100);
+            batchInsertResult(h2Commands, DatabaseType.H2.name());
         }
         return true;
     }
 
+    private void streamResultToH2TempTable(H2Commands h2Commands)
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute(h2Commands.dropTempTable(tableName));
+            if (result instanceof RelationalResult)
+            {
+                RelationalResult relationalResult = (RelationalResult) result;
+                try
+                {
+                    List<Column> columns = result.getResultBuilder() instanceof TDSBuilder ?
+                            relationalResult.getTdsColumns().stream().map(c -> new Column(c.name, c.relationalType)).collect(Collectors.toList()) :
+                            relationalResult.getSQLResultColumns().stream().map(c -> new Column(c.label, c.dataType)).collect(Collectors.toList());
+                    h2Commands.createTempTable(tableName, columns).forEach(x -> checkedExecute(statement, x));
+                    newLoader(h2Commands, DatabaseType.H2.name(), columns).load(relationalResult.resultSet);
+                }
+                finally
+                {
+                    relationalResult.close();
+                }
+            }
+            else
+            {
+                RealizedRelationalResult realizedRelationalResult = (RealizedRelationalResult) result;
+                List<Column> columns = realizedRelationalResult.columns.stream().map(c -> new Column(c.label, c.dataType)).collect(Collectors.toList());
+                h2Commands.createTempTable(tableName, columns).forEach(x -> checkedExecute(statement, x));
+                newLoader(h2Commands, DatabaseType.H2.name(), columns).load(realizedRelationalResult.resultSetRows, this.databaseTimeZone);
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static boolean checkedExecute(Statement statement, String sql)
     {
         try (Scope ignored = GlobalTracer.get().buildSpan("temp table sql execution").withTag("sql", sql).startActive(true))
@@ -184,98 +219,43 @@ public class StreamResultToTempTableVisitor implements RelationalDatabaseCommand
         }
     }
 
-    private void streamResultToNewTarget(ResultSet source, Connection targetConnection, String targetTableName, int batchSize)
+    /**
+     * Inserts the rows of a relational result into an existing table, in batches of a prepared statement.
+     */
+    public void batchInsertResult(RelationalDatabaseCommands databaseCommands, String databaseType)
     {
-        byte[] b_leftParan = "(".getBytes();
-        byte[] b_rightParan = ")".getBytes();
-        byte[] b_comma = ",".getBytes();
-
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        final String insertPrefix = "INSERT INTO " + targetTableName + " VALUES  ";
-        boolean finalInsert = false;
         try
         {
-            int columnCount = source.getMetaData().getColumnCount();
-            try (Statement statement = targetConnection.createStatement())
+            if (result instanceof RelationalResult)
             {
-                while (source.next())
+                RelationalResult relationalResult = (RelationalResult) result;
+                try
                 {
-
-                    for (int i = 1; i <= batchSize; i++)
-                    {
-                        bos.write(b_leftParan);
-                        for (int c = 1; c <= columnCount; c++)
-                        {
-                            bos.write(parseObjectForInsert(source.getObject(c)).getBytes());
-                            if (c < columnCount)
-                            {
-                                bos.write(b_comma);
-                            }
-                        }
-                        bos.write(b_rightParan);
-
-                        if (!source.isLast() && i != batchSize)
-                        {
-                            bos.write(b_comma);
-                        }
-
-                        if (!source.isLast())
-                        {
-                            source.next();
-                        }
-                        else
-                        {
-                            finalInsert = true;
-                        }
-                    }
-                    statement.execute(insertPrefix + bos.toString());
-                    bos.reset();
+                    newLoader(databaseCommands, databaseType, relationalResult.getSQLResultColumns().stream().map(c -> new Column(c.label, c.dataType)).collect(Collectors.toList())).load(relationalResult.resultSet);
                 }
-                if (finalInsert)
+                finally
                 {
-                    statement.execute(insertPrefix + bos.toString());
+                    relationalResult.close();
                 }
             }
-            bos.close();
-
-        }
-        catch (Exception e)
-        {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private String parseObjectForInsert(Object value)
-    {  //TODO:: This probably doesn't work for complex types
-        return value instanceof CharSequence ? "'" + value.toString() + "'" : value.toString();
-    }
-
-    private void batchInsertRealizedRelationalResultToDB2TempTable(RealizedRelationalResult realizedRelationalResult, Statement statement, String targetTableName, int batchSize) throws SQLException
-    {
-        final String insertPrefix = "INSERT INTO " + targetTableName + " VALUES  ";
-        final Function<Object, String> normalizer = v ->
-        {
-            if (v == null)
+            else if (result instanceof RealizedRelationalResult)
             {
-                return "";
+                RealizedRelationalResult realizedRelationalResult = (RealizedRelationalResult) result;
+                newLoader(databaseCommands, databaseType, realizedRelationalResult.columns.stream().map(c -> new Column(c.label, c.dataType)).collect(Collectors.toList())).load(realizedRelationalResult.resultSetRows, this.databaseTimeZone);
             }
-            if (v instanceof Number)
+            else
             {
-                return (String) ResultNormalizer.normalizeToSql(v, this.databaseTimeZone);
+                throw new RuntimeException("Result not supported yet: " + result.getClass().getName());
             }
-            return "'" + ResultNormalizer.normalizeToSql(v, this.databaseTimeZone) + "'";
-        };
-
-        Iterator<List<List<Object>>> rowBatchIterator = Iterators.partition(realizedRelationalResult.resultSetRows.iterator(), batchSize);
-        while (rowBatchIterator.hasNext())
+        }
+        catch (SQLException e)
         {
-            String insertSql = rowBatchIterator.next()
-                    .stream()
-                    .map(row -> row.stream().map(normalizer).collect(Collectors.joining(",", "(", ")")))
-                    .collect(Collectors.joining(",", insertPrefix, ""));
-            statement.execute(insertSql);
+            throw new RuntimeException(e);
         }
     }
 
-
+    private TempTableStreamLoader newLoader(RelationalDatabaseCommands databaseCommands, String databaseType, List<Column> columns)
+    {
+        return new TempTableStreamLoader(connection, databaseType, tableName, columns.stream().map(c -> c.type).collect(Collectors.toList()), databaseCommands.getTempTableBatchSize());
+    }
 }
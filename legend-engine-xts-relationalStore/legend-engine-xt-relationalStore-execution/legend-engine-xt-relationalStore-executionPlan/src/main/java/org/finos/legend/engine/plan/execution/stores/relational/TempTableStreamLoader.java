@@ -0,0 +1,265 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational;
+
+import io.opentracing.Scope;
+import io.opentracing.util.GlobalTracer;
+import org.finos.legend.engine.plan.dependencies.domain.date.PureDate;
+import org.finos.legend.engine.plan.execution.result.ResultNormalizer;
+import org.finos.legend.engine.plan.execution.result.date.EngineDate;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Loads rows into an existing temporary table as they are read from the source, binding them into batches of a
+ * {@link PreparedStatement} instead of writing them to an intermediate file first or inlining them as SQL literals.
+ * Values are bound with the setter matching the type of their column, so that the statement is parsed once.
+ * <p>
+ * The number of rows and the throughput of each load are published through {@link MetricsHandler}.
+ */
+public class TempTableStreamLoader
+{
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final String databaseType;
+    private final String tableName;
+    private final int columnCount;
+    private final int[] sqlTypes;
+    private final int batchSize;
+
+    public TempTableStreamLoader(Connection connection, String databaseType, String tableName, List<String> columnTypes)
+    {
+        this(connection, databaseType, tableName, columnTypes, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param columnTypes relational types of the columns of the table, from which the values are bound
+     */
+    public TempTableStreamLoader(Connection connection, String databaseType, String tableName, List<String> columnTypes, int batchSize)
+    {
+        this.connection = connection;
+        this.databaseType = databaseType;
+        this.tableName = tableName;
+        this.columnCount = columnTypes.size();
+        this.sqlTypes = columnTypes.stream().mapToInt(TempTableStreamLoader::getSqlType).toArray();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads the remaining rows of the result set, leaving it open.
+     */
+    public long load(ResultSet resultSet) throws SQLException
+    {
+        return this.load(() ->
+        {
+            if (!resultSet.next())
+            {
+                return null;
+            }
+            Object[] row = new Object[this.columnCount];
+            for (int i = 0; i < this.columnCount; i++)
+            {
+                row[i] = resultSet.getObject(i + 1);
+            }
+            return row;
+        });
+    }
+
+    /**
+     * Loads rows of values, dates of the engine being rendered in the time zone of the database the way they would be in SQL.
+     */
+    public long load(List<List<Object>> rows, String databaseTimeZone) throws SQLException
+    {
+        Iterator<List<Object>> iterator = rows == null ? Collections.emptyIterator() : rows.iterator();
+        return this.load(() ->
+        {
+            if (!iterator.hasNext())
+            {
+                return null;
+            }
+            List<Object> values = iterator.next();
+            Object[] row = new Object[this.columnCount];
+            for (int i = 0; i < this.columnCount; i++)
+            {
+                Object value = values.get(i);
+                row[i] = (value instanceof PureDate || value instanceof EngineDate) ? ResultNormalizer.normalizeToSql(value, databaseTimeZone) : value;
+            }
+            return row;
+        });
+    }
+
+    private long load(RowSource source) throws SQLException
+    {
+        try (Scope scope = GlobalTracer.get().buildSpan("temp table streaming load").withTag("tempTableName", this.tableName).withTag("databaseType", this.databaseType).startActive(true);
+             PreparedStatement statement = this.connection.prepareStatement(this.insertSql()))
+        {
+            long start = System.nanoTime();
+            long rowCount = 0;
+            int batchedRows = 0;
+            Object[] row;
+            while ((row = source.next()) != null)
+            {
+                for (int i = 0; i < this.columnCount; i++)
+                {
+                    bind(statement, i + 1, this.sqlTypes[i], row[i]);
+                }
+                statement.addBatch();
+                rowCount++;
+                if (++batchedRows == this.batchSize)
+                {
+                    statement.executeBatch();
+                    batchedRows = 0;
+                }
+            }
+            if (batchedRows > 0)
+            {
+                statement.executeBatch();
+            }
+            scope.span().setTag("rowCount", rowCount);
+            MetricsHandler.observeTempTableLoad(this.databaseType, rowCount, System.nanoTime() - start);
+            return rowCount;
+        }
+    }
+
+    private String insertSql()
+    {
+        StringBuilder builder = new StringBuilder("INSERT INTO ").append(this.tableName).append(" VALUES (");
+        for (int i = 0; i < this.columnCount; i++)
+        {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.append(")").toString();
+    }
+
+    private static void bind(PreparedStatement statement, int index, int sqlType, Object value) throws SQLException
+    {
+        if (value == null)
+        {
+            statement.setNull(index, sqlType == Types.OTHER ? Types.NULL : sqlType);
+            return;
+        }
+        switch (sqlType)
+        {
+            case Types.BOOLEAN:
+                if (value instanceof Boolean)
+                {
+                    statement.setBoolean(index, (Boolean) value);
+                    return;
+                }
+                break;
+            case Types.BIGINT:
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                {
+                    statement.setLong(index, ((Number) value).longValue());
+                    return;
+                }
+                break;
+            case Types.DOUBLE:
+                if (value instanceof Double || value instanceof Float)
+                {
+                    statement.setDouble(index, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case Types.DECIMAL:
+                if (value instanceof BigDecimal)
+                {
+                    statement.setBigDecimal(index, (BigDecimal) value);
+                    return;
+                }
+                break;
+            case Types.VARCHAR:
+                if (value instanceof String)
+                {
+                    statement.setString(index, (String) value);
+                    return;
+                }
+                break;
+            case Types.DATE:
+                if (value instanceof Date)
+                {
+                    statement.setDate(index, (Date) value);
+                    return;
+                }
+                break;
+            case Types.TIMESTAMP:
+                if (value instanceof Timestamp)
+                {
+                    statement.setTimestamp(index, (Timestamp) value);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        // values not matching the type of their column, such as dates rendered as text, are converted by the driver
+        statement.setObject(index, value);
+    }
+
+    static int getSqlType(String columnType)
+    {
+        if (columnType == null)
+        {
+            return Types.OTHER;
+        }
+        String type = columnType.toUpperCase();
+        int parenthesis = type.indexOf('(');
+        switch ((parenthesis < 0 ? type : type.substring(0, parenthesis)).trim())
+        {
+            case "BIT":
+            case "BOOLEAN":
+                return Types.BOOLEAN;
+            case "TINYINT":
+            case "SMALLINT":
+            case "INT":
+            case "INTEGER":
+            case "BIGINT":
+                return Types.BIGINT;
+            case "REAL":
+            case "FLOAT":
+            case "DOUBLE":
+                return Types.DOUBLE;
+            case "DECIMAL":
+            case "NUMERIC":
+                return Types.DECIMAL;
+            case "CHAR":
+            case "VARCHAR":
+                return Types.VARCHAR;
+            case "DATE":
+                return Types.DATE;
+            case "TIMESTAMP":
+                return Types.TIMESTAMP;
+            default:
+                return Types.OTHER;
+        }
+    }
+
+    private interface RowSource
+    {
+        Object[] next() throws SQLException;
+    }
+}
@@ -14,16 +14,50 @@
 
 package org.finos.legend.engine.plan.execution.stores.relational.activity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
 
+import java.util.List;
+
 public class RelationalExecutionActivity extends ExecutionActivity
 {
     public String comment;
     public String sql;
+    // values of the bind variables of the sql, null when it has its values inlined
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<Object> parameters;
 
     public RelationalExecutionActivity(String sqlQuery, String sqlComment)
+    {
+        this(sqlQuery, sqlComment, null);
+    }
+
+    public RelationalExecutionActivity(String sqlQuery, String sqlComment, List<Object> parameters)
     {
         this.comment = sqlComment;
         this.sql = sqlQuery;
+        this.parameters = parameters;
+    }
+
+    /**
+     * The SQL to execute: the comment is kept out of SQL with bind variables, whose text has to be the same for every
+     * execution for the statement caches of the drivers and databases to be hit, while the comment changes with each
+     * execution.
+     */
+    @JsonIgnore
+    public String getExecutedSql()
+    {
+        return this.comment == null || this.parameters != null ? this.sql : this.comment.concat("\n").concat(this.sql);
+    }
+
+    /**
+     * The SQL logged, with its comment and the values of its bind variables.
+     */
+    @JsonIgnore
+    public String getLoggedSql()
+    {
+        String sql = this.comment == null ? this.sql : this.comment.concat("\n").concat(this.sql);
+        return this.parameters == null ? sql : sql + " with parameters " + this.parameters;
     }
 }
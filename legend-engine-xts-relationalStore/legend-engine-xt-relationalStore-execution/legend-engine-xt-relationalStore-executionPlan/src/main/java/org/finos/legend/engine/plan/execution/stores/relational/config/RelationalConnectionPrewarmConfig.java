@@ -0,0 +1,78 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseConnection;
+
+import java.util.List;
+
+/**
+ * Connection pools opened when the relational executor starts, rather than on their first request, and kept open by
+ * the connection state manager afterwards.
+ * <p>
+ * Pools are per identity: the identities here only have a name, so they match the pools of requests made without
+ * credentials. Pools of identities with credentials can be registered with
+ * {@link org.finos.legend.engine.plan.execution.stores.relational.connection.manager.ConnectionManagerSelector#addPoolToPrewarm}.
+ */
+public class RelationalConnectionPrewarmConfig
+{
+    @JsonProperty
+    private final List<Pool> pools;
+
+    public RelationalConnectionPrewarmConfig()
+    {
+        this(Lists.mutable.empty());
+    }
+
+    public RelationalConnectionPrewarmConfig(List<Pool> pools)
+    {
+        this.pools = pools;
+    }
+
+    public List<Pool> getPools()
+    {
+        return this.pools;
+    }
+
+    public static class Pool
+    {
+        @JsonProperty
+        private DatabaseConnection connection;
+        @JsonProperty
+        private String user;
+
+        public Pool()
+        {
+        }
+
+        public Pool(DatabaseConnection connection, String user)
+        {
+            this.connection = connection;
+            this.user = user;
+        }
+
+        public DatabaseConnection getConnection()
+        {
+            return this.connection;
+        }
+
+        public String getUser()
+        {
+            return this.user;
+        }
+    }
+}
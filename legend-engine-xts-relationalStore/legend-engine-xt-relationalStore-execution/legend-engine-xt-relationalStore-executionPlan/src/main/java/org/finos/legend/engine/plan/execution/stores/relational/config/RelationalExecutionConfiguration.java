@@ -37,6 +37,14 @@ public class RelationalExecutionConfiguration implements StoreExecutorConfigurat
     private CredentialProviderProvider credentialProviderProvider;
     @JsonProperty
     private RelationalGraphFetchExecutionConfig relationalGraphFetchExecutionConfig;
+    @JsonProperty
+    private RelationalResultCacheConfig resultCacheConfig;
+    @JsonProperty
+    private RelationalResultPrefetchConfig resultPrefetchConfig;
+    @JsonProperty
+    private boolean bindVariables;
+    @JsonProperty
+    private RelationalConnectionPrewarmConfig connectionPrewarmConfig;
     private ConnectionFactory connectionFactory;
     private List<HACKY__RelationalDatabaseConnectionAdapter> relationalDatabaseConnectionAdapters = Lists.mutable.empty();
 
@@ -120,6 +128,30 @@ public class RelationalExecutionConfiguration implements StoreExecutorConfigurat
         return this.relationalGraphFetchExecutionConfig;
     }
 
+    public RelationalResultCacheConfig getResultCacheConfig()
+    {
+        return this.resultCacheConfig;
+    }
+
+    public RelationalResultPrefetchConfig getResultPrefetchConfig()
+    {
+        return this.resultPrefetchConfig;
+    }
+
+    /**
+     * Whether the String and Number parameters of the SQL are sent as bind variables of prepared statements, rather
+     * than inlined as literals, so that databases can reuse the statements they parsed.
+     */
+    public boolean useBindVariables()
+    {
+        return this.bindVariables;
+    }
+
+    public RelationalConnectionPrewarmConfig getConnectionPrewarmConfig()
+    {
+        return this.connectionPrewarmConfig;
+    }
+
     public static class Builder
     {
         public String tempPath;
@@ -129,6 +161,10 @@ public class RelationalExecutionConfiguration implements StoreExecutorConfigurat
         private TemporaryTestDbConfiguration temporaryTestDbConfiguration;
         private CredentialProviderProvider credentialProviderProvider;
         private RelationalGraphFetchExecutionConfig relationalGraphFetchExecutionConfig;
+        private RelationalResultCacheConfig resultCacheConfig;
+        private RelationalResultPrefetchConfig resultPrefetchConfig;
+        private boolean bindVariables;
+        private RelationalConnectionPrewarmConfig connectionPrewarmConfig;
         private ConnectionFactory connectionFactory;
         private final List<HACKY__RelationalDatabaseConnectionAdapter> relationalDatabaseConnectionAdapters = Lists.mutable.empty();
 
@@ -177,6 +213,30 @@ public class RelationalExecutionConfiguration implements StoreExecutorConfigurat
             return this;
         }
 
+        public Builder withResultCacheConfig(RelationalResultCacheConfig config)
+        {
+            this.resultCacheConfig = config;
+            return this;
+        }
+
+        public Builder withResultPrefetchConfig(RelationalResultPrefetchConfig config)
+        {
+            this.resultPrefetchConfig = config;
+            return this;
+        }
+
+        public Builder withBindVariables(boolean bindVariables)
+        {
+            this.bindVariables = bindVariables;
+            return this;
+        }
+
+        public Builder withConnectionPrewarmConfig(RelationalConnectionPrewarmConfig config)
+        {
+            this.connectionPrewarmConfig = config;
+            return this;
+        }
+
         public Builder withConnectionFactory(ConnectionFactory connectionFactory)
         {
             this.connectionFactory = connectionFactory;
@@ -199,6 +259,10 @@ public class RelationalExecutionConfiguration implements StoreExecutorConfigurat
             relationalExecutionConfiguration.temporarytestdb = this.temporaryTestDbConfiguration;
             relationalExecutionConfiguration.credentialProviderProvider = credentialProviderProvider;
             relationalExecutionConfiguration.relationalGraphFetchExecutionConfig = relationalGraphFetchExecutionConfig;
+            relationalExecutionConfiguration.resultCacheConfig = resultCacheConfig;
+            relationalExecutionConfiguration.resultPrefetchConfig = resultPrefetchConfig;
+            relationalExecutionConfiguration.bindVariables = bindVariables;
+            relationalExecutionConfiguration.connectionPrewarmConfig = connectionPrewarmConfig;
             relationalExecutionConfiguration.connectionFactory = connectionFactory;
             relationalExecutionConfiguration.relationalDatabaseConnectionAdapters = relationalDatabaseConnectionAdapters;
             return relationalExecutionConfiguration;
@@ -0,0 +1,61 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configuration of the cache of TDS results: results are only cached when this configuration is present.
+ */
+public class RelationalResultCacheConfig
+{
+    public static final long DEFAULT_TIME_TO_LIVE_IN_SECONDS = 60;
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_ROWS_PER_RESULT = 10_000;
+
+    @JsonProperty
+    private final long timeToLiveInSeconds;
+    @JsonProperty
+    private final long maxSizeInBytes;
+    @JsonProperty
+    private final int maxRowsPerResult;
+
+    public RelationalResultCacheConfig()
+    {
+        this(DEFAULT_TIME_TO_LIVE_IN_SECONDS, DEFAULT_MAX_SIZE_IN_BYTES, DEFAULT_MAX_ROWS_PER_RESULT);
+    }
+
+    public RelationalResultCacheConfig(long timeToLiveInSeconds, long maxSizeInBytes, int maxRowsPerResult)
+    {
+        this.timeToLiveInSeconds = timeToLiveInSeconds;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxRowsPerResult = maxRowsPerResult;
+    }
+
+    public long getTimeToLiveInSeconds()
+    {
+        return timeToLiveInSeconds;
+    }
+
+    public long getMaxSizeInBytes()
+    {
+        return maxSizeInBytes;
+    }
+
+    public int getMaxRowsPerResult()
+    {
+        return maxRowsPerResult;
+    }
+}
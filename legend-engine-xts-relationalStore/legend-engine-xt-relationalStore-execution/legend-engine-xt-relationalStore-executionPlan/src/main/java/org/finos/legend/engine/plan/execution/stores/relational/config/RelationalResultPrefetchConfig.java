@@ -0,0 +1,53 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configuration of the prefetching of streamed results: rows are only read ahead on a background thread while the
+ * result is serialized when this configuration is present.
+ */
+public class RelationalResultPrefetchConfig
+{
+    public static final int DEFAULT_BUFFER_SIZE_IN_ROWS = 10_000;
+    public static final int DEFAULT_TARGET_FETCH_SIZE_IN_BYTES = 1024 * 1024;
+
+    @JsonProperty
+    private final int bufferSizeInRows;
+    @JsonProperty
+    private final int targetFetchSizeInBytes;
+
+    public RelationalResultPrefetchConfig()
+    {
+        this(DEFAULT_BUFFER_SIZE_IN_ROWS, DEFAULT_TARGET_FETCH_SIZE_IN_BYTES);
+    }
+
+    public RelationalResultPrefetchConfig(int bufferSizeInRows, int targetFetchSizeInBytes)
+    {
+        this.bufferSizeInRows = bufferSizeInRows;
+        this.targetFetchSizeInBytes = targetFetchSizeInBytes;
+    }
+
+    public int getBufferSizeInRows()
+    {
+        return bufferSizeInRows;
+    }
+
+    public int getTargetFetchSizeInBytes()
+    {
+        return targetFetchSizeInBytes;
+    }
+}
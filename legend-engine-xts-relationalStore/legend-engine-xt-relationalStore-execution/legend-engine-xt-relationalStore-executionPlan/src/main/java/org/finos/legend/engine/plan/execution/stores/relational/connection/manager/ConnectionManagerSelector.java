@@ -26,6 +26,7 @@ import org.finos.legend.engine.plan.execution.stores.relational.config.Temporary
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ConnectionKey;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.authentication.strategy.OAuthProfile;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.DataSourceSpecification;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.ds.state.ConnectionStateManager;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.manager.strategic.RelationalConnectionManager;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseConnection;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseType;
@@ -176,6 +177,21 @@ public class ConnectionManagerSelector
         return datasource.getConnectionUsingIdentity(identity, Optional.empty());
     }
 
+    /**
+     * Registers the pool of the identity for the database connection to be opened ahead of its first request (see
+     * {@link ConnectionStateManager#addPoolToPrewarm}).
+     *
+     * @return the name of the pool
+     */
+    public String addPoolToPrewarm(Identity identity, DatabaseConnection databaseConnection)
+    {
+        DataSourceSpecification datasource = getDataSourceSpecification(databaseConnection);
+        ConnectionStateManager connectionStateManager = ConnectionStateManager.getInstance();
+        String poolName = connectionStateManager.poolNameFor(identity, datasource.getConnectionKey());
+        connectionStateManager.addPoolToPrewarm(poolName, () -> this.getDatabaseConnectionImpl(identity, databaseConnection, datasource, StoreExecutionState.emptyRuntimeContext()));
+        return poolName;
+    }
+
     public ConnectionKey generateKeyFromDatabaseConnection(DatabaseConnection databaseConnection)
     {
         ConnectionKey key = this.connectionManagers.collect(c -> c.generateKeyFromDatabaseConnection(databaseConnection)).detect(Objects::nonNull);
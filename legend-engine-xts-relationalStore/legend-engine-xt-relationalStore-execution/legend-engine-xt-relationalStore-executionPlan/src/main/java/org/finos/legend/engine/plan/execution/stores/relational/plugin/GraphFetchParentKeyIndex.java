@@ -0,0 +1,261 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.plugin;
+
+import org.finos.legend.engine.plan.execution.stores.relational.result.SQLExecutionResult;
+import org.finos.legend.engine.shared.core.collectionsExtensions.DoubleStrategyHashMap;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the parents of a graph fetch by the values of their keys in the result of a child query, matching each child
+ * row to its parents without allocating a key for the row.
+ * <p>
+ * When the key columns of the child result are all integers or strings, the keys of the parents are stored in the
+ * primitive arrays of an open-addressing table, which is probed with the values read from the current row of the result
+ * set. Other keys, as well as parents missing a key value, are looked up in the {@link DoubleStrategyHashMap} of the
+ * parents instead.
+ * <p>
+ * The index is used by the thread reading the child result only.
+ */
+final class GraphFetchParentKeyIndex<V>
+{
+    private final DoubleStrategyHashMap<Object, V, SQLExecutionResult> parentMap;
+    private final int[] keyIndices;
+    private final boolean[] longKeys;
+
+    // open-addressing table, a slot being used when it has a value
+    private final int mask;
+    private long[][] longTable;
+    private String[][] stringTable;
+    private Object[] values;
+
+    // values of the row being looked up
+    private final long[] rowLongs;
+    private final String[] rowStrings;
+
+    /**
+     * @param keyIndices     indices of the parent key columns in the child result set, in the order of the key getters
+     * @param keyColumnTypes {@link Types} of these columns
+     */
+    GraphFetchParentKeyIndex(DoubleStrategyHashMap<Object, V, SQLExecutionResult> parentMap, List<Method> keyGetters, List<Integer> keyIndices, int[] keyColumnTypes)
+    {
+        int keyCount = keyIndices.size();
+        this.parentMap = parentMap;
+        this.keyIndices = keyIndices.stream().mapToInt(Integer::intValue).toArray();
+        this.longKeys = new boolean[keyCount];
+        this.rowLongs = new long[keyCount];
+        this.rowStrings = new String[keyCount];
+
+        boolean primitive = keyCount > 0 && keyCount == keyGetters.size();
+        for (int i = 0; primitive && i < keyCount; i++)
+        {
+            this.longKeys[i] = isLongType(keyColumnTypes[i]);
+            primitive = this.longKeys[i] || isStringType(keyColumnTypes[i]);
+        }
+
+        int capacity = 2;
+        while (capacity * 3 < parentMap.size() * 4)
+        {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        if (primitive)
+        {
+            this.longTable = new long[keyCount][];
+            this.stringTable = new String[keyCount][];
+            for (int i = 0; i < keyCount; i++)
+            {
+                if (this.longKeys[i])
+                {
+                    this.longTable[i] = new long[capacity];
+                }
+                else
+                {
+                    this.stringTable[i] = new String[capacity];
+                }
+            }
+            this.values = new Object[capacity];
+            if (!this.putAll(keyGetters))
+            {
+                this.longTable = null;
+                this.stringTable = null;
+                this.values = null;
+            }
+        }
+    }
+
+    static <V> GraphFetchParentKeyIndex<V> forChildResult(DoubleStrategyHashMap<Object, V, SQLExecutionResult> parentMap, List<Method> keyGetters, SQLExecutionResult childResult, List<Integer> keyIndices)
+    {
+        int[] keyColumnTypes = keyIndices.stream().mapToInt(index -> childResult.getResultColumns().get(index - 1).getDbMetaDataType()).toArray();
+        return new GraphFetchParentKeyIndex<>(parentMap, keyGetters, keyIndices, keyColumnTypes);
+    }
+
+    boolean isPrimitive()
+    {
+        return this.values != null;
+    }
+
+    /**
+     * @return the value of the parent whose keys match the current row of the child result, or null when there is none
+     */
+    V get(SQLExecutionResult childResult)
+    {
+        return this.isPrimitive() ? this.get(childResult.getResultSet()) : this.parentMap.getWithSecondKey(childResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(ResultSet resultSet)
+    {
+        try
+        {
+            int hash = 0;
+            for (int i = 0; i < this.keyIndices.length; i++)
+            {
+                if (this.longKeys[i])
+                {
+                    long value = resultSet.getLong(this.keyIndices[i]);
+                    if (resultSet.wasNull())
+                    {
+                        return null;
+                    }
+                    this.rowLongs[i] = value;
+                    hash = combine(hash, Long.hashCode(value));
+                }
+                else
+                {
+                    String value = resultSet.getString(this.keyIndices[i]);
+                    if (value == null)
+                    {
+                        return null;
+                    }
+                    this.rowStrings[i] = value;
+                    hash = combine(hash, value.hashCode());
+                }
+            }
+            for (int slot = hash & this.mask; this.values[slot] != null; slot = (slot + 1) & this.mask)
+            {
+                if (this.rowMatches(slot))
+                {
+                    return (V) this.values[slot];
+                }
+            }
+            return null;
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return false when a parent has a key value which does not fit in the table
+     */
+    private boolean putAll(List<Method> keyGetters)
+    {
+        try
+        {
+            for (Map.Entry<Object, V> entry : this.parentMap.entrySet())
+            {
+                Object parent = RelationalGraphFetchUtils.resolveValueIfIChecked(entry.getKey());
+                int hash = 0;
+                for (int i = 0; i < this.keyIndices.length; i++)
+                {
+                    Object value = keyGetters.get(i).invoke(parent);
+                    if (this.longKeys[i] ? !(value instanceof Long) : !(value instanceof String))
+                    {
+                        return false;
+                    }
+                    if (this.longKeys[i])
+                    {
+                        this.rowLongs[i] = (Long) value;
+                    }
+                    else
+                    {
+                        this.rowStrings[i] = (String) value;
+                    }
+                    hash = combine(hash, value.hashCode());
+                }
+                this.putRow(hash, entry.getValue());
+            }
+            return true;
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void putRow(int hash, V value)
+    {
+        int slot = hash & this.mask;
+        while (this.values[slot] != null)
+        {
+            if (this.rowMatches(slot))
+            {
+                // parents are unique by their keys already
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        for (int i = 0; i < this.keyIndices.length; i++)
+        {
+            if (this.longKeys[i])
+            {
+                this.longTable[i][slot] = this.rowLongs[i];
+            }
+            else
+            {
+                this.stringTable[i][slot] = this.rowStrings[i];
+            }
+        }
+        this.values[slot] = value;
+    }
+
+    private boolean rowMatches(int slot)
+    {
+        for (int i = 0; i < this.keyIndices.length; i++)
+        {
+            if (this.longKeys[i] ? this.longTable[i][slot] != this.rowLongs[i] : !this.stringTable[i][slot].equals(this.rowStrings[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // mixes the hash of each key value, so that the keys made of small values spread over the whole table
+    private static int combine(int hash, int valueHash)
+    {
+        int h = (hash ^ valueHash) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // the column types whose values ResultColumn transforms into a Long or a String
+    private static boolean isLongType(int type)
+    {
+        return type == Types.TINYINT || type == Types.SMALLINT || type == Types.INTEGER || type == Types.BIGINT;
+    }
+
+    private static boolean isStringType(int type)
+    {
+        return type == Types.CHAR || type == Types.VARCHAR || type == Types.LONGVARCHAR || type == Types.NCHAR || type == Types.NVARCHAR || type == Types.LONGNVARCHAR || type == Types.OTHER;
+    }
+}
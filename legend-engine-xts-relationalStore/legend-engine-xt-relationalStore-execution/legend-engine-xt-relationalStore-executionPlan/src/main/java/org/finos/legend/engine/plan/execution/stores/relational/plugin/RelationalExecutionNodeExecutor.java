@@ -380,6 +380,19 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
         else if (executionNode instanceof RelationalTdsInstantiationExecutionNode)
         {
             RelationalTdsInstantiationExecutionNode relationalTdsInstantiationExecutionNode = (RelationalTdsInstantiationExecutionNode) executionNode;
+            RelationalExecutor relationalExecutor = ((RelationalStoreExecutionState) executionState.getStoreExecutionState(StoreType.Relational)).getRelationalExecutor();
+            SQLExecutionNode sqlExecutionNode = (SQLExecutionNode) relationalTdsInstantiationExecutionNode.executionNodes.get(0);
+            if (relationalExecutor.isResultCacheable(relationalTdsInstantiationExecutionNode, sqlExecutionNode.sqlQuery, this.executionState))
+            {
+                this.executionState.topSpan = GlobalTracer.get().activeSpan();
+                try (Scope scope = GlobalTracer.get().buildSpan("Relational DB Execution").startActive(true))
+                {
+                    scope.span().setTag("databaseType", sqlExecutionNode.getDatabaseTypeName());
+                    scope.span().setTag("executionTraceID", this.executionState.execID);
+                    scope.span().setTag("sql", sqlExecutionNode.sqlQuery());
+                    return relationalExecutor.executeWithResultCache(relationalTdsInstantiationExecutionNode, this.profiles, this.executionState);
+                }
+            }
             SQLExecutionResult sqlExecutionResult = null;
             try
             {
@@ -405,6 +418,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                     }
                 }
 
+                relationalTdsResult.setPrefetchConfig(relationalExecutor.getRelationalExecutionConfiguration().getResultPrefetchConfig());
                 return relationalTdsResult;
             }
             catch (Exception e)
@@ -639,7 +653,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                             graphExecutionState.addObjectMemoryUtilization(rootGraphInstance.instanceSize());
                             if (childrenExist)
                             {
-                                this.addKeyRowToRealizedRelationalResult(rootObject, primaryKeyGetters, realizedRelationalResult);
+                                graphExecutionState.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(rootObject, primaryKeyGetters, realizedRelationalResult));
                             }
                         }
 
@@ -717,7 +731,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
 
                         for (Object parentObject : parentObjects)
                         {
-                            this.addKeyRowToRealizedRelationalResult(parentObject, crossKeyGetters, parentRealizedRelationalResult);
+                            graphExecutionState.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(parentObject, crossKeyGetters, parentRealizedRelationalResult));
                         }
                         graphExecutionState.addResult(parentTempTableName, parentRealizedRelationalResult);
 
@@ -760,6 +774,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                                 mapped.add(parentObject);
                             }
                         }
+                        GraphFetchParentKeyIndex<List<Object>> parentKeyIndex = GraphFetchParentKeyIndex.forChildResult(parentMap, crossKeyGetters, childResult, parentCrossKeyIndices);
 
                         List<Method> primaryKeyGetters = executor.primaryKeyGetters();
                         final int primaryKeyCount = primaryKeyGetters.size();
@@ -768,7 +783,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                         while (childResultSet.next())
                         {
                             graphExecutionState.incrementRowCount();
-                            List<Object> parents = parentMap.getWithSecondKey(childResult);
+                            List<Object> parents = parentKeyIndex.get(childResult);
                             if (parents == null)
                             {
                                 throw new RuntimeException("No parent");
@@ -784,7 +799,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                                 graphExecutionState.addObjectMemoryUtilization(childGraphInstance.instanceSize());
                                 if (childrenExist)
                                 {
-                                    this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult);
+                                    graphExecutionState.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult));
                                 }
                             }
 
@@ -973,7 +988,10 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
         state.addResult(key, new ConstantResult(result));
     }
 
-    private void addKeyRowToRealizedRelationalResult(Object obj, List<Method> keyGetters, RealizedRelationalResult realizedRelationalResult) throws InvocationTargetException, IllegalAccessException
+    /**
+     * Adds the key row and returns the memory it takes, which counts towards the graph fetch batch memory
+     */
+    private long addKeyRowToRealizedRelationalResult(Object obj, List<Method> keyGetters, RealizedRelationalResult realizedRelationalResult) throws InvocationTargetException, IllegalAccessException
     {
         int keyCount = keyGetters.size();
         List<Object> pkRowTransformed = FastList.newList(keyCount);
@@ -986,7 +1004,9 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
             pkRowNormalized.add(key);
         }
 
+        long memoryBefore = realizedRelationalResult.getEstimatedMemoryUtilization();
         realizedRelationalResult.addRow(pkRowNormalized, pkRowTransformed);
+        return realizedRelationalResult.getEstimatedMemoryUtilization() - memoryBefore;
     }
 
     private Class<?> getExecuteClass(ExecutionNode node)
@@ -1260,6 +1280,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                     parentPrimaryKeyIndices.add(childResult.getResultSet().findColumn(pkCol));
                 }
                 RelationalGraphFetchUtils.switchSecondKeyHashingStrategy(parentMap, parentKeyGetters, parentPrimaryKeyIndices);
+                GraphFetchParentKeyIndex<Object> parentKeyIndex = GraphFetchParentKeyIndex.forChildResult(parentMap, parentKeyGetters, childResult, parentPrimaryKeyIndices);
                 String databaseConnectionString = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().writeValueAsString(childResult.getSQLExecutionNode().connection);
 
                 if (nonPrimitiveNode)
@@ -1285,7 +1306,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                         while (childResultSet.next())
                         {
                             graphExecutionState.incrementRowCount();
-                            Object parent = parentMap.getWithSecondKey(childResult);
+                            Object parent = parentKeyIndex.get(childResult);
                             if (parent == null)
                             {
                                 throw new RuntimeException("No parent");
@@ -1301,7 +1322,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                                 childObjects.add(mapObject);
                                 if (childrenExist)
                                 {
-                                    this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult);
+                                    graphExecutionState.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult));
                                 }
                             }
 
@@ -1322,7 +1343,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                     ResultSet childResultSet = childResult.getResultSet();
                     while (childResultSet.next())
                     {
-                        Object parent = parentMap.getWithSecondKey(childResult);
+                        Object parent = parentKeyIndex.get(childResult);
                         if (parent == null)
                         {
                             throw new RuntimeException("No parent");
@@ -1424,6 +1445,8 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                         List<Pair<IGraphInstance<? extends IReferencedObject>, ExecutionCache<GraphFetchCacheKey, Object>>> instancesToDeepFetchAndCache = new ArrayList<>();
                         // stores a list of concrete objects you want to fetch. cache in case multiple parents map to the same child.
                         int objectCount = 0;
+                        long batchStart = System.nanoTime();
+                        long childrenNanos = 0;
                         while ((!rootResultSet.isClosed()) && rootResultSet.next())
                         {
                             relationalGraphObjectsBatch.incrementRowCount();
@@ -1473,7 +1496,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                                 relationalGraphObjectsBatch.addObjectMemoryUtilization(rootGraphInstance.instanceSize());
                                 if (!isLeaf) // objects which aren't fetched completely and need to be added in a temp table
                                 {
-                                    RelationalExecutionNodeExecutor.this.addKeyRowToRealizedRelationalResult(rootObject, primaryKeyGetters, realizedRelationalResult);
+                                    relationalGraphObjectsBatch.addObjectMemoryUtilization(RelationalExecutionNodeExecutor.this.addKeyRowToRealizedRelationalResult(rootObject, primaryKeyGetters, realizedRelationalResult));
                                 }
                             }
 
@@ -1481,7 +1504,9 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                             if (!isLeaf)
                             {
                                 executionState.graphObjectsBatch = relationalGraphObjectsBatch;
+                                long childrenStart = System.nanoTime();
                                 RelationalExecutionNodeExecutor.this.executeRootTempTableNodeChildren(node, realizedRelationalResult, databaseConnection, sqlExecutionResult.getDatabaseType(), sqlExecutionResult.getDatabaseTimeZone(), rootMap, primaryKeyGetters);
+                                childrenNanos = System.nanoTime() - childrenStart;
                             }
                         }
 
@@ -1491,7 +1516,15 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                             x.getTwo().put(new RelationalGraphFetchUtils.RelationalObjectGraphFetchCacheKey(object, primaryKeyGetters), object);
                         });
 
+                        long rootQueryNanos = System.nanoTime() - batchStart - childrenNanos;
+                        long serializationStart = System.nanoTime();
                         action.accept(relationalGraphObjectsBatch);
+                        long serializationNanos = System.nanoTime() - serializationStart;
+
+                        if (useAdaptiveBatching)
+                        {
+                            AdaptiveBatching.recordBatchLatency(executionState, batchSize, objectCount, System.nanoTime() - batchStart, rootQueryNanos, relationalGraphObjectsBatch.getTempTableLoadNanos(), childrenNanos, serializationNanos);
+                        }
 
                         return !resultObjects.isEmpty();
                     }
@@ -1556,8 +1589,8 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
 
             nodeSpecifics = ExecutionNodeJavaPlatformHelper.getNodeSpecificsInstance(node, this.executionState, this.profiles); // pass state to determine which java compiler to use. okay to use thread state.
             DatabaseConnection databaseConnection = childSqlResult.getSQLExecutionNode().connection;
-            DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap = switchedParentHashMapPerChildResult(
-                    relationalGraphObjectsBatch, node.parentIndex, childResultSet,
+            GraphFetchParentKeyIndex<Object> parentKeyIndex = parentKeyIndexPerChildResult(
+                    relationalGraphObjectsBatch, node.parentIndex, childSqlResult,
                     () -> nodeSpecifics.parentPrimaryKeyColumns(childSqlResult.getResultColumns().stream().map(ResultColumn::getNonQuotedLabel).collect(Collectors.toList())),
                     databaseConnection
             );
@@ -1567,7 +1600,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
 
             while (childResultSet.next())
             {
-                Object parent = parentMap.getWithSecondKey(childSqlResult);
+                Object parent = parentKeyIndex.get(childSqlResult);
                 if (parent == null)
                 {
                     throw new RuntimeException("Cannot find the parent for child");
@@ -1653,8 +1686,8 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
             boolean cachingEnabledForNode = this.checkForCachingAndPopulateCachingHelpers(allInstanceSetImplementations, nodeSpecifics.supportsCaching(), node.graphFetchTree, childSqlResult, nodeSpecifics::primaryKeyColumns, multiSetCache);
 
             RelationalGraphObjectsBatch relationalGraphObjectsBatch = (RelationalGraphObjectsBatch) this.executionState.graphObjectsBatch;
-            DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap = switchedParentHashMapPerChildResult(
-                    relationalGraphObjectsBatch, node.parentIndex, childResultSet,
+            GraphFetchParentKeyIndex<Object> parentKeyIndex = parentKeyIndexPerChildResult(
+                    relationalGraphObjectsBatch, node.parentIndex, childSqlResult,
                     () -> nodeSpecifics.parentPrimaryKeyColumns(childSqlResult.getResultColumns().stream().map(ResultColumn::getNonQuotedLabel).collect(Collectors.toList())),
                     databaseConnection
             ); // child to parent map.
@@ -1686,7 +1719,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                         childInstancesToDeepFetchAndCache.add(Tuples.pair(wrappedObject, multiSetCache.setCaches.get(setIndex)));
                         if (!isLeaf)
                         {
-                            this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult);
+                            relationalGraphObjectsBatch.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult));
                         }
 
                         relationalGraphObjectsBatch.incrementRowCount();
@@ -1703,7 +1736,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                 }
                 childObjects.add(child);
 
-                Object parent = parentMap.getWithSecondKey(childSqlResult);
+                Object parent = parentKeyIndex.get(childSqlResult);
                 if (parent == null)
                 {
                     throw new RuntimeException("Cannot find the parent for child");
@@ -1793,7 +1826,9 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                 {
                     if (!tempTableCreatedInParentConnection)
                     {
+                        long tempTableStart = System.nanoTime();
                         createTempTableForChild(node, realizedRelationalResult, databaseConnection, databaseType, databaseTimeZone, this.executionState, this.profiles);
+                        relationalGraphObjectsBatch.addTempTableLoadNanos(System.nanoTime() - tempTableStart);
                         tempTableCreatedInParentConnection = true;
                     }
                     DelayedGraphFetchResult res = (DelayedGraphFetchResult) child.accept(new ExecutionNodeExecutor(this.profiles, this.executionState));
@@ -1890,7 +1925,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
 
                     for (Object parentObject : parentsToDeepFetch)
                     {
-                        this.addKeyRowToRealizedRelationalResult(parentObject, crossKeyGetters, parentRealizedRelationalResult);
+                        relationalGraphObjectsBatch.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(parentObject, crossKeyGetters, parentRealizedRelationalResult));
                         parentToChildMap.put(parentObject, new ArrayList<>());
                     }
 
@@ -1961,6 +1996,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                             RelationalGraphFetchUtils.objectSQLResultDoubleHashStrategy(crossKeyGetters, parentCrossKeyIndices)
                     );
                     parentsToDeepFetch.forEach((o) -> parentMap.getIfAbsentPut(o, ArrayList::new).add(o));
+                    GraphFetchParentKeyIndex<List<Object>> parentKeyIndex = GraphFetchParentKeyIndex.forChildResult(parentMap, crossKeyGetters, childSqlResult, parentCrossKeyIndices);
 
                     RealizedRelationalResult realizedRelationalResult = RealizedRelationalResult.emptyRealizedRelationalResult(node.columns);
 
@@ -1976,7 +2012,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                     {
                         relationalGraphObjectsBatch.incrementRowCount();
 
-                        List<Object> parents = parentMap.getWithSecondKey(childSqlResult);
+                        List<Object> parents = parentKeyIndex.get(childSqlResult);
                         if (parents == null)
                         {
                             throw new RuntimeException("Cannot find the parent for child");
@@ -1992,7 +2028,7 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
                             relationalGraphObjectsBatch.addObjectMemoryUtilization(childGraphInstance.instanceSize());
                             if (!isLeaf)
                             {
-                                this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult);
+                                relationalGraphObjectsBatch.addObjectMemoryUtilization(this.addKeyRowToRealizedRelationalResult(child, primaryKeyGetters, realizedRelationalResult));
                             }
                         }
 
@@ -2124,7 +2160,9 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
             relationalStoreExecutionStateForThread.setBlockConnectionContext(new BlockConnectionContext());
             relationalStoreExecutionStateForThread.setRetainConnection(true);
 
+            long tempTableStart = System.nanoTime();
             createTempTableForChild(node, realizedRelationalResult, databaseConnection, databaseType, databaseTimeZone, executionStateForThread, this.profiles);
+            relationalGraphObjectsBatch.addTempTableLoadNanos(System.nanoTime() - tempTableStart);
 
             return (DelayedGraphFetchResult) child.accept(new ExecutionNodeExecutor(this.profiles, executionStateForThread));
         }
@@ -2168,13 +2206,14 @@ public class RelationalExecutionNodeExecutor implements ExecutionNodeVisitor<Res
         }
     }
 
-    private static DoubleStrategyHashMap<Object, Object, SQLExecutionResult> switchedParentHashMapPerChildResult(RelationalGraphObjectsBatch relationalGraphObjectsBatch, int parentIndex, ResultSet childResultSet, Supplier<List<String>> parentPrimaryKeyColumnsSupplier, DatabaseConnection databaseConnection)
+    private static GraphFetchParentKeyIndex<Object> parentKeyIndexPerChildResult(RelationalGraphObjectsBatch relationalGraphObjectsBatch, int parentIndex, SQLExecutionResult childResult, Supplier<List<String>> parentPrimaryKeyColumnsSupplier, DatabaseConnection databaseConnection)
     {
         List<String> parentPrimaryKeyColumnNames = UpperCaseColumnsIfDbConnectionIsNotCaseSensitive(parentPrimaryKeyColumnsSupplier.get(),databaseConnection);
-        List<Integer> parentPrimaryKeyIndices = parentPrimaryKeyColumnNames.stream().map(FunctionHelper.unchecked(childResultSet::findColumn)).collect(Collectors.toList());
+        List<Integer> parentPrimaryKeyIndices = parentPrimaryKeyColumnNames.stream().map(FunctionHelper.unchecked(childResult.getResultSet()::findColumn)).collect(Collectors.toList());
         DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap = relationalGraphObjectsBatch.getNodeObjectsHashMap(parentIndex);
-        RelationalGraphFetchUtils.switchSecondKeyHashingStrategy(parentMap, relationalGraphObjectsBatch.getNodePrimaryKeyGetters(parentIndex), parentPrimaryKeyIndices);
-        return parentMap;
+        List<Method> parentPrimaryKeyGetters = relationalGraphObjectsBatch.getNodePrimaryKeyGetters(parentIndex);
+        RelationalGraphFetchUtils.switchSecondKeyHashingStrategy(parentMap, parentPrimaryKeyGetters, parentPrimaryKeyIndices);
+        return GraphFetchParentKeyIndex.forChildResult(parentMap, parentPrimaryKeyGetters, childResult, parentPrimaryKeyIndices);
     }
 
     private static List<String> UpperCaseColumnsIfDbConnectionIsNotCaseSensitive(List<String> columnNames, DatabaseConnection databaseConnection)
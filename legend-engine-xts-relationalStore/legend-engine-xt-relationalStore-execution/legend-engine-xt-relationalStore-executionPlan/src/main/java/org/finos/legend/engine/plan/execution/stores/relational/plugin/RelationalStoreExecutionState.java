@@ -63,6 +63,13 @@ public class RelationalStoreExecutionState implements StoreExecutionState
         return new RelationalStoreExecutionState(this.state, this.retainConnection, this.retainConnection ? this.blockConnectionContext : this.blockConnectionContext.copy(), this.runtimeContext);
     }
 
+    @Override
+    public boolean isConcurrentExecutionSupported()
+    {
+        // copies share the block connection (and its temp tables) while it is retained
+        return !this.retainConnection;
+    }
+
     @Override
     public StoreExecutionState.RuntimeContext getRuntimeContext()
     {
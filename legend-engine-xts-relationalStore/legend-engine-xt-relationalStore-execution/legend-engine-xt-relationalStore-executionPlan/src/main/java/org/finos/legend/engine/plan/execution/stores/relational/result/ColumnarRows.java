@@ -0,0 +1,511 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Column oriented storage for the rows of a {@link RealizedRelationalResult}.
+ * <p>
+ * Each column starts untyped and specializes on its first non null value: longs, doubles, integers and booleans are
+ * kept in primitive arrays, timestamps as epoch millis plus nanos, and strings are dictionary encoded. Nulls are kept
+ * in a bitmap. A column falls back to plain object storage as soon as it sees a value of another class, so reading a
+ * value always gives back an instance of the class which was added.
+ */
+final class ColumnarRows
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    // rough JVM object sizes used for memory estimation
+    private static final long OBJECT_HEADER_BYTES = 16L;
+    private static final long REFERENCE_BYTES = 8L;
+
+    private final Column[] columns;
+    private int size;
+
+    ColumnarRows(int columnCount)
+    {
+        this.columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++)
+        {
+            this.columns[i] = new UntypedColumn();
+        }
+    }
+
+    int size()
+    {
+        return this.size;
+    }
+
+    int columnCount()
+    {
+        return this.columns.length;
+    }
+
+    void add(Object[] row)
+    {
+        if (row.length != this.columns.length)
+        {
+            throw new IllegalArgumentException("Expected " + this.columns.length + " values, got " + row.length);
+        }
+        for (int i = 0; i < row.length; i++)
+        {
+            this.columns[i] = this.columns[i].add(this.size, row[i]);
+        }
+        this.size++;
+    }
+
+    Object get(int row, int column)
+    {
+        if (row < 0 || row >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + this.size);
+        }
+        return this.columns[column].get(row);
+    }
+
+    long estimatedSizeInBytes()
+    {
+        long total = OBJECT_HEADER_BYTES + REFERENCE_BYTES * this.columns.length;
+        for (Column column : this.columns)
+        {
+            total += column.estimatedSizeInBytes();
+        }
+        return total;
+    }
+
+    private static int grow(int capacity, int required)
+    {
+        return Math.max(required, capacity < INITIAL_CAPACITY ? INITIAL_CAPACITY : capacity + (capacity >> 1));
+    }
+
+    private static long bitSetSizeInBytes(BitSet bitSet)
+    {
+        return OBJECT_HEADER_BYTES + bitSet.size() / 8;
+    }
+
+    private abstract static class Column
+    {
+        /**
+         * Add the value for the given row (rows are added in order), returning the column to use from now on.
+         */
+        abstract Column add(int row, Object value);
+
+        abstract Object get(int row);
+
+        abstract long estimatedSizeInBytes();
+
+        Column promote(int rowCount)
+        {
+            ObjectColumn objectColumn = new ObjectColumn(rowCount);
+            for (int i = 0; i < rowCount; i++)
+            {
+                objectColumn.add(i, this.get(i));
+            }
+            return objectColumn;
+        }
+    }
+
+    private static final class UntypedColumn extends Column
+    {
+        private int nullCount;
+
+        @Override
+        Column add(int row, Object value)
+        {
+            if (value == null)
+            {
+                this.nullCount++;
+                return this;
+            }
+
+            Column typed;
+            Class<?> valueClass = value.getClass();
+            if (valueClass == Long.class)
+            {
+                typed = new LongColumn();
+            }
+            else if (valueClass == Double.class)
+            {
+                typed = new DoubleColumn();
+            }
+            else if (valueClass == Integer.class)
+            {
+                typed = new IntColumn();
+            }
+            else if (valueClass == Boolean.class)
+            {
+                typed = new BooleanColumn();
+            }
+            else if (valueClass == String.class)
+            {
+                typed = new DictionaryStringColumn();
+            }
+            else if (valueClass == Timestamp.class)
+            {
+                typed = new TimestampColumn();
+            }
+            else
+            {
+                typed = new ObjectColumn(row + 1);
+            }
+            for (int i = 0; i < this.nullCount; i++)
+            {
+                typed = typed.add(i, null);
+            }
+            return typed.add(row, value);
+        }
+
+        @Override
+        Object get(int row)
+        {
+            return null;
+        }
+
+        @Override
+        long estimatedSizeInBytes()
+        {
+            return OBJECT_HEADER_BYTES;
+        }
+    }
+
+    private abstract static class PrimitiveColumn extends Column
+    {
+        protected final BitSet nulls = new BitSet();
+        protected int capacity;
+
+        @Override
+        Column add(int row, Object value)
+        {
+            if (value == null)
+            {
+                this.ensureCapacity(row + 1);
+                this.nulls.set(row);
+                return this;
+            }
+            if (!this.accepts(value))
+            {
+                return this.promote(row).add(row, value);
+            }
+            this.ensureCapacity(row + 1);
+            this.set(row, value);
+            return this;
+        }
+
+        @Override
+        Object get(int row)
+        {
+            return this.nulls.get(row) ? null : this.getNonNull(row);
+        }
+
+        @Override
+        long estimatedSizeInBytes()
+        {
+            return OBJECT_HEADER_BYTES + bitSetSizeInBytes(this.nulls) + this.valuesSizeInBytes();
+        }
+
+        private void ensureCapacity(int required)
+        {
+            if (required > this.capacity)
+            {
+                this.capacity = grow(this.capacity, required);
+                this.resize(this.capacity);
+            }
+        }
+
+        protected abstract boolean accepts(Object value);
+
+        protected abstract void resize(int newCapacity);
+
+        protected abstract void set(int row, Object value);
+
+        protected abstract Object getNonNull(int row);
+
+        protected abstract long valuesSizeInBytes();
+    }
+
+    private static final class LongColumn extends PrimitiveColumn
+    {
+        private long[] values = new long[0];
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == Long.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            this.values[row] = (Long) value;
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            return OBJECT_HEADER_BYTES + 8L * this.values.length;
+        }
+    }
+
+    private static final class DoubleColumn extends PrimitiveColumn
+    {
+        private double[] values = new double[0];
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == Double.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            this.values[row] = (Double) value;
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            return OBJECT_HEADER_BYTES + 8L * this.values.length;
+        }
+    }
+
+    private static final class IntColumn extends PrimitiveColumn
+    {
+        private int[] values = new int[0];
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == Integer.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            this.values[row] = (Integer) value;
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            return OBJECT_HEADER_BYTES + 4L * this.values.length;
+        }
+    }
+
+    private static final class BooleanColumn extends PrimitiveColumn
+    {
+        private final BitSet values = new BitSet();
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == Boolean.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            // BitSet grows on its own
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            this.values.set(row, (Boolean) value);
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            return this.values.get(row);
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            return bitSetSizeInBytes(this.values);
+        }
+    }
+
+    private static final class TimestampColumn extends PrimitiveColumn
+    {
+        private long[] millis = new long[0];
+        private int[] nanos = new int[0];
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == Timestamp.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            this.millis = Arrays.copyOf(this.millis, newCapacity);
+            this.nanos = Arrays.copyOf(this.nanos, newCapacity);
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            Timestamp timestamp = (Timestamp) value;
+            this.millis[row] = timestamp.getTime();
+            this.nanos[row] = timestamp.getNanos();
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            Timestamp timestamp = new Timestamp(this.millis[row]);
+            timestamp.setNanos(this.nanos[row]);
+            return timestamp;
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            return 2 * OBJECT_HEADER_BYTES + 12L * this.millis.length;
+        }
+    }
+
+    private static final class DictionaryStringColumn extends PrimitiveColumn
+    {
+        private final ObjectIntHashMap<String> codesByValue = ObjectIntHashMap.newMap();
+        private final MutableList<String> dictionary = Lists.mutable.empty();
+        private int[] codes = new int[0];
+        private long dictionaryCharacters;
+
+        @Override
+        protected boolean accepts(Object value)
+        {
+            return value.getClass() == String.class;
+        }
+
+        @Override
+        protected void resize(int newCapacity)
+        {
+            this.codes = Arrays.copyOf(this.codes, newCapacity);
+        }
+
+        @Override
+        protected void set(int row, Object value)
+        {
+            String string = (String) value;
+            this.codes[row] = this.codesByValue.getIfAbsentPut(string, () ->
+            {
+                this.dictionary.add(string);
+                this.dictionaryCharacters += string.length();
+                return this.dictionary.size() - 1;
+            });
+        }
+
+        @Override
+        protected Object getNonNull(int row)
+        {
+            return this.dictionary.get(this.codes[row]);
+        }
+
+        @Override
+        protected long valuesSizeInBytes()
+        {
+            int distinct = this.dictionary.size();
+            // codes, plus per distinct value: the string and its array, a dictionary slot and a map entry
+            return OBJECT_HEADER_BYTES + 4L * this.codes.length
+                    + distinct * (3 * OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES) + 2L * this.dictionaryCharacters;
+        }
+    }
+
+    private static final class ObjectColumn extends Column
+    {
+        private Object[] values;
+        private long nonNullCount;
+
+        private ObjectColumn(int initialCapacity)
+        {
+            this.values = new Object[Math.max(initialCapacity, INITIAL_CAPACITY)];
+        }
+
+        @Override
+        Column add(int row, Object value)
+        {
+            if (row >= this.values.length)
+            {
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, row + 1));
+            }
+            this.values[row] = value;
+            if (value != null)
+            {
+                this.nonNullCount++;
+            }
+            return this;
+        }
+
+        @Override
+        Object get(int row)
+        {
+            return this.values[row];
+        }
+
+        @Override
+        long estimatedSizeInBytes()
+        {
+            // the values themselves are opaque, count them as a small boxed object each
+            return 2 * OBJECT_HEADER_BYTES + REFERENCE_BYTES * this.values.length + this.nonNullCount * (OBJECT_HEADER_BYTES + REFERENCE_BYTES);
+        }
+    }
+}
@@ -0,0 +1,515 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result;
+
+import org.slf4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward only view of a result set whose rows are read ahead by a background thread into a bounded buffer, so that
+ * fetching rows from the database overlaps with the serialization of the rows already fetched.
+ * <p>
+ * Each value is read once with getObject (and, for temporal columns, with the getter {@link RelationalResult} reads them
+ * with), the getters of the view converting these values. Only the getters used to stream results are supported.
+ * <p>
+ * At most {@link #MAX_PREFETCH_THREADS} results are prefetched at once, the rows of the results started beyond that
+ * being read without prefetching.
+ */
+final class PrefetchingResultSet implements InvocationHandler
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PrefetchingResultSet.class);
+
+    static final int MAX_PREFETCH_THREADS = 64;
+
+    private static final int ROWS_PER_CHUNK = 100;
+    private static final long CLOSE_TIMEOUT_IN_MILLIS = 30_000;
+    private static final int MAX_COLUMN_WIDTH_IN_BYTES = 1024;
+    private static final Object[][] END_OF_ROWS = new Object[0][];
+    private static final Set<String> GETTERS = new HashSet<>(Arrays.asList("getObject", "getString", "getLong", "getInt", "getDouble", "getBigDecimal", "getBoolean", "getBytes", "getDate", "getTimestamp"));
+    private static final ExecutorService PREFETCH_EXECUTOR = new ThreadPoolExecutor(0, MAX_PREFETCH_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable ->
+    {
+        Thread thread = new Thread(runnable, "legend-relational-result-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ResultSet resultSet;
+    private final ResultSetMetaData metaData;
+    private final int columnCount;
+    private final boolean[] dateColumns;
+    private final boolean[] timestampColumns;
+    private final boolean hasTemporalColumns;
+    private final Calendar calendar;
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+    private final BlockingQueue<Object[][]> chunks;
+    private final long closeTimeoutInMillis;
+    private final CountDownLatch prefetched = new CountDownLatch(1);
+    private volatile Throwable failure;
+    private volatile boolean closed;
+    private Thread producer;
+    private boolean closeOnStop;
+
+    private Object[][] chunk;
+    private int rowIndex;
+    private Object[] row;
+    private boolean wasNull;
+
+    private PrefetchingResultSet(ResultSet resultSet, SQLResultDBColumnsMetaData columnsMetaData, String databaseTimeZone, int bufferSizeInRows, long closeTimeoutInMillis) throws SQLException
+    {
+        this.resultSet = resultSet;
+        this.metaData = resultSet.getMetaData();
+        this.columnCount = this.metaData.getColumnCount();
+        this.dateColumns = new boolean[this.columnCount];
+        this.timestampColumns = new boolean[this.columnCount];
+        boolean temporal = false;
+        for (int i = 1; i <= this.columnCount; i++)
+        {
+            this.timestampColumns[i - 1] = columnsMetaData.isTimestampColumn(i);
+            this.dateColumns[i - 1] = columnsMetaData.isDateColumn(i);
+            temporal |= this.timestampColumns[i - 1] || this.dateColumns[i - 1];
+        }
+        this.hasTemporalColumns = temporal;
+        this.calendar = new GregorianCalendar(TimeZone.getTimeZone(databaseTimeZone == null ? "GMT" : databaseTimeZone));
+        this.chunks = new ArrayBlockingQueue<>(Math.max(1, bufferSizeInRows / ROWS_PER_CHUNK));
+        this.closeTimeoutInMillis = closeTimeoutInMillis;
+    }
+
+    /**
+     * Start reading the rows of the result set ahead, returning the view to read them from, or the result set itself
+     * when all the prefetch threads are busy.
+     */
+    static ResultSet prefetch(ResultSet resultSet, SQLResultDBColumnsMetaData columnsMetaData, String databaseTimeZone, int bufferSizeInRows) throws SQLException
+    {
+        return prefetch(resultSet, columnsMetaData, databaseTimeZone, bufferSizeInRows, CLOSE_TIMEOUT_IN_MILLIS);
+    }
+
+    static ResultSet prefetch(ResultSet resultSet, SQLResultDBColumnsMetaData columnsMetaData, String databaseTimeZone, int bufferSizeInRows, long closeTimeoutInMillis) throws SQLException
+    {
+        PrefetchingResultSet prefetchingResultSet = new PrefetchingResultSet(resultSet, columnsMetaData, databaseTimeZone, bufferSizeInRows, closeTimeoutInMillis);
+        try
+        {
+            PREFETCH_EXECUTOR.execute(prefetchingResultSet::prefetchRows);
+        }
+        catch (RejectedExecutionException e)
+        {
+            LOGGER.warn("All {} prefetch threads are busy, the rows of the result are read without prefetching", MAX_PREFETCH_THREADS);
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, prefetchingResultSet);
+    }
+
+    /**
+     * Fetch size reading about the target number of bytes per round trip, estimated from the display size of the columns.
+     */
+    static int getFetchSize(ResultSetMetaData metaData, int targetFetchSizeInBytes, int maxFetchSize) throws SQLException
+    {
+        long rowWidth = 0;
+        for (int i = 1; i <= metaData.getColumnCount(); i++)
+        {
+            int displaySize = metaData.getColumnDisplaySize(i);
+            rowWidth += Long.BYTES + (displaySize <= 0 || displaySize > MAX_COLUMN_WIDTH_IN_BYTES ? MAX_COLUMN_WIDTH_IN_BYTES : displaySize);
+        }
+        return (int) Math.max(1, Math.min(maxFetchSize, targetFetchSizeInBytes / Math.max(1, rowWidth)));
+    }
+
+    private void prefetchRows()
+    {
+        synchronized (this)
+        {
+            this.producer = Thread.currentThread();
+        }
+        try
+        {
+            Object[][] rows = new Object[ROWS_PER_CHUNK][];
+            int count = 0;
+            while (!this.closed && this.resultSet.next())
+            {
+                rows[count++] = this.readRow();
+                if (count == ROWS_PER_CHUNK)
+                {
+                    this.enqueue(rows);
+                    rows = new Object[ROWS_PER_CHUNK][];
+                    count = 0;
+                }
+            }
+            if (count > 0)
+            {
+                this.enqueue(Arrays.copyOf(rows, count));
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            this.failure = e;
+        }
+        catch (Throwable e)
+        {
+            this.failure = e;
+        }
+        finally
+        {
+            try
+            {
+                this.enqueue(END_OF_ROWS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            boolean closeResultSet;
+            synchronized (this)
+            {
+                // the thread is returned to the pool, and must not be interrupted by close any more
+                this.producer = null;
+                closeResultSet = this.closeOnStop;
+            }
+            this.prefetched.countDown();
+            if (closeResultSet)
+            {
+                this.closeResultSet();
+            }
+        }
+    }
+
+    private Object[] readRow() throws SQLException
+    {
+        Object[] values = new Object[this.hasTemporalColumns ? 2 * this.columnCount : this.columnCount];
+        for (int i = 1; i <= this.columnCount; i++)
+        {
+            values[i - 1] = this.resultSet.getObject(i);
+            if (this.timestampColumns[i - 1])
+            {
+                values[this.columnCount + i - 1] = this.resultSet.getTimestamp(i, this.calendar);
+            }
+            else if (this.dateColumns[i - 1])
+            {
+                values[this.columnCount + i - 1] = this.resultSet.getDate(i);
+            }
+        }
+        return values;
+    }
+
+    private void enqueue(Object[][] rows) throws InterruptedException
+    {
+        // poll the closed flag, the consumer not taking any more rows once closed
+        boolean queued = false;
+        while (!queued && !this.closed)
+        {
+            queued = this.chunks.offer(rows, 100, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        switch (method.getName())
+        {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PrefetchingResultSet(" + this.resultSet + ")";
+            case "next":
+                return this.next();
+            case "wasNull":
+                return this.wasNull;
+            case "findColumn":
+                return this.findColumn((String) args[0]);
+            case "getMetaData":
+                return this.metaData;
+            case "getStatement":
+                return this.resultSet.getStatement();
+            case "isClosed":
+                return this.closed;
+            case "close":
+                this.close();
+                return null;
+            default:
+                if (GETTERS.contains(method.getName()) && args != null && (args.length == 1 || (args.length == 2 && method.getParameterTypes()[1] == Calendar.class)))
+                {
+                    return this.getValue(method.getName(), args[0] instanceof String ? this.findColumn((String) args[0]) : (Integer) args[0], args.length == 2 ? (Calendar) args[1] : null);
+                }
+                throw new SQLFeatureNotSupportedException(method.getName() + " is not supported on prefetched results");
+        }
+    }
+
+    private boolean next() throws SQLException
+    {
+        if (this.closed)
+        {
+            throw new SQLException("Result set is closed");
+        }
+        if (this.chunk == END_OF_ROWS)
+        {
+            return false;
+        }
+        if (this.chunk == null || this.rowIndex == this.chunk.length - 1)
+        {
+            try
+            {
+                this.chunk = this.chunks.take();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for prefetched rows", e);
+            }
+            this.rowIndex = -1;
+            if (this.chunk == END_OF_ROWS)
+            {
+                this.row = null;
+                if (this.failure != null)
+                {
+                    throw this.failure instanceof SQLException ? (SQLException) this.failure : new SQLException("Error prefetching rows", this.failure);
+                }
+                return false;
+            }
+        }
+        this.row = this.chunk[++this.rowIndex];
+        return true;
+    }
+
+    private int findColumn(String label) throws SQLException
+    {
+        for (int i = 1; i <= this.columnCount; i++)
+        {
+            if (label.equalsIgnoreCase(this.metaData.getColumnLabel(i)))
+            {
+                return i;
+            }
+        }
+        throw new SQLException("Column " + label + " not found");
+    }
+
+    private Object getValue(String getter, int column, Calendar calendar) throws SQLException
+    {
+        if (this.row == null)
+        {
+            throw new SQLException("No current row");
+        }
+        if (column < 1 || column > this.columnCount)
+        {
+            throw new SQLException("Column index " + column + " out of range");
+        }
+        Object value = this.row[column - 1];
+        this.wasNull = value == null;
+        switch (getter)
+        {
+            case "getObject":
+                return value;
+            case "getString":
+                return value == null ? null : value instanceof Clob ? ((Clob) value).getSubString(1, (int) ((Clob) value).length()) : value.toString();
+            case "getLong":
+                return value == null ? 0L : value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString().trim());
+            case "getInt":
+                return value == null ? 0 : value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+            case "getDouble":
+                return value == null ? 0d : value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString().trim());
+            case "getBigDecimal":
+                return value == null || value instanceof BigDecimal ? value : new BigDecimal(value.toString().trim());
+            case "getBoolean":
+                return value != null && (value instanceof Boolean ? (Boolean) value : value instanceof Number ? ((Number) value).intValue() != 0 : "true".equalsIgnoreCase(value.toString().trim()) || "1".equals(value.toString().trim()));
+            case "getBytes":
+                return value == null || value instanceof byte[] ? value : value instanceof Blob ? ((Blob) value).getBytes(1, (int) ((Blob) value).length()) : this.cannotConvert(value, column);
+            case "getDate":
+                // dates are read without calendar, i.e. in the default time zone
+                return this.dateColumns[column - 1]
+                        ? inTimeZone((Date) this.row[this.columnCount + column - 1], this.defaultTimeZone, this.timeZoneOf(calendar))
+                        : this.toDate(value, column, calendar);
+            case "getTimestamp":
+                // timestamps are read with the calendar of the database time zone
+                return this.timestampColumns[column - 1]
+                        ? inTimeZone((Timestamp) this.row[this.columnCount + column - 1], this.calendar.getTimeZone(), this.timeZoneOf(calendar))
+                        : this.toTimestamp(value, column, calendar);
+            default:
+                throw new SQLFeatureNotSupportedException(getter + " is not supported on prefetched results");
+        }
+    }
+
+    private Object toDate(Object value, int column, Calendar calendar) throws SQLException
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        if (value instanceof java.util.Date)
+        {
+            // values of getObject are in the default time zone
+            return inTimeZone(new Date(((java.util.Date) value).getTime()), this.defaultTimeZone, this.timeZoneOf(calendar));
+        }
+        if (value instanceof LocalDate)
+        {
+            return new Date(((LocalDate) value).atStartOfDay(this.timeZoneOf(calendar).toZoneId()).toInstant().toEpochMilli());
+        }
+        return this.cannotConvert(value, column);
+    }
+
+    private Object toTimestamp(Object value, int column, Calendar calendar) throws SQLException
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        if (value instanceof java.util.Date)
+        {
+            Timestamp timestamp = value instanceof Timestamp ? (Timestamp) value : new Timestamp(((java.util.Date) value).getTime());
+            return inTimeZone(timestamp, this.defaultTimeZone, this.timeZoneOf(calendar));
+        }
+        if (value instanceof LocalDateTime)
+        {
+            return Timestamp.from(((LocalDateTime) value).atZone(this.timeZoneOf(calendar).toZoneId()).toInstant());
+        }
+        return this.cannotConvert(value, column);
+    }
+
+    private TimeZone timeZoneOf(Calendar calendar)
+    {
+        return calendar == null ? this.defaultTimeZone : calendar.getTimeZone();
+    }
+
+    /**
+     * The timestamp with the same wall clock time as the timestamp read in the source time zone, when read in the
+     * target time zone, as JDBC drivers read temporal values with a calendar.
+     */
+    private static Timestamp inTimeZone(Timestamp timestamp, TimeZone source, TimeZone target)
+    {
+        if (timestamp == null || source.hasSameRules(target))
+        {
+            return timestamp;
+        }
+        LocalDateTime wallClockTime = LocalDateTime.ofInstant(timestamp.toInstant(), source.toZoneId());
+        return Timestamp.from(wallClockTime.atZone(target.toZoneId()).toInstant());
+    }
+
+    private static Date inTimeZone(Date date, TimeZone source, TimeZone target)
+    {
+        if (date == null || source.hasSameRules(target))
+        {
+            return date;
+        }
+        LocalDateTime wallClockTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), source.toZoneId());
+        return new Date(wallClockTime.atZone(target.toZoneId()).toInstant().toEpochMilli());
+    }
+
+    private Object cannotConvert(Object value, int column) throws SQLException
+    {
+        throw new SQLException("Cannot convert value of type " + value.getClass().getName() + " in column " + column);
+    }
+
+    private void close()
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        this.closed = true;
+        if (this.prefetched.getCount() > 0)
+        {
+            // stop the database from sending rows nobody reads
+            this.cancelStatement();
+        }
+        boolean stopped;
+        try
+        {
+            // the rows are read on the connection of the result, which must not be released while they are
+            stopped = this.prefetched.await(this.closeTimeoutInMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            stopped = false;
+        }
+        this.chunks.clear();
+        // a producer still running may be inside a call on the result set, and closes it itself once it has stopped
+        if (stopped || !this.interruptProducer())
+        {
+            this.closeResultSet();
+        }
+    }
+
+    /**
+     * Interrupt the producer if it is still running, handing it the close of the result set. Returns whether it was.
+     */
+    private synchronized boolean interruptProducer()
+    {
+        if (this.producer == null)
+        {
+            return false;
+        }
+        LOGGER.warn("Rows still prefetched {}ms after the result was closed, interrupting the prefetch", this.closeTimeoutInMillis);
+        this.closeOnStop = true;
+        this.producer.interrupt();
+        return true;
+    }
+
+    private void closeResultSet()
+    {
+        try
+        {
+            this.resultSet.close();
+        }
+        catch (SQLException e)
+        {
+            LOGGER.error("error closing result set", e);
+        }
+    }
+
+    private void cancelStatement()
+    {
+        try
+        {
+            Statement statement = this.resultSet.getStatement();
+            if (statement != null)
+            {
+                statement.cancel();
+            }
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            LOGGER.warn("error cancelling the statement of a prefetched result", e);
+        }
+    }
+}
@@ -16,8 +16,10 @@ package org.finos.legend.engine.plan.execution.stores.relational.result;
 
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
 import org.finos.legend.engine.plan.execution.result.ResultVisitor;
 import org.finos.legend.engine.plan.execution.result.StreamingResult;
@@ -28,9 +30,17 @@ import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.r
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
+/**
+ * A relational result read fully into memory.
+ * <p>
+ * Values are stored column wise (see {@link ColumnarRows}) and transformers are only applied when transformed values
+ * are read. {@link #resultSetRows} and {@link #transformedRows} are read only row views over that storage.
+ */
 public class RealizedRelationalResult extends StreamingResult
 {
     public Builder builder;
@@ -42,15 +52,21 @@ public class RealizedRelationalResult extends StreamingResult
     private static final int DEFAULT_ROW_LIMIT = 1000;
     public static final String ROW_LIMIT_PROPERTY_NAME = "org.finos.legend.engine.realizedRelationalResultRowLimit";
 
+    private ColumnarRows values;
+    // distinct transformer sets (one per union member), and the set to use for each row when there is more than one
+    private final MutableList<MutableList<Function<Object, Object>>> transformerSets = Lists.mutable.empty();
+    private final MutableIntList rowTransformerSets = new IntArrayList();
+    // transformed values which were added explicitly rather than computed with transformers
+    private ColumnarRows explicitTransformedValues;
+
     public RealizedRelationalResult(RelationalResult relationalResult) throws SQLException
     {
         super(relationalResult.activities);
         this.builder = relationalResult.builder;
         this.columns = relationalResult.getSQLResultColumns();
         int columnCount = this.columns.size();
+        this.initialize(columnCount);
 
-        this.transformedRows = Lists.mutable.empty();
-        this.resultSetRows = Lists.mutable.empty();
         ResultSet resultSet = relationalResult.resultSet;
         int SUPPORTED_RESULT_ROWS = getRowLimit();
         int rowCount = 0;
@@ -63,18 +79,13 @@ public class RealizedRelationalResult extends StreamingResult
                     throw new RuntimeException("Too many rows returned. Realization of relational results currently supports results with up to " + SUPPORTED_RESULT_ROWS + " rows.");
                 }
 
-                List<Object> transformedRow = Lists.mutable.empty();
-                List<Object> resultSetRow = Lists.mutable.empty();
-                MutableList<Function<Object, Object>> transformers = relationalResult.getTransformers();
-                for (int i = 1; i <= columnCount - 1; i++)
+                Object[] resultSetRow = new Object[columnCount];
+                for (int i = 1; i <= columnCount; i++)
                 {
-                    transformedRow.add(transformers.get(i - 1).valueOf(relationalResult.getValue(i)));
-                    resultSetRow.add(relationalResult.getValue(i));
+                    resultSetRow[i - 1] = relationalResult.getValue(i);
                 }
-                transformedRow.add(transformers.get(columnCount - 1).valueOf(relationalResult.getValue(columnCount)));
-                resultSetRow.add(relationalResult.getValue(columnCount));
-                transformedRows.add(transformedRow);
-                resultSetRows.add(resultSetRow);
+                this.values.add(resultSetRow);
+                this.addRowTransformers(relationalResult.getTransformers());
                 rowCount += 1;
             }
         }
@@ -94,6 +105,13 @@ public class RealizedRelationalResult extends StreamingResult
         super(Lists.mutable.empty());
     }
 
+    private void initialize(int columnCount)
+    {
+        this.values = new ColumnarRows(columnCount);
+        this.resultSetRows = new RowsView(false);
+        this.transformedRows = new RowsView(true);
+    }
+
     @Override
     public <T> T accept(ResultVisitor<T> resultVisitor)
     {
@@ -105,16 +123,43 @@ public class RealizedRelationalResult extends StreamingResult
     {
         RealizedRelationalResult realizedRelationalResult = new RealizedRelationalResult();
         realizedRelationalResult.columns = resultColumns;
-        realizedRelationalResult.transformedRows = Lists.mutable.empty();
-        realizedRelationalResult.resultSetRows = Lists.mutable.empty();
+        realizedRelationalResult.initialize(resultColumns.size());
 
         return realizedRelationalResult;
     }
 
     public void addRow(List<Object> resultSetRow, List<Object> transformedRow)
     {
-        this.resultSetRows.add(resultSetRow);
-        this.transformedRows.add(transformedRow);
+        Object[] resultSetValues = resultSetRow.toArray();
+        if (this.explicitTransformedValues == null && !sameValues(resultSetRow, transformedRow))
+        {
+            // first row whose transformed values differ: from now on keep transformed values alongside, rows so far were not transformed
+            this.explicitTransformedValues = new ColumnarRows(resultSetValues.length);
+            for (int row = 0; row < this.values.size(); row++)
+            {
+                this.explicitTransformedValues.add(this.rowValues(row, true));
+            }
+        }
+        this.values.add(resultSetValues);
+        if (this.explicitTransformedValues != null)
+        {
+            this.explicitTransformedValues.add(transformedRow.toArray());
+        }
+    }
+
+    public int getRowCount()
+    {
+        return this.values.size();
+    }
+
+    /**
+     * Approximate heap used by the realized values, to be accounted for in graph fetch batch memory.
+     */
+    public long getEstimatedMemoryUtilization()
+    {
+        return this.values.estimatedSizeInBytes()
+                + (this.explicitTransformedValues == null ? 0L : this.explicitTransformedValues.estimatedSizeInBytes())
+                + 4L * this.rowTransformerSets.size();
     }
 
     public List<Map<String, Object>> getRowValueMaps(boolean withTransform)
@@ -145,4 +190,117 @@ public class RealizedRelationalResult extends StreamingResult
     {
         throw new UnsupportedOperationException("Not yet implemented!");
     }
-}
\ No newline at end of file
+
+    private void addRowTransformers(MutableList<Function<Object, Object>> transformers)
+    {
+        int setIndex = this.transformerSets.indexOf(transformers);
+        if (setIndex == -1)
+        {
+            this.transformerSets.add(transformers);
+            setIndex = this.transformerSets.size() - 1;
+        }
+        if (this.transformerSets.size() > 1)
+        {
+            // only track the set per row once rows can differ, all earlier rows used the first set
+            while (this.rowTransformerSets.size() < this.values.size() - 1)
+            {
+                this.rowTransformerSets.add(0);
+            }
+            this.rowTransformerSets.add(setIndex);
+        }
+    }
+
+    private Object getValue(int row, int column, boolean withTransform)
+    {
+        if (!withTransform)
+        {
+            return this.values.get(row, column);
+        }
+        if (this.explicitTransformedValues != null)
+        {
+            return this.explicitTransformedValues.get(row, column);
+        }
+        if (this.transformerSets.isEmpty())
+        {
+            return this.values.get(row, column);
+        }
+        int setIndex = row < this.rowTransformerSets.size() ? this.rowTransformerSets.get(row) : 0;
+        return this.transformerSets.get(setIndex).get(column).valueOf(this.values.get(row, column));
+    }
+
+    private Object[] rowValues(int row, boolean withTransform)
+    {
+        Object[] rowValues = new Object[this.values.columnCount()];
+        for (int column = 0; column < rowValues.length; column++)
+        {
+            rowValues[column] = this.getValue(row, column, withTransform);
+        }
+        return rowValues;
+    }
+
+    private static boolean sameValues(List<Object> resultSetRow, List<Object> transformedRow)
+    {
+        if (resultSetRow.size() != transformedRow.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < resultSetRow.size(); i++)
+        {
+            if (resultSetRow.get(i) != transformedRow.get(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class RowsView extends AbstractList<List<Object>> implements RandomAccess
+    {
+        private final boolean withTransform;
+
+        private RowsView(boolean withTransform)
+        {
+            this.withTransform = withTransform;
+        }
+
+        @Override
+        public List<Object> get(int row)
+        {
+            if (row < 0 || row >= this.size())
+            {
+                throw new IndexOutOfBoundsException("Row: " + row + ", size: " + this.size());
+            }
+            return new RowView(row, this.withTransform);
+        }
+
+        @Override
+        public int size()
+        {
+            return RealizedRelationalResult.this.values.size();
+        }
+    }
+
+    private class RowView extends AbstractList<Object> implements RandomAccess
+    {
+        private final int row;
+        private final boolean withTransform;
+
+        private RowView(int row, boolean withTransform)
+        {
+            this.row = row;
+            this.withTransform = withTransform;
+        }
+
+        @Override
+        public Object get(int column)
+        {
+            return RealizedRelationalResult.this.getValue(this.row, column, this.withTransform);
+        }
+
+        @Override
+        public int size()
+        {
+            return RealizedRelationalResult.this.values.columnCount();
+        }
+    }
+}
@@ -67,7 +67,9 @@ import org.finos.legend.engine.plan.execution.result.transformer.TransformerInpu
 import org.finos.legend.engine.plan.execution.stores.StoreExecutable;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutableManager;
 import org.finos.legend.engine.plan.execution.stores.relational.activity.RelationalExecutionActivity;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalResultPrefetchConfig;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.DatabaseManager;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.commands.RelationalDatabaseCommands;
 import org.finos.legend.engine.plan.execution.stores.relational.result.builder.relation.RelationBuilder;
 import org.finos.legend.engine.plan.execution.stores.relational.serialization.RelationalResultToCSVSerializer;
 import org.finos.legend.engine.plan.execution.stores.relational.serialization.RelationalResultToCSVSerializerWithTransformersApplied;
@@ -79,7 +81,6 @@ import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.Relati
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.RelationalInstantiationExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.result.TDSColumn;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseConnection;
-import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseType;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.model.result.SQLResultColumn;
 import org.finos.legend.engine.shared.core.api.request.RequestContext;
 import org.finos.legend.engine.shared.core.operational.logs.LogInfo;
@@ -115,6 +116,7 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
 
     public Builder builder;
     private Calendar calendar;
+    private RelationalResultPrefetchConfig prefetchConfig;
 
     public RelationalResult(MutableList<ExecutionActivity> activities, RelationalExecutionNode node, List<SQLResultColumn> sqlResultColumns, String databaseType, String databaseTimeZone, Connection connection, MutableList<CommonProfile> profiles, List<String> temporaryTables, Span topSpan)
     {
@@ -137,10 +139,13 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
         try
         {
             this.connection = connection;
-            this.statement = connection.createStatement();
-            if (DatabaseType.MemSQL.name().equals(databaseType))
+            RelationalExecutionActivity activity = ((RelationalExecutionActivity) activities.getLast());
+            String sql = activity.getExecutedSql();
+            this.statement = activity.parameters == null ? connection.createStatement() : connection.prepareStatement(sql);
+            RelationalDatabaseCommands databaseCommands = SQLResult.getDatabaseCommands(databaseType);
+            if (databaseCommands != null && databaseCommands.getDefaultFetchSize() > 0)
             {
-                this.statement.setFetchSize(100);
+                this.statement.setFetchSize(databaseCommands.getDefaultFetchSize());
             }
 
             if (requestContext != null)
@@ -149,11 +154,9 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
             }
 
             long start = System.currentTimeMillis();
-            RelationalExecutionActivity activity = ((RelationalExecutionActivity) activities.getLast());
-            String sql = activity.comment != null ? activity.comment.concat("\n").concat(activity.sql) : activity.sql;
-            String logMessage = logSQLWithParamValues ? sql : node.sqlQuery();
+            String logMessage = logSQLWithParamValues ? activity.getLoggedSql() : node.sqlQuery();
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_RELATIONAL_START, logMessage).toString());
-            this.resultSet = this.statement.executeQuery(sql);
+            this.resultSet = SQLResult.executeQuery(this.statement, sql, activity.parameters);
             this.executedSQl = sql;
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_RELATIONAL_STOP, (double) System.currentTimeMillis() - start).toString());
             this.resultSetMetaData = resultSet.getMetaData();
@@ -228,6 +231,53 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
         }
     }
 
+    /**
+     * A result over rows which were already fetched (from the result cache): it holds no connection or statement.
+     */
+    public RelationalResult(MutableList<ExecutionActivity> activities, ExecutionNode node, DatabaseConnection databaseConnection, List<SQLResultColumn> sqlResultColumns, String databaseType, String databaseTimeZone, ResultSet resultSet, Span topSpan, RequestContext requestContext)
+    {
+        super(activities);
+        this.databaseType = databaseType;
+        this.databaseTimeZone = databaseTimeZone;
+        this.temporaryTables = null;
+        this.topSpan = topSpan;
+        this.requestContext = requestContext;
+        this.connection = null;
+        this.statement = null;
+        try
+        {
+            RelationalExecutionActivity activity = ((RelationalExecutionActivity) activities.getLast());
+            this.resultSet = resultSet;
+            this.executedSQl = activity.getExecutedSql();
+            this.resultSetMetaData = resultSet.getMetaData();
+            this.columnCount = this.resultSetMetaData.getColumnCount();
+            this.resultColumns = sqlResultColumns;
+            this.resultDBColumnsMetaData = new SQLResultDBColumnsMetaData(this.resultColumns, this.resultSetMetaData);
+
+            this.sqlColumns = Lists.mutable.ofInitialCapacity(this.columnCount);
+            for (int i = 1; i <= this.columnCount; i++)
+            {
+                this.sqlColumns.add(this.resultSetMetaData.getColumnLabel(i));
+            }
+            this.columnListForSerializer = this.sqlColumns;
+            this.buildTransformersAndBuilder(node, databaseConnection);
+        }
+        catch (Throwable e)
+        {
+            LOGGER.error("error initialising RelationalResult", e);
+            this.close();
+            if (e instanceof Error)
+            {
+                throw (Error) e;
+            }
+            if (e instanceof RuntimeException)
+            {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
     private void buildTransformersAndBuilder(ExecutionNode node, DatabaseConnection databaseConnection) throws SQLException
     {
         boolean isDatabaseIdentifiersCaseSensitive = databaseConnection.accept(new DatabaseIdentifiersCaseSensitiveVisitor());
@@ -365,7 +415,7 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
                 try
                 {
                     DatabaseManager databaseManager = DatabaseManager.fromString(this.databaseType);
-                    statement.execute(databaseManager.relationalDatabaseSupport().dropTempTable(table));
+                    SQLResult.execute(statement, databaseManager.relationalDatabaseSupport().dropTempTable(table));
                 }
                 catch (Exception ignored)
                 {
@@ -460,6 +510,11 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
         return result;
     }
 
+    public boolean isTemporalColumn(int columnIndex)
+    {
+        return resultDBColumnsMetaData.isTimestampColumn(columnIndex) || resultDBColumnsMetaData.isDateColumn(columnIndex);
+    }
+
     public Object getTransformedValue(int columnIndex) throws SQLException
     {
         Object result = null;
@@ -587,9 +642,41 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
         }
     }
 
+    /**
+     * Read the rows ahead on a background thread once the result is serialized.
+     */
+    public void setPrefetchConfig(RelationalResultPrefetchConfig prefetchConfig)
+    {
+        this.prefetchConfig = prefetchConfig;
+    }
+
+    private void startPrefetch()
+    {
+        RelationalResultPrefetchConfig config = this.prefetchConfig;
+        this.prefetchConfig = null;
+        try
+        {
+            RelationalDatabaseCommands databaseCommands = SQLResult.getDatabaseCommands(this.databaseType);
+            if (databaseCommands != null && databaseCommands.getMaxFetchSize() > 0)
+            {
+                this.resultSet.setFetchSize(PrefetchingResultSet.getFetchSize(this.resultSetMetaData, config.getTargetFetchSizeInBytes(), databaseCommands.getMaxFetchSize()));
+            }
+            this.resultSet = PrefetchingResultSet.prefetch(this.resultSet, this.resultDBColumnsMetaData, this.databaseTimeZone, config.getBufferSizeInRows());
+        }
+        catch (SQLException e)
+        {
+            this.close();
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Serializer getSerializer(SerializationFormat format)
     {
+        if (this.prefetchConfig != null)
+        {
+            this.startPrefetch();
+        }
         switch (format)
         {
             case PURE:
@@ -668,7 +755,7 @@ public class RelationalResult extends StreamingResult implements IRelationalResu
     {
         try
         {
-            if (!statement.isClosed())
+            if (statement != null && !statement.isClosed())
             {
                 statement.cancel();
                 LOGGER.info(new LogInfo(null, LoggingEventType.EXECUTABLE_CANCELLATION, "Successful cancellation of  RelationalResult " + RequestContext.getSessionID(this.requestContext)).toString());
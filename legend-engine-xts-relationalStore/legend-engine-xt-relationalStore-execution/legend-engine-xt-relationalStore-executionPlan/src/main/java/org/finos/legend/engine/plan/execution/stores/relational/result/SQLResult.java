@@ -20,14 +20,19 @@ import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
 import org.finos.legend.engine.plan.execution.result.Result;
 import org.finos.legend.engine.plan.execution.result.ResultVisitor;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutable;
+import org.finos.legend.engine.plan.execution.stores.relational.SQLBindVariables;
+import org.finos.legend.engine.plan.execution.stores.relational.activity.RelationalExecutionActivity;
 import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.DatabaseManager;
-import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.connection.DatabaseType;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.commands.RelationalDatabaseCommands;
 import org.finos.legend.engine.shared.core.api.request.RequestContext;
 import org.finos.legend.engine.shared.core.operational.logs.LogInfo;
 import org.finos.legend.engine.shared.core.operational.logs.LoggingEventType;
 import org.slf4j.Logger;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.function.Consumer;
@@ -54,10 +59,20 @@ public abstract class SQLResult extends Result implements StoreExecutable
         
         try
         {
-            this.statement = connection.createStatement();
-            if (DatabaseType.MemSQL.name().equals(databaseType))
+            ExecutionActivity activity = activities.isEmpty() ? null : activities.get(activities.size() - 1);
+            if (activity instanceof RelationalExecutionActivity && ((RelationalExecutionActivity) activity).parameters != null)
             {
-                this.statement.setFetchSize(100);
+                RelationalExecutionActivity relationalActivity = (RelationalExecutionActivity) activity;
+                this.statement = connection.prepareStatement(relationalActivity.getExecutedSql());
+            }
+            else
+            {
+                this.statement = connection.createStatement();
+            }
+            RelationalDatabaseCommands databaseCommands = getDatabaseCommands(databaseType);
+            if (databaseCommands != null && databaseCommands.getDefaultFetchSize() > 0)
+            {
+                this.statement.setFetchSize(databaseCommands.getDefaultFetchSize());
             }
         }
         catch (Throwable e)
@@ -75,6 +90,44 @@ public abstract class SQLResult extends Result implements StoreExecutable
         }
     }
 
+    static ResultSet executeQuery(Statement statement, String sql, List<Object> parameters) throws SQLException
+    {
+        if (parameters == null)
+        {
+            return statement.executeQuery(sql);
+        }
+        SQLBindVariables.bind((PreparedStatement) statement, parameters);
+        return ((PreparedStatement) statement).executeQuery();
+    }
+
+    /**
+     * Executes other SQL than the one of the statement, which prepared statements cannot do themselves.
+     */
+    static boolean execute(Statement statement, String sql) throws SQLException
+    {
+        if (statement instanceof PreparedStatement)
+        {
+            try (Statement otherStatement = statement.getConnection().createStatement())
+            {
+                return otherStatement.execute(sql);
+            }
+        }
+        return statement.execute(sql);
+    }
+
+    static RelationalDatabaseCommands getDatabaseCommands(String databaseType)
+    {
+        try
+        {
+            return DatabaseManager.fromString(databaseType).relationalDatabaseSupport();
+        }
+        catch (RuntimeException e)
+        {
+            // databases without a manager keep the driver defaults
+            return null;
+        }
+    }
+
     @Override
     public <T> T accept(ResultVisitor<T> resultVisitor)
     {
@@ -118,7 +171,7 @@ public abstract class SQLResult extends Result implements StoreExecutable
             {
                 try
                 {
-                    this.getStatement().execute(databaseManager.relationalDatabaseSupport().dropTempTable(table));
+                    execute(this.getStatement(), databaseManager.relationalDatabaseSupport().dropTempTable(table));
                 }
                 catch (Exception ignored)
                 {
@@ -18,6 +18,7 @@ import org.eclipse.collections.api.list.MutableList;
 import org.finos.legend.engine.plan.execution.result.ExecutionActivity;
 import org.finos.legend.engine.plan.execution.result.Result;
 import org.finos.legend.engine.plan.execution.result.ResultVisitor;
+import org.finos.legend.engine.plan.execution.stores.relational.SQLBindVariables;
 import org.finos.legend.engine.plan.execution.stores.relational.activity.RelationalExecutionActivity;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.RelationalExecutionNode;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.SQLExecutionNode;
@@ -28,6 +29,7 @@ import org.pac4j.core.profile.CommonProfile;
 import org.slf4j.Logger;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -50,9 +52,10 @@ public class VoidRelationalResult extends Result
 
         try
         {
-            String sql = ((RelationalExecutionActivity) activities.getLast()).sql;
+            RelationalExecutionActivity activity = (RelationalExecutionActivity) activities.getLast();
+            String sql = activity.sql;
             this.connection = connection;
-            this.statement = connection.createStatement();
+            this.statement = activity.parameters == null ? connection.createStatement() : connection.prepareStatement(sql);
             long start = System.currentTimeMillis();
             String nodeSql = "";
             if (node instanceof RelationalExecutionNode)
@@ -63,9 +66,17 @@ public class VoidRelationalResult extends Result
             {
                 nodeSql = ((SQLExecutionNode) node).sqlQuery;
             }
-            String logMessage = logSQLWithParamValues ? sql : nodeSql;
+            String logMessage = logSQLWithParamValues ? activity.getLoggedSql() : nodeSql;
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_RELATIONAL_START, logMessage).toString());
-            this.statement.execute(sql);
+            if (activity.parameters == null)
+            {
+                this.statement.execute(sql);
+            }
+            else
+            {
+                SQLBindVariables.bind((PreparedStatement) this.statement, activity.parameters);
+                ((PreparedStatement) this.statement).execute();
+            }
             LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTION_RELATIONAL_STOP, (double) System.currentTimeMillis() - start).toString());
         }
         catch (SQLException e)
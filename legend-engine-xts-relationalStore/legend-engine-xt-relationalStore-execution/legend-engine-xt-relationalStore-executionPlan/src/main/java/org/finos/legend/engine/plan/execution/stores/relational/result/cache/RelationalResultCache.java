@@ -0,0 +1,179 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result.cache;
+
+import com.google.common.cache.CacheBuilder;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheStats;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalResultCacheConfig;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+import org.slf4j.Logger;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the rows of TDS results, kept serialized so that its size is bounded in bytes. Results with more rows than
+ * the configured limit are not cached: they are remembered as too large, and streamed from the database every time
+ * (the first time, the rows fetched before finding the result too large are read again before the others).
+ */
+public class RelationalResultCache
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(RelationalResultCache.class);
+
+    private static final String METRICS_NAME = "relationalResult";
+    private static final byte[] TOO_LARGE = new byte[0];
+
+    private final ExecutionCache<RelationalResultCacheKey, byte[]> cache;
+    private final int maxRowsPerResult;
+
+    public RelationalResultCache(ExecutionCache<RelationalResultCacheKey, byte[]> cache, int maxRowsPerResult)
+    {
+        this.cache = cache;
+        this.maxRowsPerResult = maxRowsPerResult;
+    }
+
+    public static RelationalResultCache build(RelationalResultCacheConfig config)
+    {
+        return new RelationalResultCache(ExecutionCacheBuilder.buildExecutionCacheFromGuavaCache(CacheBuilder.newBuilder()
+                .recordStats()
+                .maximumWeight(config.getMaxSizeInBytes())
+                .weigher((RelationalResultCacheKey key, byte[] rows) -> (int) Math.min(Integer.MAX_VALUE, rows.length + key.estimatedSizeInBytes()))
+                .expireAfterWrite(config.getTimeToLiveInSeconds(), TimeUnit.SECONDS)
+                .build()), config.getMaxRowsPerResult());
+    }
+
+    public ExecutionCache<RelationalResultCacheKey, byte[]> getCache()
+    {
+        return this.cache;
+    }
+
+    public void invalidate(RelationalResultCacheKey key)
+    {
+        this.cache.invalidate(key);
+    }
+
+    public void invalidateAll()
+    {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Get the result for the key from the cache, or from the database (caching its rows if there are not too many).
+     *
+     * @param execution executes the query against the database
+     * @param fromRows  builds the result over rows already fetched
+     */
+    public RelationalResult execute(RelationalResultCacheKey key, Function0<RelationalResult> execution, Function<ResultSet, RelationalResult> fromRows)
+    {
+        try
+        {
+            byte[] cached = this.cache.getIfPresent(key);
+            if (cached != null && cached.length == 0)
+            {
+                return execution.value();
+            }
+            if (cached != null)
+            {
+                return fromRows.valueOf(deserialize(cached));
+            }
+
+            RelationalResult result = execution.value();
+            CachedRowSet rows = this.fetch(result);
+            if (rows.size() > this.maxRowsPerResult)
+            {
+                this.cache.put(key, TOO_LARGE);
+                rows.beforeFirst();
+                result.resultSet = ReplayingResultSet.replay(rows, result.resultSet);
+                return result;
+            }
+            result.close();
+            byte[] serialized = serialize(rows);
+            if (serialized != null)
+            {
+                this.cache.put(key, serialized);
+            }
+            rows.beforeFirst();
+            return fromRows.valueOf(rows);
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+        finally
+        {
+            ExecutionCacheStats stats = this.cache.stats();
+            MetricsHandler.setExecutionCacheMetrics(METRICS_NAME, stats.hitCount(), stats.missCount(), stats.evictionCount(), this.cache.estimatedSize());
+        }
+    }
+
+    // the first rows of the result: one more than can be cached at most, leaving the others in the database
+    private CachedRowSet fetch(RelationalResult result) throws SQLException
+    {
+        try
+        {
+            CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+            rows.populate(ReplayingResultSet.limit(result.resultSet, (int) Math.min(Integer.MAX_VALUE, this.maxRowsPerResult + 1L)));
+            return rows;
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            result.close();
+            throw e;
+        }
+    }
+
+    private static byte[] serialize(CachedRowSet rows)
+    {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(); ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(rows);
+            out.flush();
+            return bytes.toByteArray();
+        }
+        catch (IOException e)
+        {
+            // a value the driver returned is not serializable: the result is just not cached
+            LOGGER.debug("Result not cached", e);
+            return null;
+        }
+    }
+
+    private static CachedRowSet deserialize(byte[] serialized) throws SQLException
+    {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized)))
+        {
+            CachedRowSet rows = (CachedRowSet) in.readObject();
+            rows.beforeFirst();
+            return rows;
+        }
+        catch (IOException | ClassNotFoundException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+}
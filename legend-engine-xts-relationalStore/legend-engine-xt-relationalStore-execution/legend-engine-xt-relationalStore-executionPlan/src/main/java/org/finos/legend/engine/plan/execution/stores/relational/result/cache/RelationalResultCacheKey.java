@@ -0,0 +1,79 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result.cache;
+
+import java.util.Objects;
+
+/**
+ * Identifies a cached result: the SQL sent to the database (with the parameter values already in it), where it runs,
+ * and the user it runs as, so that rows are never shared across entitlements.
+ */
+public class RelationalResultCacheKey
+{
+    private final String sql;
+    private final String databaseType;
+    private final String databaseTimeZone;
+    private final String connection;
+    private final String user;
+
+    public RelationalResultCacheKey(String sql, String databaseType, String databaseTimeZone, String connection, String user)
+    {
+        this.sql = sql;
+        this.databaseType = databaseType;
+        this.databaseTimeZone = databaseTimeZone;
+        this.connection = connection;
+        this.user = user;
+    }
+
+    public String getSql()
+    {
+        return this.sql;
+    }
+
+    public String getUser()
+    {
+        return this.user;
+    }
+
+    long estimatedSizeInBytes()
+    {
+        return 2L * (this.sql.length() + this.connection.length());
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        RelationalResultCacheKey that = (RelationalResultCacheKey) o;
+        return Objects.equals(this.sql, that.sql) &&
+                Objects.equals(this.databaseType, that.databaseType) &&
+                Objects.equals(this.databaseTimeZone, that.databaseTimeZone) &&
+                Objects.equals(this.connection, that.connection) &&
+                Objects.equals(this.user, that.user);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.sql, this.databaseType, this.databaseTimeZone, this.connection, this.user);
+    }
+}
@@ -0,0 +1,131 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+
+/**
+ * View of a result set whose first rows were fetched into a buffer already: the buffered rows are read again first,
+ * then the rows left in the result set.
+ */
+final class ReplayingResultSet implements InvocationHandler
+{
+    private final ResultSet buffered;
+    private final ResultSet live;
+    private ResultSet current;
+
+    private ReplayingResultSet(ResultSet buffered, ResultSet live)
+    {
+        this.buffered = buffered;
+        this.live = live;
+        this.current = buffered;
+    }
+
+    /**
+     * The rows of the buffer (from its current position), followed by the rows left in the live result set.
+     */
+    static ResultSet replay(ResultSet buffered, ResultSet live)
+    {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, new ReplayingResultSet(buffered, live));
+    }
+
+    /**
+     * View of the first rows of the result set, which leaves the result set on the last of these rows.
+     */
+    static ResultSet limit(ResultSet resultSet, int maxRows)
+    {
+        int[] rows = {0};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) ->
+        {
+            if ("next".equals(method.getName()))
+            {
+                // the result set must not move past the rows of the view, which are the only ones buffered
+                if (rows[0] == maxRows || !resultSet.next())
+                {
+                    return false;
+                }
+                rows[0]++;
+                return true;
+            }
+            return invoke(resultSet, method, args);
+        });
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        switch (method.getName())
+        {
+            case "next":
+            {
+                if (this.current == this.buffered)
+                {
+                    if (this.buffered.next())
+                    {
+                        return true;
+                    }
+                    this.current = this.live;
+                }
+                return this.live.next();
+            }
+            case "close":
+            {
+                try
+                {
+                    this.buffered.close();
+                }
+                finally
+                {
+                    this.live.close();
+                }
+                return null;
+            }
+            case "getMetaData":
+            case "getStatement":
+            case "getFetchSize":
+            case "setFetchSize":
+            case "getType":
+            case "getConcurrency":
+            case "getWarnings":
+            case "clearWarnings":
+            case "isClosed":
+            case "unwrap":
+            case "isWrapperFor":
+            {
+                return invoke(this.live, method, args);
+            }
+            default:
+            {
+                return invoke(this.current, method, args);
+            }
+        }
+    }
+
+    private static Object invoke(ResultSet resultSet, Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(resultSet, args);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+}
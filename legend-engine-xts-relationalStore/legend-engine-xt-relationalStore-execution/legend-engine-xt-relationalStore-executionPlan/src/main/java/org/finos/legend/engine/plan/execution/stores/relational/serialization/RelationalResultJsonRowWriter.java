@@ -0,0 +1,356 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.serialization;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.block.factory.Functions;
+import org.finos.legend.engine.plan.execution.result.serialization.ExecutionResultObjectMapperFactory;
+import org.finos.legend.engine.plan.execution.result.transformer.SetImplTransformers;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Writes the values of the current row of a {@link RelationalResult} as a JSON array body.
+ * A writer is chosen once per column: columns which are not transformed and whose values the driver returns as
+ * {@link Long}, {@link Integer}, {@link Short}, {@link Byte}, {@link Double} or {@link String} are read straight from
+ * the result set and encoded into a reusable UTF-8 buffer, every other column goes through the generic transformer
+ * path so the output is the same as {@link ValueTransformer}.
+ */
+class RelationalResultJsonRowWriter
+{
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final RelationalResult relationalResult;
+    private final ValueTransformer transformer = new ValueTransformer();
+    private final Function<Object, String> purePrimitiveToJsonConverter = ExecutionResultObjectMapperFactory.getPurePrimitiveToJsonConverter();
+    private final ColumnWriter[] columnWriters;
+    private final Utf8Buffer buffer = new Utf8Buffer();
+
+    RelationalResultJsonRowWriter(RelationalResult relationalResult) throws SQLException
+    {
+        this(relationalResult, true);
+    }
+
+    /**
+     * @param typedColumnWriters false to write every column through the generic transformer path
+     */
+    RelationalResultJsonRowWriter(RelationalResult relationalResult, boolean typedColumnWriters) throws SQLException
+    {
+        this.relationalResult = relationalResult;
+        this.columnWriters = new ColumnWriter[relationalResult.columnCount];
+        boolean singleSetImplementation = typedColumnWriters && relationalResult.setTransformers.size() == 1;
+        for (int i = 1; i <= relationalResult.columnCount; i++)
+        {
+            Function<Object, Object> columnTransformer = singleSetImplementation ? relationalResult.setTransformers.get(0).transformers.get(i - 1) : null;
+            this.columnWriters[i - 1] = singleSetImplementation ? chooseColumnWriter(relationalResult, i, columnTransformer) : this::writeGeneric;
+        }
+    }
+
+    void writeRow(OutputStream outputStream, byte[] separator) throws IOException, SQLException
+    {
+        this.buffer.reset();
+        ResultSet resultSet = this.relationalResult.resultSet;
+        for (int i = 1; i <= this.columnWriters.length; i++)
+        {
+            if (i > 1)
+            {
+                this.buffer.write(separator);
+            }
+            this.columnWriters[i - 1].write(resultSet, i);
+        }
+        this.buffer.writeTo(outputStream);
+    }
+
+    private ColumnWriter chooseColumnWriter(RelationalResult relationalResult, int columnIndex, Function<Object, Object> columnTransformer) throws SQLException
+    {
+        boolean untransformed = (columnTransformer == Functions.identity()) || (columnTransformer == SetImplTransformers.TEMPORARY_DATATYPE_TRANSFORMER);
+        if (!untransformed || relationalResult.isTemporalColumn(columnIndex))
+        {
+            return this::writeGeneric;
+        }
+        // the class of the values returned by getObject, which the generic path writes with toString: the SQL type
+        // alone does not tell it, e.g. BIGINT UNSIGNED columns return BigInteger and Oracle FLOAT columns BigDecimal
+        String columnClassName = relationalResult.resultSetMetaData.getColumnClassName(columnIndex);
+        if (columnClassName == null)
+        {
+            return this::writeGeneric;
+        }
+        switch (columnClassName)
+        {
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+                return this::writeLong;
+            case "java.lang.Double":
+                return this::writeDouble;
+            case "java.lang.String":
+                return this::writeString;
+            default:
+                return this::writeGeneric;
+        }
+    }
+
+    private void writeLong(ResultSet resultSet, int columnIndex) throws SQLException
+    {
+        long value = resultSet.getLong(columnIndex);
+        if (resultSet.wasNull())
+        {
+            this.buffer.write(NULL);
+        }
+        else
+        {
+            this.buffer.writeLong(value);
+        }
+    }
+
+    private void writeDouble(ResultSet resultSet, int columnIndex) throws SQLException
+    {
+        double value = resultSet.getDouble(columnIndex);
+        if (resultSet.wasNull())
+        {
+            this.buffer.write(NULL);
+        }
+        else if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            writeGeneric(resultSet, columnIndex);
+        }
+        else
+        {
+            this.buffer.writeAscii(Double.toString(value));
+        }
+    }
+
+    private void writeString(ResultSet resultSet, int columnIndex) throws SQLException
+    {
+        String value = resultSet.getString(columnIndex);
+        if (value == null)
+        {
+            this.buffer.write(NULL);
+        }
+        else
+        {
+            this.buffer.writeJsonString(value);
+        }
+    }
+
+    private void writeGeneric(ResultSet resultSet, int columnIndex) throws SQLException
+    {
+        Object value = this.relationalResult.getValue(columnIndex);
+        Function<Object, Object> columnTransformer = this.relationalResult.getTransformers().get(columnIndex - 1);
+        this.buffer.writeString(this.transformer.transformWrappedRelationalValueForJSON(value, columnTransformer.andThen(this.purePrimitiveToJsonConverter)));
+    }
+
+    @FunctionalInterface
+    private interface ColumnWriter
+    {
+        void write(ResultSet resultSet, int columnIndex) throws SQLException;
+    }
+
+    static class Utf8Buffer
+    {
+        private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+        private byte[] bytes = new byte[1024];
+        private int size = 0;
+
+        void reset()
+        {
+            this.size = 0;
+        }
+
+        void writeTo(OutputStream outputStream) throws IOException
+        {
+            outputStream.write(this.bytes, 0, this.size);
+        }
+
+        String contentAsString()
+        {
+            return new String(this.bytes, 0, this.size, StandardCharsets.UTF_8);
+        }
+
+        void write(byte[] toWrite)
+        {
+            ensureCapacity(toWrite.length);
+            System.arraycopy(toWrite, 0, this.bytes, this.size, toWrite.length);
+            this.size += toWrite.length;
+        }
+
+        void writeAscii(String value)
+        {
+            int length = value.length();
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++)
+            {
+                this.bytes[this.size++] = (byte) value.charAt(i);
+            }
+        }
+
+        void writeLong(long value)
+        {
+            if (value == Long.MIN_VALUE)
+            {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            ensureCapacity(20);
+            if (value < 0)
+            {
+                this.bytes[this.size++] = '-';
+                value = -value;
+            }
+            int start = this.size;
+            do
+            {
+                this.bytes[this.size++] = (byte) ('0' + (value % 10));
+                value /= 10;
+            }
+            while (value != 0);
+            for (int i = start, j = this.size - 1; i < j; i++, j--)
+            {
+                byte tmp = this.bytes[i];
+                this.bytes[i] = this.bytes[j];
+                this.bytes[j] = tmp;
+            }
+        }
+
+        // Already formatted JSON, only needs encoding
+        void writeString(String value)
+        {
+            int length = value.length();
+            ensureCapacity(length * 3);
+            for (int i = 0; i < length; i++)
+            {
+                writeChar(value, i);
+                if (Character.isHighSurrogate(value.charAt(i)) && (i + 1 < length) && Character.isLowSurrogate(value.charAt(i + 1)))
+                {
+                    i++;
+                }
+            }
+        }
+
+        // Same escaping as ExecutionResultObjectMapperFactory.getPurePrimitiveToJsonConverter
+        void writeJsonString(String value)
+        {
+            int length = value.length();
+            ensureCapacity(length * 6 + 2);
+            this.bytes[this.size++] = '"';
+            for (int i = 0; i < length; i++)
+            {
+                char ch = value.charAt(i);
+                switch (ch)
+                {
+                    case '"':
+                        writeEscape('"');
+                        break;
+                    case '\\':
+                        writeEscape('\\');
+                        break;
+                    case '\n':
+                        writeEscape('n');
+                        break;
+                    case '\r':
+                        writeEscape('r');
+                        break;
+                    case '\t':
+                        writeEscape('t');
+                        break;
+                    case '/':
+                        writeEscape('/');
+                        break;
+                    case '\b':
+                        writeEscape('b');
+                        break;
+                    case '\f':
+                        writeEscape('f');
+                        break;
+                    default:
+                        if (ch <= '\u001F' || (ch >= '\u007F' && ch <= '\u009F') || (ch >= '\u2000' && ch <= '\u20FF'))
+                        {
+                            writeEscape('u');
+                            this.bytes[this.size++] = HEX_DIGITS[(ch >> 12) & 0xF];
+                            this.bytes[this.size++] = HEX_DIGITS[(ch >> 8) & 0xF];
+                            this.bytes[this.size++] = HEX_DIGITS[(ch >> 4) & 0xF];
+                            this.bytes[this.size++] = HEX_DIGITS[ch & 0xF];
+                        }
+                        else
+                        {
+                            writeChar(value, i);
+                            if (Character.isHighSurrogate(ch) && (i + 1 < length) && Character.isLowSurrogate(value.charAt(i + 1)))
+                            {
+                                i++;
+                            }
+                        }
+                }
+            }
+            this.bytes[this.size++] = '"';
+        }
+
+        private void writeEscape(char escaped)
+        {
+            this.bytes[this.size++] = '\\';
+            this.bytes[this.size++] = (byte) escaped;
+        }
+
+        // Encodes the character at index (combined with the next one for surrogate pairs) as UTF-8, capacity must already be ensured
+        private void writeChar(String value, int index)
+        {
+            char ch = value.charAt(index);
+            if (ch < 0x80)
+            {
+                this.bytes[this.size++] = (byte) ch;
+            }
+            else if (ch < 0x800)
+            {
+                this.bytes[this.size++] = (byte) (0xC0 | (ch >> 6));
+                this.bytes[this.size++] = (byte) (0x80 | (ch & 0x3F));
+            }
+            else if (Character.isHighSurrogate(ch) && (index + 1 < value.length()) && Character.isLowSurrogate(value.charAt(index + 1)))
+            {
+                int codePoint = Character.toCodePoint(ch, value.charAt(index + 1));
+                this.bytes[this.size++] = (byte) (0xF0 | (codePoint >> 18));
+                this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                this.bytes[this.size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                this.bytes[this.size++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(ch))
+            {
+                // unpaired surrogate, encoded as '?' like String.getBytes(UTF_8)
+                this.bytes[this.size++] = '?';
+            }
+            else
+            {
+                this.bytes[this.size++] = (byte) (0xE0 | (ch >> 12));
+                this.bytes[this.size++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                this.bytes[this.size++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+
+        private void ensureCapacity(int extra)
+        {
+            if (this.size + extra > this.bytes.length)
+            {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + extra));
+            }
+        }
+    }
+}
@@ -21,7 +21,6 @@ import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.opentracing.Scope;
 import io.opentracing.util.GlobalTracer;
-import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.engine.plan.execution.result.serialization.ExecutionResultObjectMapperFactory;
@@ -41,7 +40,6 @@ import java.util.List;
 public class RelationalResultToJsonDefaultSerializer extends Serializer
 {
     private final ObjectMapper objectMapper = ExecutionResultObjectMapperFactory.getNewObjectMapper();
-    private final Function<Object, String> purePrimitiveToJsonConverter = ExecutionResultObjectMapperFactory.getPurePrimitiveToJsonConverter();
     private final RelationalResult relationalResult;
     private final byte[] b_builder = "{\"builder\": ".getBytes();
     private final byte[] b_generation = ", \"generationInfo\": ".getBytes();
@@ -53,7 +51,6 @@ public class RelationalResultToJsonDefaultSerializer extends Serializer
     private final byte[] b_values = "{\"values\": [".getBytes();
     private final byte[] b_end = "]}".getBytes();
     private final byte[] b_endResult = "}".getBytes();
-    private final ValueTransformer transformer = new ValueTransformer();
 
     public RelationalResultToJsonDefaultSerializer(RelationalResult relationalResult)
     {
@@ -98,11 +95,12 @@ public class RelationalResultToJsonDefaultSerializer extends Serializer
     private void streamRows(OutputStream outputStream) throws Exception
     {
         int rowCount = 0;
+        RelationalResultJsonRowWriter rowWriter = new RelationalResultJsonRowWriter(relationalResult);
         try (Scope scope = GlobalTracer.get().buildSpan("Relational Streaming: Fetch first row").startActive(true))
         {
             if (!relationalResult.resultSet.isClosed() && relationalResult.resultSet.next())
             {
-                processRow(outputStream);
+                processRow(outputStream, rowWriter);
                 rowCount++;
             }
         }
@@ -111,7 +109,7 @@ public class RelationalResultToJsonDefaultSerializer extends Serializer
             while (!relationalResult.resultSet.isClosed() && relationalResult.resultSet.next())
             {
                 outputStream.write(b_comma);
-                processRow(outputStream);
+                processRow(outputStream, rowWriter);
                 rowCount++;
             }
             scope.span().setTag("rowCount", rowCount);
@@ -122,23 +120,13 @@ public class RelationalResultToJsonDefaultSerializer extends Serializer
         }
     }
 
-    private void processRow(OutputStream outputStream) throws IOException, SQLException
+    private void processRow(OutputStream outputStream, RelationalResultJsonRowWriter rowWriter) throws IOException, SQLException
     {
         outputStream.write(b_values);
-
-
-        for (int i = 1; i <= relationalResult.columnCount - 1; i++)
-        {
-            Object value = relationalResult.getValue(i);
-
-            outputStream.write((transformer.transformWrappedRelationalValueForJSON(value, relationalResult.getTransformers().get(i - 1).andThen(purePrimitiveToJsonConverter))).getBytes());
-            outputStream.write(b_comma);
-        }
-        outputStream.write((transformer.transformWrappedRelationalValueForJSON(relationalResult.getValue(relationalResult.columnCount), relationalResult.getTransformers().get(relationalResult.columnCount - 1).andThen(purePrimitiveToJsonConverter))).getBytes());
+        rowWriter.writeRow(outputStream, b_comma);
         outputStream.write(b_end);
     }
 
-
     private void streamCollection(OutputStream outputStream, List collection) throws IOException
     {
         for (int i = 0; i < collection.size() - 1; i++)
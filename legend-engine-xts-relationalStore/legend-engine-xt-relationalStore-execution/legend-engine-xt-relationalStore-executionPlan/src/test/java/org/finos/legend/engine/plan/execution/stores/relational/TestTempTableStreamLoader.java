@@ -0,0 +1,188 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.engine.plan.dependencies.domain.date.PureDate;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.commands.IngestionMethod;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.driver.vendors.h2.H2Commands;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RealizedRelationalResult;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.model.result.SQLResultColumn;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class TestTempTableStreamLoader
+{
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:TestTempTableStreamLoader", "sa", "");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        this.connection.close();
+    }
+
+    @Test
+    public void testRealizedResultIsStreamedIntoTempTable() throws Exception
+    {
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(Lists.mutable.with(new SQLResultColumn("id", "INTEGER"), new SQLResultColumn("name", "VARCHAR(200)"), new SQLResultColumn("created", "TIMESTAMP")));
+        for (int i = 1; i <= 2500; i++)
+        {
+            List<Object> row = Lists.mutable.with(i, i % 10 == 0 ? null : "it's \\" + i, PureDate.newPureDate(2024, 1, 2, 3, 4, 5));
+            result.addRow(row, row);
+        }
+
+        StreamResultToTempTableVisitor visitor = new StreamResultToTempTableVisitor(RelationalExecutionConfiguration.newInstance().build(), this.connection, result, "tempTable", "GMT");
+        Assert.assertTrue(new H2Commands().accept(visitor));
+        Assert.assertEquals(IngestionMethod.STREAMING, visitor.ingestionMethod);
+
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*), count(name), max(id), min(created) from tempTable"))
+        {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(2500, resultSet.getInt(1));
+            Assert.assertEquals(2250, resultSet.getInt(2));
+            Assert.assertEquals(2500, resultSet.getInt(3));
+            Assert.assertEquals(Timestamp.valueOf("2024-01-02 03:04:05"), resultSet.getTimestamp(4));
+        }
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select name from tempTable where id = 7"))
+        {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals("it's \\7", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    public void testResultSetIsStreamedInBatches() throws Exception
+    {
+        try (Statement statement = this.connection.createStatement())
+        {
+            statement.execute("create table target (id INTEGER, name VARCHAR(200))");
+            try (ResultSet source = statement.executeQuery("select x, 'name' || x from system_range(1, 1001)"))
+            {
+                Assert.assertEquals(1001, new TempTableStreamLoader(this.connection, "H2", "target", Lists.mutable.with("INTEGER", "VARCHAR(200)"), 100).load(source));
+            }
+            try (ResultSet resultSet = statement.executeQuery("select count(*), max(name) from target"))
+            {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(1001, resultSet.getInt(1));
+                Assert.assertEquals("name999", resultSet.getString(2));
+            }
+        }
+    }
+
+    @Test
+    public void testBatchInsertBindsValuesOfTheirColumnType() throws Exception
+    {
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(Lists.mutable.with(new SQLResultColumn("id", "BIGINT"), new SQLResultColumn("name", "VARCHAR(200)"), new SQLResultColumn("amount", "DECIMAL(10, 2)"), new SQLResultColumn("active", "BIT")));
+        for (int i = 1; i <= 150; i++)
+        {
+            List<Object> row = Lists.mutable.with((long) i, i == 1 ? "'); drop table target; --" : null, new BigDecimal(i).movePointLeft(2), i % 2 == 0);
+            result.addRow(row, row);
+        }
+        try (Statement statement = this.connection.createStatement())
+        {
+            statement.execute("create table target (id BIGINT, name VARCHAR(200), amount DECIMAL(10, 2), active BIT)");
+
+            StreamResultToTempTableVisitor visitor = new StreamResultToTempTableVisitor(RelationalExecutionConfiguration.newInstance().build(), this.connection, result, "target", "GMT");
+            visitor.ingestionMethod = IngestionMethod.BATCH_INSERT;
+            Assert.assertTrue(new H2Commands().accept(visitor));
+
+            try (ResultSet resultSet = statement.executeQuery("select count(*), sum(amount), count(name), max(name), sum(case when active then 1 else 0 end) from target"))
+            {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(150, resultSet.getInt(1));
+                Assert.assertEquals(new BigDecimal("113.25"), resultSet.getBigDecimal(2));
+                Assert.assertEquals(1, resultSet.getInt(3));
+                Assert.assertEquals("'); drop table target; --", resultSet.getString(4));
+                Assert.assertEquals(75, resultSet.getInt(5));
+            }
+        }
+    }
+
+    @Test
+    public void testLoadedRowsMatchLiteralInserts() throws Exception
+    {
+        int rowCount = 10_000;
+        String source = "select x, case when mod(x, 100) = 0 then null else 'it''s name' || x end from system_range(1, " + rowCount + ")";
+        try (Statement statement = this.connection.createStatement())
+        {
+            statement.execute("create table prepared (id BIGINT, name VARCHAR(200))");
+            statement.execute("create table literal (id BIGINT, name VARCHAR(200))");
+
+            try (ResultSet resultSet = statement.executeQuery(source))
+            {
+                Assert.assertEquals(rowCount, new TempTableStreamLoader(this.connection, "H2", "prepared", Lists.mutable.with("BIGINT", "VARCHAR(200)"), new H2Commands().getTempTableBatchSize()).load(resultSet));
+            }
+
+            // the rows rendered as SQL text, as they were before being bound to a prepared statement
+            try (Statement insertStatement = this.connection.createStatement(); Statement sourceStatement = this.connection.createStatement(); ResultSet resultSet = sourceStatement.executeQuery(source))
+            {
+                while (resultSet.next())
+                {
+                    String name = resultSet.getString(2);
+                    insertStatement.addBatch("insert into literal values (" + resultSet.getLong(1) + ", " + (name == null ? "null" : "'" + name.replace("'", "''") + "'") + ")");
+                }
+                insertStatement.executeBatch();
+            }
+
+            Assert.assertEquals(Lists.mutable.with((long) rowCount, 50_005_000L, 9_900L, "it's name9999"), summary(statement, "prepared"));
+            Assert.assertEquals(summary(statement, "prepared"), summary(statement, "literal"));
+            try (ResultSet resultSet = statement.executeQuery("select count(*) from (select id, name from prepared except select id, name from literal)"))
+            {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(0, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testSqlTypeOfColumnType()
+    {
+        Assert.assertEquals(Types.BIGINT, TempTableStreamLoader.getSqlType("INTEGER"));
+        Assert.assertEquals(Types.VARCHAR, TempTableStreamLoader.getSqlType("varchar(200)"));
+        Assert.assertEquals(Types.DECIMAL, TempTableStreamLoader.getSqlType("DECIMAL(10, 2)"));
+        Assert.assertEquals(Types.TIMESTAMP, TempTableStreamLoader.getSqlType("TIMESTAMP"));
+        Assert.assertEquals(Types.OTHER, TempTableStreamLoader.getSqlType("SEMISTRUCTURED"));
+        Assert.assertEquals(Types.OTHER, TempTableStreamLoader.getSqlType(null));
+    }
+
+    private static List<Object> summary(Statement statement, String table) throws Exception
+    {
+        try (ResultSet resultSet = statement.executeQuery("select count(*), sum(id), count(name), max(name) from " + table))
+        {
+            Assert.assertTrue(resultSet.next());
+            return Lists.mutable.with(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3), resultSet.getString(4));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.plugin;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.engine.plan.execution.stores.relational.result.SQLExecutionResult;
+import org.finos.legend.engine.shared.core.collectionsExtensions.DoubleStrategyHashMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+public class TestGraphFetchParentKeyIndex
+{
+    private static final int PARENT_COUNT = 1_000_000;
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:TestGraphFetchParentKeyIndex", "sa", "");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        this.connection.close();
+    }
+
+    @Test
+    public void testLongKeyOfOneMillionParents() throws Exception
+    {
+        List<Method> keyGetters = Lists.mutable.with(Parent.class.getMethod("getId"));
+        DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap = parentMap(keyGetters);
+        for (long i = 1; i <= PARENT_COUNT; i++)
+        {
+            Parent parent = new Parent(i, null, null);
+            parentMap.put(parent, parent);
+        }
+
+        GraphFetchParentKeyIndex<Object> index = new GraphFetchParentKeyIndex<>(parentMap, keyGetters, Lists.mutable.with(1), new int[]{Types.BIGINT});
+        Assert.assertTrue(index.isPrimitive());
+
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select x from system_range(1, " + (PARENT_COUNT + 10) + ")"))
+        {
+            int found = 0;
+            while (resultSet.next())
+            {
+                Parent parent = (Parent) index.get(resultSet);
+                if (parent != null)
+                {
+                    Assert.assertEquals(resultSet.getLong(1), parent.getId().longValue());
+                    found++;
+                }
+            }
+            Assert.assertEquals(PARENT_COUNT, found);
+        }
+    }
+
+    @Test
+    public void testMultiColumnKey() throws Exception
+    {
+        List<Method> keyGetters = Lists.mutable.with(Parent.class.getMethod("getId"), Parent.class.getMethod("getCode"));
+        DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap = parentMap(keyGetters);
+        for (long i = 1; i <= 1000; i++)
+        {
+            Parent parent = new Parent(i % 100, "code" + (i / 100), null);
+            parentMap.put(parent, parent);
+        }
+
+        GraphFetchParentKeyIndex<Object> index = new GraphFetchParentKeyIndex<>(parentMap, keyGetters, Lists.mutable.with(2, 1), new int[]{Types.INTEGER, Types.VARCHAR});
+        Assert.assertTrue(index.isPrimitive());
+
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select 'code' || (x / 100), mod(x, 100) from system_range(1, 1000) union all select 'other', 1 union all select null, 1"))
+        {
+            int found = 0;
+            while (resultSet.next())
+            {
+                Parent parent = (Parent) index.get(resultSet);
+                if (parent != null)
+                {
+                    Assert.assertEquals(resultSet.getLong(2), parent.getId().longValue());
+                    Assert.assertEquals(resultSet.getString(1), parent.getCode());
+                    found++;
+                }
+            }
+            Assert.assertEquals(1000, found);
+        }
+    }
+
+    @Test
+    public void testParentsAreLookedUpInMapForOtherKeys() throws Exception
+    {
+        List<Method> amountGetters = Lists.mutable.with(Parent.class.getMethod("getAmount"));
+        DoubleStrategyHashMap<Object, Object, SQLExecutionResult> amountMap = parentMap(amountGetters);
+        Parent parent = new Parent(1L, "code", BigDecimal.ONE);
+        amountMap.put(parent, parent);
+        Assert.assertFalse(new GraphFetchParentKeyIndex<>(amountMap, amountGetters, Lists.mutable.with(1), new int[]{Types.DECIMAL}).isPrimitive());
+
+        List<Method> codeGetters = Lists.mutable.with(Parent.class.getMethod("getCode"));
+        DoubleStrategyHashMap<Object, Object, SQLExecutionResult> codeMap = parentMap(codeGetters);
+        Parent parentWithoutCode = new Parent(2L, null, null);
+        codeMap.put(parent, parent);
+        codeMap.put(parentWithoutCode, parentWithoutCode);
+        Assert.assertFalse(new GraphFetchParentKeyIndex<>(codeMap, codeGetters, Lists.mutable.with(1), new int[]{Types.VARCHAR}).isPrimitive());
+
+        List<Method> idGetters = Lists.mutable.with(Parent.class.getMethod("getId"));
+        DoubleStrategyHashMap<Object, Object, SQLExecutionResult> idMap = parentMap(idGetters);
+        idMap.put(parent, parent);
+        Assert.assertFalse(new GraphFetchParentKeyIndex<>(idMap, idGetters, Lists.mutable.with(1), new int[]{Types.VARCHAR}).isPrimitive());
+    }
+
+    private static DoubleStrategyHashMap<Object, Object, SQLExecutionResult> parentMap(List<Method> keyGetters)
+    {
+        return new DoubleStrategyHashMap<>(RelationalGraphFetchUtils.objectSQLResultDoubleHashStrategyWithEmptySecondStrategy(keyGetters));
+    }
+
+    public static class Parent
+    {
+        private final Long id;
+        private final String code;
+        private final BigDecimal amount;
+
+        Parent(Long id, String code, BigDecimal amount)
+        {
+            this.id = id;
+            this.code = code;
+            this.amount = amount;
+        }
+
+        public Long getId()
+        {
+            return this.id;
+        }
+
+        public String getCode()
+        {
+            return this.code;
+        }
+
+        public BigDecimal getAmount()
+        {
+            return this.amount;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.model.result.SQLResultColumn;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.when;
+
+public class TestPrefetchingResultSet
+{
+    @Test
+    public void testResultSetIsClosedOnlyOnceTheInterruptedPrefetchHasStopped() throws Exception
+    {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicBoolean stillReading = new AtomicBoolean();
+
+        ResultSet resultSet = newResultSet();
+        // a driver call which does not return when interrupted
+        when(resultSet.next()).thenAnswer(invocation ->
+        {
+            stillReading.set(true);
+            reading.countDown();
+            boolean released = false;
+            while (!released)
+            {
+                try
+                {
+                    released = release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted.countDown();
+                }
+            }
+            stillReading.set(false);
+            return false;
+        });
+        AtomicBoolean closedWhileReading = new AtomicBoolean();
+        Mockito.doAnswer(invocation ->
+        {
+            closedWhileReading.set(stillReading.get());
+            closed.countDown();
+            return null;
+        }).when(resultSet).close();
+
+        ResultSet prefetched = PrefetchingResultSet.prefetch(resultSet, newColumnsMetaData(resultSet), "GMT", 100, 100);
+        Assert.assertTrue(reading.await(10, TimeUnit.SECONDS));
+
+        prefetched.close();
+        Assert.assertTrue(prefetched.isClosed());
+        Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, closed.getCount());
+
+        release.countDown();
+        Assert.assertTrue(closed.await(10, TimeUnit.SECONDS));
+        Assert.assertFalse(closedWhileReading.get());
+    }
+
+    @Test
+    public void testResultSetIsClosedByCloseOnceAllRowsArePrefetched() throws Exception
+    {
+        ResultSet resultSet = newResultSet();
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn("a", "b");
+
+        ResultSet prefetched = PrefetchingResultSet.prefetch(resultSet, newColumnsMetaData(resultSet), "GMT", 100, 100);
+        Assert.assertTrue(prefetched.next());
+        Assert.assertEquals("a", prefetched.getString(1));
+        Assert.assertTrue(prefetched.next());
+        Assert.assertEquals("b", prefetched.getString(1));
+        Assert.assertFalse(prefetched.next());
+
+        prefetched.close();
+        Mockito.verify(resultSet, Mockito.timeout(10_000)).close();
+    }
+
+    private static ResultSet newResultSet() throws SQLException
+    {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnType(1)).thenReturn(Types.VARCHAR);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        return resultSet;
+    }
+
+    private static SQLResultDBColumnsMetaData newColumnsMetaData(ResultSet resultSet) throws SQLException
+    {
+        return new SQLResultDBColumnsMetaData(Lists.mutable.with(new SQLResultColumn("name", "VARCHAR(10)")), resultSet.getMetaData());
+    }
+}
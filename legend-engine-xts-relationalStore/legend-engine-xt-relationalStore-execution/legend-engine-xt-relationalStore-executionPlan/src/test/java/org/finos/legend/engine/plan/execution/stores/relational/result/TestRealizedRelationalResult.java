@@ -0,0 +1,108 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.result;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.store.relational.model.result.SQLResultColumn;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestRealizedRelationalResult
+{
+    private static final List<SQLResultColumn> COLUMNS = Lists.mutable.with(
+            new SQLResultColumn("id", "INTEGER"),
+            new SQLResultColumn("name", "VARCHAR(100)"),
+            new SQLResultColumn("amount", "DOUBLE"),
+            new SQLResultColumn("updated", "TIMESTAMP"));
+
+    @Test
+    public void testValuesRoundTrip()
+    {
+        Timestamp timestamp = Timestamp.valueOf("2024-03-01 10:15:30.123456789");
+        List<Object> first = Arrays.asList(1L, "a", 1.5d, timestamp);
+        List<Object> second = Arrays.asList(null, "a", null, null);
+        List<Object> third = Arrays.asList(3L, null, 2.5d, timestamp);
+
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(COLUMNS);
+        result.addRow(first, first);
+        result.addRow(second, second);
+        result.addRow(third, third);
+
+        Assert.assertEquals(3, result.getRowCount());
+        Assert.assertEquals(Arrays.asList(first, second, third), result.resultSetRows);
+        Assert.assertEquals(Arrays.asList(first, second, third), result.transformedRows);
+        Assert.assertEquals(timestamp, result.resultSetRows.get(0).get(3));
+        Assert.assertEquals("a", result.getRowValueMaps(false).get(1).get("name"));
+    }
+
+    @Test
+    public void testMixedValueTypesInColumn()
+    {
+        List<Object> first = Arrays.asList(1L, "a", 1.5d, null);
+        List<Object> second = Arrays.asList(2, "b", new BigDecimal("2.50"), "not a timestamp");
+
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(COLUMNS);
+        result.addRow(first, first);
+        result.addRow(second, second);
+
+        Assert.assertEquals(Arrays.asList(first, second), result.resultSetRows);
+        Assert.assertEquals(Integer.class, result.resultSetRows.get(1).get(0).getClass());
+        Assert.assertEquals(Long.class, result.resultSetRows.get(0).get(0).getClass());
+    }
+
+    @Test
+    public void testTransformedRowsKeptWhenDifferent()
+    {
+        List<Object> first = Arrays.asList(1L, "a", 1.5d, null);
+        List<Object> second = Arrays.asList(2L, "b", 2.5d, null);
+        List<Object> transformedSecond = Arrays.asList(2L, "B", 2.5d, null);
+
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(COLUMNS);
+        result.addRow(first, first);
+        result.addRow(second, transformedSecond);
+
+        Assert.assertEquals(Arrays.asList(first, second), result.resultSetRows);
+        Assert.assertEquals(Arrays.asList(first, transformedSecond), result.transformedRows);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRowsAreReadOnly()
+    {
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(COLUMNS);
+        result.addRow(Arrays.asList(1L, "a", 1.5d, null), Arrays.asList(1L, "a", 1.5d, null));
+        result.resultSetRows.get(0).set(0, 2L);
+    }
+
+    @Test
+    public void testEstimatedMemoryUtilizationGrows()
+    {
+        RealizedRelationalResult result = RealizedRelationalResult.emptyRealizedRelationalResult(COLUMNS);
+        long previous = result.getEstimatedMemoryUtilization();
+        for (long i = 0; i < 1000; i++)
+        {
+            List<Object> row = Arrays.asList(i, "name" + (i % 10), (double) i, null);
+            result.addRow(row, row);
+        }
+        long current = result.getEstimatedMemoryUtilization();
+        Assert.assertTrue(current > previous);
+        // 1000 rows of a long, a dictionary code and a double stay well below their boxed size
+        Assert.assertTrue("Estimated " + current, current < 1000 * 4 * 24);
+    }
+}
@@ -0,0 +1,142 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.serialization;
+
+import org.finos.legend.engine.plan.execution.result.serialization.ExecutionResultObjectMapperFactory;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.AlloyTestServer;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.function.Function;
+
+public class TestRelationalResultJsonRowWriter extends AlloyTestServer
+{
+    private static final byte[] SEPARATOR = {','};
+
+    private final Function<Object, String> purePrimitiveToJsonConverter = ExecutionResultObjectMapperFactory.getPurePrimitiveToJsonConverter();
+
+    @Test
+    public void testJsonStringEncodingMatchesConverter()
+    {
+        assertSameJsonString("plain");
+        assertSameJsonString("quote \" backslash \\ slash /");
+        assertSameJsonString("control \n\r\t\b\f\u0001\u007F\u0085");
+        assertSameJsonString("general punctuation ‘quoted’ €");
+        assertSameJsonString("non ascii é ß 日本 😀");
+    }
+
+    @Test
+    public void testLongEncoding()
+    {
+        RelationalResultJsonRowWriter.Utf8Buffer buffer = new RelationalResultJsonRowWriter.Utf8Buffer();
+        for (long value : new long[]{0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE})
+        {
+            buffer.reset();
+            buffer.writeLong(value);
+            Assert.assertEquals(Long.toString(value), buffer.contentAsString());
+        }
+    }
+
+    @Test
+    public void testTypedColumnWritersMatchGenericPath() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+        byte[] typed = writeRows(plan, true);
+        byte[] generic = writeRows(plan, false);
+
+        String rows = new String(typed, StandardCharsets.UTF_8);
+        Assert.assertEquals(rows, new String(generic, StandardCharsets.UTF_8));
+        Assert.assertArrayEquals(generic, typed);
+        Assert.assertTrue(rows, rows.startsWith("1,9223372036854775807,1.5,"));
+        Assert.assertTrue(rows, rows.contains("\n3,null,null,null,null,null,null,null,null,null\n"));
+    }
+
+    @Override
+    protected void insertTestData(Statement statement) throws SQLException
+    {
+        statement.execute("drop table if exists MixedTable");
+        statement.execute("create table MixedTable (id INTEGER, big BIGINT, amount DOUBLE, ratio REAL, price DECIMAL(10, 2), name VARCHAR(200), code CHAR(3), active BIT, day DATE, created TIMESTAMP)");
+        statement.execute("insert into MixedTable values (1, 9223372036854775807, 1.5, 0.1, 12.34, 'it''s \"quoted\" \\ é 日本', 'ab', true, '2024-01-02', '2024-01-02 03:04:05.123')");
+        statement.execute("insert into MixedTable values (2, -9223372036854775808, cast('NaN' as DOUBLE), cast('Infinity' as REAL), -0.01, '', 'abc', false, '1999-12-31', '1999-12-31 23:59:59')");
+        statement.execute("insert into MixedTable values (3, null, null, null, null, null, null, null, null, null)");
+        statement.execute("insert into MixedTable values (4, 0, cast('-Infinity' as DOUBLE), 1e-10, 0, 'line\nbreak\ttab', 'x', true, '2024-02-29', '2024-02-29 00:00:00')");
+        statement.execute("insert into MixedTable values (5, 1234567890123, 1e300, 3.4028235e38, 99999999.99, '€ ‘quoted’', null, null, null, null)");
+    }
+
+    private byte[] writeRows(SingleExecutionPlan plan, boolean typedColumnWriters) throws Exception
+    {
+        RelationalResult result = (RelationalResult) planExecutor.execute(plan, Collections.emptyMap(), null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try
+        {
+            RelationalResultJsonRowWriter rowWriter = new RelationalResultJsonRowWriter(result, typedColumnWriters);
+            while (result.resultSet.next())
+            {
+                rowWriter.writeRow(outputStream, SEPARATOR);
+                outputStream.write('\n');
+            }
+        }
+        finally
+        {
+            result.close();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private String getPlan()
+    {
+        String[][] columns = {
+                {"id", "Integer", "INTEGER"},
+                {"big", "Integer", "BIGINT"},
+                {"amount", "Float", "DOUBLE"},
+                {"ratio", "Float", "REAL"},
+                {"price", "Decimal", "DECIMAL(10, 2)"},
+                {"name", "String", "VARCHAR(200)"},
+                {"code", "String", "CHAR(3)"},
+                {"active", "Boolean", "BIT"},
+                {"day", "StrictDate", "DATE"},
+                {"created", "DateTime", "TIMESTAMP"}};
+        StringBuilder tdsColumns = new StringBuilder();
+        StringBuilder select = new StringBuilder();
+        StringBuilder resultColumns = new StringBuilder();
+        for (String[] column : columns)
+        {
+            String separator = tdsColumns.length() == 0 ? "" : ",";
+            tdsColumns.append(separator).append("{\"name\":\"").append(column[0]).append("\",\"type\":\"").append(column[1]).append("\",\"doc\":null,\"relationalType\":\"").append(column[2]).append("\",\"enumMapping\":{}}");
+            select.append(separator).append("\\\"root\\\".").append(column[0]).append(" as \\\"").append(column[0]).append("\\\"");
+            resultColumns.append(separator).append("{\"label\":\"\\\"").append(column[0]).append("\\\"\",\"dataType\":\"").append(column[2]).append("\"}");
+        }
+        return "{\"_type\":\"simple\",\"authDependent\":false,\"kerberos\":null,\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"},\"templateFunctions\":[]," +
+                "\"rootExecutionNode\":{\"_type\":\"relationalTdsInstantiation\",\"resultType\":{\"_type\":\"tds\",\"tdsColumns\":[" + tdsColumns + "]}," +
+                "\"executionNodes\":[{\"_type\":\"sql\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"meta::pure::metamodel::type::Any\"},\"executionNodes\":[],\"resultSizeRange\":null,\"implementation\":null," +
+                "\"sqlQuery\":\"select " + select + " from MixedTable as \\\"root\\\" order by \\\"root\\\".id\",\"onConnectionCloseCommitQuery\":null,\"onConnectionCloseRollbackQuery\":null," +
+                "\"connection\":{\"_type\": \"RelationalDatabaseConnection\",\"type\": \"H2\",\"authenticationStrategy\" : {\"_type\" : \"test\"},\"datasourceSpecification\" : {\"_type\" : \"static\",\"databaseName\" : \"testDB\",\"host\":\"127.0.0.1\",\"port\" : \"" + serverPort + "\"},\"timeZone\":\"GMT\"}," +
+                "\"resultColumns\":[" + resultColumns + "]}],\"resultSizeRange\":null,\"implementation\":null},\"globalImplementationSupport\":null}";
+    }
+
+    private void assertSameJsonString(String value)
+    {
+        RelationalResultJsonRowWriter.Utf8Buffer buffer = new RelationalResultJsonRowWriter.Utf8Buffer();
+        buffer.writeJsonString(value);
+        Assert.assertEquals(this.purePrimitiveToJsonConverter.apply(value), buffer.contentAsString());
+    }
+}
@@ -0,0 +1,196 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.test.execution;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.nodes.ExecutionNodeExecutor;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.plan.execution.result.ConstantResult;
+import org.finos.legend.engine.plan.execution.result.Result;
+import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
+import org.finos.legend.engine.plan.execution.stores.relational.activity.RelationalExecutionActivity;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.config.TemporaryTestDbConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.AlloyTestServer;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreExecutionState;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreState;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+public class TestRelationalBindVariables extends AlloyTestServer
+{
+    private static final String NAME_FILTER = "\\\"root\\\".name = '${name?replace(\\\"'\\\", \\\"''\\\")}' and \\\"root\\\".id > ${minId}";
+    private static final String NAME_PREFIX_FILTER = "\\\"root\\\".name like '${name?replace(\\\"'\\\", \\\"''\\\")}%'";
+    private static final String NUMBER_IN_LITERAL_FILTER = "\\\"root\\\".name <> '${minId} days'";
+    private static final String UPPER_CASE_NAME_FILTER = "upper(\\\"root\\\".name) = '${name?upper_case}'";
+
+    @Override
+    protected void insertTestData(Statement statement) throws SQLException
+    {
+        statement.execute("drop table if exists ProductTable");
+        statement.execute("create table ProductTable (id Integer, name VARCHAR(200))");
+        statement.execute("insert into ProductTable select x, 'GS-Mod' || x from system_range(1, 100)");
+        statement.execute("insert into ProductTable values (101, 'it''s GS-Mod')");
+    }
+
+    @Test
+    public void testBindVariablesReturnTheResultsOfInlinedValues() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NAME_FILTER), SingleExecutionPlan.class);
+        for (String name : Lists.mutable.with("GS-Mod7", "it's GS-Mod", "unknown"))
+        {
+            RelationalResult inlined = execute(plan, newStoreState(false), name);
+            RelationalResult bound = execute(plan, newStoreState(true), name);
+            Assert.assertEquals(inlined.flush(inlined.getSerializer(SerializationFormat.PURE)), bound.flush(bound.getSerializer(SerializationFormat.PURE)));
+            Assert.assertNull(((RelationalExecutionActivity) inlined.activities.get(inlined.activities.size() - 1)).parameters);
+            Assert.assertEquals(Lists.mutable.with(name, 0L), ((RelationalExecutionActivity) bound.activities.get(bound.activities.size() - 1)).parameters);
+        }
+    }
+
+    @Test
+    public void testBindVariablesSaveParsingTheSqlOfEachExecution() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NAME_FILTER), SingleExecutionPlan.class);
+        Assert.assertEquals(5, this.countStatements(plan, newStoreState(false)));
+        Assert.assertEquals(1, this.countStatements(plan, newStoreState(true)));
+    }
+
+    @Test
+    public void testCommentIsKeptOutOfTheSqlWithBindVariables() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NAME_FILTER), SingleExecutionPlan.class);
+        RelationalResult result = execute(plan, newStoreState(true), "GS-Mod7");
+        RelationalExecutionActivity activity = (RelationalExecutionActivity) result.activities.get(result.activities.size() - 1);
+        result.flush(result.getSerializer(SerializationFormat.PURE));
+
+        Assert.assertTrue(activity.comment, activity.comment.startsWith("-- \"executionTraceID\" : \""));
+        Assert.assertEquals(activity.sql, activity.getExecutedSql());
+        Assert.assertEquals(activity.sql, result.executedSQl);
+        Assert.assertEquals(activity.comment + "\n" + activity.sql + " with parameters [GS-Mod7, 0]", activity.getLoggedSql());
+
+        RelationalResult inlined = execute(plan, newStoreState(false), "GS-Mod7");
+        RelationalExecutionActivity inlinedActivity = (RelationalExecutionActivity) inlined.activities.get(inlined.activities.size() - 1);
+        inlined.close();
+        Assert.assertEquals(inlinedActivity.comment + "\n" + inlinedActivity.sql, inlinedActivity.getExecutedSql());
+    }
+
+    @Test
+    public void testParametersAreSerializedWithTheActivity() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NAME_FILTER), SingleExecutionPlan.class);
+        RelationalResult bound = execute(plan, newStoreState(true), "GS-Mod7");
+        RelationalResult inlined = execute(plan, newStoreState(false), "GS-Mod7");
+        bound.close();
+        inlined.close();
+
+        String boundJson = objectMapper.writeValueAsString(bound.activities.get(bound.activities.size() - 1));
+        Assert.assertTrue(boundJson, boundJson.contains("\"parameters\":[\"GS-Mod7\",0]"));
+        Assert.assertFalse(boundJson, boundJson.contains("executedSql"));
+        String inlinedJson = objectMapper.writeValueAsString(inlined.activities.get(inlined.activities.size() - 1));
+        Assert.assertFalse(inlinedJson, inlinedJson.contains("parameters"));
+    }
+
+    @Test
+    public void testValuesWithinLargerLiteralsAreInlined() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NAME_PREFIX_FILTER), SingleExecutionPlan.class);
+        RelationalResult result = execute(plan, newStoreState(true), "GS-Mod10");
+        RelationalExecutionActivity activity = (RelationalExecutionActivity) result.activities.get(result.activities.size() - 1);
+        Assert.assertNull(activity.parameters);
+        Assert.assertTrue(activity.sql.contains("like 'GS-Mod10%'"));
+        Assert.assertTrue(result.flush(result.getSerializer(SerializationFormat.PURE)).contains("GS-Mod100"));
+    }
+
+    @Test
+    public void testNumbersWithinLargerLiteralsAreInlined() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(NUMBER_IN_LITERAL_FILTER), SingleExecutionPlan.class);
+        RelationalResult result = execute(plan, newStoreState(true), "GS-Mod10");
+        RelationalExecutionActivity activity = (RelationalExecutionActivity) result.activities.get(result.activities.size() - 1);
+        Assert.assertNull(activity.parameters);
+        Assert.assertTrue(activity.sql, activity.sql.contains("<> '0 days'"));
+        Assert.assertTrue(result.flush(result.getSerializer(SerializationFormat.PURE)).contains("GS-Mod100"));
+    }
+
+    @Test
+    public void testValuesTransformedByTheTemplateAreInlined() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(UPPER_CASE_NAME_FILTER), SingleExecutionPlan.class);
+        RelationalResult result = execute(plan, newStoreState(true), "gs-mod7");
+        RelationalExecutionActivity activity = (RelationalExecutionActivity) result.activities.get(result.activities.size() - 1);
+        Assert.assertNull(activity.parameters);
+        Assert.assertTrue(activity.sql, activity.sql.contains("= 'GS-MOD7'"));
+        Assert.assertTrue(result.flush(result.getSerializer(SerializationFormat.PURE)).contains("GS-Mod7"));
+    }
+
+    private long countStatements(SingleExecutionPlan plan, RelationalStoreState storeState) throws SQLException
+    {
+        try (Statement statement = testRelationalExecutor.getConnectionManager().getTestDatabaseConnection().createStatement())
+        {
+            statement.execute("SET QUERY_STATISTICS FALSE");
+            statement.execute("SET QUERY_STATISTICS TRUE");
+            for (int i = 1; i <= 5; i++)
+            {
+                RelationalResult result = execute(plan, storeState, "GS-Mod" + i);
+                result.flush(result.getSerializer(SerializationFormat.PURE));
+            }
+            try (ResultSet resultSet = statement.executeQuery("select count(*), sum(EXECUTION_COUNT) from INFORMATION_SCHEMA.QUERY_STATISTICS where SQL_STATEMENT like '%ProductTable%' and SQL_STATEMENT not like '%QUERY_STATISTICS%'"))
+            {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(5, resultSet.getLong(2));
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private RelationalStoreState newStoreState(boolean bindVariables)
+    {
+        return new RelationalStoreState(new TemporaryTestDbConfiguration(serverPort), RelationalExecutionConfiguration.newInstance()
+                .withTempPath("/tmp/")
+                .withBindVariables(bindVariables)
+                .build());
+    }
+
+    private static RelationalResult execute(SingleExecutionPlan plan, RelationalStoreState storeState, String name)
+    {
+        Map<String, Result> parameters = Maps.mutable.with("name", new ConstantResult(name), "minId", new ConstantResult(0L));
+        ExecutionState state = new ExecutionState(parameters, Lists.mutable.withAll(plan.templateFunctions), Lists.mutable.with(new RelationalStoreExecutionState(storeState)));
+        // as set by the plan executor, for the standard comment of the sql
+        state.addResult(PlanExecutor.EXEC_ID, new ConstantResult(state.execID));
+        return (RelationalResult) plan.rootExecutionNode.accept(new ExecutionNodeExecutor(null, state));
+    }
+
+    private String getPlan(String filter)
+    {
+        return "{\"_type\":\"simple\",\"authDependent\":false,\"kerberos\":null,\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"},\"templateFunctions\":[]," +
+                "\"rootExecutionNode\":{\"_type\":\"relationalTdsInstantiation\",\"resultType\":{\"_type\":\"tds\",\"tdsColumns\":[" +
+                "{\"name\":\"id\",\"type\":\"Integer\",\"doc\":null,\"relationalType\":\"INTEGER\",\"enumMapping\":{}}," +
+                "{\"name\":\"name\",\"type\":\"String\",\"doc\":null,\"relationalType\":\"VARCHAR(200)\",\"enumMapping\":{}}]}," +
+                "\"executionNodes\":[{\"_type\":\"sql\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"meta::pure::metamodel::type::Any\"},\"executionNodes\":[],\"resultSizeRange\":null,\"implementation\":null," +
+                "\"sqlComment\":\"-- \\\"executionTraceID\\\" : \\\"${execID}\\\"\"," +
+                "\"sqlQuery\":\"select \\\"root\\\".id as \\\"id\\\", \\\"root\\\".name as \\\"name\\\" from ProductTable as \\\"root\\\" where " + filter + " order by \\\"root\\\".id\",\"onConnectionCloseCommitQuery\":null,\"onConnectionCloseRollbackQuery\":null," +
+                "\"connection\":{\"_type\": \"RelationalDatabaseConnection\",\"type\": \"H2\",\"authenticationStrategy\" : {\"_type\" : \"test\"},\"datasourceSpecification\" : {\"_type\" : \"static\",\"databaseName\" : \"testDB\",\"host\":\"127.0.0.1\",\"port\" : \"" + serverPort + "\"},\"timeZone\":\"GMT\"}," +
+                "\"resultColumns\":[{\"label\":\"\\\"id\\\"\",\"dataType\":\"INTEGER\"},{\"label\":\"\\\"name\\\"\",\"dataType\":\"VARCHAR(200)\"}]}],\"resultSizeRange\":null,\"implementation\":null},\"globalImplementationSupport\":null}";
+    }
+}
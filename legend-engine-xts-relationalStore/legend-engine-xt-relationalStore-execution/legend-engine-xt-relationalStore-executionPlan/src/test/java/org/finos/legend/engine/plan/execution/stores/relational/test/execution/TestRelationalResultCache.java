@@ -0,0 +1,138 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.test.execution;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.finos.legend.engine.plan.execution.nodes.ExecutionNodeExecutor;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalResultCacheConfig;
+import org.finos.legend.engine.plan.execution.stores.relational.config.TemporaryTestDbConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.AlloyTestServer;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreExecutionState;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreState;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.plan.execution.stores.relational.result.cache.RelationalResultCache;
+import org.finos.legend.engine.plan.execution.stores.relational.serialization.RelationalResultToPureTDSSerializer;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class TestRelationalResultCache extends AlloyTestServer
+{
+    private static final String ALL_NAMES = "[{\"values\":[\"GS-ModA\"]},{\"values\":[\"GS-ModB\"]},{\"values\":[\"GS-ModC\"]}]";
+
+    @Override
+    protected void insertTestData(Statement statement) throws SQLException
+    {
+        statement.execute("drop table if exists ProductTable");
+        statement.execute("create table ProductTable (id Integer, name VARCHAR(200))");
+        statement.execute("insert into ProductTable values(1, 'GS-ModA')");
+        statement.execute("insert into ProductTable values(2, 'GS-ModB')");
+        statement.execute("insert into ProductTable values(3, 'GS-ModC')");
+    }
+
+    @Test
+    public void testResultIsServedFromTheCacheUntilInvalidated() throws Exception
+    {
+        RelationalStoreState storeState = newStoreState(10);
+        RelationalResultCache cache = storeState.getRelationalExecutor().getResultCache();
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+        Assert.assertEquals(1, cache.getCache().stats().hitCount());
+        Assert.assertEquals(1, cache.getCache().stats().missCount());
+
+        deleteProduct(3);
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+
+        cache.invalidateAll();
+        Assert.assertEquals("[{\"values\":[\"GS-ModA\"]},{\"values\":[\"GS-ModB\"]}]", execute(plan, storeState));
+    }
+
+    @Test
+    public void testResultWithTooManyRowsIsNotCached() throws Exception
+    {
+        RelationalStoreState storeState = newStoreState(2);
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        // the rows fetched before finding the result too large are served along with the others
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+        deleteProduct(3);
+        Assert.assertEquals("[{\"values\":[\"GS-ModA\"]},{\"values\":[\"GS-ModB\"]}]", execute(plan, storeState));
+        Assert.assertEquals(1, storeState.getRelationalExecutor().getResultCache().getCache().stats().hitCount());
+        Assert.assertEquals(1, storeState.getRelationalExecutor().getResultCache().getCache().stats().missCount());
+    }
+
+    @Test
+    public void testResultWithAsManyRowsAsTheLimitIsCached() throws Exception
+    {
+        RelationalStoreState storeState = newStoreState(3);
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+        deleteProduct(3);
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+    }
+
+    @Test
+    public void testResultIsStreamedWhenNoRowCanBeCached() throws Exception
+    {
+        RelationalStoreState storeState = newStoreState(0);
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+        Assert.assertEquals(ALL_NAMES, execute(plan, storeState));
+    }
+
+    private RelationalStoreState newStoreState(int maxRowsPerResult)
+    {
+        return new RelationalStoreState(new TemporaryTestDbConfiguration(serverPort), RelationalExecutionConfiguration.newInstance()
+                .withTempPath("/tmp/")
+                .withResultCacheConfig(new RelationalResultCacheConfig(60, 1024 * 1024, maxRowsPerResult))
+                .build());
+    }
+
+    private void deleteProduct(int id) throws SQLException
+    {
+        try (Connection connection = testRelationalExecutor.getConnectionManager().getTestDatabaseConnection(); Statement statement = connection.createStatement())
+        {
+            statement.execute("delete from ProductTable where id = " + id);
+        }
+    }
+
+    private static String execute(SingleExecutionPlan plan, RelationalStoreState storeState)
+    {
+        RelationalResult result = (RelationalResult) plan.rootExecutionNode.accept(new ExecutionNodeExecutor(null, new ExecutionState(Maps.mutable.empty(), Lists.mutable.withAll(plan.templateFunctions), Lists.mutable.with(new RelationalStoreExecutionState(storeState)))));
+        String json = result.flush(new RelationalResultToPureTDSSerializer(result));
+        return json.substring(json.indexOf("\"rows\":") + "\"rows\":".length(), json.length() - 1);
+    }
+
+    private String getPlan()
+    {
+        return "{\"_type\":\"simple\",\"authDependent\":false,\"kerberos\":null,\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"},\"templateFunctions\":[]," +
+                "\"rootExecutionNode\":{\"_type\":\"relationalTdsInstantiation\",\"resultType\":{\"_type\":\"tds\",\"tdsColumns\":[{\"name\":\"name\",\"type\":\"String\",\"doc\":null,\"relationalType\":\"VARCHAR(200)\",\"enumMapping\":{}}]}," +
+                "\"executionNodes\":[{\"_type\":\"sql\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"meta::pure::metamodel::type::Any\"},\"executionNodes\":[],\"resultSizeRange\":null,\"implementation\":null," +
+                "\"sqlQuery\":\"select \\\"root\\\".name as \\\"name\\\" from ProductTable as \\\"root\\\" order by \\\"root\\\".id\",\"onConnectionCloseCommitQuery\":null,\"onConnectionCloseRollbackQuery\":null," +
+                "\"connection\":{\"_type\": \"RelationalDatabaseConnection\",\"type\": \"H2\",\"authenticationStrategy\" : {\"_type\" : \"test\"},\"datasourceSpecification\" : {\"_type\" : \"static\",\"databaseName\" : \"testDB\",\"host\":\"127.0.0.1\",\"port\" : \"" + serverPort + "\"},\"timeZone\":\"GMT\"}," +
+                "\"resultColumns\":[{\"label\":\"\\\"name\\\"\",\"dataType\":\"VARCHAR(200)\"}]}],\"resultSizeRange\":null,\"implementation\":null},\"globalImplementationSupport\":null}";
+    }
+}
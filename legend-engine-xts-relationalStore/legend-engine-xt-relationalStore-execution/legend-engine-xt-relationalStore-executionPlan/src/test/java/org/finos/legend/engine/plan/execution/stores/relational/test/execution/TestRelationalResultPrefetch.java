@@ -0,0 +1,125 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.relational.test.execution;
+
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.finos.legend.engine.plan.execution.nodes.ExecutionNodeExecutor;
+import org.finos.legend.engine.plan.execution.nodes.state.ExecutionState;
+import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalExecutionConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.config.RelationalResultPrefetchConfig;
+import org.finos.legend.engine.plan.execution.stores.relational.config.TemporaryTestDbConfiguration;
+import org.finos.legend.engine.plan.execution.stores.relational.connection.AlloyTestServer;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreExecutionState;
+import org.finos.legend.engine.plan.execution.stores.relational.plugin.RelationalStoreState;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+public class TestRelationalResultPrefetch extends AlloyTestServer
+{
+    @Override
+    protected void insertTestData(Statement statement) throws SQLException
+    {
+        statement.execute("drop table if exists ProductTable");
+        statement.execute("create table ProductTable (id Integer, name VARCHAR(200), created TIMESTAMP)");
+        statement.execute("insert into ProductTable select x, 'GS-Mod' || x, dateadd('MINUTE', x, timestamp '2024-01-01 00:00:00') from system_range(1, 1000)");
+    }
+
+    @Test
+    public void testPrefetchedResultIsSerializedAsStreamedResult() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        RelationalResult streamed = execute(plan, newStoreState(null));
+        String expected = streamed.flush(streamed.getSerializer(SerializationFormat.PURE));
+
+        RelationalResult prefetched = execute(plan, newStoreState(new RelationalResultPrefetchConfig(100, 1024)));
+        Assert.assertEquals(expected, prefetched.flush(prefetched.getSerializer(SerializationFormat.PURE)));
+        Assert.assertTrue(expected.contains("GS-Mod1000"));
+    }
+
+    @Test
+    public void testPrefetchedResultCanBeClosedBeforeBeingRead() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        RelationalResult prefetched = execute(plan, newStoreState(new RelationalResultPrefetchConfig(100, 1024)));
+        prefetched.getSerializer(SerializationFormat.PURE);
+        ResultSet resultSet = prefetched.resultSet;
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("GS-Mod1", resultSet.getString("name"));
+        Assert.assertEquals(1, resultSet.getLong(1));
+        Assert.assertFalse(resultSet.wasNull());
+
+        prefetched.close();
+        Assert.assertTrue(resultSet.isClosed());
+    }
+
+    @Test
+    public void testPrefetchedTimestampsAreReadWithTheCalendar() throws Exception
+    {
+        SingleExecutionPlan plan = objectMapper.readValue(getPlan(), SingleExecutionPlan.class);
+
+        RelationalResult prefetched = execute(plan, newStoreState(new RelationalResultPrefetchConfig(100, 1024)));
+        prefetched.getSerializer(SerializationFormat.PURE);
+        ResultSet resultSet = prefetched.resultSet;
+        try
+        {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(Instant.parse("2024-01-01T00:01:00Z"), resultSet.getTimestamp(3, new GregorianCalendar(TimeZone.getTimeZone("GMT"))).toInstant());
+            Assert.assertEquals(Instant.parse("2024-01-01T05:01:00Z"), resultSet.getTimestamp(3, new GregorianCalendar(TimeZone.getTimeZone("America/New_York"))).toInstant());
+        }
+        finally
+        {
+            prefetched.close();
+        }
+    }
+
+    private RelationalStoreState newStoreState(RelationalResultPrefetchConfig prefetchConfig)
+    {
+        return new RelationalStoreState(new TemporaryTestDbConfiguration(serverPort), RelationalExecutionConfiguration.newInstance()
+                .withTempPath("/tmp/")
+                .withResultPrefetchConfig(prefetchConfig)
+                .build());
+    }
+
+    private static RelationalResult execute(SingleExecutionPlan plan, RelationalStoreState storeState)
+    {
+        return (RelationalResult) plan.rootExecutionNode.accept(new ExecutionNodeExecutor(null, new ExecutionState(Maps.mutable.empty(), Lists.mutable.withAll(plan.templateFunctions), Lists.mutable.with(new RelationalStoreExecutionState(storeState)))));
+    }
+
+    private String getPlan()
+    {
+        return "{\"_type\":\"simple\",\"authDependent\":false,\"kerberos\":null,\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"},\"templateFunctions\":[]," +
+                "\"rootExecutionNode\":{\"_type\":\"relationalTdsInstantiation\",\"resultType\":{\"_type\":\"tds\",\"tdsColumns\":[" +
+                "{\"name\":\"id\",\"type\":\"Integer\",\"doc\":null,\"relationalType\":\"INTEGER\",\"enumMapping\":{}}," +
+                "{\"name\":\"name\",\"type\":\"String\",\"doc\":null,\"relationalType\":\"VARCHAR(200)\",\"enumMapping\":{}}," +
+                "{\"name\":\"created\",\"type\":\"DateTime\",\"doc\":null,\"relationalType\":\"TIMESTAMP\",\"enumMapping\":{}}]}," +
+                "\"executionNodes\":[{\"_type\":\"sql\",\"resultType\":{\"_type\":\"dataType\",\"dataType\":\"meta::pure::metamodel::type::Any\"},\"executionNodes\":[],\"resultSizeRange\":null,\"implementation\":null," +
+                "\"sqlQuery\":\"select \\\"root\\\".id as \\\"id\\\", \\\"root\\\".name as \\\"name\\\", \\\"root\\\".created as \\\"created\\\" from ProductTable as \\\"root\\\" order by \\\"root\\\".id\",\"onConnectionCloseCommitQuery\":null,\"onConnectionCloseRollbackQuery\":null," +
+                "\"connection\":{\"_type\": \"RelationalDatabaseConnection\",\"type\": \"H2\",\"authenticationStrategy\" : {\"_type\" : \"test\"},\"datasourceSpecification\" : {\"_type\" : \"static\",\"databaseName\" : \"testDB\",\"host\":\"127.0.0.1\",\"port\" : \"" + serverPort + "\"},\"timeZone\":\"GMT\"}," +
+                "\"resultColumns\":[{\"label\":\"\\\"id\\\"\",\"dataType\":\"INTEGER\"},{\"label\":\"\\\"name\\\"\",\"dataType\":\"VARCHAR(200)\"},{\"label\":\"\\\"created\\\"\",\"dataType\":\"TIMESTAMP\"}]}],\"resultSizeRange\":null,\"implementation\":null},\"globalImplementationSupport\":null}";
+    }
+}
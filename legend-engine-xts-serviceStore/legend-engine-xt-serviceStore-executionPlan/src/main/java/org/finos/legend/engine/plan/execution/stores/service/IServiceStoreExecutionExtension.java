@@ -37,6 +37,14 @@ public interface IServiceStoreExecutionExtension extends ExecutionExtension
         return Lists.mutable.withAll(ServiceLoader.load(IServiceStoreExecutionExtension.class));
     }
 
+    /**
+     * Processors applying the credential of a security scheme to the connection, returning null when they do not
+     * support the scheme.
+     * <p>
+     * Connections share a pooled HTTP client by default, in which case {@link HttpConnectionBuilder#httpClientBuilder}
+     * is ignored: processors set the credential on {@link HttpConnectionBuilder#requestBuilder} (e.g. as a header), or
+     * clear {@link HttpConnectionBuilder#connectionPool} when they need to customize the client.
+     */
     default List<Function5<SecurityScheme, Credential, HttpConnectionBuilder, Identity, CredentialProviderProvider, Boolean>> getExtraSecuritySchemeProcessors(List<Function<Credential,String>> credentialProcessors)
     {
         return Collections.emptyList();
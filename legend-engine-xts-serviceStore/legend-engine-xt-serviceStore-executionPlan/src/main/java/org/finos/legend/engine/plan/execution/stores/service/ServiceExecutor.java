@@ -39,6 +39,7 @@ import org.finos.legend.engine.plan.execution.result.serialization.Serialization
 import org.finos.legend.engine.plan.execution.stores.service.activity.ServiceStoreExecutionActivity;
 import org.finos.legend.engine.plan.execution.stores.service.auth.HttpConnectionBuilder;
 import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreAuthenticationSpecification;
+import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionPool;
 import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionProvider;
 import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionSpecification;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.nodes.AuthenticationSchemeRequirement;
@@ -65,10 +66,17 @@ import java.util.Map;
 public class ServiceExecutor
 {
     private final CredentialProviderProvider credentialProviderProvider;
+    private final ServiceStoreConnectionPool connectionPool;
 
     public ServiceExecutor(CredentialProviderProvider credentialProviderProvider)
+    {
+        this(credentialProviderProvider, null);
+    }
+
+    public ServiceExecutor(CredentialProviderProvider credentialProviderProvider, ServiceStoreConnectionPool connectionPool)
     {
         this.credentialProviderProvider = credentialProviderProvider;
+        this.connectionPool = connectionPool;
     }
 
     public InputStreamResult executeHttpService(String url, List<Header> headers, StringEntity requestBodyEntity, HttpMethod httpMethod, String mimeType, List<SecurityScheme> securitySchemes, List<AuthenticationSchemeRequirement> authenticationSchemeRequirements, MutableList<CommonProfile> profiles)
@@ -94,7 +102,7 @@ public class ServiceExecutor
 
         try
         {
-            ServiceStoreConnectionProvider serviceStoreConnectionProvider = new ServiceStoreConnectionProvider(this.credentialProviderProvider);
+            ServiceStoreConnectionProvider serviceStoreConnectionProvider = new ServiceStoreConnectionProvider(this.credentialProviderProvider, this.connectionPool);
             ServiceStoreConnectionSpecification connectionSpecification = new ServiceStoreConnectionSpecification(uri, httpMethod.toString(), headers, requestBodyDescription, mimeType);
             ServiceStoreAuthenticationSpecification authenticationSpecification = new ServiceStoreAuthenticationSpecification(authenticationSchemeRequirements,securitySchemes);
 
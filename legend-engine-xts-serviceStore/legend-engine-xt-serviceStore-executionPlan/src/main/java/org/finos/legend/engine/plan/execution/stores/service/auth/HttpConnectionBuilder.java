@@ -24,17 +24,33 @@ public class HttpConnectionBuilder
 {
     public HttpClientBuilder httpClientBuilder;
     public RequestBuilder requestBuilder;
+    public ServiceStoreConnectionPool connectionPool;
 
     public HttpConnectionBuilder(HttpClientBuilder httpClientBuilder, RequestBuilder requestBuilder)
+    {
+        this(httpClientBuilder, requestBuilder, null);
+    }
+
+    /**
+     * When a connection pool is given, requests are sent through its shared client and the client builder is not used:
+     * whatever needs to be set for a request has to be set on the request builder, or the connection pool cleared for
+     * the request to be sent by a client of its own.
+     */
+    public HttpConnectionBuilder(HttpClientBuilder httpClientBuilder, RequestBuilder requestBuilder, ServiceStoreConnectionPool connectionPool)
     {
         this.httpClientBuilder = httpClientBuilder;
         this.requestBuilder = requestBuilder;
+        this.connectionPool = connectionPool;
     }
 
     public CloseableHttpResponse execute() throws Exception
     {
-        CloseableHttpClient httpClient = httpClientBuilder.build();
         HttpUriRequest request = requestBuilder.build();
+        if (connectionPool != null)
+        {
+            return connectionPool.execute(request);
+        }
+        CloseableHttpClient httpClient = httpClientBuilder.build();
         return httpClient.execute(request);
     }
 }
@@ -0,0 +1,108 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.service.auth;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client shared by the service store executions, keeping connections alive between calls so that requests to the
+ * same service reuse them instead of paying for a new TCP/TLS handshake every time.
+ * <p>
+ * Credentials are not part of the client: they are set on each request (see {@link ServiceStoreConnectionProvider}).
+ * Cookies are not managed either, so that nothing received for one identity is sent for another.
+ */
+public class ServiceStoreConnectionPool implements Closeable
+{
+    private static final String POOL_NAME = "ServiceStore";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * @param maxConnections          maximum number of connections opened overall
+     * @param maxConnectionsPerRoute  maximum number of connections opened to one host
+     * @param keepAliveDuration       how long a connection is kept alive when the service does not say
+     * @param idleEvictionDuration    how long a connection may stay unused before it is closed
+     * @param connectionRequestTimeout how long a request waits for a connection when all of them are leased
+     */
+    public ServiceStoreConnectionPool(int maxConnections, int maxConnectionsPerRoute, Duration keepAliveDuration, Duration idleEvictionDuration, Duration connectionRequestTimeout)
+    {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(this.connectionManager)
+                // without a timeout, requests would wait forever for a connection once the pool is exhausted
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(Math.toIntExact(connectionRequestTimeout.toMillis())).build())
+                .setKeepAliveStrategy((response, context) ->
+                {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? Math.min(keepAlive, keepAliveDuration.toMillis()) : keepAliveDuration.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictionDuration.toMillis(), TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .build();
+    }
+
+    public CloseableHttpResponse execute(HttpUriRequest request) throws IOException
+    {
+        try
+        {
+            return this.httpClient.execute(request);
+        }
+        finally
+        {
+            this.publishMetrics();
+        }
+    }
+
+    public PoolStats getStats()
+    {
+        return this.connectionManager.getTotalStats();
+    }
+
+    private void publishMetrics()
+    {
+        PoolStats stats = this.getStats();
+        MetricsHandler.setConnectionMetrics(POOL_NAME, stats.getLeased(), stats.getLeased() + stats.getAvailable(), stats.getAvailable());
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            this.httpClient.close();
+        }
+        finally
+        {
+            MetricsHandler.removeConnectionMetrics(POOL_NAME);
+        }
+    }
+}
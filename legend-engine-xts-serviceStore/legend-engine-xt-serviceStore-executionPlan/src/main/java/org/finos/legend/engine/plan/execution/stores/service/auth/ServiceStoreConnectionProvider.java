@@ -38,9 +38,17 @@ import java.util.Objects;
 
 public class ServiceStoreConnectionProvider extends ConnectionProvider<HttpConnectionBuilder>
 {
+    private final ServiceStoreConnectionPool connectionPool;
+
     public ServiceStoreConnectionProvider(CredentialProviderProvider credentialProviderProvider)
+    {
+        this(credentialProviderProvider, null);
+    }
+
+    public ServiceStoreConnectionProvider(CredentialProviderProvider credentialProviderProvider, ServiceStoreConnectionPool connectionPool)
     {
         super(credentialProviderProvider);
+        this.connectionPool = connectionPool;
     }
 
     public HttpConnectionBuilder makeConnection(ConnectionSpecification connectionSpecification, AuthenticationSpecification authenticationSpecification, Identity identity) throws Exception
@@ -63,7 +71,7 @@ public class ServiceStoreConnectionProvider extends ConnectionProvider<HttpConne
 
                 HttpClientBuilder clientBuilder = HttpClients.custom();
                 RequestBuilder requestBuilder = makeRequestUtil(serviceStoreConnectionSpecification);
-                HttpConnectionBuilder httpConnectionBuilder = new HttpConnectionBuilder(clientBuilder, requestBuilder);
+                HttpConnectionBuilder httpConnectionBuilder = new HttpConnectionBuilder(clientBuilder, requestBuilder, this.connectionPool);
                 Credential credential = null;
                 if (authSpecification != null)
                 {
@@ -82,7 +90,7 @@ public class ServiceStoreConnectionProvider extends ConnectionProvider<HttpConne
             }
         }
 
-        return new HttpConnectionBuilder(HttpClients.custom(), makeRequestUtil(serviceStoreConnectionSpecification));
+        return new HttpConnectionBuilder(HttpClients.custom(), makeRequestUtil(serviceStoreConnectionSpecification), this.connectionPool);
 
     }
 
@@ -19,9 +19,23 @@ import org.finos.legend.engine.plan.execution.stores.StoreExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
 import org.finos.legend.engine.plan.execution.stores.service.ServiceExecutor;
 
+import java.time.Duration;
+
 public class ServiceStoreExecutionConfiguration implements StoreExecutorConfiguration
 {
+    public static final int DEFAULT_MAX_CONNECTIONS = 200;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    public static final Duration DEFAULT_KEEP_ALIVE_DURATION = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_IDLE_CONNECTION_EVICTION_DURATION = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_CONNECTION_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
     private CredentialProviderProvider credentialProviderProvider;
+    private boolean connectionPoolingEnabled;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private Duration keepAliveDuration;
+    private Duration idleConnectionEvictionDuration;
+    private Duration connectionRequestTimeout;
 
     @Override
     public StoreType getStoreType()
@@ -34,6 +48,36 @@ public class ServiceStoreExecutionConfiguration implements StoreExecutorConfigur
         return credentialProviderProvider;
     }
 
+    public boolean isConnectionPoolingEnabled()
+    {
+        return connectionPoolingEnabled;
+    }
+
+    public int getMaxConnections()
+    {
+        return maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute()
+    {
+        return maxConnectionsPerRoute;
+    }
+
+    public Duration getKeepAliveDuration()
+    {
+        return keepAliveDuration;
+    }
+
+    public Duration getIdleConnectionEvictionDuration()
+    {
+        return idleConnectionEvictionDuration;
+    }
+
+    public Duration getConnectionRequestTimeout()
+    {
+        return connectionRequestTimeout;
+    }
+
     public static Builder builder()
     {
         return new Builder();
@@ -42,6 +86,12 @@ public class ServiceStoreExecutionConfiguration implements StoreExecutorConfigur
     public static class Builder
     {
         private CredentialProviderProvider credentialProviderProvider = CredentialProviderProvider.builder().build();
+        private boolean connectionPoolingEnabled = true;
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        private Duration keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+        private Duration idleConnectionEvictionDuration = DEFAULT_IDLE_CONNECTION_EVICTION_DURATION;
+        private Duration connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
 
         public Builder withCredentialProviderProvider(CredentialProviderProvider credentialProviderProvider)
         {
@@ -49,10 +99,59 @@ public class ServiceStoreExecutionConfiguration implements StoreExecutorConfigur
             return this;
         }
 
+        /**
+         * When enabled (the default), HTTP connections are kept alive and shared between executions instead of being
+         * opened for every service call.
+         */
+        public Builder withConnectionPoolingEnabled(boolean connectionPoolingEnabled)
+        {
+            this.connectionPoolingEnabled = connectionPoolingEnabled;
+            return this;
+        }
+
+        public Builder withMaxConnections(int maxConnections)
+        {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public Builder withMaxConnectionsPerRoute(int maxConnectionsPerRoute)
+        {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        public Builder withKeepAliveDuration(Duration keepAliveDuration)
+        {
+            this.keepAliveDuration = keepAliveDuration;
+            return this;
+        }
+
+        public Builder withIdleConnectionEvictionDuration(Duration idleConnectionEvictionDuration)
+        {
+            this.idleConnectionEvictionDuration = idleConnectionEvictionDuration;
+            return this;
+        }
+
+        /**
+         * How long a service call waits for a pooled connection when all of them are in use, before failing.
+         */
+        public Builder withConnectionRequestTimeout(Duration connectionRequestTimeout)
+        {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
         public ServiceStoreExecutionConfiguration build()
         {
             ServiceStoreExecutionConfiguration serviceStoreExecutionConfiguration = new ServiceStoreExecutionConfiguration();
             serviceStoreExecutionConfiguration.credentialProviderProvider = credentialProviderProvider;
+            serviceStoreExecutionConfiguration.connectionPoolingEnabled = connectionPoolingEnabled;
+            serviceStoreExecutionConfiguration.maxConnections = maxConnections;
+            serviceStoreExecutionConfiguration.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            serviceStoreExecutionConfiguration.keepAliveDuration = keepAliveDuration;
+            serviceStoreExecutionConfiguration.idleConnectionEvictionDuration = idleConnectionEvictionDuration;
+            serviceStoreExecutionConfiguration.connectionRequestTimeout = connectionRequestTimeout;
             return serviceStoreExecutionConfiguration;
         }
     }
@@ -18,6 +18,7 @@ import org.finos.legend.engine.plan.execution.stores.StoreExecutor;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorBuilder;
 import org.finos.legend.engine.plan.execution.stores.StoreExecutorConfiguration;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
+import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionPool;
 import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionSpecification;
 
 public class ServiceStoreExecutorBuilder implements StoreExecutorBuilder
@@ -42,7 +43,10 @@ public class ServiceStoreExecutorBuilder implements StoreExecutorBuilder
             throw new IllegalStateException("Incorrect store execution configuration. Please reach out to dev team");
         }
         ServiceStoreExecutionConfiguration serviceStoreExecutionConfiguration = (ServiceStoreExecutionConfiguration) storeExecutorConfiguration;
-        ServiceStoreState state = new ServiceStoreState();
+        ServiceStoreConnectionPool connectionPool = serviceStoreExecutionConfiguration.isConnectionPoolingEnabled()
+                ? new ServiceStoreConnectionPool(serviceStoreExecutionConfiguration.getMaxConnections(), serviceStoreExecutionConfiguration.getMaxConnectionsPerRoute(), serviceStoreExecutionConfiguration.getKeepAliveDuration(), serviceStoreExecutionConfiguration.getIdleConnectionEvictionDuration(), serviceStoreExecutionConfiguration.getConnectionRequestTimeout())
+                : null;
+        ServiceStoreState state = new ServiceStoreState(connectionPool);
         return new ServiceStoreExecutor(state,serviceStoreExecutionConfiguration);
     }
 }
@@ -16,9 +16,30 @@ package org.finos.legend.engine.plan.execution.stores.service.plugin;
 
 import org.finos.legend.engine.plan.execution.stores.StoreState;
 import org.finos.legend.engine.plan.execution.stores.StoreType;
+import org.finos.legend.engine.plan.execution.stores.service.auth.ServiceStoreConnectionPool;
 
 public class ServiceStoreState implements StoreState
 {
+    private final ServiceStoreConnectionPool connectionPool;
+
+    public ServiceStoreState()
+    {
+        this(null);
+    }
+
+    public ServiceStoreState(ServiceStoreConnectionPool connectionPool)
+    {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * @return the HTTP connection pool shared by executions, or null when connection pooling is disabled
+     */
+    public ServiceStoreConnectionPool getConnectionPool()
+    {
+        return this.connectionPool;
+    }
+
     @Override
     public StoreType getStoreType()
     {
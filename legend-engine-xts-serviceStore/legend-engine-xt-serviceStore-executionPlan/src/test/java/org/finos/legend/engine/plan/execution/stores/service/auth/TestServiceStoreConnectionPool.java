@@ -0,0 +1,105 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.plan.execution.stores.service.auth;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.finos.legend.engine.shared.core.port.DynamicPortGenerator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+
+public class TestServiceStoreConnectionPool
+{
+    private WireMockServer testServer;
+    private ServiceStoreConnectionPool connectionPool;
+
+    @Before
+    public void setUp()
+    {
+        this.testServer = new WireMockServer(DynamicPortGenerator.generatePort());
+        this.testServer.start();
+        this.testServer.stubFor(WireMock.get(WireMock.urlEqualTo("/ping")).willReturn(WireMock.aResponse().withHeader("Set-Cookie", "session=abc").withBody("pong")));
+        this.connectionPool = new ServiceStoreConnectionPool(10, 2, Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofSeconds(1));
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        this.connectionPool.close();
+        this.testServer.stop();
+    }
+
+    @Test
+    public void testConnectionIsReusedAcrossRequests() throws Exception
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            Assert.assertEquals("pong", this.get(null));
+        }
+        Assert.assertEquals(0, this.connectionPool.getStats().getLeased());
+        Assert.assertEquals(1, this.connectionPool.getStats().getAvailable());
+        this.testServer.verify(20, WireMock.getRequestedFor(WireMock.urlEqualTo("/ping")));
+    }
+
+    @Test
+    public void testCredentialsAndCookiesAreNotShared() throws Exception
+    {
+        this.get("Basic dXNlcjE6cHdk");
+        this.get("Basic dXNlcjI6cHdk");
+
+        this.testServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/ping")).withHeader("Authorization", WireMock.equalTo("Basic dXNlcjE6cHdk")));
+        this.testServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/ping")).withHeader("Authorization", WireMock.equalTo("Basic dXNlcjI6cHdk")));
+        this.testServer.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo("/ping")).withHeader("Cookie", WireMock.matching(".*")));
+    }
+
+    @Test
+    public void testRequestTimesOutWhenNoConnectionIsAvailable() throws Exception
+    {
+        // the pool opens 2 connections to the service, both leased until the responses are closed
+        try (CloseableHttpResponse first = this.send(null); CloseableHttpResponse second = this.send(null))
+        {
+            Assert.assertEquals(2, this.connectionPool.getStats().getLeased());
+            Assert.assertThrows(ConnectionPoolTimeoutException.class, () -> this.send(null));
+        }
+        Assert.assertEquals("pong", this.get(null));
+    }
+
+    private String get(String authorization) throws Exception
+    {
+        try (CloseableHttpResponse response = this.send(authorization))
+        {
+            return EntityUtils.toString(response.getEntity());
+        }
+    }
+
+    private CloseableHttpResponse send(String authorization) throws Exception
+    {
+        RequestBuilder requestBuilder = RequestBuilder.get("http://localhost:" + this.testServer.port() + "/ping");
+        if (authorization != null)
+        {
+            requestBuilder.addHeader("Authorization", authorization);
+        }
+        return new HttpConnectionBuilder(HttpClients.custom(), requestBuilder, this.connectionPool).execute();
+    }
+}
@@ -34,6 +34,22 @@ public class TestServiceStoreExecutorBuilder
         Assert.assertNull(state.getStoreExecutionInfo());
     }
 
+    @Test
+    public void testConnectionPoolingEnabledByDefault()
+    {
+        ServiceStoreExecutor executor = new ServiceStoreExecutorBuilder().build();
+        Assert.assertNotNull(executor.getStoreState().getConnectionPool());
+        Assert.assertEquals(0, executor.getStoreState().getConnectionPool().getStats().getAvailable());
+    }
+
+    @Test
+    public void testConnectionPoolingDisabled()
+    {
+        ServiceStoreExecutionConfiguration configuration = ServiceStoreExecutionConfiguration.builder().withConnectionPoolingEnabled(false).build();
+        ServiceStoreExecutor executor = (ServiceStoreExecutor) new ServiceStoreExecutorBuilder().build(configuration);
+        Assert.assertNull(executor.getStoreState().getConnectionPool());
+    }
+
     @Test
     public void testGetStoreType()
     {
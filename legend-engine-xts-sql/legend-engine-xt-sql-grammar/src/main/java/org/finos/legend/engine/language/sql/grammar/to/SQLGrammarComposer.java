@@ -406,6 +406,12 @@ public class SQLGrammarComposer
                 return value + " BETWEEN " + min + " AND " +  max;
             }
 
+            @Override
+            public String visit(ParameterPlaceholderExpression val)
+            {
+                return val.literal.accept(this);
+            }
+
             @Override
             public String visit(QualifiedNameReference val)
             {
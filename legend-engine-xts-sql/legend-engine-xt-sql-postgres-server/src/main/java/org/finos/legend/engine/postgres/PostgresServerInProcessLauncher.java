@@ -0,0 +1,44 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.postgres;
+
+import org.finos.legend.engine.postgres.auth.AuthenticationMethod;
+import org.finos.legend.engine.postgres.config.Builder;
+import org.finos.legend.engine.postgres.config.ServerConfig;
+import org.finos.legend.engine.postgres.handler.legend.LegendInProcessClient;
+import org.finos.legend.engine.postgres.handler.legend.LegendSessionFactory;
+import org.finos.legend.engine.query.sql.api.SQLExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the Postgres server within an engine, executing queries with the engine's {@link SQLExecutor} rather than
+ * posting them to an engine over HTTP. The handler configured in the {@link ServerConfig} is ignored.
+ */
+public class PostgresServerInProcessLauncher
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresServerInProcessLauncher.class);
+
+    public static PostgresServer launch(ServerConfig serverConfig, SQLExecutor executor)
+    {
+        SessionsFactory sessionFactory = new LegendSessionFactory(new LegendInProcessClient(executor));
+        AuthenticationMethod authenticationMethod = Builder.buildAuthenticationMethod(serverConfig);
+
+        LOGGER.info("Starting in process server in port: " + serverConfig.getPort());
+        PostgresServer server = new PostgresServer(serverConfig, sessionFactory, (user, connectionProperties) -> authenticationMethod);
+        server.run();
+        return server;
+    }
+}
@@ -15,10 +15,25 @@
 package org.finos.legend.engine.postgres.handler.legend;
 
 import java.util.List;
+import org.finos.legend.engine.shared.core.identity.Identity;
 
 public interface LegendExecutionClient
 {
     public List<LegendColumn> getSchema(String query);
 
     LegendExecutionResult executeQuery(String query);
+
+    /**
+     * Clients calling a remote engine rely on the caller's Kerberos subject, clients running in the engine need
+     * the identity itself.
+     */
+    default List<LegendColumn> getSchema(String query, Identity identity)
+    {
+        return getSchema(query);
+    }
+
+    default LegendExecutionResult executeQuery(String query, Identity identity)
+    {
+        return executeQuery(query);
+    }
 }
@@ -0,0 +1,220 @@
+// Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.postgres.handler.legend;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.finos.legend.engine.language.sql.grammar.from.SQLGrammarParser;
+import org.finos.legend.engine.plan.execution.result.Result;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.result.TDSColumn;
+import org.finos.legend.engine.protocol.sql.metamodel.Query;
+import org.finos.legend.engine.protocol.sql.schema.metamodel.EnumSchemaColumn;
+import org.finos.legend.engine.protocol.sql.schema.metamodel.PrimitiveSchemaColumn;
+import org.finos.legend.engine.protocol.sql.schema.metamodel.Schema;
+import org.finos.legend.engine.protocol.sql.schema.metamodel.SchemaColumn;
+import org.finos.legend.engine.query.sql.api.SQLExecutor;
+import org.finos.legend.engine.query.sql.providers.core.SQLContext;
+import org.finos.legend.engine.shared.core.identity.Identity;
+import org.finos.legend.engine.shared.core.identity.factory.IdentityFactoryProvider;
+import org.finos.legend.pure.m4.coreinstance.primitive.date.PureDate;
+import org.pac4j.core.profile.CommonProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes queries with a {@link SQLExecutor} running in the same JVM as the Postgres server, rather than posting them
+ * to the engine over HTTP as {@link LegendTdsClient} does. Rows are read straight from the {@link RelationalResult},
+ * so values keep their JDBC types and are never serialized to JSON and parsed back.
+ * <p>
+ * The engine modules are not dependencies of the standalone server: this client can only be used when the server is
+ * started from within the engine, with {@link org.finos.legend.engine.postgres.PostgresServerInProcessLauncher}.
+ */
+public class LegendInProcessClient implements LegendExecutionClient
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(LegendInProcessClient.class);
+    private static final SQLGrammarParser PARSER = SQLGrammarParser.newInstance();
+
+    private final SQLExecutor executor;
+
+    public LegendInProcessClient(SQLExecutor executor)
+    {
+        this.executor = executor;
+    }
+
+    @Override
+    public List<LegendColumn> getSchema(String query)
+    {
+        return getSchema(query, unknownIdentity());
+    }
+
+    @Override
+    public LegendExecutionResult executeQuery(String query)
+    {
+        return executeQuery(query, unknownIdentity());
+    }
+
+    @Override
+    public List<LegendColumn> getSchema(String query, Identity identity)
+    {
+        LOGGER.info("getting schema for query " + query);
+        Schema schema = this.executor.schema(parse(query), profiles(identity));
+        return schema.columns == null ? Collections.emptyList() : ListIterate.collect(schema.columns, LegendInProcessClient::toLegendColumn);
+    }
+
+    @Override
+    public LegendExecutionResult executeQuery(String query, Identity identity)
+    {
+        LOGGER.info("executing query " + query);
+        Query sqlQuery = parse(query);
+        Result result = this.executor.execute(sqlQuery, identity.getName(), new SQLContext(sqlQuery), profiles(identity));
+        if (!(result instanceof RelationalResult))
+        {
+            result.close();
+            throw new LegendTdsClientException("Only relational TDS results can be returned in process, got " + result.getClass().getSimpleName());
+        }
+        return new RelationalExecutionResult((RelationalResult) result);
+    }
+
+    private static Identity unknownIdentity()
+    {
+        return IdentityFactoryProvider.getInstance().makeIdentity(Lists.mutable.<CommonProfile>empty());
+    }
+
+    private static Query parse(String query)
+    {
+        return (Query) PARSER.parseStatement(query);
+    }
+
+    private static MutableList<CommonProfile> profiles(Identity identity)
+    {
+        return Lists.mutable.withAll(IdentityFactoryProvider.getInstance().adapt(identity));
+    }
+
+    private static LegendColumn toLegendColumn(SchemaColumn column)
+    {
+        if (column instanceof PrimitiveSchemaColumn)
+        {
+            return new LegendColumn(column.name, ((PrimitiveSchemaColumn) column).type.name());
+        }
+        if (column instanceof EnumSchemaColumn)
+        {
+            return new LegendColumn(column.name, ((EnumSchemaColumn) column).type);
+        }
+        throw new LegendTdsClientException("Unsupported schema column " + column.getClass().getSimpleName());
+    }
+
+    private static class RelationalExecutionResult implements LegendExecutionResult
+    {
+        private final RelationalResult result;
+        private final List<LegendColumn> legendColumns;
+        private final int columnCount;
+        private Boolean hasNext;
+
+        private RelationalExecutionResult(RelationalResult result)
+        {
+            this.result = result;
+            List<TDSColumn> tdsColumns = result.getTdsColumns();
+            this.legendColumns = Collections.unmodifiableList(ListIterate.collect(tdsColumns, c -> new LegendColumn(c.name, c.type)));
+            this.columnCount = tdsColumns.size();
+        }
+
+        @Override
+        public List<LegendColumn> getLegendColumns()
+        {
+            return this.legendColumns;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (this.hasNext == null)
+            {
+                try
+                {
+                    this.hasNext = this.result.resultSet.next();
+                }
+                catch (SQLException e)
+                {
+                    throw new LegendTdsClientException("Error while retrieving a row", e);
+                }
+            }
+            return this.hasNext;
+        }
+
+        @Override
+        public List<Object> next()
+        {
+            if (!hasNext())
+            {
+                throw new IllegalStateException("No more rows");
+            }
+            this.hasNext = null;
+            try
+            {
+                List<Function<Object, Object>> transformers = this.result.getTransformers();
+                List<Object> row = new ArrayList<>(this.columnCount);
+                for (int i = 0; i < this.columnCount; i++)
+                {
+                    row.add(toJdbcValue(transformers.get(i).valueOf(this.result.getValue(i + 1))));
+                }
+                return row;
+            }
+            catch (SQLException e)
+            {
+                throw new LegendTdsClientException("Error while retrieving a row", e);
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            this.result.close();
+        }
+
+        // the result transformers turn JDBC dates and timestamps into PureDate, which LegendResultSet does not know about
+        private static Object toJdbcValue(Object value)
+        {
+            if (!(value instanceof PureDate))
+            {
+                return value;
+            }
+            PureDate date = (PureDate) value;
+            if (!date.hasHour())
+            {
+                return java.sql.Date.valueOf(LocalDate.of(date.getYear(), date.getMonth(), date.getDay()));
+            }
+            LocalDateTime dateTime = LocalDateTime.of(
+                    date.getYear(),
+                    date.getMonth(),
+                    date.getDay(),
+                    date.getHour(),
+                    date.hasMinute() ? date.getMinute() : 0,
+                    date.hasSecond() ? date.getSecond() : 0,
+                    date.hasSubsecond() ? Integer.parseInt((date.getSubsecond() + "000000000").substring(0, 9)) : 0);
+            return Timestamp.from(dateTime.toInstant(ZoneOffset.UTC));
+        }
+    }
+}
@@ -53,11 +53,11 @@ public class LegendPreparedStatement implements PostgresPreparedStatement
         {
             LegendKerberosCredential credential = (LegendKerberosCredential) identity.getFirstCredential();
             return Subject.doAs(credential.getSubject(), (PrivilegedAction<LegendResultSetMetaData>) () ->
-                    new LegendResultSetMetaData(client.getSchema(query)));
+                    new LegendResultSetMetaData(client.getSchema(query, identity)));
         }
         else
         {
-            return new LegendResultSetMetaData(client.getSchema(query));
+            return new LegendResultSetMetaData(client.getSchema(query, identity));
         }
     }
 
@@ -99,7 +99,7 @@ public class LegendPreparedStatement implements PostgresPreparedStatement
 
     private boolean executePrivate()
     {
-        legendResultSet = new LegendResultSet(client.executeQuery(query));
+        legendResultSet = new LegendResultSet(client.executeQuery(query, identity));
         return true;
     }
 
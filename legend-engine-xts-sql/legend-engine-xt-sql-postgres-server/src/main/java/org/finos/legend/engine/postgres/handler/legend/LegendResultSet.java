@@ -66,11 +66,19 @@ public class LegendResultSet implements PostgresResultSet
         switch (legendColumn.getType())
         {
             case STRICT_DATE:
+                if (value instanceof java.util.Date)
+                {
+                    return toEpochMilli((java.util.Date) value);
+                }
                 LocalDate localDate = ISO_LOCAL_DATE.parse((String) value, LocalDate::from);
                 long toEpochMilli = localDate.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
                 return toEpochMilli;
             case DATE:
             case DATE_TIME:
+                if (value instanceof java.util.Date)
+                {
+                    return toEpochMilli((java.util.Date) value);
+                }
                 TemporalAccessor temporalAccessor = TIMESTAMP_FORMATTER.parseBest((String) value, Instant::from, LocalDate::from);
                 if (temporalAccessor instanceof Instant)
                 {                    //if date is a valid time stamp
@@ -105,6 +113,16 @@ public class LegendResultSet implements PostgresResultSet
         return false;
     }
 
+    // values of results executed in process are not serialized to text: dates are read as is from the result set
+    private static long toEpochMilli(java.util.Date date)
+    {
+        if (date instanceof java.sql.Date)
+        {
+            return ((java.sql.Date) date).toLocalDate().atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        return date.getTime();
+    }
+
     @Override
     public void close()
     {
@@ -54,7 +54,7 @@ public class LegendStatement implements PostgresStatement
 
     private boolean executePrivate(String query)
     {
-        legendResultSet = new LegendResultSet(client.executeQuery(query));
+        legendResultSet = new LegendResultSet(client.executeQuery(query, identity));
         return true;
     }
 
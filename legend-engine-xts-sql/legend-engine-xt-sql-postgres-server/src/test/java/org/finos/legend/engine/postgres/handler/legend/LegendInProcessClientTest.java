@@ -0,0 +1,86 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.engine.postgres.handler.legend;
+
+import io.dropwizard.testing.junit.ResourceTestRule;
+import java.util.List;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.engine.query.sql.api.execute.SqlExecuteTest;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class LegendInProcessClientTest
+{
+    @ClassRule
+    public static final ResourceTestRule resources = SqlExecuteTest.getPureModelResourceTestRulePair().getTwo();
+
+    private static final String QUERY = "SELECT Id, Name, CAST('2023-01-01' AS DATE) AS \"constantDate\", CAST('2023-01-01 10:01:01' AS TIMESTAMP) AS \"constantTimestamp\" " +
+            "FROM service('/personService') ORDER BY Id";
+
+    @Test
+    public void testRowsMatchRowsExecutedOverHttp() throws Exception
+    {
+        LegendInProcessClient inProcessClient = new LegendInProcessClient(SqlExecuteTest.newSQLExecutor());
+        LegendTdsTestClient httpClient = new LegendTdsTestClient(resources);
+
+        LegendExecutionResult inProcessResult = inProcessClient.executeQuery(QUERY);
+        LegendExecutionResult httpResult = httpClient.executeQuery(QUERY);
+        Assert.assertEquals(types(httpResult.getLegendColumns()), types(inProcessResult.getLegendColumns()));
+        Assert.assertEquals(Lists.mutable.with(LegendDataType.INTEGER, LegendDataType.STRING, LegendDataType.STRICT_DATE, LegendDataType.DATE_TIME), types(inProcessResult.getLegendColumns()));
+
+        List<List<Object>> inProcessRows = rows(new LegendResultSet(inProcessResult), inProcessResult.getLegendColumns().size());
+        List<List<Object>> httpRows = rows(new LegendResultSet(httpResult), httpResult.getLegendColumns().size());
+        Assert.assertEquals(4, inProcessRows.size());
+        Assert.assertEquals(httpRows, inProcessRows);
+    }
+
+    @Test
+    public void testSchemaMatchesSchemaOverHttp()
+    {
+        LegendInProcessClient inProcessClient = new LegendInProcessClient(SqlExecuteTest.newSQLExecutor());
+        LegendTdsTestClient httpClient = new LegendTdsTestClient(resources);
+
+        Assert.assertEquals(types(httpClient.getSchema(QUERY)), types(inProcessClient.getSchema(QUERY)));
+    }
+
+    private static MutableList<String> types(List<LegendColumn> columns)
+    {
+        return Lists.mutable.withAll(columns).collect(LegendColumn::getType);
+    }
+
+    private static List<List<Object>> rows(LegendResultSet resultSet, int columnCount) throws Exception
+    {
+        MutableList<List<Object>> rows = Lists.mutable.empty();
+        try
+        {
+            while (resultSet.next())
+            {
+                MutableList<Object> row = Lists.mutable.empty();
+                for (int i = 1; i <= columnCount; i++)
+                {
+                    row.add(resultSet.getObject(i));
+                }
+                rows.add(row);
+            }
+        }
+        finally
+        {
+            resultSet.close();
+        }
+        return rows;
+    }
+}
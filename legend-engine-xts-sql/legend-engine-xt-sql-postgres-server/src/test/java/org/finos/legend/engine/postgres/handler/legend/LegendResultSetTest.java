@@ -0,0 +1,76 @@
+// Copyright 2024 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+
+package org.finos.legend.engine.postgres.handler.legend;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LegendResultSetTest
+{
+    private static final List<LegendColumn> COLUMNS = Arrays.asList(
+            new LegendColumn("strictDate", LegendDataType.STRICT_DATE),
+            new LegendColumn("dateTime", LegendDataType.DATE_TIME),
+            new LegendColumn("integer", LegendDataType.INTEGER));
+
+    @Test
+    public void testTypedValuesConvertLikeSerializedValues() throws Exception
+    {
+        LegendResultSet serialized = new LegendResultSet(result(Arrays.asList("2023-05-01", "2023-05-01T10:15:30.000+0000", 5)));
+        LegendResultSet typed = new LegendResultSet(result(Arrays.asList(Date.valueOf("2023-05-01"), new Timestamp(1682936130000L), 5L)));
+
+        Assert.assertTrue(serialized.next());
+        Assert.assertTrue(typed.next());
+        for (int i = 1; i <= COLUMNS.size(); i++)
+        {
+            Assert.assertEquals(serialized.getObject(i), typed.getObject(i));
+        }
+        Assert.assertFalse(typed.next());
+    }
+
+    private static LegendExecutionResult result(List<Object> row)
+    {
+        Iterator<List<Object>> rows = Arrays.asList(row).iterator();
+        return new LegendExecutionResult()
+        {
+            @Override
+            public List<LegendColumn> getLegendColumns()
+            {
+                return COLUMNS;
+            }
+
+            @Override
+            public boolean hasNext()
+            {
+                return rows.hasNext();
+            }
+
+            @Override
+            public List<Object> next()
+            {
+                return rows.next();
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+    }
+}
@@ -0,0 +1,242 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+
+package org.finos.legend.engine.query.sql.api;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.finos.legend.engine.protocol.sql.metamodel.AliasedRelation;
+import org.finos.legend.engine.protocol.sql.metamodel.BetweenPredicate;
+import org.finos.legend.engine.protocol.sql.metamodel.BooleanLiteral;
+import org.finos.legend.engine.protocol.sql.metamodel.ComparisonExpression;
+import org.finos.legend.engine.protocol.sql.metamodel.DoubleLiteral;
+import org.finos.legend.engine.protocol.sql.metamodel.Expression;
+import org.finos.legend.engine.protocol.sql.metamodel.IntegerLiteral;
+import org.finos.legend.engine.protocol.sql.metamodel.Join;
+import org.finos.legend.engine.protocol.sql.metamodel.Literal;
+import org.finos.legend.engine.protocol.sql.metamodel.LogicalBinaryExpression;
+import org.finos.legend.engine.protocol.sql.metamodel.LongLiteral;
+import org.finos.legend.engine.protocol.sql.metamodel.NotExpression;
+import org.finos.legend.engine.protocol.sql.metamodel.ParameterPlaceholderExpression;
+import org.finos.legend.engine.protocol.sql.metamodel.Query;
+import org.finos.legend.engine.protocol.sql.metamodel.QuerySpecification;
+import org.finos.legend.engine.protocol.sql.metamodel.Relation;
+import org.finos.legend.engine.protocol.sql.metamodel.StringLiteral;
+import org.finos.legend.engine.protocol.sql.metamodel.TableSubquery;
+import org.finos.legend.engine.protocol.sql.metamodel.Union;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lifts the literals compared in the WHERE clauses of a query into parameter placeholders, so that queries differing
+ * only by these literals are transformed into the same plan, the values of the literals being arguments of the plan.
+ * <p>
+ * Literals of the other clauses are kept in the query, as their value is used while transforming it: they name
+ * columns, or are turned into patterns, limits and types.
+ */
+class QueryParameterizer
+{
+    private static final String PLACEHOLDER_PREFIX = "sqlLiteral";
+
+    private final MutableList<ParameterPlaceholderExpression> placeholders = Lists.mutable.empty();
+
+    private QueryParameterizer()
+    {
+    }
+
+    /**
+     * Replaces the literals of the query, which must not be shared, by placeholders.
+     */
+    static ParameterizedQuery parameterize(Query query)
+    {
+        QueryParameterizer parameterizer = new QueryParameterizer();
+        parameterizer.visitQuery(query);
+        return new ParameterizedQuery(query, parameterizer.placeholders);
+    }
+
+    private void visitQuery(Query query)
+    {
+        visitRelation(query.queryBody);
+    }
+
+    private void visitRelation(Relation relation)
+    {
+        if (relation instanceof QuerySpecification)
+        {
+            QuerySpecification querySpecification = (QuerySpecification) relation;
+            querySpecification.from.forEach(this::visitRelation);
+            if (querySpecification.where != null)
+            {
+                querySpecification.where = liftLiterals(querySpecification.where);
+            }
+        }
+        else if (relation instanceof TableSubquery)
+        {
+            visitQuery(((TableSubquery) relation).query);
+        }
+        else if (relation instanceof AliasedRelation)
+        {
+            visitRelation(((AliasedRelation) relation).relation);
+        }
+        else if (relation instanceof Join)
+        {
+            visitRelation(((Join) relation).left);
+            visitRelation(((Join) relation).right);
+        }
+        else if (relation instanceof Union)
+        {
+            visitRelation(((Union) relation).left);
+            visitRelation(((Union) relation).right);
+        }
+    }
+
+    private Expression liftLiterals(Expression expression)
+    {
+        if (expression instanceof LogicalBinaryExpression)
+        {
+            LogicalBinaryExpression logicalBinaryExpression = (LogicalBinaryExpression) expression;
+            logicalBinaryExpression.left = liftLiterals(logicalBinaryExpression.left);
+            logicalBinaryExpression.right = liftLiterals(logicalBinaryExpression.right);
+        }
+        else if (expression instanceof NotExpression)
+        {
+            NotExpression notExpression = (NotExpression) expression;
+            notExpression.value = liftLiterals(notExpression.value);
+        }
+        else if (expression instanceof ComparisonExpression)
+        {
+            ComparisonExpression comparisonExpression = (ComparisonExpression) expression;
+            comparisonExpression.left = lift(comparisonExpression.left);
+            comparisonExpression.right = lift(comparisonExpression.right);
+        }
+        else if (expression instanceof BetweenPredicate)
+        {
+            BetweenPredicate betweenPredicate = (BetweenPredicate) expression;
+            betweenPredicate.min = lift(betweenPredicate.min);
+            betweenPredicate.max = lift(betweenPredicate.max);
+        }
+        return expression;
+    }
+
+    private Expression lift(Expression expression)
+    {
+        if (!(expression instanceof StringLiteral || expression instanceof IntegerLiteral || expression instanceof LongLiteral || expression instanceof DoubleLiteral || expression instanceof BooleanLiteral))
+        {
+            return expression;
+        }
+        ParameterPlaceholderExpression placeholder = new ParameterPlaceholderExpression();
+        placeholder.name = PLACEHOLDER_PREFIX + this.placeholders.size();
+        placeholder.literal = (Literal) expression;
+        this.placeholders.add(placeholder);
+        return placeholder;
+    }
+
+    static class ParameterizedQuery
+    {
+        private final Query query;
+        private final MutableList<ParameterPlaceholderExpression> placeholders;
+
+        private ParameterizedQuery(Query query, MutableList<ParameterPlaceholderExpression> placeholders)
+        {
+            this.query = query;
+            this.placeholders = placeholders;
+        }
+
+        Query getQuery()
+        {
+            return this.query;
+        }
+
+        List<ParameterPlaceholderExpression> getPlaceholders()
+        {
+            return this.placeholders;
+        }
+
+        /**
+         * @return the values of the lifted literals, by placeholder name
+         */
+        Map<String, Object> getValues()
+        {
+            MutableMap<String, Object> values = Maps.mutable.empty();
+            this.placeholders.forEach(placeholder -> values.put(placeholder.name, value(placeholder.literal)));
+            return values;
+        }
+
+        /**
+         * Applies the function to the query with the values of its lifted literals blanked out, keeping their types.
+         */
+        <T> T withoutValues(Function<Query, T> function)
+        {
+            MutableList<Literal> literals = this.placeholders.collect(placeholder -> placeholder.literal);
+            try
+            {
+                this.placeholders.forEach(placeholder -> placeholder.literal = blank(placeholder.literal));
+                return function.valueOf(this.query);
+            }
+            finally
+            {
+                this.placeholders.forEachWithIndex((placeholder, i) -> placeholder.literal = literals.get(i));
+            }
+        }
+
+        private static Object value(Literal literal)
+        {
+            if (literal instanceof StringLiteral)
+            {
+                return ((StringLiteral) literal).value;
+            }
+            else if (literal instanceof IntegerLiteral)
+            {
+                return ((IntegerLiteral) literal).value;
+            }
+            else if (literal instanceof LongLiteral)
+            {
+                return ((LongLiteral) literal).value;
+            }
+            else if (literal instanceof DoubleLiteral)
+            {
+                return ((DoubleLiteral) literal).value;
+            }
+            return ((BooleanLiteral) literal).value;
+        }
+
+        private static Literal blank(Literal literal)
+        {
+            if (literal instanceof StringLiteral)
+            {
+                StringLiteral blank = new StringLiteral();
+                blank.quoted = ((StringLiteral) literal).quoted;
+                return blank;
+            }
+            else if (literal instanceof IntegerLiteral)
+            {
+                return new IntegerLiteral();
+            }
+            else if (literal instanceof LongLiteral)
+            {
+                return new LongLiteral();
+            }
+            else if (literal instanceof DoubleLiteral)
+            {
+                return new DoubleLiteral();
+            }
+            return new BooleanLiteral();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.function.Function3;
 import org.eclipse.collections.api.collection.MutableCollection;
 import org.eclipse.collections.api.factory.Lists;
@@ -27,12 +28,12 @@ import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.multimap.MutableMultimap;
 import org.eclipse.collections.api.tuple.Pair;
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.eclipse.collections.impl.utility.internal.IterableIterate;
 import org.finos.legend.engine.language.pure.compiler.toPureGraph.PureModel;
+import org.finos.legend.engine.language.pure.modelManager.ModelLoader;
 import org.finos.legend.engine.language.pure.modelManager.ModelManager;
 import org.finos.legend.engine.plan.execution.PlanExecutor;
 import org.finos.legend.engine.plan.execution.result.ConstantResult;
@@ -49,6 +50,9 @@ import org.finos.legend.engine.protocol.sql.metamodel.ProtocolToMetamodelTransla
 import org.finos.legend.engine.protocol.sql.metamodel.Query;
 import org.finos.legend.engine.protocol.sql.schema.metamodel.MetamodelToProtocolTranslator;
 import org.finos.legend.engine.protocol.sql.schema.metamodel.Schema;
+import org.finos.legend.engine.query.sql.api.cache.SQLPlan;
+import org.finos.legend.engine.query.sql.api.cache.SQLPlanCache;
+import org.finos.legend.engine.query.sql.api.cache.SQLPlanCacheKey;
 import org.finos.legend.engine.query.sql.providers.core.SQLContext;
 import org.finos.legend.engine.query.sql.providers.core.SQLSource;
 import org.finos.legend.engine.query.sql.providers.core.SQLSourceProvider;
@@ -63,6 +67,7 @@ import org.finos.legend.engine.shared.core.operational.prometheus.MetricsHandler
 import org.finos.legend.pure.generated.Root_meta_external_query_sql_metamodel_Query;
 import org.finos.legend.pure.generated.Root_meta_external_query_sql_schema_metamodel_Schema;
 import org.finos.legend.pure.generated.Root_meta_external_query_sql_transformation_queryToPure_PlanGenerationResult;
+import org.finos.legend.pure.generated.Root_meta_external_query_sql_transformation_queryToPure_PlanParameter;
 import org.finos.legend.pure.generated.Root_meta_external_query_sql_transformation_queryToPure_SQLSource;
 import org.finos.legend.pure.generated.Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext;
 import org.finos.legend.pure.generated.Root_meta_pure_executionPlan_ExecutionPlan;
@@ -71,12 +76,14 @@ import org.finos.legend.pure.generated.core_external_format_json_toJSON;
 import org.finos.legend.pure.generated.core_external_query_sql_binding_fromPure_fromPure;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.FunctionDefinition;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunction;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.valuespecification.VariableExpression;
 import org.finos.legend.pure.m3.execution.ExecutionSupport;
 import org.pac4j.core.profile.CommonProfile;
 import org.slf4j.Logger;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -94,61 +101,78 @@ public class SQLExecutor
     private final Function<PureModel, RichIterable<? extends Root_meta_pure_extension_Extension>> routerExtensions;
     private final Iterable<? extends PlanTransformer> transformers;
     private final MutableMap<String, SQLSourceProvider> providers;
+    private final SQLPlanCache planCache;
 
     public SQLExecutor(ModelManager modelManager,
                        PlanExecutor planExecutor,
                        Function<PureModel, RichIterable<? extends Root_meta_pure_extension_Extension>> routerExtensions,
                        List<SQLSourceProvider> providers,
                        Iterable<? extends PlanTransformer> transformers)
+    {
+        this(modelManager, planExecutor, routerExtensions, providers, transformers, null);
+    }
+
+    public SQLExecutor(ModelManager modelManager,
+                       PlanExecutor planExecutor,
+                       Function<PureModel, RichIterable<? extends Root_meta_pure_extension_Extension>> routerExtensions,
+                       List<SQLSourceProvider> providers,
+                       Iterable<? extends PlanTransformer> transformers,
+                       SQLPlanCache planCache)
     {
         this.modelManager = modelManager;
         this.planExecutor = planExecutor;
         this.routerExtensions = routerExtensions;
         this.transformers = transformers;
         this.providers = ListIterate.groupByUniqueKey(providers, SQLSourceProvider::getType);
+        this.planCache = planCache;
     }
 
 
     public Result execute(Query query, String user, SQLContext context, MutableList<CommonProfile> profiles)
     {
-        return process(query, (transformedContext, pureModel, sources) ->
+        return processPlan(query, (transformedContext, pureModel, sources) ->
         {
-            long start = System.currentTimeMillis();
-            LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTE_INTERACTIVE_STOP, (double) System.currentTimeMillis() - start).toString());
-
             Root_meta_external_query_sql_transformation_queryToPure_PlanGenerationResult plans = planResult(transformedContext, pureModel, sources);
 
-            Map<String, Result> arguments = UnifiedMap.newMapWith(IterableIterate.collectIf(plans._arguments(), p -> p._value() != null || p._plan() != null, p ->
+            Map<String, Object> constantArguments = Maps.mutable.empty();
+            Map<String, SingleExecutionPlan> planArguments = Maps.mutable.empty();
+            for (Root_meta_external_query_sql_transformation_queryToPure_PlanParameter p : plans._arguments())
             {
-                Result result;
-
                 if (p._value() != null)
                 {
                     Object value = p._value() instanceof org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.List
                             ? ((org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.List) p._value())._values()
                             : p._value();
-                    result = new ConstantResult(value);
+                    constantArguments.put(p._name(), value);
                 }
-                else
+                else if (p._plan() != null)
                 {
                     Root_meta_pure_executionPlan_ExecutionPlan l = PlanPlatform.JAVA.bindPlan(p._plan(), null, pureModel, routerExtensions.apply(pureModel));
-                    SingleExecutionPlan m = transformExecutionPlan(l, pureModel, PureClientVersions.production, profiles, routerExtensions.apply(pureModel), transformers);
-                    result = planExecutor.execute(m, Maps.mutable.empty(), user, profiles);
+                    planArguments.put(p._name(), transformExecutionPlan(l, pureModel, PureClientVersions.production, profiles, routerExtensions.apply(pureModel), transformers));
                 }
-
-                return Tuples.pair(p._name(), result);
-            }));
+            }
 
             Root_meta_pure_executionPlan_ExecutionPlan plan = plans._plan();
             plan = PlanPlatform.JAVA.bindPlan(plan, null, pureModel, routerExtensions.apply(pureModel));
             SingleExecutionPlan transformedPlan = transformExecutionPlan(plan, pureModel, PureClientVersions.production, profiles, routerExtensions.apply(pureModel), transformers);
 
-            Result result = planExecutor.execute(transformedPlan, arguments, user, profiles);
+            return new SQLPlan(transformedPlan, constantArguments, planArguments);
+        }, (sqlPlan, literalArguments) ->
+        {
+            long start = System.currentTimeMillis();
+            LOGGER.info(new LogInfo(profiles, LoggingEventType.EXECUTE_INTERACTIVE_STOP, (double) System.currentTimeMillis() - start).toString());
+
+            Map<String, Result> arguments = Maps.mutable.empty();
+            sqlPlan.getConstantArguments().forEach((name, value) -> arguments.put(name, new ConstantResult(value)));
+            literalArguments.forEach((name, value) -> arguments.put(name, new ConstantResult(value)));
+            sqlPlan.getPlanArguments().forEach((name, plan) -> arguments.put(name, planExecutor.execute(plan, Maps.mutable.empty(), user, profiles)));
+
+            Result result = planExecutor.execute(sqlPlan.getPlan(), arguments, user, profiles);
 
             MetricsHandler.observe("execute", start, System.currentTimeMillis());
 
             return result;
-        }, "execute", context, profiles);
+        }, true, "execute", context, profiles);
     }
 
     public Lambda lambda(Query query, SQLContext context, MutableList<CommonProfile> profiles)
@@ -165,7 +189,7 @@ public class SQLExecutor
 
     public SingleExecutionPlan plan(Query query, SQLContext context, MutableList<CommonProfile> profiles)
     {
-        return process(query, (transformedContext, pureModel, sources) -> transformExecutionPlan(planResult(transformedContext, pureModel, sources)._plan(), pureModel, PureClientVersions.production, profiles, routerExtensions.apply(pureModel), transformers), "plan", context, profiles);
+        return processPlan(query, (transformedContext, pureModel, sources) -> new SQLPlan(transformExecutionPlan(planResult(transformedContext, pureModel, sources)._plan(), pureModel, PureClientVersions.production, profiles, routerExtensions.apply(pureModel), transformers)), (sqlPlan, literalArguments) -> sqlPlan.getPlan(), false, "plan", context, profiles);
     }
 
     public Schema schema(Query query, MutableList<CommonProfile> profiles)
@@ -199,23 +223,133 @@ public class SQLExecutor
         {
             span.setTag("queryHash", hash(query));
 
+            Pair<RichIterable<SQLSource>, PureModelContext> sqlSourcesAndPureModel = getSourcesAndModel(query, context, profiles);
+
+            return transform(query, sqlSourcesAndPureModel.getOne(), sqlSourcesAndPureModel.getTwo(), func, transformContextFunc, profiles);
+        });
+
+    }
+
+    /**
+     * Generates the plan of the query, reusing the one cached for the same query on the same (resolved) sources and
+     * model when there is a plan cache, then processes it along with the values of the literals lifted out of the query.
+     * <p>
+     * When parameterized, the compared literals of the query are lifted into parameters of its plan, so that the plan
+     * is shared with the queries differing only by these literals. Literals whose value shapes the plan (e.g. strings
+     * converted to dates or enumerations) are kept in it though: a query with other values for these gets its own plan.
+     */
+    private <T> T processPlan(Query query,
+                              Function3<Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext, PureModel, RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource>, SQLPlan> planFunc,
+                              Function2<SQLPlan, Map<String, Object>, T> func,
+                              boolean parameterize,
+                              String name,
+                              SQLContext context,
+                              MutableList<CommonProfile> profiles)
+    {
+        Function3<RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource>, RichIterable<? extends Root_meta_pure_extension_Extension>, PureModel, Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext> transformContextFunc =
+                (sources, extensions, pureModel) -> core_external_query_sql_binding_fromPure_fromPure.Root_meta_external_query_sql_transformation_queryToPure_rootContext_SQLSource_MANY__Extension_MANY__SqlTransformContext_1_(sources, extensions, pureModel.getExecutionSupport());
+
+        return TraceUtils.trace(name, span ->
+        {
+            String queryJSON = toJSON(query);
+            span.setTag("queryHash", queryJSON == null ? null : Objects.hash(queryJSON));
+
             Pair<RichIterable<SQLSource>, PureModelContext> sqlSourcesAndPureModel = getSourcesAndModel(query, context, profiles);
             RichIterable<SQLSource> sources = sqlSourcesAndPureModel.getOne();
             PureModelContext pureModelContext = sqlSourcesAndPureModel.getTwo();
 
-            PureModel pureModel = modelManager.loadModel(pureModelContext, PureClientVersions.production, profiles, "");
+            SQLPlanCacheKey key = planCacheKey(name, queryJSON, sources, pureModelContext, profiles);
+            if (key == null)
+            {
+                return func.value(transform(query, sources, pureModelContext, planFunc, transformContextFunc, profiles), Collections.emptyMap());
+            }
 
-            Root_meta_external_query_sql_metamodel_Query compiledQuery = new ProtocolToMetamodelTranslator().translate(query, pureModel);
+            QueryParameterizer.ParameterizedQuery parameterized = parameterize ? parameterize(queryJSON) : null;
+            if (parameterized != null && !parameterized.getPlaceholders().isEmpty())
+            {
+                String parameterizedJSON = parameterized.withoutValues(this::toJSON);
+                if (parameterizedJSON != null)
+                {
+                    Map<String, Object> literals = parameterized.getValues();
+                    SQLPlan plan = planCache.getPlan(key.withQuery(parameterizedJSON), "sql/" + name, () -> transform(parameterized.getQuery(), sources, pureModelContext,
+                            (transformedContext, pureModel, compiledSources) ->
+                            {
+                                Set<String> lifted = transformedContext.liftedPlaceholders(pureModel.getExecutionSupport()).collect(VariableExpression::_name).toSet();
+                                return planFunc.value(transformedContext, pureModel, compiledSources).withKeptLiterals(Maps.mutable.withMap(literals).reject((literal, value) -> lifted.contains(literal)));
+                            },
+                            (compiledSources, extensions, pureModel) -> core_external_query_sql_binding_fromPure_fromPure.Root_meta_external_query_sql_transformation_queryToPure_rootContext_SQLSource_MANY__ParameterPlaceholderExpression_MANY__Extension_MANY__SqlTransformContext_1_(
+                                    compiledSources, ListIterate.collect(parameterized.getPlaceholders(), p -> new ProtocolToMetamodelTranslator().translate(p, pureModel)), extensions, pureModel.getExecutionSupport()),
+                            profiles));
+                    if (plan.isValidFor(literals))
+                    {
+                        return func.value(plan, Maps.mutable.withMap(literals).reject((literal, value) -> plan.getKeptLiterals().containsKey(literal)));
+                    }
+                }
+            }
 
-            RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource> compiledSources = new SQLSourceTranslator().translate(sources, pureModel);
-            LOGGER.info("{}", new LogInfo(profiles, LoggingEventType.GENERATE_PLAN_START));
+            SQLPlan plan = planCache.getPlan(key, "sql/" + name, () -> transform(query, sources, pureModelContext, planFunc, transformContextFunc, profiles));
+            return func.value(plan, Collections.emptyMap());
+        });
+    }
+
+    /**
+     * Parameterizes a copy of the query, which is left as is.
+     */
+    private QueryParameterizer.ParameterizedQuery parameterize(String queryJSON)
+    {
+        try
+        {
+            return QueryParameterizer.parameterize(OBJECT_MAPPER.readValue(queryJSON, Query.class));
+        }
+        catch (JsonProcessingException e)
+        {
+            LOGGER.warn("Could not copy query to lift its literals", e);
+            return null;
+        }
+    }
 
-            Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext transformedContext = core_external_query_sql_binding_fromPure_fromPure.Root_meta_external_query_sql_transformation_queryToPure_processRootQuery_Query_1__SqlTransformContext_1__SqlTransformContext_1_(
-                    compiledQuery, transformContextFunc.value(compiledSources, routerExtensions.apply(pureModel), pureModel), pureModel.getExecutionSupport());
+    private <T> T transform(Query query,
+                            RichIterable<SQLSource> sources,
+                            PureModelContext pureModelContext,
+                            Function3<Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext, PureModel, RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource>, T> func,
+                            Function3<RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource>, RichIterable<? extends Root_meta_pure_extension_Extension>, PureModel, Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext> transformContextFunc,
+                            MutableList<CommonProfile> profiles)
+    {
+        PureModel pureModel = modelManager.loadModel(pureModelContext, PureClientVersions.production, profiles, "");
 
-            return func.value(transformedContext, pureModel, compiledSources);
-        });
+        Root_meta_external_query_sql_metamodel_Query compiledQuery = new ProtocolToMetamodelTranslator().translate(query, pureModel);
+
+        RichIterable<Root_meta_external_query_sql_transformation_queryToPure_SQLSource> compiledSources = new SQLSourceTranslator().translate(sources, pureModel);
+        LOGGER.info("{}", new LogInfo(profiles, LoggingEventType.GENERATE_PLAN_START));
+
+        Root_meta_external_query_sql_transformation_queryToPure_SqlTransformContext transformedContext = core_external_query_sql_binding_fromPure_fromPure.Root_meta_external_query_sql_transformation_queryToPure_processRootQuery_Query_1__SqlTransformContext_1__SqlTransformContext_1_(
+                compiledQuery, transformContextFunc.value(compiledSources, routerExtensions.apply(pureModel), pureModel), pureModel.getExecutionSupport());
 
+        return func.value(transformedContext, pureModel, compiledSources);
+    }
+
+    /**
+     * Plans are only cached when the model of the sources is one the model manager caches too: a data model has no
+     * cheap identity, and a pointer to the latest revision of a project may not give the same model next time.
+     */
+    private SQLPlanCacheKey planCacheKey(String name, String queryJSON, RichIterable<SQLSource> sources, PureModelContext pureModelContext, MutableList<CommonProfile> profiles)
+    {
+        if (planCache == null || queryJSON == null || !(pureModelContext instanceof PureModelContextPointer))
+        {
+            return null;
+        }
+        ModelLoader loader = modelManager.modelLoaderForContext(pureModelContext);
+        if (!loader.shouldCache(pureModelContext))
+        {
+            return null;
+        }
+        // sources are resolved per schema type in no particular order
+        MutableList<String> sourcesJSON = sources.collect(this::toJSON, Lists.mutable.empty());
+        if (sourcesJSON.contains(null))
+        {
+            return null;
+        }
+        return new SQLPlanCacheKey(name, queryJSON, sourcesJSON.sortThis(), loader.cacheKey(pureModelContext, profiles));
     }
 
     private Pair<RichIterable<SQLSource>, PureModelContext> getSourcesAndModel(Query query, SQLContext context, MutableList<CommonProfile> profiles)
@@ -304,10 +438,16 @@ public class SQLExecutor
     }
 
     private Integer hash(Query query)
+    {
+        String json = toJSON(query);
+        return json == null ? null : Objects.hash(json);
+    }
+
+    private String toJSON(Object object)
     {
         try
         {
-            return Objects.hash(OBJECT_MAPPER.writeValueAsString(query));
+            return OBJECT_MAPPER.writeValueAsString(object);
         }
         catch (JsonProcessingException e)
         {
@@ -241,6 +241,12 @@ public class TableSourceExtractor implements NodeVisitor<Set<TableSource>>
         return Collections.emptySet();
     }
 
+    @Override
+    public Set<TableSource> visit(ParameterPlaceholderExpression val)
+    {
+        return Collections.emptySet();
+    }
+
     @Override
     public Set<TableSource> visit(QualifiedNameReference val)
     {
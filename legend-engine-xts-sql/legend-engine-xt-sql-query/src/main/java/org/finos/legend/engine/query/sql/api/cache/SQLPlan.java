@@ -0,0 +1,88 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+
+package org.finos.legend.engine.query.sql.api.cache;
+
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The plan generated for a SQL query, along with how to compute the arguments it is executed with: either a constant
+ * value or a plan to execute first.
+ * <p>
+ * A plan generated for a query with lifted literals also records the values of the literals it kept, rather than
+ * taking them as arguments: it is only valid for queries with these same values.
+ */
+public class SQLPlan
+{
+    private final SingleExecutionPlan plan;
+    private final Map<String, Object> constantArguments;
+    private final Map<String, SingleExecutionPlan> planArguments;
+    private final Map<String, Object> keptLiterals;
+
+    public SQLPlan(SingleExecutionPlan plan)
+    {
+        this(plan, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public SQLPlan(SingleExecutionPlan plan, Map<String, Object> constantArguments, Map<String, SingleExecutionPlan> planArguments)
+    {
+        this(plan, constantArguments, planArguments, Collections.emptyMap());
+    }
+
+    public SQLPlan(SingleExecutionPlan plan, Map<String, Object> constantArguments, Map<String, SingleExecutionPlan> planArguments, Map<String, Object> keptLiterals)
+    {
+        this.plan = plan;
+        this.constantArguments = constantArguments;
+        this.planArguments = planArguments;
+        this.keptLiterals = keptLiterals;
+    }
+
+    public SQLPlan withKeptLiterals(Map<String, Object> keptLiterals)
+    {
+        return new SQLPlan(this.plan, this.constantArguments, this.planArguments, keptLiterals);
+    }
+
+    public SingleExecutionPlan getPlan()
+    {
+        return plan;
+    }
+
+    public Map<String, Object> getConstantArguments()
+    {
+        return constantArguments;
+    }
+
+    public Map<String, SingleExecutionPlan> getPlanArguments()
+    {
+        return planArguments;
+    }
+
+    public Map<String, Object> getKeptLiterals()
+    {
+        return keptLiterals;
+    }
+
+    /**
+     * @return whether the plan is valid for a query with the given values of its lifted literals
+     */
+    public boolean isValidFor(Map<String, Object> literals)
+    {
+        return keptLiterals.entrySet().stream().allMatch(e -> Objects.equals(e.getValue(), literals.get(e.getKey())));
+    }
+}
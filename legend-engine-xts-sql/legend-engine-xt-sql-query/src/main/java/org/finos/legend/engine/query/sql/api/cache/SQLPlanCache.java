@@ -0,0 +1,53 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+
+package org.finos.legend.engine.query.sql.api.cache;
+
+import com.google.common.cache.CacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCache;
+import org.finos.legend.engine.plan.execution.cache.ExecutionCacheBuilder;
+import org.finos.legend.engine.plan.execution.cache.executionPlan.ExecutionPlanCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+public class SQLPlanCache
+{
+    private final ExecutionCache<SQLPlanCacheKey, SQLPlan> cache;
+
+    public SQLPlanCache(ExecutionCache<SQLPlanCacheKey, SQLPlan> cache)
+    {
+        this.cache = cache;
+    }
+
+    public static SQLPlanCache buildWithDefaultCache()
+    {
+        return new SQLPlanCache(ExecutionCacheBuilder.buildExecutionCacheFromGuavaCache(CacheBuilder.newBuilder().recordStats().maximumSize(1000).expireAfterAccess(30, TimeUnit.MINUTES).build()));
+    }
+
+    public ExecutionCache<SQLPlanCacheKey, SQLPlan> getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Get the plan cached for the key, generating (and caching) it when there is none. Hits and misses are counted
+     * per endpoint.
+     */
+    public SQLPlan getPlan(SQLPlanCacheKey key, String endpoint, Callable<SQLPlan> planGenerator)
+    {
+        return ExecutionPlanCache.getPlan(this.cache, key, endpoint, planGenerator);
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+
+package org.finos.legend.engine.query.sql.api.cache;
+
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContext;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies the plans generated for a SQL query: the operation (plans generated for execution are bound, others are
+ * not), the query, the sources its tables were resolved to and the (resolved) model these sources come from.
+ */
+public class SQLPlanCacheKey
+{
+    private final String operation;
+    private final String query;
+    private final List<String> sources;
+    private final PureModelContext model;
+
+    public SQLPlanCacheKey(String operation, String query, List<String> sources, PureModelContext model)
+    {
+        this.operation = operation;
+        this.query = query;
+        this.sources = sources;
+        this.model = model;
+    }
+
+    /**
+     * @return the key of the plans generated for another query on the same sources and model
+     */
+    public SQLPlanCacheKey withQuery(String query)
+    {
+        return new SQLPlanCacheKey(this.operation, query, this.sources, this.model);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        SQLPlanCacheKey that = (SQLPlanCacheKey) o;
+        return Objects.equals(operation, that.operation) &&
+                Objects.equals(query, that.query) &&
+                Objects.equals(sources, that.sources) &&
+                Objects.equals(model, that.model);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(operation, query, sources, model);
+    }
+}
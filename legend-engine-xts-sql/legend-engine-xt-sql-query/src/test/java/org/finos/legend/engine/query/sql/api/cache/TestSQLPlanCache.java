@@ -0,0 +1,209 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+
+package org.finos.legend.engine.query.sql.api.cache;
+
+import io.opentracing.Span;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.engine.language.pure.modelManager.ModelLoader;
+import org.finos.legend.engine.language.pure.modelManager.ModelManager;
+import org.finos.legend.engine.language.sql.grammar.from.SQLGrammarParser;
+import org.finos.legend.engine.plan.execution.PlanExecutor;
+import org.finos.legend.engine.plan.execution.stores.relational.result.RelationalResult;
+import org.finos.legend.engine.plan.generation.extension.PlanGeneratorExtension;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContext;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextPointer;
+import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.SingleExecutionPlan;
+import org.finos.legend.engine.protocol.sql.metamodel.Query;
+import org.finos.legend.engine.pure.code.core.PureCoreExtensionLoader;
+import org.finos.legend.engine.query.sql.api.SQLExecutor;
+import org.finos.legend.engine.query.sql.api.TestSQLSourceProvider;
+import org.finos.legend.engine.query.sql.providers.core.SQLContext;
+import org.finos.legend.engine.query.sql.providers.core.SQLSourceProvider;
+import org.finos.legend.engine.query.sql.providers.core.SQLSourceResolvedContext;
+import org.finos.legend.engine.query.sql.providers.core.TableSource;
+import org.finos.legend.engine.shared.core.deployment.DeploymentMode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.pac4j.core.profile.CommonProfile;
+
+import java.util.List;
+import java.util.ServiceLoader;
+
+public class TestSQLPlanCache
+{
+    private static final SQLGrammarParser PARSER = SQLGrammarParser.newInstance();
+
+    @Test
+    public void testPlanIsCachedForTheSameQuery()
+    {
+        SQLPlanCache cache = SQLPlanCache.buildWithDefaultCache();
+        SQLExecutor executor = newExecutor(new PointerSQLSourceProvider(), cache);
+
+        SingleExecutionPlan plan = plan(executor, "SELECT Name FROM service('/personServiceForNames') ORDER BY Name");
+        SingleExecutionPlan cachedPlan = plan(executor, "SELECT Name FROM service('/personServiceForNames') ORDER BY Name");
+        SingleExecutionPlan otherPlan = plan(executor, "SELECT Name FROM service('/personServiceForNames') ORDER BY Name DESC");
+
+        Assert.assertSame(plan, cachedPlan);
+        Assert.assertNotSame(plan, otherPlan);
+        Assert.assertEquals(1, cache.getCache().stats().hitCount());
+        Assert.assertEquals(2, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    public void testPlanIsNotCachedForDataModels()
+    {
+        SQLPlanCache cache = SQLPlanCache.buildWithDefaultCache();
+        SQLExecutor executor = newExecutor(new TestSQLSourceProvider(), cache);
+
+        plan(executor, "SELECT Name FROM service('/personServiceForNames') ORDER BY Name");
+        plan(executor, "SELECT Name FROM service('/personServiceForNames') ORDER BY Name");
+
+        Assert.assertEquals(0, cache.getCache().stats().requestCount());
+    }
+
+    @Test
+    public void testPlanIsSharedByQueriesDifferingByComparedLiterals() throws Exception
+    {
+        SQLPlanCache cache = SQLPlanCache.buildWithDefaultCache();
+        SQLExecutor executor = newExecutor(new PointerSQLSourceProvider(), cache);
+
+        Assert.assertEquals(Lists.mutable.with("Bob", "Curtis"), execute(executor, "SELECT Name FROM service('/personServiceForNames', names => ['Alice', 'Bob', 'Curtis']) WHERE Id > 101 ORDER BY Name"));
+        Assert.assertEquals(Lists.mutable.with("Curtis"), execute(executor, "SELECT Name FROM service('/personServiceForNames', names => ['Alice', 'Bob', 'Curtis']) WHERE Id > 102 ORDER BY Name"));
+
+        Assert.assertEquals(1, cache.getCache().stats().hitCount());
+        Assert.assertEquals(1, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    public void testSharedPlanIsExecutedWithPlanArguments() throws Exception
+    {
+        SQLPlanCache cache = SQLPlanCache.buildWithDefaultCache();
+        SQLExecutor executor = newExecutor(new PointerSQLSourceProvider(), cache);
+
+        Assert.assertEquals(Lists.mutable.with("Alice"), execute(executor, "SELECT Name FROM service('/personServiceForStartDate/{date}', date => cast('2023-08-24' as DATE)) WHERE Id = 101"));
+        Assert.assertEquals(Lists.mutable.empty(), execute(executor, "SELECT Name FROM service('/personServiceForStartDate/{date}', date => cast('2023-08-24' as DATE)) WHERE Id = 102"));
+
+        Assert.assertEquals(1, cache.getCache().stats().hitCount());
+        Assert.assertEquals(1, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    public void testPlanIsNotSharedByQueriesDifferingByConvertedLiterals() throws Exception
+    {
+        SQLPlanCache cache = SQLPlanCache.buildWithDefaultCache();
+        SQLExecutor executor = newExecutor(new PointerSQLSourceProvider(), cache);
+
+        // strings compared to enumerations are converted to their values in the plan
+        Assert.assertEquals(Lists.mutable.with("Alice", "Danielle"), execute(executor, "SELECT Name FROM service('/personService') WHERE \"Employee Type\" = 'Type1' ORDER BY Name"));
+        Assert.assertEquals(Lists.mutable.with("Bob", "Curtis"), execute(executor, "SELECT Name FROM service('/personService') WHERE \"Employee Type\" = 'Type2' ORDER BY Name"));
+        Assert.assertEquals(Lists.mutable.with("Alice", "Danielle"), execute(executor, "SELECT Name FROM service('/personService') WHERE \"Employee Type\" = 'Type1' ORDER BY Name"));
+
+        // the plan of Type1 is found for Type2 but not used, as it keeps the literal rather than taking it as an argument
+        Assert.assertEquals(2, cache.getCache().stats().hitCount());
+        Assert.assertEquals(2, cache.getCache().stats().missCount());
+    }
+
+    private static MutableList<String> execute(SQLExecutor executor, String sql) throws Exception
+    {
+        Query query = (Query) PARSER.parseStatement(sql);
+        RelationalResult result = (RelationalResult) executor.execute(query, null, new SQLContext(query), Lists.mutable.empty());
+        try
+        {
+            MutableList<String> names = Lists.mutable.empty();
+            while (result.resultSet.next())
+            {
+                names.add(result.resultSet.getString(1));
+            }
+            return names;
+        }
+        finally
+        {
+            result.close();
+        }
+    }
+
+    private static SingleExecutionPlan plan(SQLExecutor executor, String sql)
+    {
+        Query query = (Query) PARSER.parseStatement(sql);
+        return executor.plan(query, new SQLContext(query), Lists.mutable.empty());
+    }
+
+    private static SQLExecutor newExecutor(SQLSourceProvider provider, SQLPlanCache cache)
+    {
+        ModelManager modelManager = new ModelManager(DeploymentMode.TEST, new TestModelLoader(new TestSQLSourceProvider().getPureModelContextData()));
+        MutableList<PlanGeneratorExtension> generatorExtensions = Lists.mutable.withAll(ServiceLoader.load(PlanGeneratorExtension.class));
+        return new SQLExecutor(modelManager, PlanExecutor.newPlanExecutorWithAvailableStoreExecutors(), (pm) -> PureCoreExtensionLoader.extensions().flatCollect(g -> g.extraPureCoreExtensions(pm.getExecutionSupport())),
+                Lists.mutable.with(provider), generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers), cache);
+    }
+
+    private static class PointerSQLSourceProvider implements SQLSourceProvider
+    {
+        private final TestSQLSourceProvider delegate = new TestSQLSourceProvider();
+
+        @Override
+        public String getType()
+        {
+            return this.delegate.getType();
+        }
+
+        @Override
+        public SQLSourceResolvedContext resolve(List<TableSource> sources, SQLContext context, MutableList<CommonProfile> profiles)
+        {
+            return new SQLSourceResolvedContext(new PureModelContextPointer(), this.delegate.resolve(sources, context, profiles).getSources());
+        }
+    }
+
+    private static class TestModelLoader implements ModelLoader
+    {
+        private final PureModelContextData data;
+
+        private TestModelLoader(PureModelContextData data)
+        {
+            this.data = data;
+        }
+
+        @Override
+        public boolean supports(PureModelContext context)
+        {
+            return context instanceof PureModelContextPointer;
+        }
+
+        @Override
+        public PureModelContextData load(MutableList<CommonProfile> profiles, PureModelContext context, String clientVersion, Span parentSpan)
+        {
+            return this.data;
+        }
+
+        @Override
+        public void setModelManager(ModelManager modelManager)
+        {
+        }
+
+        @Override
+        public boolean shouldCache(PureModelContext context)
+        {
+            return this.supports(context);
+        }
+
+        @Override
+        public PureModelContext cacheKey(PureModelContext context, MutableList<CommonProfile> profiles)
+        {
+            return context;
+        }
+    }
+}
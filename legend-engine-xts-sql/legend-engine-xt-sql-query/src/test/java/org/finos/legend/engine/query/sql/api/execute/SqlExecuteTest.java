@@ -39,6 +39,7 @@ import org.finos.legend.engine.protocol.sql.schema.metamodel.Schema;
 import org.finos.legend.engine.pure.code.core.PureCoreExtensionLoader;
 import org.finos.legend.engine.query.sql.api.CatchAllExceptionMapper;
 import org.finos.legend.engine.query.sql.api.MockPac4jFeature;
+import org.finos.legend.engine.query.sql.api.SQLExecutor;
 import org.finos.legend.engine.query.sql.api.TestSQLSourceProvider;
 import org.finos.legend.engine.shared.core.api.grammar.RenderStyle;
 import org.finos.legend.engine.shared.core.deployment.DeploymentMode;
@@ -69,11 +70,8 @@ public class SqlExecuteTest
     {
         DeploymentMode deploymentMode = DeploymentMode.TEST;
         ModelManager modelManager = new ModelManager(deploymentMode);
-        PlanExecutor executor = PlanExecutor.newPlanExecutorWithAvailableStoreExecutors();
-
-        MutableList<PlanGeneratorExtension> generatorExtensions = Lists.mutable.withAll(ServiceLoader.load(PlanGeneratorExtension.class));
         TestSQLSourceProvider testSQLSourceProvider = new TestSQLSourceProvider();
-        SqlExecute sqlExecute = new SqlExecute(modelManager, executor, (pm) -> PureCoreExtensionLoader.extensions().flatCollect(g -> g.extraPureCoreExtensions(pm.getExecutionSupport())), FastList.newListWith(testSQLSourceProvider), generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers));
+        SqlExecute sqlExecute = new SqlExecute(newSQLExecutor(modelManager, testSQLSourceProvider));
 
         PureModel pureModel = modelManager.loadModel(testSQLSourceProvider.getPureModelContextData(), PureClientVersions.production, null, "");
         ResourceTestRule resources = ResourceTestRule.builder()
@@ -86,6 +84,21 @@ public class SqlExecuteTest
         return Tuples.pair(pureModel,resources);
     }
 
+    /**
+     * @return an executor of queries on the sources of {@link TestSQLSourceProvider}, for clients running in the same JVM
+     */
+    public static SQLExecutor newSQLExecutor()
+    {
+        return newSQLExecutor(new ModelManager(DeploymentMode.TEST), new TestSQLSourceProvider());
+    }
+
+    private static SQLExecutor newSQLExecutor(ModelManager modelManager, TestSQLSourceProvider testSQLSourceProvider)
+    {
+        PlanExecutor executor = PlanExecutor.newPlanExecutorWithAvailableStoreExecutors();
+        MutableList<PlanGeneratorExtension> generatorExtensions = Lists.mutable.withAll(ServiceLoader.load(PlanGeneratorExtension.class));
+        return new SQLExecutor(modelManager, executor, (pm) -> PureCoreExtensionLoader.extensions().flatCollect(g -> g.extraPureCoreExtensions(pm.getExecutionSupport())), FastList.newListWith(testSQLSourceProvider), generatorExtensions.flatCollect(PlanGeneratorExtension::getExtraPlanTransformers));
+    }
+
     @Test
     public void testLambda() throws JsonProcessingException
     {